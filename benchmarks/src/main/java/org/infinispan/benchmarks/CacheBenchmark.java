@@ -0,0 +1,85 @@
+package org.infinispan.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Cache#get(Object)} and {@link Cache#put(Object, Object)}, including the whole interceptor chain.
+ * Clustered modes run two nodes in the benchmark JVM, and the operations are invoked on the first one.
+ *
+ * @since 8.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CacheBenchmark {
+
+   @Param({"LOCAL", "REPL_SYNC", "DIST_SYNC"})
+   CacheMode cacheMode;
+
+   @Param("1000")
+   int keySpace;
+
+   private List<EmbeddedCacheManager> cacheManagers;
+   private Cache<String, String> cache;
+   private String[] keys;
+
+   @Setup(Level.Trial)
+   public void setup() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode);
+      if (cacheMode.isClustered()) {
+         cacheManagers = CacheManagers.createClustered(2, builder);
+      } else {
+         cacheManagers = Collections.singletonList(CacheManagers.createLocal(builder));
+      }
+      cache = cacheManagers.get(0).getCache(CacheManagers.CACHE_NAME);
+      keys = new String[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key-" + i;
+         cache.put(keys[i], "value-" + i);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      CacheManagers.stop(cacheManagers);
+   }
+
+   @Benchmark
+   public String get() {
+      return cache.get(nextKey());
+   }
+
+   @Benchmark
+   public String put() {
+      return cache.put(nextKey(), "value");
+   }
+
+   private String nextKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+   }
+}
@@ -0,0 +1,126 @@
+package org.infinispan.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.jgroups.JGroupsTransport;
+import org.infinispan.statetransfer.StateTransferManager;
+import org.infinispan.topology.CacheTopology;
+
+/**
+ * Starts the cache managers used by the benchmarks. Clustered cache managers all live in the benchmark JVM and use
+ * a shared loopback JGroups stack, so that the results do not depend on the network of the machine running them.
+ *
+ * @since 8.2
+ */
+final class CacheManagers {
+
+   static final String CACHE_NAME = "benchmark";
+
+   private static final String JGROUPS_CONFIGURATION = "benchmarks-jgroups.xml";
+   private static final long TOPOLOGY_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+   private CacheManagers() {
+   }
+
+   static EmbeddedCacheManager createLocal(ConfigurationBuilder builder) {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+      global.globalJmxStatistics().allowDuplicateDomains(true);
+      EmbeddedCacheManager cacheManager = new DefaultCacheManager(global.build(), true);
+      cacheManager.defineConfiguration(CACHE_NAME, builder.build());
+      cacheManager.getCache(CACHE_NAME);
+      return cacheManager;
+   }
+
+   /**
+    * Starts {@code nodes} clustered cache managers, each with the benchmark cache defined by the given builder, and
+    * waits until all of them are members of the cache topology.
+    */
+   static List<EmbeddedCacheManager> createClustered(int nodes, ConfigurationBuilder builder) {
+      String clusterName = "benchmark-" + System.nanoTime();
+      List<EmbeddedCacheManager> cacheManagers = new ArrayList<>(nodes);
+      for (int i = 0; i < nodes; i++) {
+         GlobalConfigurationBuilder global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+         global.globalJmxStatistics().allowDuplicateDomains(true);
+         global.transport().clusterName(clusterName).nodeName("node-" + i)
+               .addProperty(JGroupsTransport.CONFIGURATION_FILE, JGROUPS_CONFIGURATION);
+         EmbeddedCacheManager cacheManager = new DefaultCacheManager(global.build(), true);
+         cacheManager.defineConfiguration(CACHE_NAME, builder.build());
+         cacheManagers.add(cacheManager);
+      }
+      List<Cache<?, ?>> caches = new ArrayList<>(nodes);
+      for (EmbeddedCacheManager cacheManager : cacheManagers) {
+         caches.add(cacheManager.getCache(CACHE_NAME));
+      }
+      waitForTopology(caches);
+      return cacheManagers;
+   }
+
+   static void stop(List<EmbeddedCacheManager> cacheManagers) {
+      if (cacheManagers == null) {
+         return;
+      }
+      for (int i = cacheManagers.size() - 1; i >= 0; i--) {
+         cacheManagers.get(i).stop();
+      }
+   }
+
+   static void delete(Path path) throws IOException {
+      if (path == null || !Files.exists(path)) {
+         return;
+      }
+      Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+         @Override
+         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            Files.delete(file);
+            return FileVisitResult.CONTINUE;
+         }
+
+         @Override
+         public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+            Files.delete(dir);
+            return FileVisitResult.CONTINUE;
+         }
+      });
+   }
+
+   private static void waitForTopology(List<Cache<?, ?>> caches) {
+      long deadline = System.currentTimeMillis() + TOPOLOGY_TIMEOUT;
+      while (!isTopologyInstalled(caches)) {
+         if (System.currentTimeMillis() > deadline) {
+            throw new IllegalStateException("Timed out waiting for " + caches.size() + " members to join the cluster");
+         }
+         try {
+            Thread.sleep(50);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+         }
+      }
+   }
+
+   private static boolean isTopologyInstalled(List<Cache<?, ?>> caches) {
+      for (Cache<?, ?> cache : caches) {
+         StateTransferManager stateTransferManager = cache.getAdvancedCache().getComponentRegistry()
+               .getStateTransferManager();
+         CacheTopology topology = stateTransferManager.getCacheTopology();
+         if (topology == null || topology.getMembers().size() != caches.size()
+               || stateTransferManager.isStateTransferInProgress()) {
+            return false;
+         }
+      }
+      return true;
+   }
+}
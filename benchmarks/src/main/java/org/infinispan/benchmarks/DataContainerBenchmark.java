@@ -0,0 +1,88 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link org.infinispan.container.DefaultDataContainer} of a bounded cache. The keys are picked from a
+ * key space larger than the maximum number of entries, so that the benchmark also exercises the eviction policy.
+ *
+ * @since 8.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DataContainerBenchmark {
+
+   @Param({"LRU", "LIRS"})
+   EvictionStrategy strategy;
+
+   @Param("10000")
+   int maxEntries;
+
+   @Param("2")
+   int keySpaceFactor;
+
+   private EmbeddedCacheManager cacheManager;
+   private DataContainer<String, String> dataContainer;
+   private Metadata metadata;
+   private String[] keys;
+
+   @Setup(Level.Trial)
+   public void setup() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.eviction().strategy(strategy).size(maxEntries);
+      cacheManager = CacheManagers.createLocal(builder);
+      dataContainer = cacheManager.<String, String>getCache(CacheManagers.CACHE_NAME).getAdvancedCache()
+            .getDataContainer();
+      metadata = new EmbeddedMetadata.Builder().build();
+      keys = new String[maxEntries * keySpaceFactor];
+      for (int i = 0; i < keys.length; i++) {
+         keys[i] = "key-" + i;
+         dataContainer.put(keys[i], "value-" + i, metadata);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   @Benchmark
+   public InternalCacheEntry<String, String> get() {
+      return dataContainer.get(nextKey());
+   }
+
+   @Benchmark
+   public void put() {
+      dataContainer.put(nextKey(), "value", metadata);
+   }
+
+   private String nextKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+   }
+}
@@ -0,0 +1,100 @@
+package org.infinispan.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.CodecFactory;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Hot Rod 2.x client codecs, encoding put requests and decoding get responses through an
+ * {@link InMemoryTransport}. Responses are laid out exactly as the server writes them, without topology updates.
+ *
+ * @since 8.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HotRodCodecBenchmark {
+
+   private static final long RESPONSE_MESSAGE_ID = 1;
+
+   @Param({"2.0", "2.5"})
+   String protocolVersion;
+
+   @Param("100")
+   int valueSize;
+
+   private Codec codec;
+   private byte[] cacheName;
+   private AtomicInteger topologyId;
+   private byte[] key;
+   private byte[] value;
+   private InMemoryTransport requestTransport;
+   private InMemoryTransport responseTransport;
+
+   @Setup(Level.Trial)
+   public void setup() {
+      codec = CodecFactory.getCodec(protocolVersion);
+      cacheName = CacheManagers.CACHE_NAME.getBytes(StandardCharsets.UTF_8);
+      topologyId = new AtomicInteger(1);
+      key = "key".getBytes(StandardCharsets.UTF_8);
+      value = new byte[valueSize];
+      ThreadLocalRandom.current().nextBytes(value);
+      requestTransport = new InMemoryTransport(valueSize + 64);
+
+      responseTransport = new InMemoryTransport(valueSize + 16);
+      responseTransport.writeByte(HotRodConstants.RESPONSE_MAGIC);
+      responseTransport.writeVLong(RESPONSE_MESSAGE_ID);
+      responseTransport.writeByte(HotRodConstants.GET_RESPONSE);
+      responseTransport.writeByte(HotRodConstants.NO_ERROR_STATUS);
+      // No topology change
+      responseTransport.writeByte((short) 0);
+      responseTransport.writeArray(value);
+   }
+
+   @Benchmark
+   public InMemoryTransport encodePut() {
+      requestTransport.clear();
+      codec.writeHeader(requestTransport, headerParams(HotRodConstants.PUT_REQUEST));
+      requestTransport.writeArray(key);
+      codec.writeExpirationParams(requestTransport, 0, TimeUnit.SECONDS, 0, TimeUnit.SECONDS);
+      requestTransport.writeArray(value);
+      return requestTransport;
+   }
+
+   @Benchmark
+   public byte[] decodeGet() {
+      responseTransport.rewind();
+      HeaderParams params = headerParams(HotRodConstants.GET_REQUEST).messageId(RESPONSE_MESSAGE_ID);
+      short status = codec.readHeader(responseTransport, params);
+      return HotRodConstants.isSuccess(status) ? responseTransport.readArray() : null;
+   }
+
+   private HeaderParams headerParams(short opCode) {
+      return new HeaderParams()
+            .opCode(opCode).cacheName(cacheName).flags(0)
+            .clientIntel(HotRodConstants.CLIENT_INTELLIGENCE_HASH_DISTRIBUTION_AWARE)
+            .topologyId(topologyId).txMarker((byte) 0)
+            .topologyAge(0);
+   }
+}
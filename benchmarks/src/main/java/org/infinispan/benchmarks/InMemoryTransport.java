@@ -0,0 +1,165 @@
+package org.infinispan.benchmarks;
+
+import java.net.SocketAddress;
+import java.util.Arrays;
+
+import org.infinispan.client.hotrod.impl.transport.AbstractTransport;
+import org.infinispan.commons.io.SignedNumeric;
+
+/**
+ * Hot Rod {@link org.infinispan.client.hotrod.impl.transport.Transport} writing to, and reading from, a growable byte
+ * array, so that the client codecs can be measured without any socket in the way.
+ *
+ * @since 8.2
+ */
+final class InMemoryTransport extends AbstractTransport {
+
+   private byte[] buffer;
+   private int writeIndex;
+   private int readIndex;
+   private boolean invalid;
+
+   InMemoryTransport(int initialCapacity) {
+      super(null);
+      this.buffer = new byte[initialCapacity];
+   }
+
+   /**
+    * Discards all the content written so far.
+    */
+   void clear() {
+      writeIndex = 0;
+      readIndex = 0;
+   }
+
+   /**
+    * Makes the content written so far readable again from the start.
+    */
+   void rewind() {
+      readIndex = 0;
+   }
+
+   byte[] toByteArray() {
+      return Arrays.copyOf(buffer, writeIndex);
+   }
+
+   @Override
+   public void writeVInt(int vInt) {
+      while ((vInt & ~0x7F) != 0) {
+         put((byte) ((vInt & 0x7F) | 0x80));
+         vInt >>>= 7;
+      }
+      put((byte) vInt);
+   }
+
+   @Override
+   public void writeSignedVInt(int vInt) {
+      writeVInt(SignedNumeric.encode(vInt));
+   }
+
+   @Override
+   public void writeVLong(long l) {
+      while ((l & ~0x7F) != 0) {
+         put((byte) ((l & 0x7F) | 0x80));
+         l >>>= 7;
+      }
+      put((byte) l);
+   }
+
+   @Override
+   public long readVLong() {
+      byte b = get();
+      long i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = get();
+         i |= (b & 0x7FL) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   public int readVInt() {
+      byte b = get();
+      int i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = get();
+         i |= (b & 0x7F) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend) {
+      ensureCapacity(toAppend.length);
+      System.arraycopy(toAppend, 0, buffer, writeIndex, toAppend.length);
+      writeIndex += toAppend.length;
+   }
+
+   @Override
+   public void writeByte(short toWrite) {
+      put((byte) toWrite);
+   }
+
+   @Override
+   public void flush() {
+      // Nothing to flush
+   }
+
+   @Override
+   public short readByte() {
+      return (short) (get() & 0xFF);
+   }
+
+   @Override
+   public void release() {
+      // Nothing to release
+   }
+
+   @Override
+   public byte[] readByteArray(int size) {
+      if (readIndex + size > writeIndex) {
+         throw new IllegalStateException("Cannot read " + size + " bytes, only " + (writeIndex - readIndex) + " left");
+      }
+      byte[] bytes = Arrays.copyOfRange(buffer, readIndex, readIndex + size);
+      readIndex += size;
+      return bytes;
+   }
+
+   @Override
+   public byte[] dumpStream() {
+      return Arrays.copyOfRange(buffer, readIndex, writeIndex);
+   }
+
+   @Override
+   public SocketAddress getRemoteSocketAddress() {
+      return null;
+   }
+
+   @Override
+   public void invalidate() {
+      invalid = true;
+   }
+
+   @Override
+   public boolean isValid() {
+      return !invalid;
+   }
+
+   private void put(byte b) {
+      ensureCapacity(1);
+      buffer[writeIndex++] = b;
+   }
+
+   private byte get() {
+      if (readIndex >= writeIndex) {
+         throw new IllegalStateException("No more bytes to read");
+      }
+      return buffer[readIndex++];
+   }
+
+   private void ensureCapacity(int length) {
+      if (writeIndex + length > buffer.length) {
+         buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, writeIndex + length));
+      }
+   }
+}
@@ -0,0 +1,114 @@
+package org.infinispan.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the global marshaller with the commands most commonly sent between nodes, wrapped the same way they are
+ * when replicated.
+ *
+ * @since 8.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MarshallerBenchmark {
+
+   public enum CommandType {
+      PUT, REMOVE, PUT_MAP, CLUSTERED_GET
+   }
+
+   @Param({"PUT", "REMOVE", "PUT_MAP", "CLUSTERED_GET"})
+   CommandType commandType;
+
+   @Param("100")
+   int valueSize;
+
+   private List<EmbeddedCacheManager> cacheManagers;
+   private StreamingMarshaller marshaller;
+   private ReplicableCommand command;
+   private byte[] bytes;
+
+   @Setup(Level.Trial)
+   public void setup() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      cacheManagers = CacheManagers.createClustered(1, builder);
+      EmbeddedCacheManager cacheManager = cacheManagers.get(0);
+      marshaller = cacheManager.getGlobalComponentRegistry()
+            .getComponent(StreamingMarshaller.class, KnownComponentNames.GLOBAL_MARSHALLER);
+      CommandsFactory commandsFactory = cacheManager.getCache(CacheManagers.CACHE_NAME).getAdvancedCache()
+            .getComponentRegistry().getCommandsFactory();
+      command = createCommand(commandsFactory);
+      bytes = marshaller.objectToByteBuffer(command);
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      CacheManagers.stop(cacheManagers);
+   }
+
+   @Benchmark
+   public byte[] marshall() throws Exception {
+      return marshaller.objectToByteBuffer(command);
+   }
+
+   @Benchmark
+   public Object unmarshall() throws Exception {
+      return marshaller.objectFromByteBuffer(bytes);
+   }
+
+   @Benchmark
+   public Object roundTrip() throws Exception {
+      return marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(command));
+   }
+
+   private ReplicableCommand createCommand(CommandsFactory commandsFactory) {
+      Metadata metadata = new EmbeddedMetadata.Builder().lifespan(60, TimeUnit.SECONDS).build();
+      switch (commandType) {
+         case PUT:
+            return commandsFactory.buildSingleRpcCommand(
+                  commandsFactory.buildPutKeyValueCommand("key", new byte[valueSize], metadata, null));
+         case REMOVE:
+            return commandsFactory.buildSingleRpcCommand(commandsFactory.buildRemoveCommand("key", null, null));
+         case PUT_MAP:
+            Map<String, byte[]> map = new HashMap<>();
+            for (int i = 0; i < 10; i++) {
+               map.put("key-" + i, new byte[valueSize]);
+            }
+            return commandsFactory.buildSingleRpcCommand(commandsFactory.buildPutMapCommand(map, metadata, null));
+         case CLUSTERED_GET:
+            return commandsFactory.buildClusteredGetCommand("key", null, false, null);
+         default:
+            throw new IllegalArgumentException("Unknown command type " + commandType);
+      }
+   }
+}
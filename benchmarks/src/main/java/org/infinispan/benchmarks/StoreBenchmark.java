@@ -0,0 +1,112 @@
+package org.infinispan.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryFactory;
+import org.infinispan.metadata.InternalMetadata;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading and writing entries directly on the file based stores, bypassing the cache and the persistence
+ * manager. The stores keep their files in a temporary directory removed at the end of the trial.
+ *
+ * @since 8.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StoreBenchmark {
+
+   public enum StoreType {
+      SINGLE_FILE, SOFT_INDEX
+   }
+
+   @Param({"SINGLE_FILE", "SOFT_INDEX"})
+   StoreType storeType;
+
+   @Param("10000")
+   int keySpace;
+
+   @Param("100")
+   int valueSize;
+
+   private Path location;
+   private EmbeddedCacheManager cacheManager;
+   private AdvancedLoadWriteStore<String, byte[]> store;
+   private String[] keys;
+   private MarshalledEntry<String, byte[]>[] entries;
+
+   @Setup(Level.Trial)
+   @SuppressWarnings("unchecked")
+   public void setup() throws Exception {
+      location = Files.createTempDirectory("infinispan-benchmarks");
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      switch (storeType) {
+         case SINGLE_FILE:
+            builder.persistence().addSingleFileStore().location(location.toString());
+            break;
+         case SOFT_INDEX:
+            builder.persistence().addStore(SoftIndexFileStoreConfigurationBuilder.class)
+                  .dataLocation(location.resolve("data").toString())
+                  .indexLocation(location.resolve("index").toString());
+            break;
+      }
+      cacheManager = CacheManagers.createLocal(builder);
+      Cache<String, byte[]> cache = cacheManager.getCache(CacheManagers.CACHE_NAME);
+      ComponentRegistry registry = cache.getAdvancedCache().getComponentRegistry();
+      store = registry.getComponent(PersistenceManager.class).getStores(AdvancedLoadWriteStore.class).iterator().next();
+      MarshalledEntryFactory<String, byte[]> entryFactory = registry.getComponent(MarshalledEntryFactory.class);
+
+      keys = new String[keySpace];
+      entries = new MarshalledEntry[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key-" + i;
+         byte[] value = new byte[valueSize];
+         ThreadLocalRandom.current().nextBytes(value);
+         entries[i] = entryFactory.newMarshalledEntry(keys[i], value, (InternalMetadata) null);
+         store.write(entries[i]);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() throws Exception {
+      cacheManager.stop();
+      CacheManagers.delete(location);
+   }
+
+   @Benchmark
+   public MarshalledEntry<String, byte[]> load() {
+      return store.load(keys[ThreadLocalRandom.current().nextInt(keySpace)]);
+   }
+
+   @Benchmark
+   public void write() {
+      store.write(entries[ThreadLocalRandom.current().nextInt(keySpace)]);
+   }
+}
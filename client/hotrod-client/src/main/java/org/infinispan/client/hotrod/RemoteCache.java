@@ -178,6 +178,20 @@
     */
    CloseableIterator<Entry<Object, Object>> retrieveEntries(String filterConverterFactory, int batchSize);
 
+   /**
+    * Retrieve entries from all the servers in parallel. One iteration is started on each server, and it only
+    * iterates the segments the server is the primary owner of. The entries of all the iterations are merged in the
+    * returned iterator, in no particular order. If the cache isn't distributed, this behaves like
+    * {@link #retrieveEntries(String, Object[], java.util.Set, int)}.
+    *
+    * @param filterConverterFactory Factory name for the KeyValueFilterConverter or null for no filtering.
+    * @param filterConverterParams  Parameters to the KeyValueFilterConverter
+    * @param segments               The segments to iterate. If null all segments will be iterated. An empty set will filter out all entries.
+    * @param batchSize              The number of entries transferred from each server at a time.
+    * @return Iterator for the entries
+    */
+   CloseableIterator<Entry<Object, Object>> retrieveEntriesInParallel(String filterConverterFactory, Object[] filterConverterParams, Set<Integer> segments, int batchSize);
+
    /**
     * Retrieve entries from the server matching a query.
     *
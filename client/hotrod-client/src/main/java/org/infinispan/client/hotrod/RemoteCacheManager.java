@@ -26,6 +26,7 @@
 import org.infinispan.client.hotrod.impl.protocol.CodecFactory;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport;
 import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
@@ -153,6 +154,7 @@ public class RemoteCacheManager implements BasicCacheContainer {
    protected TransportFactory transportFactory;
    private ExecutorService asyncExecutorService;
    protected ClientListenerNotifier listenerNotifier;
+   private MultiplexedTransport multiplexedTransport;
 
    /**
     *
@@ -324,6 +326,8 @@ public Properties getProperties() {
       properties.setProperty(ConfigurationProperties.TRANSPORT_FACTORY, configuration.transportFactory().getName());
       properties.setProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, Integer.toString(configuration.valueSizeEstimate()));
       properties.setProperty(ConfigurationProperties.MAX_RETRIES, Integer.toString(configuration.maxRetries()));
+      properties.setProperty(ConfigurationProperties.ASYNC_TRANSPORT, Boolean.toString(configuration.asyncTransport().enabled()));
+      properties.setProperty(ConfigurationProperties.ASYNC_TRANSPORT_IO_THREADS, Integer.toString(configuration.asyncTransport().ioThreads()));
 
       properties.setProperty("exhaustedAction", Integer.toString(configuration.connectionPool().exhaustedAction().ordinal()));
       properties.setProperty("maxActive", Integer.toString(configuration.connectionPool().maxActive()));
@@ -576,6 +580,11 @@ public void start() {
       listenerNotifier = ClientListenerNotifier.create(codec, marshaller);
       transportFactory.start(codec, configuration, defaultCacheTopologyId, listenerNotifier);
 
+      if (configuration.asyncTransport().enabled()) {
+         multiplexedTransport = new MultiplexedTransport(transportFactory);
+         multiplexedTransport.start(configuration);
+      }
+
       synchronized (cacheName2RemoteCache) {
          for (RemoteCacheHolder rcc : cacheName2RemoteCache.values()) {
             startRemoteCache(rcc);
@@ -597,6 +606,10 @@ public void start() {
    public void stop() {
       if (isStarted()) {
          listenerNotifier.stop();
+         if (multiplexedTransport != null) {
+            multiplexedTransport.stop();
+            multiplexedTransport = null;
+         }
          transportFactory.destroy();
          asyncExecutorService.shutdownNow();
       }
@@ -670,6 +683,7 @@ private <K, V> RemoteCache<K, V> createRemoteCache(String cacheName, Boolean for
    private <K, V> RemoteCacheImpl<K, V> createRemoteCache(String cacheName) {
       switch (configuration.nearCache().mode()) {
          case INVALIDATED:
+         case INVALIDATED_BLOOM_FILTER:
          case LAZY:
             return new InvalidatedNearRemoteCache<>(this, cacheName,
                createNearCacheService(configuration.nearCache()));
@@ -691,7 +705,10 @@ private void startRemoteCache(RemoteCacheHolder remoteCacheHolder) {
       OperationsFactory operationsFactory = new OperationsFactory(
             transportFactory, remoteCache.getName(), remoteCacheHolder.forceReturnValue,
             codec, listenerNotifier);
-      remoteCache.init(marshaller, asyncExecutorService, operationsFactory, configuration.keySizeEstimate(), configuration.valueSizeEstimate());
+      // Near caches need to see every operation, so they keep using the executor for asynchronous ones
+      MultiplexedTransport cacheMultiplexedTransport = configuration.nearCache().mode().enabled() ? null : multiplexedTransport;
+      remoteCache.init(marshaller, asyncExecutorService, operationsFactory, configuration.keySizeEstimate(), configuration.valueSizeEstimate(),
+            cacheMultiplexedTransport);
    }
 
    public Marshaller getMarshaller() {
@@ -0,0 +1,32 @@
+package org.infinispan.client.hotrod.configuration;
+
+/**
+ * Configuration of the asynchronous, event loop based transport.
+ *
+ * @since 8.2
+ */
+public class AsyncTransportConfiguration {
+   private final boolean enabled;
+   private final int ioThreads;
+
+   AsyncTransportConfiguration(boolean enabled, int ioThreads) {
+      this.enabled = enabled;
+      this.ioThreads = ioThreads;
+   }
+
+   public boolean enabled() {
+      return enabled;
+   }
+
+   public int ioThreads() {
+      return ioThreads;
+   }
+
+   @Override
+   public String toString() {
+      return "AsyncTransportConfiguration{" +
+            "enabled=" + enabled +
+            ", ioThreads=" + ioThreads +
+            '}';
+   }
+}
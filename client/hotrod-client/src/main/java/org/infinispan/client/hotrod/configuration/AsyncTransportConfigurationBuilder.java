@@ -0,0 +1,76 @@
+package org.infinispan.client.hotrod.configuration;
+
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.configuration.Builder;
+
+/**
+ * Configures the asynchronous transport. When enabled, the key based asynchronous operations of
+ * {@link org.infinispan.client.hotrod.RemoteCache} (e.g. {@code getAsync}, {@code putAsync}) are sent over a single
+ * connection per server, which is shared by all the in-flight requests, instead of blocking a thread of the
+ * asynchronous executor and a pooled connection each.
+ *
+ * @since 8.2
+ */
+public class AsyncTransportConfigurationBuilder extends AbstractConfigurationChildBuilder implements Builder<AsyncTransportConfiguration> {
+   private static final Log log = LogFactory.getLog(AsyncTransportConfigurationBuilder.class, Log.class);
+
+   private boolean enabled = false;
+   private int ioThreads = 0;
+
+   AsyncTransportConfigurationBuilder(ConfigurationBuilder builder) {
+      super(builder);
+   }
+
+   /**
+    * Configures whether the asynchronous transport should be used. Defaults to disabled.
+    */
+   public AsyncTransportConfigurationBuilder enabled(boolean enabled) {
+      this.enabled = enabled;
+      return this;
+   }
+
+   /**
+    * Enables the asynchronous transport
+    */
+   public AsyncTransportConfigurationBuilder enable() {
+      this.enabled = true;
+      return this;
+   }
+
+   /**
+    * Disables the asynchronous transport
+    */
+   public AsyncTransportConfigurationBuilder disable() {
+      this.enabled = false;
+      return this;
+   }
+
+   /**
+    * The number of threads handling the I/O of the asynchronous transport. Defaults to 0, which means twice the
+    * number of available processors.
+    */
+   public AsyncTransportConfigurationBuilder ioThreads(int ioThreads) {
+      this.ioThreads = ioThreads;
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      if (ioThreads < 0) {
+         throw log.invalidAsyncTransportIoThreads(ioThreads);
+      }
+   }
+
+   @Override
+   public AsyncTransportConfiguration create() {
+      return new AsyncTransportConfiguration(enabled, ioThreads);
+   }
+
+   @Override
+   public AsyncTransportConfigurationBuilder read(AsyncTransportConfiguration template) {
+      this.enabled = template.enabled();
+      this.ioThreads = template.ioThreads();
+      return this;
+   }
+}
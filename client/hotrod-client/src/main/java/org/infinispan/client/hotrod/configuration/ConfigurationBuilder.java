@@ -69,6 +69,7 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private int valueSizeEstimate = ConfigurationProperties.DEFAULT_VALUE_SIZE;
    private int maxRetries = ConfigurationProperties.DEFAULT_MAX_RETRIES;
    private final NearCacheConfigurationBuilder nearCache;
+   private final AsyncTransportConfigurationBuilder asyncTransport;
 
    private final List<ClusterConfigurationBuilder> clusters = new ArrayList<ClusterConfigurationBuilder>();
 
@@ -78,6 +79,7 @@ public ConfigurationBuilder() {
       this.asyncExecutorFactory = new ExecutorFactoryConfigurationBuilder(this);
       this.security = new SecurityConfigurationBuilder(this);
       this.nearCache = new NearCacheConfigurationBuilder(this);
+      this.asyncTransport = new AsyncTransportConfigurationBuilder(this);
    }
 
    @Override
@@ -205,6 +207,10 @@ public NearCacheConfigurationBuilder nearCache() {
       return nearCache;
    }
 
+   public AsyncTransportConfigurationBuilder asyncTransport() {
+      return asyncTransport;
+   }
+
    /**
     * @deprecated No longer in effect, ping always happens on startup now.
     */
@@ -305,6 +311,12 @@ public ConfigurationBuilder withProperties(Properties properties) {
       }
       this.valueSizeEstimate(typed.getIntProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, valueSizeEstimate));
       this.maxRetries(typed.getIntProperty(ConfigurationProperties.MAX_RETRIES, maxRetries));
+      if (typed.containsKey(ConfigurationProperties.ASYNC_TRANSPORT)) {
+         this.asyncTransport.enabled(typed.getBooleanProperty(ConfigurationProperties.ASYNC_TRANSPORT, false));
+      }
+      if (typed.containsKey(ConfigurationProperties.ASYNC_TRANSPORT_IO_THREADS)) {
+         this.asyncTransport.ioThreads(typed.getIntProperty(ConfigurationProperties.ASYNC_TRANSPORT_IO_THREADS, 0));
+      }
       return this;
    }
 
@@ -314,6 +326,7 @@ public void validate() {
       asyncExecutorFactory.validate();
       security.validate();
       nearCache.validate();
+      asyncTransport.validate();
       if (maxRetries < 0) {
          throw log.invalidMaxRetries(maxRetries);
       }
@@ -342,11 +355,11 @@ public Configuration create() {
       if (marshaller == null) {
          return new Configuration(asyncExecutorFactory.create(), balancingStrategyClass, balancingStrategy, classLoader == null ? null : classLoader.get(), connectionPool.create(), connectionTimeout,
                consistentHashImpl, forceReturnValues, keySizeEstimate, marshallerClass, pingOnStartup, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive, transportFactory,
-               valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs);
+               valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs, asyncTransport.create());
       } else {
          return new Configuration(asyncExecutorFactory.create(), balancingStrategyClass, balancingStrategy, classLoader == null ? null : classLoader.get(), connectionPool.create(), connectionTimeout,
                consistentHashImpl, forceReturnValues, keySizeEstimate, marshaller, pingOnStartup, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive, transportFactory,
-               valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs);
+               valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs, asyncTransport.create());
       }
    }
 
@@ -390,6 +403,7 @@ public ConfigurationBuilder read(Configuration template) {
       this.valueSizeEstimate = template.valueSizeEstimate();
       this.maxRetries = template.maxRetries();
       this.nearCache.read(template.nearCache());
+      this.asyncTransport.read(template.asyncTransport());
       return this;
    }
 }
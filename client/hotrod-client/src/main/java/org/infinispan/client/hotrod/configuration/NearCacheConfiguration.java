@@ -4,10 +4,16 @@ public class NearCacheConfiguration {
    // TODO: Consider an option to configure key equivalence function for near cache (e.g. for byte arrays)
    private final NearCacheMode mode;
    private final int maxEntries;
+   private final NearCacheEviction eviction;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries) {
+      this(mode, maxEntries, NearCacheEviction.LRU);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, NearCacheEviction eviction) {
       this.mode = mode;
       this.maxEntries = maxEntries;
+      this.eviction = eviction;
    }
 
    public int maxEntries() {
@@ -18,11 +24,16 @@ public NearCacheMode mode() {
       return mode;
    }
 
+   public NearCacheEviction eviction() {
+      return eviction;
+   }
+
    @Override
    public String toString() {
       return "NearCacheConfiguration{" +
             "mode=" + mode +
             ", maxEntries=" + maxEntries +
+            ", eviction=" + eviction +
             '}';
    }
 }
@@ -10,6 +10,7 @@ public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBui
 
    private NearCacheMode mode = NearCacheMode.DISABLED;
    private Integer maxEntries = null; // undefined
+   private NearCacheEviction eviction = NearCacheEviction.LRU;
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -20,6 +21,14 @@ public NearCacheConfigurationBuilder maxEntries(int maxEntries) {
       return this;
    }
 
+   /**
+    * Sets the algorithm used to evict entries when the near cache is bounded. Defaults to {@link NearCacheEviction#LRU}.
+    */
+   public NearCacheConfigurationBuilder eviction(NearCacheEviction eviction) {
+      this.eviction = eviction;
+      return this;
+   }
+
    public NearCacheConfigurationBuilder mode(NearCacheMode mode) {
       this.mode = mode;
       return this;
@@ -33,13 +42,14 @@ public void validate() {
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries.intValue());
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries.intValue(), eviction);
    }
 
    @Override
    public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
+      eviction = template.eviction();
       return this;
    }
 }
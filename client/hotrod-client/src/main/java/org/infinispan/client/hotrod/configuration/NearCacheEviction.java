@@ -0,0 +1,21 @@
+package org.infinispan.client.hotrod.configuration;
+
+/**
+ * Decides which entries are evicted from a bounded near cache.
+ *
+ * @since 8.2
+ */
+public enum NearCacheEviction {
+
+   /**
+    * Evicts the least recently used entries.
+    */
+   LRU,
+
+   /**
+    * Evicts using the Low Inter-reference Recency Set algorithm, which keeps frequently read entries even when a
+    * scan over many other keys happens.
+    */
+   LIRS
+
+}
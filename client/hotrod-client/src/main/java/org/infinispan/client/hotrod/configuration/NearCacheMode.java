@@ -21,6 +21,16 @@ public enum NearCacheMode {
     */
    INVALIDATED,
 
+   /**
+    * Near cache is invalidated in bulk. Instead of an invalidation message
+    * for every update or removal, servers periodically send a bloom filter
+    * of the keys modified since the previous one, and clients remove the
+    * near cached entries the filter might contain. This reduces the event
+    * traffic of frequently updated caches, at the cost of invalidations
+    * being delayed by up to the server's flush interval.
+    */
+   INVALIDATED_BLOOM_FILTER,
+
    /**
     * @deprecated Replaced by INVALIDATED
     */
@@ -36,7 +46,11 @@ public boolean enabled() {
    }
 
    public boolean invalidated() {
-      return this == INVALIDATED || this == LAZY;
+      return this == INVALIDATED || this == LAZY || this == INVALIDATED_BLOOM_FILTER;
+   }
+
+   public boolean bloomFilter() {
+      return this == INVALIDATED_BLOOM_FILTER;
    }
 
    /**
@@ -43,6 +43,8 @@ public class ConfigurationProperties {
    public static final String TRUST_STORE_FILE_NAME = "infinispan.client.hotrod.trust_store_file_name";
    public static final String TRUST_STORE_PASSWORD = "infinispan.client.hotrod.trust_store_password";
    public static final String MAX_RETRIES = "infinispan.client.hotrod.max_retries";
+   public static final String ASYNC_TRANSPORT = "infinispan.client.hotrod.async_transport";
+   public static final String ASYNC_TRANSPORT_IO_THREADS = "infinispan.client.hotrod.async_transport.io_threads";
 
    // defaults
 
@@ -184,4 +186,12 @@ public int getMaxRetries() {
       return props.getIntProperty(MAX_RETRIES, DEFAULT_MAX_RETRIES);
    }
 
+   public boolean getAsyncTransport() {
+      return props.getBooleanProperty(ASYNC_TRANSPORT, false);
+   }
+
+   public int getAsyncTransportIoThreads() {
+      return props.getIntProperty(ASYNC_TRANSPORT_IO_THREADS, 0);
+   }
+
 }
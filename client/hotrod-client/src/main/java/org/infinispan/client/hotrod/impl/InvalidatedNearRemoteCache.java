@@ -4,6 +4,7 @@
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.near.NearCacheService;
+import org.infinispan.client.hotrod.near.NearCacheStatistics;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -99,6 +100,13 @@ void invalidateNearCacheIfNeeded(boolean hasForceReturnValue, Object key, Object
          nearcache.remove((K) key);
    }
 
+   /**
+    * @return the hit, miss and invalidation statistics of the near cache
+    */
+   public NearCacheStatistics nearCacheStatistics() {
+      return nearcache;
+   }
+
    @Override
    public void start() {
       nearcache.start(this);
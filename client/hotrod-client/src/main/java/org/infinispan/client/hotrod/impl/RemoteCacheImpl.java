@@ -10,6 +10,7 @@
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -27,7 +28,11 @@
 import org.infinispan.client.hotrod.exceptions.RemoteCacheManagerNotStartedException;
 import org.infinispan.client.hotrod.filter.Filters;
 import org.infinispan.client.hotrod.impl.operations.*;
+import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
+import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
+import org.infinispan.client.hotrod.impl.iteration.ParallelRemoteCloseableIterator;
 import org.infinispan.client.hotrod.impl.iteration.RemoteCloseableIterator;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
@@ -51,6 +56,7 @@
    private final String name;
    private final RemoteCacheManager remoteCacheManager;
    private volatile ExecutorService executorService;
+   private volatile MultiplexedTransport multiplexedTransport;
    protected OperationsFactory operationsFactory;
    private int estimateKeySize;
    private int estimateValueSize;
@@ -65,11 +71,21 @@ public RemoteCacheImpl(RemoteCacheManager rcm, String name) {
    }
 
    public void init(Marshaller marshaller, ExecutorService executorService, OperationsFactory operationsFactory, int estimateKeySize, int estimateValueSize) {
+      init(marshaller, executorService, operationsFactory, estimateKeySize, estimateValueSize, null);
+   }
+
+   /**
+    * @param multiplexedTransport if not null, the key based asynchronous operations are sent through it instead of
+    *                             being executed by the executor service
+    */
+   public void init(Marshaller marshaller, ExecutorService executorService, OperationsFactory operationsFactory, int estimateKeySize, int estimateValueSize,
+                    MultiplexedTransport multiplexedTransport) {
       this.marshaller = marshaller;
       this.executorService = executorService;
       this.operationsFactory = operationsFactory;
       this.estimateKeySize = estimateKeySize;
       this.estimateValueSize = estimateValueSize;
+      this.multiplexedTransport = multiplexedTransport;
    }
 
    public OperationsFactory getOperationsFactory() {
@@ -189,6 +205,22 @@ public Entry<Object, Object> next() {
       return remoteCloseableIterator;
    }
 
+   @Override
+   public CloseableIterator<Entry<Object, Object>> retrieveEntriesInParallel(String filterConverterFactory, Object[] filterConverterParams, Set<Integer> segments, int batchSize) {
+      assertRemoteCacheManagerIsStarted();
+      ConsistentHash consistentHash = operationsFactory.getConsistentHash();
+      if (!(consistentHash instanceof SegmentConsistentHash) || (segments != null && segments.isEmpty())) {
+         return retrieveEntries(filterConverterFactory, filterConverterParams, segments, batchSize);
+      }
+      byte[][] params = marshallParams(filterConverterParams);
+      // Each server's iteration blocks one thread of the async executor until it's finished or closed
+      ParallelRemoteCloseableIterator<Object> parallelIterator = new ParallelRemoteCloseableIterator<>(operationsFactory,
+              (SegmentConsistentHash) consistentHash, filterConverterFactory, params, segments, batchSize, false,
+              executorService);
+      parallelIterator.start();
+      return parallelIterator;
+   }
+
    @Override
    public CloseableIterator<Entry<Object, Object>> retrieveEntries(String filterConverterFactory, Set<Integer> segments, int batchSize) {
       return retrieveEntries(filterConverterFactory, null, segments, batchSize);
@@ -330,6 +362,11 @@ public V replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxI
    @Override
    public NotifyingFuture<V> putAsync(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit, final long maxIdle, final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
+      if (multiplexedTransport != null) {
+         PutOperation<V> op = operationsFactory.newPutKeyValueOperation(compatKeyIfNeeded(key),
+            obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+         return executeMultiplexed(op);
+      }
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       Future<V> future = executorService.submit(new WithFlagsCallable(operationsFactory.flags()) {
          @Override
@@ -390,6 +427,11 @@ public Void call() throws Exception {
    @Override
    public NotifyingFuture<V> putIfAbsentAsync(final K key,final V value,final long lifespan,final TimeUnit lifespanUnit,final long maxIdle,final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
+      if (multiplexedTransport != null) {
+         PutIfAbsentOperation<V> op = operationsFactory.newPutIfAbsentOperation(compatKeyIfNeeded(key),
+            obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+         return executeMultiplexed(op);
+      }
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       Future<V> future = executorService.submit(new WithFlagsCallable(operationsFactory.flags()) {
          @Override
@@ -420,6 +462,10 @@ public V call() throws Exception {
    @Override
    public NotifyingFuture<V> removeAsync(final Object key) {
       assertRemoteCacheManagerIsStarted();
+      if (multiplexedTransport != null) {
+         RemoveOperation<V> op = operationsFactory.newRemoveOperation(compatKeyIfNeeded(key), obj2bytes(key, true));
+         return executeMultiplexed(op);
+      }
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       Future<V> future = executorService.submit(new WithFlagsCallable(operationsFactory.flags()) {
          @Override
@@ -450,6 +496,11 @@ public V call() throws Exception {
    @Override
    public NotifyingFuture<V> replaceAsync(final K key,final V value,final long lifespan,final TimeUnit lifespanUnit,final long maxIdle,final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
+      if (multiplexedTransport != null) {
+         ReplaceOperation<V> op = operationsFactory.newReplaceOperation(compatKeyIfNeeded(key),
+            obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+         return executeMultiplexed(op);
+      }
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       Future<V> future = executorService.submit(new WithFlagsCallable(operationsFactory.flags()) {
          @Override
@@ -622,6 +673,10 @@ public RemoteCache<K, V> withFlags(Flag... flags) {
    @Override
    public NotifyingFuture<V> getAsync(final K key) {
       assertRemoteCacheManagerIsStarted();
+      if (multiplexedTransport != null) {
+         GetOperation<V> op = operationsFactory.newGetKeyOperation(compatKeyIfNeeded(key), obj2bytes(key, true));
+         return executeMultiplexed(op);
+      }
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       Future<V> future = executorService.submit(new Callable<V>() {
          @Override
@@ -648,6 +703,24 @@ public V call() throws Exception {
       return result;
    }
 
+   private <T> NotifyingFuture<T> executeMultiplexed(MultiplexedOperation<T> op) {
+      final NotifyingFutureImpl<T> result = new NotifyingFutureImpl<T>();
+      // Waiting on the dependent future guarantees the listeners have been notified once get() returns
+      CompletableFuture<T> future = multiplexedTransport.execute(op).whenComplete((value, throwable) -> {
+         try {
+            if (throwable == null) {
+               result.notifyDone(value);
+            } else {
+               result.notifyException(throwable);
+            }
+         } catch (Throwable t) {
+            log.trace("Error when notifying", t);
+         }
+      });
+      result.setFuture(future);
+      return result;
+   }
+
    public PingOperation.PingResult ping() {
       return operationsFactory.newFaultTolerantPingOperation().execute();
    }
@@ -0,0 +1,170 @@
+package org.infinispan.client.hotrod.impl.iteration;
+
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.util.CloseableIterator;
+
+import java.net.SocketAddress;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates the entries of a distributed cache with one iteration per server, running in parallel. Each server only
+ * iterates the segments it is the primary owner of, so it doesn't need to fetch entries from the other servers.
+ * <p>
+ * The entries are merged into a single bounded queue. A server's iteration only fetches its next batch once there is
+ * room for it, so a slow consumer holds back all the servers.
+ *
+ * @since 8.2
+ */
+public class ParallelRemoteCloseableIterator<E> implements CloseableIterator<Entry<Object, E>> {
+
+   private static final Log log = LogFactory.getLog(ParallelRemoteCloseableIterator.class);
+
+   // Marks the end of one server's iteration
+   private static final Entry<Object, Object> END = new AbstractMap.SimpleImmutableEntry<>(null, null);
+
+   private final List<RemoteCloseableIterator<E>> iterators;
+   private final BlockingQueue<Entry<Object, E>> queue;
+   private final ExecutorService executorService;
+
+   private volatile boolean closed;
+   private volatile RuntimeException failure;
+   private int finishedIterators;
+   private Entry<Object, E> next;
+
+   public ParallelRemoteCloseableIterator(OperationsFactory operationsFactory, SegmentConsistentHash consistentHash,
+                                          String filterConverterFactory, byte[][] filterParams, Set<Integer> segments,
+                                          int batchSize, boolean metadata, ExecutorService executorService) {
+      this.executorService = executorService;
+      Map<SocketAddress, Set<Integer>> segmentsByPrimaryOwner = segmentsByPrimaryOwner(consistentHash, segments);
+      this.iterators = new ArrayList<>(segmentsByPrimaryOwner.size());
+      for (Entry<SocketAddress, Set<Integer>> serverSegments : segmentsByPrimaryOwner.entrySet()) {
+         iterators.add(new RemoteCloseableIterator<>(operationsFactory, filterConverterFactory, filterParams,
+                                                     serverSegments.getValue(), batchSize, metadata,
+                                                     serverSegments.getKey()));
+      }
+      this.queue = new ArrayBlockingQueue<>(batchSize * Math.max(1, iterators.size()));
+   }
+
+   private static Map<SocketAddress, Set<Integer>> segmentsByPrimaryOwner(SegmentConsistentHash consistentHash,
+                                                                          Set<Integer> segments) {
+      SocketAddress[][] segmentOwners = consistentHash.getSegmentOwners();
+      Map<SocketAddress, Set<Integer>> map = new HashMap<>();
+      for (int segment = 0; segment < segmentOwners.length; segment++) {
+         if (segments == null || segments.contains(segment)) {
+            map.computeIfAbsent(segmentOwners[segment][0], k -> new HashSet<>()).add(segment);
+         }
+      }
+      return map;
+   }
+
+   public void start() {
+      for (RemoteCloseableIterator<E> iterator : iterators) {
+         executorService.submit(() -> iterate(iterator));
+      }
+   }
+
+   private void iterate(RemoteCloseableIterator<E> iterator) {
+      try {
+         iterator.start();
+         while (!closed && iterator.hasNext()) {
+            Entry<Object, E> entry = iterator.next();
+            while (!closed && !queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+               // Wait for the consumer to make room, unless the iterator is closed
+            }
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         failure = new HotRodClientException(e);
+      } catch (RuntimeException e) {
+         log.debugf(e, "Parallel iteration failed");
+         failure = e;
+      } finally {
+         try {
+            iterator.close();
+         } catch (RuntimeException e) {
+            log.debugf(e, "Error closing iteration");
+         }
+         offerEnd();
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private void offerEnd() {
+      // The consumer counts the end markers, so this one must not be lost, even if interrupted
+      boolean interrupted = false;
+      while (true) {
+         try {
+            if (queue.offer((Entry<Object, E>) (Entry) END, 100, TimeUnit.MILLISECONDS)) {
+               break;
+            }
+            if (closed) {
+               queue.clear();
+            }
+         } catch (InterruptedException e) {
+            interrupted = true;
+         }
+      }
+      if (interrupted) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   @Override
+   public boolean hasNext() {
+      if (closed) {
+         return false;
+      }
+      while (next == null && finishedIterators < iterators.size()) {
+         Entry<Object, E> entry;
+         try {
+            entry = queue.take();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HotRodClientException(e);
+         }
+         if (entry == END) {
+            finishedIterators++;
+            if (failure != null) {
+               close();
+               throw failure;
+            }
+         } else {
+            next = entry;
+         }
+      }
+      return next != null;
+   }
+
+   @Override
+   public Entry<Object, E> next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      Entry<Object, E> entry = next;
+      next = null;
+      return entry;
+   }
+
+   @Override
+   public void close() {
+      if (!closed) {
+         closed = true;
+         // Unblock the servers' iterations waiting for room, they close their iteration when they see the flag
+         queue.clear();
+      }
+   }
+}
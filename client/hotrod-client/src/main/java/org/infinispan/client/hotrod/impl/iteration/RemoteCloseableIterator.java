@@ -14,6 +14,7 @@
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.util.CloseableIterator;
 
+import java.net.SocketAddress;
 import java.util.LinkedList;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
@@ -35,6 +36,7 @@
    private final Set<Integer> segments;
    private final int batchSize;
    private final boolean metadata;
+   private final SocketAddress targetServer;
 
    private KeyTracker segmentKeyTracker;
    private Transport transport;
@@ -45,6 +47,16 @@
 
    public RemoteCloseableIterator(OperationsFactory operationsFactory, String filterConverterFactory,
                                   byte[][] filterParams, Set<Integer> segments, int batchSize, boolean metadata) {
+      this(operationsFactory, filterConverterFactory, filterParams, segments, batchSize, metadata, null);
+   }
+
+   /**
+    * @param targetServer the server to start the iteration on, or {@code null} to let the balancing strategy choose
+    */
+   public RemoteCloseableIterator(OperationsFactory operationsFactory, String filterConverterFactory,
+                                  byte[][] filterParams, Set<Integer> segments, int batchSize, boolean metadata,
+                                  SocketAddress targetServer) {
+      this.targetServer = targetServer;
       this.filterConverterFactory = filterConverterFactory;
       this.filterParams = filterParams;
       this.segments = segments;
@@ -116,7 +128,7 @@ private IterationStartResponse startInternal(Set<Integer> segments) {
       if (log.isDebugEnabled()) {
          log.debugf("Starting iteration with segments %s", segments);
       }
-      IterationStartOperation iterationStartOperation = operationsFactory.newIterationStartOperation(filterConverterFactory, filterParams, segments, batchSize, metadata);
+      IterationStartOperation iterationStartOperation = operationsFactory.newIterationStartOperation(filterConverterFactory, filterParams, segments, batchSize, metadata, targetServer);
       IterationStartResponse startResponse = iterationStartOperation.execute();
       this.transport = startResponse.getTransport();
       if (log.isDebugEnabled()) {
@@ -45,16 +45,34 @@ protected Transport getTransport(int retryCount, Set<SocketAddress> failedServer
       }
    }
 
+   public Object getRoutingKey() {
+      return key == null ? keyBytes : key;
+   }
+
+   public byte[] getCacheName() {
+      return cacheName;
+   }
+
+   public short readResponseHeader(Transport transport, HeaderParams params) {
+      return readHeaderAndValidate(transport, params);
+   }
+
    protected short sendKeyOperation(byte[] key, Transport transport, byte opCode, byte opRespCode) {
       // 1) write [header][key length][key]
-      HeaderParams params = writeHeader(transport, opCode);
-      transport.writeArray(key);
+      HeaderParams params = writeKeyRequest(key, transport, opCode);
       transport.flush();
 
       // 2) now read the header
       return readHeaderAndValidate(transport, params);
    }
 
+   //[header][key length][key]
+   protected HeaderParams writeKeyRequest(byte[] key, Transport transport, short opCode) {
+      HeaderParams params = writeHeader(transport, opCode);
+      transport.writeArray(key);
+      return params;
+   }
+
    protected T returnPossiblePrevValue(Transport transport, short status) {
       return (T) codec.returnPossiblePrevValue(transport, status, flags);
    }
@@ -41,13 +41,8 @@ protected AbstractKeyValueOperation(Codec codec, TransportFactory transportFacto
 
    //[header][key length][key][lifespan][max idle][value length][value]
    protected short sendPutOperation(Transport transport, short opCode, byte opRespCode) {
-      // 1) write header
-      HeaderParams params = writeHeader(transport, opCode);
-
-      // 2) write key and value
-      transport.writeArray(keyBytes);
-      codec.writeExpirationParams(transport, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
-      transport.writeArray(value);
+      // 1) write header, key and value
+      HeaderParams params = writePutRequest(transport, opCode);
       transport.flush();
 
       // 3) now read header
@@ -55,4 +50,12 @@ protected short sendPutOperation(Transport transport, short opCode, byte opRespC
       //return status (not error status for sure)
       return readHeaderAndValidate(transport, params);
    }
+
+   protected HeaderParams writePutRequest(Transport transport, short opCode) {
+      HeaderParams params = writeHeader(transport, opCode);
+      transport.writeArray(keyBytes);
+      codec.writeExpirationParams(transport, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+      transport.writeArray(value);
+      return params;
+   }
 }
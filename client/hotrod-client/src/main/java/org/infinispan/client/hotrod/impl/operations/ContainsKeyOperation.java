@@ -2,6 +2,7 @@
 
 import net.jcip.annotations.Immutable;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
@@ -15,7 +16,7 @@
  * @since 4.1
  */
 @Immutable
-public class ContainsKeyOperation extends AbstractKeyOperation<Boolean> {
+public class ContainsKeyOperation extends AbstractKeyOperation<Boolean> implements MultiplexedOperation<Boolean> {
 
    public ContainsKeyOperation(Codec codec, TransportFactory transportFactory,
          Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId, int flags) {
@@ -24,8 +25,19 @@ public ContainsKeyOperation(Codec codec, TransportFactory transportFactory,
 
    @Override
    protected Boolean executeOperation(Transport transport) {
+      HeaderParams params = writeRequest(transport);
+      transport.flush();
+      return readResponse(transport, params);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writeKeyRequest(keyBytes, transport, CONTAINS_KEY_REQUEST);
+   }
+
+   @Override
+   public Boolean readResponseBody(Transport transport, HeaderParams params, short status) {
       boolean containsKey = false;
-      short status = sendKeyOperation(keyBytes, transport, CONTAINS_KEY_REQUEST, CONTAINS_KEY_RESPONSE);
       if (HotRodConstants.isNotExist(status)) {
          containsKey = false;
       } else if (HotRodConstants.isSuccess(status)) {
@@ -3,6 +3,7 @@
 import net.jcip.annotations.Immutable;
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
@@ -16,7 +17,7 @@
  * @since 4.1
  */
 @Immutable
-public class GetOperation<V> extends AbstractKeyOperation<V> {
+public class GetOperation<V> extends AbstractKeyOperation<V> implements MultiplexedOperation<V> {
 
    public GetOperation(Codec codec, TransportFactory transportFactory,
          Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId, int flags) {
@@ -25,8 +26,19 @@ public GetOperation(Codec codec, TransportFactory transportFactory,
 
    @Override
    public V executeOperation(Transport transport) {
+      HeaderParams params = writeRequest(transport);
+      transport.flush();
+      return readResponse(transport, params);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writeKeyRequest(keyBytes, transport, GET_REQUEST);
+   }
+
+   @Override
+   public V readResponseBody(Transport transport, HeaderParams params, short status) {
       V result = null;
-      short status = sendKeyOperation(keyBytes, transport, GET_REQUEST, GET_RESPONSE);
       if (HotRodConstants.isNotExist(status)) {
          result = null;
       } else {
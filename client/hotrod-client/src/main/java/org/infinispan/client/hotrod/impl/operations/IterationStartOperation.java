@@ -30,10 +30,19 @@ public class IterationStartOperation extends RetryOnFailureOperation<IterationSt
    private final int batchSize;
    private final TransportFactory transportFactory;
    private final boolean metadata;
+   private final SocketAddress targetServer;
 
    protected IterationStartOperation(Codec codec, int flags, byte[] cacheName, AtomicInteger topologyId,
                                      String filterConverterFactory, byte[][] filterParameters, Set<Integer> segments,
                                      int batchSize, TransportFactory transportFactory, boolean metadata) {
+      this(codec, flags, cacheName, topologyId, filterConverterFactory, filterParameters, segments, batchSize,
+           transportFactory, metadata, null);
+   }
+
+   protected IterationStartOperation(Codec codec, int flags, byte[] cacheName, AtomicInteger topologyId,
+                                     String filterConverterFactory, byte[][] filterParameters, Set<Integer> segments,
+                                     int batchSize, TransportFactory transportFactory, boolean metadata,
+                                     SocketAddress targetServer) {
       super(codec, transportFactory, cacheName, topologyId, flags);
       this.filterConverterFactory = filterConverterFactory;
       this.filterParameters = filterParameters;
@@ -41,10 +50,15 @@ protected IterationStartOperation(Codec codec, int flags, byte[] cacheName, Atom
       this.batchSize = batchSize;
       this.transportFactory = transportFactory;
       this.metadata = metadata;
+      this.targetServer = targetServer;
    }
 
    @Override
    protected Transport getTransport(int retryCount, Set<SocketAddress> failedServers) {
+      // Start on the requested server, unless it already failed
+      if (targetServer != null && (failedServers == null || !failedServers.contains(targetServer))) {
+         return transportFactory.getAddressTransport(targetServer);
+      }
       return transportFactory.getTransport(failedServers, cacheName);
    }
 
@@ -0,0 +1,50 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * An operation whose request and response can be handled separately, so that it can share a connection with other
+ * in-flight operations. Responses are matched to their requests using the message id written in the request header.
+ *
+ * @since 8.2
+ * @see org.infinispan.client.hotrod.impl.transport.netty.MultiplexedTransport
+ */
+public interface MultiplexedOperation<T> {
+
+   /**
+    * @return the object used to determine the server owning the data, or {@code null} if any server can be used
+    */
+   Object getRoutingKey();
+
+   byte[] getCacheName();
+
+   /**
+    * Writes the whole request, without flushing the transport.
+    *
+    * @return the header parameters, which must be passed to {@link #readResponse(Transport, HeaderParams)}
+    */
+   HeaderParams writeRequest(Transport transport);
+
+   /**
+    * Reads the header of the response to a request previously written with {@link #writeRequest(Transport)}, applying
+    * the topology changes it carries. It is only invoked once the whole header is available, so it must not be
+    * invoked again for the same response.
+    *
+    * @return the status of the response, which must be passed to {@link #readResponseBody(Transport, HeaderParams, short)}
+    */
+   short readResponseHeader(Transport transport, HeaderParams params);
+
+   /**
+    * Reads the rest of the response once its header has been read. It has no side effects, so it can be invoked
+    * again from the end of the header when the response was not complete.
+    */
+   T readResponseBody(Transport transport, HeaderParams params, short status);
+
+   /**
+    * Reads the whole response, header included, for a request previously written with {@link #writeRequest(Transport)}.
+    */
+   default T readResponse(Transport transport, HeaderParams params) {
+      return readResponseBody(transport, params, readResponseHeader(transport, params));
+   }
+}
@@ -4,6 +4,7 @@
 
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 
@@ -18,7 +19,7 @@
  * @since 4.1
  */
 @Immutable
-public class ReplaceOperation<V> extends AbstractKeyValueOperation<V> {
+public class ReplaceOperation<V> extends AbstractKeyValueOperation<V> implements MultiplexedOperation<V> {
 
    public ReplaceOperation(Codec codec, TransportFactory transportFactory,
             Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId,
@@ -28,7 +29,18 @@ public ReplaceOperation(Codec codec, TransportFactory transportFactory,
 
    @Override
    protected V executeOperation(Transport transport) {
-      short status = sendPutOperation(transport, REPLACE_REQUEST, REPLACE_RESPONSE);
+      HeaderParams params = writeRequest(transport);
+      transport.flush();
+      return readResponse(transport, params);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writePutRequest(transport, REPLACE_REQUEST);
+   }
+
+   @Override
+   public V readResponseBody(Transport transport, HeaderParams params, short status) {
       return returnPossiblePrevValue(transport, status);
    }
 }
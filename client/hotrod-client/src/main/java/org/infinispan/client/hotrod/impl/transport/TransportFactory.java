@@ -55,6 +55,17 @@ void updateHashFunction(SocketAddress[][] segmentOwners, int numSegments, short
 
    Transport getTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
 
+   /**
+    * Returns the server a request should be sent to, without borrowing a transport for it.
+    */
+   SocketAddress getSocketAddress(Set<SocketAddress> failedServers, byte[] cacheName);
+
+   /**
+    * Returns the server owning the given key, or the next server as chosen by the balancer if the owner is not
+    * known, without borrowing a transport for it.
+    */
+   SocketAddress getSocketAddress(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
+
    boolean isTcpNoDelay();
 
    boolean isTcpKeepAlive();
@@ -0,0 +1,148 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+
+import org.infinispan.client.hotrod.impl.transport.AbstractTransport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.commons.io.SignedNumeric;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * {@link org.infinispan.client.hotrod.impl.transport.Transport} view over a single Netty buffer, so that the existing
+ * operations and codecs can encode requests into, and decode responses from, the buffers of a
+ * {@link MultiplexedTransport} channel.
+ *
+ * @since 8.2
+ */
+class ByteBufTransport extends AbstractTransport {
+
+   private final ByteBuf buf;
+   private final SocketAddress serverAddress;
+   private boolean invalid;
+
+   ByteBufTransport(TransportFactory transportFactory, ByteBuf buf, SocketAddress serverAddress) {
+      super(transportFactory);
+      this.buf = buf;
+      this.serverAddress = serverAddress;
+   }
+
+   @Override
+   public void writeVInt(int vInt) {
+      while ((vInt & ~0x7F) != 0) {
+         buf.writeByte((vInt & 0x7F) | 0x80);
+         vInt >>>= 7;
+      }
+      buf.writeByte(vInt);
+   }
+
+   @Override
+   public void writeSignedVInt(int vInt) {
+      writeVInt(SignedNumeric.encode(vInt));
+   }
+
+   @Override
+   public void writeVLong(long l) {
+      while ((l & ~0x7F) != 0) {
+         buf.writeByte((int) ((l & 0x7F) | 0x80));
+         l >>>= 7;
+      }
+      buf.writeByte((int) l);
+   }
+
+   @Override
+   public long readVLong() {
+      byte b = buf.readByte();
+      long i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = buf.readByte();
+         i |= (b & 0x7FL) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   public int readVInt() {
+      byte b = buf.readByte();
+      int i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = buf.readByte();
+         i |= (b & 0x7F) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend) {
+      buf.writeBytes(toAppend);
+   }
+
+   @Override
+   public void writeByte(short toWrite) {
+      buf.writeByte(toWrite);
+   }
+
+   @Override
+   public void flush() {
+      // The buffer is written and flushed to the channel once the whole request has been encoded
+   }
+
+   @Override
+   public short readByte() {
+      return buf.readUnsignedByte();
+   }
+
+   @Override
+   public void release() {
+      // The buffer is owned by the channel
+   }
+
+   @Override
+   public byte[] readByteArray(int size) {
+      byte[] bytes = new byte[size];
+      buf.readBytes(bytes);
+      return bytes;
+   }
+
+   @Override
+   public long readLong() {
+      return buf.readLong();
+   }
+
+   @Override
+   public int readUnsignedShort() {
+      return buf.readUnsignedShort();
+   }
+
+   @Override
+   public int read4ByteInt() {
+      return buf.readInt();
+   }
+
+   @Override
+   public byte[] dumpStream() {
+      byte[] bytes = new byte[buf.readableBytes()];
+      buf.getBytes(buf.readerIndex(), bytes);
+      return bytes;
+   }
+
+   @Override
+   public SocketAddress getRemoteSocketAddress() {
+      return serverAddress;
+   }
+
+   @Override
+   public void invalidate() {
+      invalid = true;
+   }
+
+   @Override
+   public boolean isValid() {
+      return !invalid;
+   }
+
+   @Override
+   public String toString() {
+      return "ByteBufTransport{serverAddress=" + serverAddress + '}';
+   }
+}
@@ -0,0 +1,155 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.operations.MultiplexedOperation;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+
+/**
+ * A connection to a single server shared by all the requests sent to it. In-flight requests are tracked by message id
+ * until their response has been decoded by the {@link ResponseDecoder} of the channel.
+ *
+ * @since 8.2
+ */
+class MultiplexedChannel {
+
+   private static final Log log = LogFactory.getLog(MultiplexedChannel.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final TransportFactory transportFactory;
+   private final SocketAddress serverAddress;
+   private final ConcurrentMap<Long, PendingRequest<?>> pending = new ConcurrentHashMap<>();
+   private volatile Channel channel;
+   private volatile boolean closed;
+
+   MultiplexedChannel(TransportFactory transportFactory, SocketAddress serverAddress) {
+      this.transportFactory = transportFactory;
+      this.serverAddress = serverAddress;
+   }
+
+   void setChannel(Channel channel) {
+      this.channel = channel;
+   }
+
+   SocketAddress getServerAddress() {
+      return serverAddress;
+   }
+
+   TransportFactory getTransportFactory() {
+      return transportFactory;
+   }
+
+   <T> CompletableFuture<T> send(MultiplexedOperation<T> operation) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      ByteBuf buf = channel.alloc().buffer();
+      HeaderParams params;
+      try {
+         params = operation.writeRequest(new ByteBufTransport(transportFactory, buf, serverAddress));
+      } catch (RuntimeException e) {
+         buf.release();
+         future.completeExceptionally(e);
+         return future;
+      }
+      long messageId = params.messageId();
+      PendingRequest<T> request = new PendingRequest<>(operation, params, future);
+      pending.put(messageId, request);
+      if (closed) {
+         // The channel was closed after the pending requests were failed, so this one would never complete
+         buf.release();
+         fail(messageId, new TransportException("Connection closed", serverAddress));
+         return future;
+      }
+      int soTimeout = transportFactory.getSoTimeout();
+      if (soTimeout > 0) {
+         ScheduledFuture<?> timeout = channel.eventLoop().schedule(() -> {
+            if (pending.remove(messageId, request)) {
+               future.completeExceptionally(new TransportException(new SocketTimeoutException(
+                     "No response received for messageId=" + messageId + " within " + soTimeout + " ms"), serverAddress));
+               // Responses are not length prefixed, so a late response could not be skipped without its request:
+               // as the blocking transport does on a socket timeout, the connection is discarded
+               close();
+            }
+         }, soTimeout, TimeUnit.MILLISECONDS);
+         future.whenComplete((value, throwable) -> timeout.cancel(false));
+      }
+      if (trace)
+         log.tracef("Sending request with messageId=%d to %s", messageId, serverAddress);
+      channel.writeAndFlush(buf).addListener((ChannelFutureListener) writeFuture -> {
+         if (!writeFuture.isSuccess()) {
+            fail(messageId, new TransportException(writeFuture.cause(), serverAddress));
+         }
+      });
+      return future;
+   }
+
+   PendingRequest<?> getPending(long messageId) {
+      return pending.get(messageId);
+   }
+
+   <T> void complete(long messageId, PendingRequest<T> request, T value) {
+      pending.remove(messageId, request);
+      request.future.complete(value);
+   }
+
+   void fail(long messageId, Throwable cause) {
+      PendingRequest<?> request = pending.remove(messageId);
+      if (request != null) {
+         request.future.completeExceptionally(cause);
+      }
+   }
+
+   /**
+    * Marks the channel as closed and fails all the requests still waiting for a response.
+    */
+   void failAll(Throwable cause) {
+      closed = true;
+      for (Iterator<PendingRequest<?>> it = pending.values().iterator(); it.hasNext(); ) {
+         PendingRequest<?> request = it.next();
+         it.remove();
+         request.future.completeExceptionally(cause);
+      }
+   }
+
+   boolean isClosed() {
+      return closed;
+   }
+
+   void close() {
+      Channel channel = this.channel;
+      if (channel != null) {
+         channel.close();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "MultiplexedChannel{serverAddress=" + serverAddress + ", pending=" + pending.size() + '}';
+   }
+
+   static final class PendingRequest<T> {
+      final MultiplexedOperation<T> operation;
+      final HeaderParams params;
+      final CompletableFuture<T> future;
+
+      PendingRequest(MultiplexedOperation<T> operation, HeaderParams params, CompletableFuture<T> future) {
+         this.operation = operation;
+         this.params = params;
+         this.future = future;
+      }
+   }
+}
@@ -0,0 +1,187 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.exceptions.RemoteIllegalLifecycleStateException;
+import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.operations.MultiplexedOperation;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Event loop based transport which sends all the requests for a server over a single connection, without waiting
+ * for the responses of the requests already in flight. Responses are matched to their requests by message id, and
+ * the returned {@link CompletableFuture}s are completed from the I/O threads, so dependent actions which may block
+ * should be run with one of the {@code *Async} methods of {@link CompletableFuture}.
+ * <p>
+ * Server selection, topology updates and retries on failure follow the same rules as the pooled, blocking transport
+ * created by the {@link TransportFactory}, which this class relies on for routing.
+ *
+ * @since 8.2
+ */
+public class MultiplexedTransport {
+
+   private static final Log log = LogFactory.getLog(MultiplexedTransport.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final TransportFactory transportFactory;
+   private final ConcurrentMap<SocketAddress, CompletableFuture<MultiplexedChannel>> channels = new ConcurrentHashMap<>();
+   private EventLoopGroup eventLoopGroup;
+   private Bootstrap bootstrap;
+   private volatile boolean stopped;
+
+   public MultiplexedTransport(TransportFactory transportFactory) {
+      this.transportFactory = transportFactory;
+   }
+
+   public void start(Configuration configuration) {
+      if (configuration.security().authentication().enabled()) {
+         throw log.asyncTransportWithAuthentication();
+      }
+      eventLoopGroup = new NioEventLoopGroup(configuration.asyncTransport().ioThreads(),
+            new DefaultThreadFactory("HotRod-client-io", true));
+      bootstrap = new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .option(ChannelOption.TCP_NODELAY, configuration.tcpNoDelay())
+            .option(ChannelOption.SO_KEEPALIVE, configuration.tcpKeepAlive())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, configuration.connectionTimeout());
+      stopped = false;
+   }
+
+   public void stop() {
+      stopped = true;
+      for (CompletableFuture<MultiplexedChannel> channel : channels.values()) {
+         channel.thenAccept(MultiplexedChannel::close);
+      }
+      channels.clear();
+      if (eventLoopGroup != null) {
+         eventLoopGroup.shutdownGracefully(0, transportFactory.getSoTimeout(), TimeUnit.MILLISECONDS);
+      }
+   }
+
+   /**
+    * Sends the request of the given operation and returns a future completed with the result read from its response.
+    */
+   public <T> CompletableFuture<T> execute(MultiplexedOperation<T> operation) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      execute(operation, result, 0, null);
+      return result;
+   }
+
+   private <T> void execute(MultiplexedOperation<T> operation, CompletableFuture<T> result, int retryCount,
+                            Set<SocketAddress> failedServers) {
+      SocketAddress server;
+      try {
+         Object routingKey = operation.getRoutingKey();
+         server = retryCount == 0 && routingKey != null
+               ? transportFactory.getSocketAddress(routingKey, failedServers, operation.getCacheName())
+               : transportFactory.getSocketAddress(failedServers, operation.getCacheName());
+      } catch (RuntimeException e) {
+         result.completeExceptionally(e);
+         return;
+      }
+      getChannel(server).thenCompose(channel -> channel.send(operation)).whenComplete((value, throwable) -> {
+         if (throwable == null) {
+            result.complete(value);
+            return;
+         }
+         Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+               ? throwable.getCause() : throwable;
+         if (!stopped && isRetriable(cause) && retryCount < transportFactory.getMaxRetries()) {
+            Set<SocketAddress> failed = failedServers == null ? new HashSet<>() : failedServers;
+            // A suspected node is not a problem of the server which reported it
+            if (!(cause instanceof RemoteNodeSuspectException)) {
+               failed.add(server);
+            }
+            if (trace)
+               log.tracef(cause, "Exception encountered. Retry %d out of %d", retryCount, transportFactory.getMaxRetries());
+            execute(operation, result, retryCount + 1, failed);
+         } else {
+            result.completeExceptionally(cause);
+         }
+      });
+   }
+
+   private boolean isRetriable(Throwable cause) {
+      return cause instanceof TransportException || cause instanceof RemoteIllegalLifecycleStateException
+            || cause instanceof RemoteNodeSuspectException;
+   }
+
+   private CompletableFuture<MultiplexedChannel> getChannel(SocketAddress server) {
+      CompletableFuture<MultiplexedChannel> channel = channels.get(server);
+      if (channel != null) {
+         if (!channel.isCompletedExceptionally()) {
+            return channel;
+         }
+         channels.remove(server, channel);
+      }
+      CompletableFuture<MultiplexedChannel> newChannel = new CompletableFuture<>();
+      channel = channels.putIfAbsent(server, newChannel);
+      if (channel != null) {
+         return channel;
+      }
+      connect(server, newChannel);
+      return newChannel;
+   }
+
+   private void connect(SocketAddress server, CompletableFuture<MultiplexedChannel> future) {
+      if (stopped) {
+         channels.remove(server, future);
+         future.completeExceptionally(new TransportException("Transport has been stopped", server));
+         return;
+      }
+      MultiplexedChannel multiplexedChannel = new MultiplexedChannel(transportFactory, server);
+      Bootstrap channelBootstrap = bootstrap.clone().handler(new ChannelInitializer<Channel>() {
+         @Override
+         protected void initChannel(Channel channel) throws Exception {
+            SSLContext sslContext = transportFactory.getSSLContext();
+            if (sslContext != null) {
+               SSLEngine sslEngine = sslContext.createSSLEngine();
+               sslEngine.setUseClientMode(true);
+               channel.pipeline().addLast("ssl", new SslHandler(sslEngine));
+            }
+            channel.pipeline().addLast("decoder", new ResponseDecoder(multiplexedChannel));
+         }
+      });
+      channelBootstrap.connect(server).addListener((ChannelFutureListener) connectFuture -> {
+         if (connectFuture.isSuccess()) {
+            Channel channel = connectFuture.channel();
+            multiplexedChannel.setChannel(channel);
+            channel.closeFuture().addListener((ChannelFutureListener) closeFuture -> channels.remove(server, future));
+            if (trace)
+               log.tracef("Opened multiplexed connection to %s", server);
+            future.complete(multiplexedChannel);
+         } else {
+            log.tracef(connectFuture.cause(), "Could not connect to server: %s", server);
+            channels.remove(server, future);
+            future.completeExceptionally(new TransportException(
+                  String.format("Could not connect to server: %s", server), connectFuture.cause(), server));
+         }
+      });
+   }
+}
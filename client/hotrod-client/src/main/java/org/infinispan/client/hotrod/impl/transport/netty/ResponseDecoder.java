@@ -0,0 +1,130 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.util.List;
+
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.transport.netty.MultiplexedChannel.PendingRequest;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ReplayingDecoder;
+
+/**
+ * Decodes the responses received on a {@link MultiplexedChannel} and completes the matching pending requests.
+ * <p>
+ * The Hot Rod protocol does not prefix responses with their length, so the message id is peeked first and the rest
+ * of the response is read by the operation that sent the request. Should the response not be complete yet, the
+ * operation is run again once more data is available. The header, which may carry a new topology, is checkpointed as
+ * soon as it has been read, so that only the body of the response, which has no side effects, is read again.
+ *
+ * @since 8.2
+ */
+class ResponseDecoder extends ReplayingDecoder<ResponseDecoder.State> {
+
+   private static final Log log = LogFactory.getLog(ResponseDecoder.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   enum State {
+      READ_HEADER, READ_BODY
+   }
+
+   private final MultiplexedChannel channel;
+
+   // The response whose header has been read, while in the READ_BODY state
+   private long messageId;
+   private PendingRequest<?> request;
+   private short status;
+
+   ResponseDecoder(MultiplexedChannel channel) {
+      super(State.READ_HEADER);
+      this.channel = channel;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      ByteBufTransport transport = new ByteBufTransport(channel.getTransportFactory(), in, channel.getServerAddress());
+      switch (state()) {
+         case READ_HEADER:
+            if (!readHeader(ctx, in, transport)) {
+               return;
+            }
+            checkpoint(State.READ_BODY);
+            // fall through, the body may be available already
+         case READ_BODY:
+            readBody(ctx, request, transport);
+            request = null;
+            checkpoint(State.READ_HEADER);
+            break;
+         default:
+            throw new IllegalStateException("Unknown state " + state());
+      }
+   }
+
+   private boolean readHeader(ChannelHandlerContext ctx, ByteBuf in, ByteBufTransport transport) {
+      int start = in.readerIndex();
+      // Magic, validated by the codec when the whole header is read
+      transport.readByte();
+      long messageId = transport.readVLong();
+      in.readerIndex(start);
+
+      PendingRequest<?> request = channel.getPending(messageId);
+      if (request == null) {
+         // Either an error that could not be related to any request, or a response we cannot parse: in both cases
+         // there is no way to find where the next response starts
+         in.skipBytes(actualReadableBytes());
+         String message = messageId == 0
+               ? "Server reported an error which could not be associated with any request"
+               : "Received response for unknown messageId=" + messageId;
+         channel.failAll(new TransportException(message, channel.getServerAddress()));
+         ctx.close();
+         return false;
+      }
+      try {
+         status = request.operation.readResponseHeader(transport, request.params);
+      } catch (HotRodClientException e) {
+         failed(ctx, messageId, e, transport);
+         return false;
+      }
+      this.messageId = messageId;
+      this.request = request;
+      return true;
+   }
+
+   private <T> void readBody(ChannelHandlerContext ctx, PendingRequest<T> request, ByteBufTransport transport) {
+      T value;
+      try {
+         value = request.operation.readResponseBody(transport, request.params, status);
+      } catch (HotRodClientException e) {
+         failed(ctx, messageId, e, transport);
+         return;
+      }
+      channel.complete(messageId, request, value);
+      if (trace)
+         log.tracef("Received response for messageId=%d from %s", messageId, channel.getServerAddress());
+   }
+
+   private void failed(ChannelHandlerContext ctx, long messageId, HotRodClientException e, ByteBufTransport transport) {
+      channel.fail(messageId, e);
+      if (e instanceof InvalidResponseException || !transport.isValid()) {
+         channel.failAll(new TransportException(e, channel.getServerAddress()));
+         ctx.close();
+      }
+   }
+
+   @Override
+   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      channel.failAll(new TransportException("Connection closed", channel.getServerAddress()));
+      super.channelInactive(ctx);
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+      log.tracef(cause, "Closing connection to %s after an unexpected error", channel.getServerAddress());
+      channel.failAll(new TransportException(cause, channel.getServerAddress()));
+      ctx.close();
+   }
+}
@@ -240,11 +240,14 @@ public void updateHashFunction(SocketAddress[][] segmentOwners, int numSegments,
 
    @Override
    public Transport getTransport(Set<SocketAddress> failedServers, byte[] cacheName) {
-      SocketAddress server;
+      return borrowTransportFromPool(getSocketAddress(failedServers, cacheName));
+   }
+
+   @Override
+   public SocketAddress getSocketAddress(Set<SocketAddress> failedServers, byte[] cacheName) {
       synchronized (lock) {
-         server = getNextServer(failedServers, cacheName);
+         return getNextServer(failedServers, cacheName);
       }
-      return borrowTransportFromPool(server);
    }
 
    @GuardedBy("lock")
@@ -271,12 +274,15 @@ public Transport getAddressTransport(SocketAddress server) {
    }
 
    public Transport getTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName) {
-      SocketAddress server;
+      return borrowTransportFromPool(getSocketAddress(key, failedServers, cacheName));
+   }
+
+   @Override
+   public SocketAddress getSocketAddress(Object key, Set<SocketAddress> failedServers, byte[] cacheName) {
       synchronized (lock) {
          Optional<SocketAddress> hashAwareServer = topologyInfo.getHashAwareServer(key, cacheName);
-         server = hashAwareServer.orElse(getNextServer(failedServers, cacheName));
+         return hashAwareServer.orElse(getNextServer(failedServers, cacheName));
       }
-      return borrowTransportFromPool(server);
    }
 
    @Override
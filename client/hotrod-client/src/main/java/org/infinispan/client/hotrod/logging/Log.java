@@ -256,4 +256,10 @@ public interface Log extends BasicLogger {
    @Message(value = "Tracking key %s belonging to segment %d, already tracked? = %b", id = 4064)
    void trackingSegmentKey(String key, int segment, boolean isTracked);
 
+   @Message(value = "The number of I/O threads of the asynchronous transport cannot be negative: %d", id = 4065)
+   CacheConfigurationException invalidAsyncTransportIoThreads(int ioThreads);
+
+   @Message(value = "The asynchronous transport cannot be used together with authentication", id = 4066)
+   CacheConfigurationException asyncTransportWithAuthentication();
+
 }
@@ -2,9 +2,13 @@
 
 import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
-import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.client.hotrod.configuration.NearCacheEviction;
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.util.concurrent.jdk8backported.BoundedEquivalentConcurrentHashMapV8;
+import org.infinispan.commons.util.concurrent.jdk8backported.BoundedEquivalentConcurrentHashMapV8.Eviction;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
 
 /**
  * Near cache based on {@link BoundedConcurrentMapNearCache}
@@ -20,8 +24,11 @@ private BoundedConcurrentMapNearCache(ConcurrentMap<K, VersionedValue<V>> cache)
    }
 
    public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config) {
+      Eviction eviction = config.eviction() == NearCacheEviction.LIRS ? Eviction.LIRS : Eviction.LRU;
       return new BoundedConcurrentMapNearCache<K, V>(
-         CollectionFactory.<K, VersionedValue<V>>makeBoundedConcurrentMap(config.maxEntries()));
+         new BoundedEquivalentConcurrentHashMapV8<K, VersionedValue<V>>(config.maxEntries(), eviction,
+            BoundedEquivalentConcurrentHashMapV8.getNullEvictionListener(),
+            AnyEquivalence.getInstance(), AnyEquivalence.getInstance()));
    }
 
    @Override
@@ -49,4 +56,14 @@ public void clear() {
       cache.clear();
    }
 
+   @Override
+   public void removeIf(BiPredicate<? super K, ? super VersionedValue<V>> predicate) {
+      cache.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue()));
+   }
+
+   @Override
+   public int size() {
+      return cache.size();
+   }
+
 }
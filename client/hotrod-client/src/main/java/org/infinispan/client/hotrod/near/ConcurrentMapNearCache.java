@@ -4,6 +4,7 @@
 import org.infinispan.commons.util.CollectionFactory;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
 
 /**
  * A concurrent-map-based near cache implementation.
@@ -40,6 +41,16 @@ public void clear() {
       cache.clear();
    }
 
+   @Override
+   public void removeIf(BiPredicate<? super K, ? super VersionedValue<V>> predicate) {
+      cache.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue()));
+   }
+
+   @Override
+   public int size() {
+      return cache.size();
+   }
+
    public static <K, V> NearCache<K, V> create() {
       return new ConcurrentMapNearCache<K, V>();
    }
@@ -9,6 +9,7 @@
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
 
 /**
  * {@link java.util.LinkedHashMap} based near cache implementation.
@@ -85,6 +86,28 @@ public void clear() {
       }
    }
 
+   @Override
+   public void removeIf(BiPredicate<? super K, ? super VersionedValue<V>> predicate) {
+      Lock lock = rwlock.writeLock();
+      try {
+         lock.lock();
+         cache.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue()));
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public int size() {
+      Lock lock = rwlock.readLock();
+      try {
+         lock.lock();
+         return cache.size();
+      } finally {
+         lock.unlock();
+      }
+   }
+
    public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config) {
       return new LinkedMapNearCache<K, V>(
             new LinkedHashMap<K, VersionedValue<V>>(1 << 4, 0.75f, true) {
@@ -2,6 +2,8 @@
 
 import org.infinispan.client.hotrod.VersionedValue;
 
+import java.util.function.BiPredicate;
+
 /**
  * Near cache contract.
  *
@@ -13,4 +15,6 @@
    void remove(K key);
    VersionedValue<V> get(K key);
    void clear();
+   void removeIf(BiPredicate<? super K, ? super VersionedValue<V>> predicate);
+   int size();
 }
@@ -17,18 +17,22 @@
 import org.infinispan.client.hotrod.impl.VersionedValueImpl;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.client.hotrod.marshall.MarshallerUtil;
 import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.util.BloomFilter;
 import org.infinispan.commons.util.Util;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
 
 /**
  * Near cache service, manages the lifecycle of the near cache.
  *
  * @since 7.1
  */
-public class NearCacheService<K, V> implements NearCache<K, V> {
+public class NearCacheService<K, V> implements NearCache<K, V>, NearCacheStatistics {
    private static final Log log = LogFactory.getLog(NearCacheService.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -37,6 +41,11 @@
    private Object listener;
    private byte[] listenerId;
    private NearCache<K, V> cache;
+   private Marshaller marshaller;
+   private int keySizeEstimate;
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private final LongAdder invalidations = new LongAdder();
 
    protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       this.config = config;
@@ -44,6 +53,8 @@ protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier
    }
 
    public void start(RemoteCache<K, V> remote) {
+      marshaller = remote.getRemoteCacheManager().getMarshaller();
+      keySizeEstimate = remote.getRemoteCacheManager().getConfiguration().keySizeEstimate();
       // Create near cache
       cache = createNearCache(config);
       // Add a listener that updates the near cache
@@ -54,6 +65,9 @@ public void start(RemoteCache<K, V> remote) {
    }
 
    private Object createListener(RemoteCache<K, V> remote) {
+      if (config.mode().bloomFilter())
+         return new BloomFilterNearCacheListener<K, V>(this);
+
       return config.mode().invalidated()
             ? new InvalidatedNearCacheListener<K, V>(this)
             : new EagerNearCacheListener<K, V>(this, remote.getRemoteCacheManager().getMarshaller());
@@ -82,7 +96,7 @@ public static <K, V> NearCacheService<K, V> create(
 
    @Override
    public void put(K key, VersionedValue<V> value) {
-       cache.put(key, value);
+      cache.put(key, withKeyHash(key, value));
 
       if (trace)
          log.tracef("Put key=%s and value=%s in near cache (listenerId=%s)",
@@ -91,7 +105,7 @@ public void put(K key, VersionedValue<V> value) {
 
    @Override
    public void putIfAbsent(K key, VersionedValue<V> value) {
-      cache.putIfAbsent(key, value);
+      cache.putIfAbsent(key, withKeyHash(key, value));
 
       if (trace)
          log.tracef("Conditionally put key=%s and value=%s if absent in near cache (listenerId=%s)",
@@ -111,6 +125,10 @@ public VersionedValue<V> get(K key) {
       boolean listenerConnected = isConnected();
       if (listenerConnected) {
          VersionedValue<V> value = cache.get(key);
+         if (value != null)
+            hits.increment();
+         else
+            misses.increment();
          if (trace)
             log.tracef("Get key=%s returns value=%s (listenerId=%s)", key, value, Util.printArray(listenerId));
 
@@ -121,6 +139,7 @@ public VersionedValue<V> get(K key) {
          log.tracef("Near cache disconnected from server, returning null for key=%s (listenedId=%s)",
                key, Util.printArray(listenerId));
 
+      misses.increment();
       return null;
    }
 
@@ -130,6 +149,74 @@ public void clear() {
       if (trace) log.tracef("Cleared near cache (listenerId=%s)", Util.printArray(listenerId));
    }
 
+   @Override
+   public void removeIf(BiPredicate<? super K, ? super VersionedValue<V>> predicate) {
+      cache.removeIf(predicate);
+   }
+
+   @Override
+   public int size() {
+      return cache.size();
+   }
+
+   /**
+    * Removes a key because it was modified in the server.
+    */
+   void invalidate(K key) {
+      remove(key);
+      invalidations.increment();
+   }
+
+   /**
+    * Removes the keys the bloom filter of keys modified in the server might contain.
+    */
+   void invalidate(BloomFilter filter) {
+      cache.removeIf((key, value) -> {
+         // Entries whose key could not be hashed are always invalidated
+         boolean invalidate = !(value instanceof HashedVersionedValue)
+               || filter.mightContain(((HashedVersionedValue<V>) value).keyHash);
+         if (invalidate)
+            invalidations.increment();
+         return invalidate;
+      });
+      if (trace) log.tracef("Invalidated near cache with %s (listenerId=%s)", filter, Util.printArray(listenerId));
+   }
+
+   private VersionedValue<V> withKeyHash(K key, VersionedValue<V> value) {
+      if (!config.mode().bloomFilter())
+         return value;
+
+      byte[] keyBytes = MarshallerUtil.obj2bytes(marshaller, key, true, keySizeEstimate, 0);
+      return keyBytes != null ? new HashedVersionedValue<>(value, BloomFilter.hash(keyBytes)) : value;
+   }
+
+   @Override
+   public long getHits() {
+      return hits.sum();
+   }
+
+   @Override
+   public long getMisses() {
+      return misses.sum();
+   }
+
+   @Override
+   public long getInvalidations() {
+      return invalidations.sum();
+   }
+
+   @Override
+   public int getSize() {
+      return cache.size();
+   }
+
+   @Override
+   public void resetStatistics() {
+      hits.reset();
+      misses.reset();
+      invalidations.reset();
+   }
+
    private boolean isConnected() {
       return listenerNotifier.isListenerConnected(listenerId);
    }
@@ -137,9 +224,9 @@ private boolean isConnected() {
    @ClientListener
    private static class InvalidatedNearCacheListener<K, V> {
       private static final Log log = LogFactory.getLog(InvalidatedNearCacheListener.class);
-      private final NearCache<K, V> cache;
+      private final NearCacheService<K, V> cache;
 
-      private InvalidatedNearCacheListener(NearCache<K, V> cache) {
+      private InvalidatedNearCacheListener(NearCacheService<K, V> cache) {
          this.cache = cache;
       }
 
@@ -171,7 +258,65 @@ public void handleFailover(ClientCacheFailoverEvent e) {
 
 
       private void invalidate(K key) {
-         cache.remove(key);
+         cache.invalidate(key);
+      }
+   }
+
+   /**
+    * A near cache listener that receives, instead of an event per modified key,
+    * periodic events carrying a bloom filter of the keys modified in the server.
+    * The server converter name selects this behaviour, and raw data is used so
+    * that the filter reaches the client as it was sent.
+    */
+   @ClientListener(converterFactoryName = "___near-cache-bloom-filter", useRawData = true)
+   private static class BloomFilterNearCacheListener<K, V> {
+      private static final Log log = LogFactory.getLog(BloomFilterNearCacheListener.class);
+      private final NearCacheService<K, V> cache;
+
+      private BloomFilterNearCacheListener(NearCacheService<K, V> cache) {
+         this.cache = cache;
+      }
+
+      @ClientCacheEntryModified
+      @SuppressWarnings("unused")
+      public void handleBloomFilterEvent(ClientCacheEntryCustomEvent<byte[]> e) {
+         cache.invalidate(BloomFilter.fromBytes(e.getEventData()));
+      }
+
+      @ClientCacheFailover
+      @SuppressWarnings("unused")
+      public void handleFailover(ClientCacheFailoverEvent e) {
+         if (trace) log.trace("Clear near cache after fail-over of server");
+         cache.clear();
+      }
+   }
+
+   /**
+    * Near cached value that remembers the hash of its marshalled key, so that
+    * bloom filter invalidations don't need to marshall every key again.
+    */
+   private static final class HashedVersionedValue<V> implements VersionedValue<V> {
+      private final VersionedValue<V> delegate;
+      private final long keyHash;
+
+      private HashedVersionedValue(VersionedValue<V> delegate, long keyHash) {
+         this.delegate = delegate;
+         this.keyHash = keyHash;
+      }
+
+      @Override
+      public long getVersion() {
+         return delegate.getVersion();
+      }
+
+      @Override
+      public V getValue() {
+         return delegate.getValue();
+      }
+
+      @Override
+      public String toString() {
+         return delegate.toString();
       }
    }
 
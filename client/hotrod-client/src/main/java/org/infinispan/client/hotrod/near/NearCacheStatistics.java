@@ -0,0 +1,35 @@
+package org.infinispan.client.hotrod.near;
+
+/**
+ * Statistics of a near cache.
+ *
+ * @since 8.2
+ */
+public interface NearCacheStatistics {
+
+   /**
+    * @return the number of reads served by the near cache
+    */
+   long getHits();
+
+   /**
+    * @return the number of reads that had to go to the server
+    */
+   long getMisses();
+
+   /**
+    * @return the number of entries removed from the near cache because they were modified in the server
+    */
+   long getInvalidations();
+
+   /**
+    * @return the number of entries currently in the near cache
+    */
+   int getSize();
+
+   /**
+    * Resets the hit, miss and invalidation counters.
+    */
+   void resetStatistics();
+
+}
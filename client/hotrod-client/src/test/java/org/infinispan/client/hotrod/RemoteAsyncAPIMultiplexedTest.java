@@ -0,0 +1,48 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the asynchronous API tests over the multiplexed, event loop based transport.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "client.hotrod.RemoteAsyncAPIMultiplexedTest")
+public class RemoteAsyncAPIMultiplexedTest extends RemoteAsyncAPITest {
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.forceReturnValues(isForceReturnValuesViaConfiguration());
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.asyncTransport().enable().ioThreads(1);
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testManyConcurrentRequests() throws Exception {
+      int count = 1000;
+      List<Future<String>> puts = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         puts.add(remote().putAsync("k" + i, "v" + i));
+      }
+      for (Future<String> put : puts) {
+         assertNull(put.get());
+      }
+      List<Future<String>> gets = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         gets.add(remote().getAsync("k" + i));
+      }
+      for (int i = 0; i < count; i++) {
+         assertEquals("v" + i, gets.get(i).get());
+      }
+   }
+}
@@ -52,6 +52,9 @@ public void testConfiguration() {
          .valueSizeEstimate(1024)
          .maxRetries(0)
          .tcpKeepAlive(true)
+         .asyncTransport()
+            .enable()
+            .ioThreads(4)
          .transportFactory(SomeTransportfactory.class);
 
       Configuration configuration = builder.build();
@@ -89,6 +92,14 @@ public void testNegativeRetriesPerServer() {
       builder.build();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: The number of I/O threads of the asynchronous transport cannot be negative: -1")
+   public void testNegativeAsyncTransportIoThreads() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.asyncTransport().ioThreads(-1);
+      builder.build();
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class)
    public void testMissingClusterNameDefinition() {
       ConfigurationBuilder builder = new ConfigurationBuilder();
@@ -180,6 +191,8 @@ private void validateConfiguration(Configuration configuration) {
       assertEquals(128, configuration.keySizeEstimate());
       assertEquals(1024, configuration.valueSizeEstimate());
       assertEquals(0, configuration.maxRetries());
+      assertTrue(configuration.asyncTransport().enabled());
+      assertEquals(4, configuration.asyncTransport().ioThreads());
    }
 
 }
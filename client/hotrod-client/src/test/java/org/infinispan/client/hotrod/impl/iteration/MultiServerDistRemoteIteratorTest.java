@@ -74,6 +74,27 @@ public void testSegmentFinishedCallback() {
       }
    }
 
+   public void testParallelIteration() {
+      RemoteCache<Integer, AccountHS> cache = clients.get(0).getCache();
+      populateCache(CACHE_SIZE, this::newAccount, cache);
+
+      Set<Map.Entry<Object, Object>> entries = extractEntries(cache.retrieveEntriesInParallel(null, null, null, 3));
+      assertEquals(rangeAsSet(0, CACHE_SIZE), extractKeys(entries));
+      for (int i = 0; i < servers.size(); i++) {
+         assertEquals(0, server(i).iterationManager().activeIterations());
+      }
+   }
+
+   public void testParallelIterationBySegment() {
+      RemoteCache<Integer, AccountHS> cache = clients.get(0).getCache();
+      populateCache(CACHE_SIZE, this::newAccount, cache);
+      Set<Integer> segments = rangeAsSet(10, 40);
+
+      Set<Map.Entry<Object, Object>> entries = extractEntries(cache.retrieveEntriesInParallel(null, null, segments, 3));
+      Set<Map.Entry<Object, Object>> expected = extractEntries(cache.retrieveEntries(null, segments, 3));
+      assertEquals(extractKeys(expected), extractKeys(entries));
+   }
+
    @Override
    protected org.infinispan.client.hotrod.configuration.ConfigurationBuilder createHotRodClientConfigurationBuilder(int serverPort) {
       org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder = new org.infinispan.client.hotrod.configuration.ConfigurationBuilder();
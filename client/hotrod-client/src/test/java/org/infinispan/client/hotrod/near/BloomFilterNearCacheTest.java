@@ -0,0 +1,91 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheEviction;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.impl.InvalidatedNearRemoteCache;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests near caches invalidated with bloom filters of the keys modified in the server.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "client.hotrod.near.BloomFilterNearCacheTest")
+public class BloomFilterNearCacheTest extends SingleHotRodServerTest {
+
+   private RemoteCacheManager nearManager;
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      return new RemoteCacheManager(builder.build());
+   }
+
+   private InvalidatedNearRemoteCache<Integer, String> createNearCache(int maxEntries, NearCacheEviction eviction) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED_BLOOM_FILTER).maxEntries(maxEntries).eviction(eviction);
+      nearManager = new RemoteCacheManager(builder.build());
+      return (InvalidatedNearRemoteCache<Integer, String>) nearManager.<Integer, String>getCache();
+   }
+
+   @AfterMethod(alwaysRun = true)
+   protected void killNearManager() {
+      killRemoteCacheManager(nearManager);
+      remoteCacheManager.getCache().clear();
+   }
+
+   public void testInvalidationByOtherClient() {
+      RemoteCache<Integer, String> writer = remoteCacheManager.getCache();
+      InvalidatedNearRemoteCache<Integer, String> near = createNearCache(-1, NearCacheEviction.LRU);
+      NearCacheStatistics stats = near.nearCacheStatistics();
+
+      writer.put(1, "v1");
+      writer.put(2, "v1");
+      assertEquals("v1", near.get(1));
+      assertEquals("v1", near.get(2));
+      assertEquals("v1", near.get(1));
+      assertEquals(1, stats.getHits());
+      assertEquals(2, stats.getMisses());
+      assertEquals(2, stats.getSize());
+
+      writer.put(1, "v2");
+      eventuallyEquals("v2", () -> near.get(1));
+      assertEquals("v1", near.get(2));
+      assertTrue(stats.getInvalidations() >= 1);
+
+      writer.remove(2);
+      eventuallyEquals(null, () -> near.get(2));
+   }
+
+   public void testLocalWritesInvalidateImmediately() {
+      InvalidatedNearRemoteCache<Integer, String> near = createNearCache(-1, NearCacheEviction.LRU);
+      near.put(1, "v1");
+      assertEquals("v1", near.get(1));
+      near.put(1, "v2");
+      assertEquals("v2", near.get(1));
+   }
+
+   public void testLirsEviction() {
+      InvalidatedNearRemoteCache<Integer, String> near = createNearCache(10, NearCacheEviction.LIRS);
+      RemoteCache<Integer, String> writer = remoteCacheManager.getCache();
+      for (int i = 0; i < 100; i++) {
+         writer.put(i, "v" + i);
+      }
+      for (int i = 0; i < 100; i++) {
+         assertEquals("v" + i, near.get(i));
+      }
+      eventually(() -> "Near cache size " + near.nearCacheStatistics().getSize(),
+            () -> near.nearCacheStatistics().getSize() <= 10);
+   }
+}
@@ -5,6 +5,7 @@
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.function.BiPredicate;
 
 public class MockNearCacheService<K, V> extends NearCacheService<K, V> {
    final BlockingQueue<MockEvent> events;
@@ -74,6 +75,16 @@ public void clear() {
          events.clear();
          events.add(new MockClearEvent());
       }
+
+      @Override
+      public void removeIf(BiPredicate<? super K, ? super VersionedValue<V>> predicate) {
+         delegate.removeIf(predicate);
+      }
+
+      @Override
+      public int size() {
+         return delegate.size();
+      }
    }
 
    static class MockPutEvent<K, V> extends MockKeyValueEvent<K, V> {
@@ -0,0 +1,126 @@
+package org.infinispan.commons.util;
+
+import org.infinispan.commons.hash.MurmurHash3;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A bloom filter over the hashes of binary keys, used to tell remote clients which keys may have been modified.
+ * <p>
+ * Keys are added and looked up by their {@link #hash(byte[])}, so the filter can be built and queried by parties
+ * that only share the binary form of the keys. The bit positions are derived from the two halves of the 64-bit hash
+ * using double hashing. Instances are not thread-safe.
+ *
+ * @since 8.2
+ */
+public final class BloomFilter {
+   private static final int SEED = 9001;
+   private static final int BITS_PER_KEY = 10;
+   private static final int NUM_HASHES = 7;
+   private static final int MIN_BITS = Long.SIZE;
+
+   private final long[] words;
+   private final int numBits;
+   private final int numHashes;
+
+   private BloomFilter(long[] words, int numHashes) {
+      this.words = words;
+      this.numBits = words.length * Long.SIZE;
+      this.numHashes = numHashes;
+   }
+
+   /**
+    * Creates a filter with a false positive rate of about 1% when the given number of keys is added.
+    */
+   public static BloomFilter forExpectedKeys(int expectedKeys) {
+      long numBits = Math.max(MIN_BITS, (long) expectedKeys * BITS_PER_KEY);
+      int numWords = (int) Math.min(Integer.MAX_VALUE / Long.SIZE, (numBits + Long.SIZE - 1) / Long.SIZE);
+      return new BloomFilter(new long[numWords], NUM_HASHES);
+   }
+
+   /**
+    * Creates a filter that reports every key as possibly contained.
+    */
+   public static BloomFilter full() {
+      long[] words = new long[1];
+      words[0] = -1L;
+      return new BloomFilter(words, 1);
+   }
+
+   /**
+    * Computes the hash used to add and look up a key.
+    */
+   public static long hash(byte[] key) {
+      return MurmurHash3.MurmurHash3_x64_64(key, SEED);
+   }
+
+   public void add(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 0; i < numHashes; i++) {
+         int bit = bitIndex(h1 + i * h2);
+         words[bit >>> 6] |= 1L << bit;
+      }
+   }
+
+   public boolean mightContain(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 0; i < numHashes; i++) {
+         int bit = bitIndex(h1 + i * h2);
+         if ((words[bit >>> 6] & (1L << bit)) == 0)
+            return false;
+      }
+      return true;
+   }
+
+   private int bitIndex(int combinedHash) {
+      return (combinedHash & Integer.MAX_VALUE) % numBits;
+   }
+
+   /**
+    * Serializes the filter as the number of hash functions (1 byte), the number of 64-bit words (4 bytes) and
+    * the words themselves.
+    */
+   public byte[] toBytes() {
+      ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + words.length * 8);
+      buffer.put((byte) numHashes);
+      buffer.putInt(words.length);
+      for (long word : words) {
+         buffer.putLong(word);
+      }
+      return buffer.array();
+   }
+
+   public static BloomFilter fromBytes(byte[] bytes) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      int numHashes = buffer.get();
+      int numWords = buffer.getInt();
+      if (numHashes <= 0 || numWords <= 0 || buffer.remaining() != numWords * 8)
+         throw new IllegalArgumentException("Invalid bloom filter of " + bytes.length + " bytes");
+      long[] words = new long[numWords];
+      for (int i = 0; i < numWords; i++) {
+         words[i] = buffer.getLong();
+      }
+      return new BloomFilter(words, numHashes);
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      BloomFilter other = (BloomFilter) o;
+      return numHashes == other.numHashes && Arrays.equals(words, other.words);
+   }
+
+   @Override
+   public int hashCode() {
+      return 31 * numHashes + Arrays.hashCode(words);
+   }
+
+   @Override
+   public String toString() {
+      return "BloomFilter{numBits=" + numBits + ", numHashes=" + numHashes + '}';
+   }
+}
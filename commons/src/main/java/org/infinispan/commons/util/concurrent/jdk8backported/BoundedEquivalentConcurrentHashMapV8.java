@@ -446,6 +446,13 @@ TreeNode<K,V> createNewEntry(K key, int hash, TreeNode<K,V> next,
        * @param newSize New Size applied to the container.
        */
       void resize(long newSize);
+
+      /**
+       * Returns the estimated memory used by the entries, or -1 if this policy doesn't measure memory.
+       */
+      default long estimatedMemoryFootprint() {
+         return -1;
+      }
    }
 
    static class NullEvictionPolicy<K, V> implements EvictionPolicy<K, V> {
@@ -509,6 +516,8 @@ public void resize(long newSize) {
       private final Node<K, V> attachedNode;
       DequeNode<Node<K, V>> queueNode;
       boolean removed;
+      // The size accounted for this entry, so updates and removals subtract exactly what was added
+      long size;
 
       public LRUNode(Node<K, V> item) {
          this.attachedNode = item;
@@ -591,6 +600,16 @@ public void onEntryHitRead(Node<K, V> e, V value) {
       @Override
       public void onEntryHitWrite(BoundedEquivalentConcurrentHashMapV8.Node<K,V> e, V value) {
          onEntryHitRead(e, value);
+         if (countingMemory) {
+            LRUNode<K, V> eviction = (LRUNode<K, V>) e.eviction;
+            synchronized (eviction) {
+               if (!eviction.removed) {
+                  long newSize = sizeCalculator.calculateSize(e.key, value);
+                  incrementSizeEviction(currentSize, newSize - eviction.size, 0);
+                  eviction.size = newSize;
+               }
+            }
+         }
       }
 
       @Override
@@ -602,7 +621,8 @@ public void onEntryMiss(Node<K, V> e, V value) {
                DequeNode<Node<K, V>> queueNode = new DequeNode<>(e);
                eviction.queueNode = queueNode;
                deque.linkLast(queueNode);
-               incrementSizeEviction(currentSize, sizeCalculator.calculateSize(e.key, value), 0);
+               eviction.size = sizeCalculator.calculateSize(e.key, value);
+               incrementSizeEviction(currentSize, eviction.size, 0);
             }
          }
       }
@@ -621,7 +641,7 @@ public void onEntryRemove(Node<K, V> e) {
             // This is just in case if there are concurrent removes for the same key
             if (!eviction.removed) {
                eviction.removed = true;
-               incrementSizeEviction(currentSize, -sizeCalculator.calculateSize(e.key, e.val), 0);
+               incrementSizeEviction(currentSize, -eviction.size, 0);
             }
          }
       }
@@ -677,12 +697,14 @@ public Collection<Node<K, V>> findIfEntriesNeedEvicting() {
             while (decCreate < extra) {
                Node<K, V> node = deque.pollFirst();
                boolean removed = false;
+               long nodeSize = 0;
                if (node != null) {
                   LRUNode<K, V> lruNode = (LRUNode<K, V>) node.eviction;
                   synchronized (lruNode) {
                      if (!lruNode.removed) {
                         lruNode.removed = true;
                         removed = true;
+                        nodeSize = lruNode.size;
                      }
                   }
                }
@@ -691,7 +713,7 @@ public Collection<Node<K, V>> findIfEntriesNeedEvicting() {
                   V value = map.replaceNode(node.key, null, null, true);
                   if (value != null) {
                      evictedEntries.add(node);
-                     decCreate += sizeCalculator.calculateSize(node.key, value);
+                     decCreate += nodeSize;
                   }
                } else {
                   // This basically means there was a concurrent remove, in which case
@@ -722,6 +744,11 @@ public void onResize(long oldSize, long newSize) {
       public void resize(long newSize) {
          this.maxSize = newSize;
       }
+
+      @Override
+      public long estimatedMemoryFootprint() {
+         return countingMemory ? currentSize.get().size : -1;
+      }
    }
 
    enum Recency {
@@ -738,6 +765,8 @@ enum Recency {
       DequeNode<LIRSNode<K, V>> stackNode;
       DequeNode<LIRSNode<K, V>> queueNode;
       boolean created;
+      // The memory accounted for this entry while it is resident, only used when bounding memory
+      long size;
       final K key;
 
       public LIRSNode(K key) {
@@ -846,8 +875,28 @@ static SizeAndEvicting incrementSizeEviction(AtomicReference<SizeAndEvicting> cu
 
       final ThreadLocal<Collection<LIRSNode<K, V>>> nodesToEvictTL = new ThreadLocal<>();
 
+      /**
+       * The calculator used when bounding the memory rather than the number of entries, null otherwise.
+       * In that case the maximum number of entries is adapted to the average size of the resident entries
+       * so that they fit in {@link #maximumMemory}.
+       */
+      private final EntrySizeCalculator<? super K, ? super V> sizeCalculator;
+
+      /** The maximum memory of the resident entries, when bounding memory. */
+      private volatile long maximumMemory;
+
+      /** The memory used by the resident entries, when bounding memory. */
+      private final AtomicLong memoryInUse = new AtomicLong();
+
       public LIRSEvictionPolicy(BoundedEquivalentConcurrentHashMapV8<K, V> map, long maxSize) {
+         this(map, maxSize, null);
+      }
+
+      public LIRSEvictionPolicy(BoundedEquivalentConcurrentHashMapV8<K, V> map, long maxSize,
+            EntrySizeCalculator<? super K, ? super V> sizeCalculator) {
          this.map = map;
+         this.sizeCalculator = sizeCalculator;
+         this.maximumMemory = maxSize;
          this.maximumSize = maxSize;
          this.maximumHotSize = calculateLIRSize(maxSize);
       }
@@ -910,6 +959,11 @@ boolean addToLIRIfNotFullHot(LIRSNode<K, V> lirsNode, boolean incrementSize) {
 
       @Override
       public void onEntryMiss(Node<K, V> e, V value) {
+         entryMiss(e, value);
+         updateResidentMemory(e);
+      }
+
+      private void entryMiss(Node<K, V> e, V value) {
          long pruneLIR = 0;
          boolean evictHIR = false;
          boolean skipIncrement;
@@ -1187,7 +1241,8 @@ public void onEntryHitRead(Node<K,V> e, V value) {
                   recency == Recency.EVICTING) {
                reAttempt = true;
             } else {
-               onEntryHitWrite(e, value);
+               // A read doesn't change the value, so there is no need to measure it again
+               entryHitWrite(e, value);
             }
          }
          if (reAttempt) {
@@ -1215,6 +1270,72 @@ else if (f.hash == MOVED)
 
       @Override
       public void onEntryHitWrite(Node<K, V> e, V value) {
+         entryHitWrite(e, value);
+         updateResidentMemory(e);
+      }
+
+      /**
+       * Measures the entry again after its value or its state changed, when bounding memory.
+       */
+      private void updateResidentMemory(Node<K, V> e) {
+         if (sizeCalculator == null) {
+            return;
+         }
+         LIRSNode<K, V> lirsNode = (LIRSNode<K, V>) e.eviction;
+         synchronized (lirsNode) {
+            V value = e.val;
+            Recency recency = lirsNode.state;
+            long newSize = 0;
+            if (value != null && value != NULL_VALUE && recency != Recency.REMOVED &&
+                  recency != Recency.EVICTED) {
+               newSize = sizeCalculator.calculateSize(e.key, value);
+            }
+            releaseResidentMemory(lirsNode);
+            lirsNode.size = newSize;
+            memoryInUse.addAndGet(newSize);
+         }
+      }
+
+      /**
+       * The node must be locked before calling this method
+       */
+      private void releaseResidentMemory(LIRSNode<K, V> lirsNode) {
+         if (lirsNode.size != 0) {
+            memoryInUse.addAndGet(-lirsNode.size);
+            lirsNode.size = 0;
+         }
+      }
+
+      /**
+       * Adapts the maximum number of entries to the average size of the resident entries, so that they
+       * fit in the maximum memory.  The maximum is lowered straight away, but only raised once it is off
+       * by more than 10% to avoid resizing on every write.
+       */
+      private void adaptCapacityToMemory() {
+         long residentEntries = currentSize.get().size;
+         long memory = memoryInUse.get();
+         if (residentEntries <= 0 || memory <= 0) {
+            return;
+         }
+         long averageSize = Math.max(1, memory / residentEntries);
+         long targetSize = Math.max(2, maximumMemory / averageSize);
+         long currentMaximum = maximumSize;
+         if (targetSize < currentMaximum || targetSize > currentMaximum + currentMaximum / 10) {
+            long targetHotSize = calculateLIRSize(targetSize);
+            this.maximumSize = targetSize;
+            this.maximumHotSize = targetHotSize;
+            // Hot entries are never evicted, so the ones that don't fit anymore have to be demoted first
+            long hot;
+            while ((hot = hotSize.get()) > targetHotSize) {
+               if (hotSize.compareAndSet(hot, targetHotSize)) {
+                  hotDemotion.addAndGet(hot - targetHotSize);
+                  break;
+               }
+            }
+         }
+      }
+
+      private void entryHitWrite(Node<K, V> e, V value) {
          boolean demoteLIR = false;
          boolean evictHIR = false;
          LIRSNode<K, V> lirsNode = (LIRSNode<K, V>) e.eviction;
@@ -1358,6 +1479,7 @@ public void onEntryRemove(Node<K, V> e) {
             case EVICTED:
                // This shouldn't be possible
             }
+            releaseResidentMemory(lirsNode);
 
             DequeNode<LIRSNode<K, V>> queueNode = lirsNode.queueNode;
             if (queueNode != null) {
@@ -1381,6 +1503,9 @@ public void onEntryRemove(Node<K, V> e) {
 
       @Override
       public Collection<Node<K, V>> findIfEntriesNeedEvicting() {
+         if (sizeCalculator != null) {
+            adaptCapacityToMemory();
+         }
          long hotDemotions;
          while ((hotDemotions = hotDemotion.get()) > 0) {
             if (hotDemotion.compareAndSet(hotDemotions, 0)) {
@@ -1523,6 +1648,7 @@ else if (f.hash == MOVED)
                               synchronized (evict) {
                                  if (evict.state == Recency.EVICTING) {
                                     evict.setState(Recency.EVICTED);
+                                    releaseResidentMemory(evict);
                                     V prevValue = map.replaceNode(evict.getKey(), null, null, true);
                                     removedNodes.add(new Node<>(-1, null, evict.getKey(),
                                           prevValue, null));
@@ -1531,6 +1657,7 @@ else if (f.hash == MOVED)
                                     V prevValue = node.val;
                                     if (prevValue != NULL_VALUE) {
                                        node.val = (V) NULL_VALUE;
+                                       releaseResidentMemory(evict);
                                        map.addCount(-1, -1);
                                        Node<K, V> nonResidentNode = new Node<K, V>(-1, null, evict.getKey(),
                                              prevValue, null);
@@ -1558,10 +1685,19 @@ public void onResize(long oldSize, long newSize) {
 
       @Override
       public void resize(long newSize) {
+         if (sizeCalculator != null) {
+            // The number of entries is adapted on the next write
+            this.maximumMemory = newSize;
+            return;
+         }
          this.maximumSize = newSize;
          this.maximumHotSize = calculateLIRSize(this.maximumSize);
       }
 
+      @Override
+      public long estimatedMemoryFootprint() {
+         return sizeCalculator != null ? memoryInUse.get() : -1;
+      }
    }
 
    public enum Eviction {
@@ -1592,10 +1728,12 @@ public <K, V> EvictionPolicy<K, V> make(
          @Override
          public <K, V> EvictionPolicy<K, V> make(BoundedEquivalentConcurrentHashMapV8<K, V> map,
                EntrySizeCalculator<? super K, ? super V> sizeCalculator, long capacity) {
-            if (sizeCalculator != null) {
-               throw new IllegalArgumentException("LIRS does not support a size calculator!");
+            if (sizeCalculator == null) {
+               return new LIRSEvictionPolicy<K, V>(map, capacity);
+            } else {
+               return new LIRSEvictionPolicy<K, V>(map, capacity,
+                     new NodeSizeCalculatorWrapper<K, V>(sizeCalculator));
             }
-            return new LIRSEvictionPolicy<K, V>(map, capacity);
          }
       };
 
@@ -4000,6 +4138,14 @@ public long capacity() {
       return maxSize;
    }
 
+   /**
+    * Returns the estimated memory used by the entries in this map, or -1 if the eviction policy only counts
+    * the entries.
+    */
+   public long estimatedMemoryFootprint() {
+      return evictionPolicy.estimatedMemoryFootprint();
+   }
+
    /**
     * Adds to count, and if table is too small and not already
     * resizing, initiates transfer. If already resizing, helps
@@ -0,0 +1,54 @@
+package org.infinispan.commons.util;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.testng.annotations.Test;
+
+@Test(testName = "commons.util.BloomFilterTest", groups = "functional")
+public class BloomFilterTest {
+
+   private static final int NUM_KEYS = 10000;
+
+   public void testNoFalseNegatives() {
+      BloomFilter filter = BloomFilter.forExpectedKeys(NUM_KEYS);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         filter.add(BloomFilter.hash(("k" + i).getBytes()));
+      }
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertTrue(filter.mightContain(BloomFilter.hash(("k" + i).getBytes())));
+      }
+   }
+
+   public void testFalsePositiveRate() {
+      BloomFilter filter = BloomFilter.forExpectedKeys(NUM_KEYS);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         filter.add(BloomFilter.hash(("k" + i).getBytes()));
+      }
+      int falsePositives = 0;
+      for (int i = 0; i < NUM_KEYS; i++) {
+         if (filter.mightContain(BloomFilter.hash(("other" + i).getBytes())))
+            falsePositives++;
+      }
+      // About 1% is expected
+      assertTrue("False positives: " + falsePositives, falsePositives < NUM_KEYS / 20);
+   }
+
+   public void testSerialization() {
+      BloomFilter filter = BloomFilter.forExpectedKeys(100);
+      filter.add(BloomFilter.hash("k1".getBytes()));
+      BloomFilter copy = BloomFilter.fromBytes(filter.toBytes());
+      assertEquals(filter, copy);
+      assertTrue(copy.mightContain(BloomFilter.hash("k1".getBytes())));
+      assertFalse(BloomFilter.fromBytes(BloomFilter.forExpectedKeys(100).toBytes())
+            .mightContain(BloomFilter.hash("k1".getBytes())));
+   }
+
+   public void testFull() {
+      BloomFilter filter = BloomFilter.fromBytes(BloomFilter.full().toBytes());
+      for (int i = 0; i < 100; i++) {
+         assertTrue(filter.mightContain(BloomFilter.hash(("k" + i).getBytes())));
+      }
+   }
+}
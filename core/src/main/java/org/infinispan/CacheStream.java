@@ -1,5 +1,9 @@
 package org.infinispan;
 
+import org.infinispan.stream.StreamSubscriber;
+import org.infinispan.stream.StreamSubscription;
+import org.infinispan.stream.impl.IteratorSubscription;
+
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Set;
@@ -201,6 +205,21 @@ interface SegmentCompletionListener {
    @Override
    Iterator<R> iterator();
 
+   /**
+    * Publishes the elements of this stream to the given subscriber, retrieving them only as the subscriber requests
+    * them through its {@link StreamSubscription}. This allows processing all the entries of a cache with bounded
+    * memory, as remote nodes don't send more batches than the subscriber is able to consume.
+    * <p>This method obeys the {@link CacheStream#distributedBatchSize(int)} and, unless
+    * {@link CacheStream#sequentialDistribution()} is invoked, retrieves the first batch from all nodes in parallel so
+    * the next batches are already in flight while the subscriber processes the current one.</p>
+    * <p>The stream is closed when the subscriber is completed, fails or cancels its subscription.</p>
+    * <p>This method is a terminal operation.</p>
+    * @param subscriber the subscriber receiving the elements
+    */
+   default void subscribe(StreamSubscriber<? super R> subscriber) {
+      subscriber.onSubscribe(new IteratorSubscription<>(iterator(), subscriber, this::close));
+   }
+
    /**
     * {@inheritDoc}
     * <p>Usage of this operator requires closing this stream after you are done with the spliterator.  The preferred
@@ -54,6 +54,8 @@
 import org.infinispan.filter.KeyValueFilter;
 import org.infinispan.interceptors.InterceptorChain;
 import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.interceptors.distribution.BaseDistributionInterceptor;
+import org.infinispan.interceptors.distribution.NonTxDistributionInterceptor;
 import org.infinispan.iteration.EntryIterable;
 import org.infinispan.iteration.impl.EntryIterableFromStreamImpl;
 import org.infinispan.jmx.annotations.DataType;
@@ -101,6 +103,8 @@
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -159,6 +163,7 @@
    private GlobalConfiguration globalCfg;
    private boolean isClassLoaderInContext;
    private LocalTopologyManager localTopologyManager;
+   private BaseDistributionInterceptor remoteGetInterceptor;
 
    public CacheImpl(String name) {
       this.name = name;
@@ -851,10 +856,24 @@ public void start() {
       isClassLoaderInContext = config.clustering().cacheMode().isClustered()
             || config.persistence().usingStores()
             || config.storeAsBinary().enabled();
+      remoteGetInterceptor = findRemoteGetInterceptor();
 
       if (log.isDebugEnabled()) log.debugf("Started cache %s on %s", getName(), getCacheManager().getAddress());
    }
 
+   /**
+    * Asynchronous gets can fetch the value from the owners without holding a thread only when nothing in the chain
+    * needs to run before the remote get: no transactions, no L1, and no key conversions.
+    */
+   private BaseDistributionInterceptor findRemoteGetInterceptor() {
+      if (!config.clustering().cacheMode().isDistributed() || config.transaction().transactionMode().isTransactional()
+            || config.clustering().l1().enabled() || config.storeAsBinary().enabled() || config.compatibility().enabled()) {
+         return null;
+      }
+      List<CommandInterceptor> interceptors = invoker.getInterceptorsWithClass(NonTxDistributionInterceptor.class);
+      return interceptors.isEmpty() ? null : (BaseDistributionInterceptor) interceptors.get(0);
+   }
+
    @Override
    @ManagedOperation(
          description = "Stops the cache.",
@@ -1576,6 +1595,9 @@ NotifyingFuture<V> getAsync(final K key, final EnumSet<Flag> explicitFlags, fina
             appliedFlags = explicitFlags.clone();
             explicitFlags.clear();
          }
+         if (remoteGetInterceptor != null && isSkipLoader(appliedFlags)) {
+            return getAsyncFromRemoteOwners(key, appliedFlags, explicitClassLoader);
+         }
          final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
 
          Callable<V> c = new Callable<V>() {
@@ -1604,6 +1626,38 @@ public V call() throws Exception {
       }
    }
 
+   /**
+    * Fetches the value from the owners without blocking any thread, then runs the get command with the fetched value,
+    * so the distribution interceptor doesn't need to wait for a remote get.
+    */
+   @SuppressWarnings("unchecked")
+   private NotifyingFuture<V> getAsyncFromRemoteOwners(final K key, final EnumSet<Flag> flags,
+                                                      final ClassLoader explicitClassLoader) {
+      final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
+      CompletableFuture<V> future = remoteGetInterceptor.retrieveFromRemoteSourceAsync(key, flags)
+            .thenApplyAsync(remoteEntry -> {
+               // If no owner had the value, don't ask them again
+               Set<Flag> commandFlags = remoteEntry == null ? Flag.addFlag(flags, Flag.SKIP_REMOTE_LOOKUP) : flags;
+               InvocationContext ctx = getInvocationContextForRead(explicitClassLoader, 1);
+               GetKeyValueCommand command = commandsFactory.buildGetKeyValueCommand(key, commandFlags);
+               command.setRemotelyFetchedValue(remoteEntry);
+               return (V) invoker.invoke(ctx, command);
+            }, asyncExecutor);
+      future.whenComplete((retval, t) -> {
+         try {
+            if (t == null) {
+               result.notifyDone(retval);
+            } else {
+               result.notifyException(t instanceof CompletionException ? t.getCause() : t);
+            }
+         } catch (Throwable e) {
+            log.trace("Error when notifying", e);
+         }
+      });
+      result.setFuture(future);
+      return result;
+   }
+
    /**
     * Encodes the cases for an asyncGet operation in which it makes sense to actually perform the operation in sync.
     *
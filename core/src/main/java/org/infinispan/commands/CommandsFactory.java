@@ -326,6 +326,12 @@ public interface CommandsFactory {
     */
    StateResponseCommand buildStateResponseCommand(Address sender, int viewId, Collection<StateChunk> stateChunks);
 
+   /**
+    * Builds a StateResponseCommand used for telling another node that the state of some of the segments it requested
+    * could not be sent, so it should request them again.
+    */
+   StateResponseCommand buildStateTransferFailedCommand(Address sender, int topologyId, Set<Integer> failedSegments);
+
    /**
     * Retrieves the cache name this CommandFactory is set up to construct commands for.
     * @return the name of the cache this CommandFactory is set up to construct commands for.
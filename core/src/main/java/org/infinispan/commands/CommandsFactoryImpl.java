@@ -559,6 +559,11 @@ public StateResponseCommand buildStateResponseCommand(Address sender, int topolo
       return new StateResponseCommand(cacheName, sender, topologyId, stateChunks);
    }
 
+   @Override
+   public StateResponseCommand buildStateTransferFailedCommand(Address sender, int topologyId, Set<Integer> failedSegments) {
+      return new StateResponseCommand(cacheName, sender, topologyId, failedSegments);
+   }
+
    @Override
    public String getCacheName() {
       return cacheName;
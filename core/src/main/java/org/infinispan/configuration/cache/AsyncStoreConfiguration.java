@@ -15,14 +15,16 @@ public class AsyncStoreConfiguration {
    public static final AttributeDefinition<Boolean> ENABLED = AttributeDefinition.builder("enabled", false).immutable().build();
    public static final AttributeDefinition<Integer> MODIFICATION_QUEUE_SIZE  = AttributeDefinition.builder("modificationQueueSize", 1024).immutable().build();
    public static final AttributeDefinition<Integer> THREAD_POOL_SIZE = AttributeDefinition.builder("threadPoolSize", 1).immutable().build();
+   public static final AttributeDefinition<Long> COALESCE_WINDOW = AttributeDefinition.builder("coalesceWindow", 0L).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE);
+      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE, COALESCE_WINDOW);
    }
 
    private final Attribute<Boolean> enabled;
    private final Attribute<Integer> modificationQueueSize;
    private final Attribute<Integer> threadPoolSize;
+   private final Attribute<Long> coalesceWindow;
 
    private final AttributeSet attributes;
 
@@ -31,6 +33,7 @@ static AttributeSet attributeDefinitionSet() {
       enabled = attributes.attribute(ENABLED);
       modificationQueueSize = attributes.attribute(MODIFICATION_QUEUE_SIZE);
       threadPoolSize = attributes.attribute(THREAD_POOL_SIZE);
+      coalesceWindow = attributes.attribute(COALESCE_WINDOW);
    }
 
    /**
@@ -89,6 +92,14 @@ public int threadPoolSize() {
       return threadPoolSize.get();
    }
 
+   /**
+    * Time in milliseconds during which modifications are collected before they are written to the cache store.
+    * Modifications to the same key within this window are coalesced, and the store receives them in batches.
+    */
+   public long coalesceWindow() {
+      return coalesceWindow.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -4,6 +4,7 @@
 
 import java.util.concurrent.TimeUnit;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.configuration.global.GlobalConfiguration;
@@ -92,9 +93,29 @@ public AsyncStoreConfigurationBuilder<S> threadPoolSize(int i) {
       return this;
    }
 
+   /**
+    * Time in milliseconds during which modifications are collected before they are written to the cache store.
+    * Modifications to the same key within this window are coalesced, and the store receives them in batches.
+    * Defaults to 0, i.e. modifications are written as soon as possible. If the modification queue fills up before
+    * the window elapses, the modifications are written immediately.
+    */
+   public AsyncStoreConfigurationBuilder<S> coalesceWindow(long l) {
+      attributes.attribute(COALESCE_WINDOW).set(l);
+      return this;
+   }
+
+   /**
+    * @see #coalesceWindow(long)
+    */
+   public AsyncStoreConfigurationBuilder<S> coalesceWindow(long l, TimeUnit unit) {
+      return coalesceWindow(unit.toMillis(l));
+   }
+
    @Override
    public
    void validate() {
+      if (attributes.attribute(COALESCE_WINDOW).get() < 0)
+         throw new CacheConfigurationException("The coalesce window of the async store cannot be negative");
    }
 
    @Override
@@ -22,21 +22,27 @@ public class DataContainerConfiguration extends AbstractTypedPropertiesConfigura
          .<Equivalence> builder("keyEquivalence", AnyEquivalence.getInstance()).copier(IdentityAttributeCopier.INSTANCE).immutable().build();
    public static final AttributeDefinition<Equivalence> VALUE_EQUIVALENCE = AttributeDefinition
          .<Equivalence> builder("valueEquivalence", AnyEquivalence.getInstance()).copier(IdentityAttributeCopier.INSTANCE).immutable().build();
+   public static final AttributeDefinition<Boolean> OFF_HEAP = AttributeDefinition.builder("offHeap", false).immutable().build();
+   public static final AttributeDefinition<Integer> ADDRESS_COUNT = AttributeDefinition.builder("addressCount", 1 << 20).immutable().build();
 
    static public AttributeSet attributeDefinitionSet() {
       return new AttributeSet(DataContainerConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(),
-            DATA_CONTAINER, KEY_EQUIVALENCE, VALUE_EQUIVALENCE);
+            DATA_CONTAINER, KEY_EQUIVALENCE, VALUE_EQUIVALENCE, OFF_HEAP, ADDRESS_COUNT);
    }
 
    private final Attribute<DataContainer> dataContainer;
    private final Attribute<Equivalence> keyEquivalence;
    private final Attribute<Equivalence> valueEquivalence;
+   private final Attribute<Boolean> offHeap;
+   private final Attribute<Integer> addressCount;
 
    DataContainerConfiguration(AttributeSet attributes) {
       super(attributes);
       dataContainer = attributes.attribute(DATA_CONTAINER);
       keyEquivalence = attributes.attribute(KEY_EQUIVALENCE);
       valueEquivalence = attributes.attribute(VALUE_EQUIVALENCE);
+      offHeap = attributes.attribute(OFF_HEAP);
+      addressCount = attributes.attribute(ADDRESS_COUNT);
    }
 
    /**
@@ -59,6 +65,20 @@ public <V> Equivalence<V> valueEquivalence() {
       return valueEquivalence.get();
    }
 
+   /**
+    * Whether entries are stored in native memory, outside of the Java heap
+    */
+   public boolean offHeap() {
+      return offHeap.get();
+   }
+
+   /**
+    * The number of buckets of the off-heap hash index. Only used when {@link #offHeap()} is enabled.
+    */
+   public int addressCount() {
+      return addressCount.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
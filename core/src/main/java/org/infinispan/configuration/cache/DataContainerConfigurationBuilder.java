@@ -2,11 +2,14 @@
 
 import static org.infinispan.commons.configuration.AbstractTypedPropertiesConfiguration.PROPERTIES;
 import static org.infinispan.configuration.cache.DataContainerConfiguration.DATA_CONTAINER;
+import static org.infinispan.configuration.cache.DataContainerConfiguration.ADDRESS_COUNT;
 import static org.infinispan.configuration.cache.DataContainerConfiguration.KEY_EQUIVALENCE;
+import static org.infinispan.configuration.cache.DataContainerConfiguration.OFF_HEAP;
 import static org.infinispan.configuration.cache.DataContainerConfiguration.VALUE_EQUIVALENCE;
 
 import java.util.Properties;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.equivalence.Equivalence;
@@ -95,8 +98,41 @@ public <V> DataContainerConfigurationBuilder valueEquivalence(Equivalence<V> val
       return this;
    }
 
+   /**
+    * Store the entries in native memory, outside of the Java heap. Keys, values and metadata are kept in their
+    * marshalled form, so they are unmarshalled on every read. Eviction, when enabled, always uses an LRU policy
+    * and {@link org.infinispan.eviction.EvictionType#MEMORY} bounds the native memory used by the entries.
+    *
+    * @param offHeap whether to store entries off-heap
+    * @return this configuration builder
+    */
+   public DataContainerConfigurationBuilder offHeap(boolean offHeap) {
+      attributes.attribute(OFF_HEAP).set(offHeap);
+      return this;
+   }
+
+   boolean offHeap() {
+      return attributes.attribute(OFF_HEAP).get();
+   }
+
+   /**
+    * Number of buckets of the off-heap hash index. It is rounded up to the next power of two and should be in the
+    * order of the expected number of entries, as each bucket is a chain of entries. Only used when
+    * {@link #offHeap(boolean)} is enabled.
+    *
+    * @param addressCount number of buckets
+    * @return this configuration builder
+    */
+   public DataContainerConfigurationBuilder addressCount(int addressCount) {
+      attributes.attribute(ADDRESS_COUNT).set(addressCount);
+      return this;
+   }
+
    @Override
    public void validate() {
+      if (attributes.attribute(ADDRESS_COUNT).get() <= 0) {
+         throw new CacheConfigurationException("Off-heap address count must be greater than zero");
+      }
    }
 
    @Override
@@ -2,12 +2,14 @@
 
 import static org.infinispan.configuration.cache.EvictionConfiguration.TYPE;
 import static org.infinispan.configuration.cache.EvictionConfiguration.SIZE;
+import static org.infinispan.configuration.cache.EvictionConfiguration.SIZE_CALCULATOR;
 import static org.infinispan.configuration.cache.EvictionConfiguration.STRATEGY;
 import static org.infinispan.configuration.cache.EvictionConfiguration.THREAD_POLICY;
 
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.util.concurrent.jdk8backported.EntrySizeCalculator;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionThreadPolicy;
@@ -98,6 +100,18 @@ public EvictionConfigurationBuilder type(EvictionType type) {
       return this;
    }
 
+   /**
+    * Sets the calculator used to estimate the size of the entries when using the MEMORY type. By default the
+    * size of primitives, strings and arrays is computed directly and the size of other objects is estimated by
+    * walking their fields.
+    *
+    * @param sizeCalculator
+    */
+   public EvictionConfigurationBuilder sizeCalculator(EntrySizeCalculator<?, ?> sizeCalculator) {
+      attributes.attribute(SIZE_CALCULATOR).set(sizeCalculator);
+      return this;
+   }
+
    @Override
    public void validate() {
       EvictionStrategy strategy = attributes.attribute(STRATEGY).get();
@@ -114,8 +128,10 @@ public void validate() {
             log.passivationWithoutEviction();
          }
       }
-      if (strategy == EvictionStrategy.LIRS && attributes.attribute(TYPE).get() == EvictionType.MEMORY) {
-         throw new CacheConfigurationException("Eviction cannot use memory based approximation with LIRS");
+      if (getBuilder().dataContainer().offHeap() && attributes.attribute(STRATEGY).get() == EvictionStrategy.LIRS) {
+         // The off-heap container only implements LRU, which LIRS (the default) falls back to
+         strategy(EvictionStrategy.LRU);
+         log.debugf("LIRS eviction is not supported by the off-heap data container. Eviction strategy overriden to %s", EvictionStrategy.LRU);
       }
       if (maxEntries > EVICTION_MAX_SIZE) {
          throw log.evictionSizeTooLarge(maxEntries);
@@ -19,13 +19,20 @@ public class SingleFileStoreConfiguration extends AbstractStoreConfiguration {
    public static final AttributeDefinition<String> LOCATION = AttributeDefinition.builder("location", "Infinispan-SingleFileStore").immutable().build();
    public static final AttributeDefinition<Integer> MAX_ENTRIES = AttributeDefinition.builder("maxEntries", -1).immutable().build();
    public static final AttributeDefinition<Float> FRAGMENTATION_FACTOR = AttributeDefinition.builder("fragmentationFactor", 0.75f).immutable().build();
+   public static final AttributeDefinition<Boolean> APPEND_ONLY = AttributeDefinition.builder("appendOnly", false).immutable().build();
+   public static final AttributeDefinition<Float> COMPACTION_THRESHOLD = AttributeDefinition.builder("compactionThreshold", 0.5f).immutable().build();
+   public static final AttributeDefinition<Boolean> SYNC_WRITES = AttributeDefinition.builder("syncWrites", false).immutable().build();
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SingleFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, MAX_ENTRIES, FRAGMENTATION_FACTOR);
+      return new AttributeSet(SingleFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, MAX_ENTRIES,
+            FRAGMENTATION_FACTOR, APPEND_ONLY, COMPACTION_THRESHOLD, SYNC_WRITES);
    }
 
    private final Attribute<String> location;
    private final Attribute<Integer> maxEntries;
    private final Attribute<Float> fragmentationFactor;
+   private final Attribute<Boolean> appendOnly;
+   private final Attribute<Float> compactionThreshold;
+   private final Attribute<Boolean> syncWrites;
 
    public SingleFileStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
                                        SingletonStoreConfiguration singletonStore) {
@@ -33,6 +40,9 @@ public SingleFileStoreConfiguration(AttributeSet attributes, AsyncStoreConfigura
       location = attributes.attribute(LOCATION);
       maxEntries = attributes.attribute(MAX_ENTRIES);
       fragmentationFactor = attributes.attribute(FRAGMENTATION_FACTOR);
+      appendOnly = attributes.attribute(APPEND_ONLY);
+      compactionThreshold = attributes.attribute(COMPACTION_THRESHOLD);
+      syncWrites = attributes.attribute(SYNC_WRITES);
    }
 
    public String location() {
@@ -47,6 +57,18 @@ public float fragmentationFactor () {
       return fragmentationFactor.get();
    }
 
+   public boolean appendOnly() {
+      return appendOnly.get();
+   }
+
+   public float compactionThreshold() {
+      return compactionThreshold.get();
+   }
+
+   public boolean syncWrites() {
+      return syncWrites.get();
+   }
+
    @Override
    public AttributeSet attributes() {
       return attributes;
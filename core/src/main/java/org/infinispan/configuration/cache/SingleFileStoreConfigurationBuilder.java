@@ -1,9 +1,13 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.APPEND_ONLY;
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.COMPACTION_THRESHOLD;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.FRAGMENTATION_FACTOR;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.LOCATION;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.MAX_ENTRIES;
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.SYNC_WRITES;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 /**
  * Single file cache store configuration builder.
@@ -67,6 +71,44 @@ public SingleFileStoreConfigurationBuilder fragmentationFactor(float fragmentati
       return this;
    }
 
+   /**
+    * If true, the store never overwrites entries in place: every write is appended to the end of the file, and the
+    * space taken by overwritten, removed or expired entries is reclaimed by compacting the file in the background.
+    * This turns random writes into sequential ones, at the cost of the disk space taken by the entries not yet
+    * compacted. The fragmentationFactor is not used in this mode.
+    */
+   public SingleFileStoreConfigurationBuilder appendOnly(boolean appendOnly) {
+      attributes.attribute(APPEND_ONLY).set(appendOnly);
+      return this;
+   }
+
+   /**
+    * The ratio of the file size taken by overwritten, removed or expired entries above which an append-only store
+    * compacts its file, copying the live entries to a new file. Defaults to 0.5, i.e. the file is compacted once
+    * half of it is wasted.
+    */
+   public SingleFileStoreConfigurationBuilder compactionThreshold(float compactionThreshold) {
+      attributes.attribute(COMPACTION_THRESHOLD).set(compactionThreshold);
+      return this;
+   }
+
+   /**
+    * If true, writes only return once they have been forced to disk. Concurrent writes share the same file sync, so
+    * the cost of syncing is spread across all the writes issued while the previous sync was in progress.
+    */
+   public SingleFileStoreConfigurationBuilder syncWrites(boolean syncWrites) {
+      attributes.attribute(SYNC_WRITES).set(syncWrites);
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      super.validate();
+      float compactionThreshold = attributes.attribute(COMPACTION_THRESHOLD).get();
+      if (compactionThreshold <= 0 || compactionThreshold >= 1)
+         throw new CacheConfigurationException("The compaction threshold must be between 0 and 1, exclusive: " + compactionThreshold);
+   }
+
    @Override
    public SingleFileStoreConfiguration create() {
       return new SingleFileStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
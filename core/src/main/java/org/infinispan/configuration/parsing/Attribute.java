@@ -15,9 +15,11 @@ public enum Attribute {
     // KEEP THESE IN ALPHABETICAL ORDER!
 
     ACQUIRE_TIMEOUT("acquire-timeout"),
+    ADDRESS_COUNT("address-count"),
     AFTER("after"),
     ALIASES("aliases"),
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
+    APPEND_ONLY("append-only"),
     ASYNC_EXECUTOR("async-executor"),
     ASYNC_MARSHALLING("async-marshalling"),
     AUDIT_LOGGER("audit-logger"),
@@ -30,6 +32,8 @@ public enum Attribute {
     CHUNK_SIZE("chunk-size"),
     CLASS("class"),
     CLUSTER("cluster"),
+    COALESCE_WINDOW("coalesce-window"),
+    COMPACTION_THRESHOLD("compaction-threshold"),
     COMPLETED_TX_TIMEOUT("complete-timeout"),
     CONCURRENCY_LEVEL("concurrency-level"),
     CONFIGURATION("configuration"),
@@ -70,6 +74,7 @@ public enum Attribute {
     MARSHALLER_CLASS("marshaller"),
     MAX_ENTRIES("max-entries"),
     MAX_IDLE("max-idle"),
+    MAX_IN_FLIGHT_CHUNKS("max-in-flight-chunks"),
     MAX_RETRIES("max-retries"),
     MAX_THREADS("max-threads"),
     MBEAN_SERVER_LOOKUP("mbean-server-lookup"),
@@ -80,6 +85,7 @@ public enum Attribute {
     NAME("name"),
     NAMES("names"),
     NOTIFICATIONS("notifications"),
+    OFF_HEAP("off-heap"),
     ON_REHASH("onRehash"),
     OWNERS("owners"),
     PATH("path"),
@@ -124,6 +130,7 @@ public enum Attribute {
     STRIPING("striping"),
     STACK("stack"),
     STOP_TIMEOUT("stop-timeout"),
+    SYNC_WRITES("sync-writes"),
     TAKE_BACKUP_OFFLINE_AFTER_FAILURES("after-failures"),
     TAKE_BACKUP_OFFLINE_MIN_WAIT("min-wait"),
     THREAD_FACTORY("thread-factory"),
@@ -1490,6 +1490,12 @@ private void parseDataContainer(final XMLExtendedStreamReader reader, final Conf
             case VALUE_EQUIVALENCE:
                builder.dataContainer().valueEquivalence(Util.<Equivalence>getInstance(value, holder.getClassLoader()));
                break;
+            case OFF_HEAP:
+               builder.dataContainer().offHeap(Boolean.parseBoolean(value));
+               break;
+            case ADDRESS_COUNT:
+               builder.dataContainer().addressCount(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1887,6 +1893,10 @@ private void parseStateTransfer(XMLExtendedStreamReader reader, ConfigurationBui
                builder.clustering().stateTransfer().chunkSize(Integer.parseInt(value));
                break;
             }
+            case MAX_IN_FLIGHT_CHUNKS: {
+               builder.clustering().stateTransfer().maxInFlightChunks(Integer.parseInt(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -2095,6 +2105,18 @@ protected void parseFileStore(XMLExtendedStreamReader reader, ConfigurationBuild
                storeBuilder.fragmentationFactor(Float.parseFloat(value));
                break;
             }
+            case APPEND_ONLY: {
+               storeBuilder.appendOnly(Boolean.parseBoolean(value));
+               break;
+            }
+            case COMPACTION_THRESHOLD: {
+               storeBuilder.compactionThreshold(Float.parseFloat(value));
+               break;
+            }
+            case SYNC_WRITES: {
+               storeBuilder.syncWrites(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                parseStoreAttribute(reader, i, storeBuilder);
             }
@@ -2168,6 +2190,10 @@ public static void parseStoreWriteBehind(XMLExtendedStreamReader reader, AsyncSt
          String value = replaceProperties(reader.getAttributeValue(i));
          Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
          switch (attribute) {
+            case COALESCE_WINDOW: {
+               storeBuilder.coalesceWindow(Long.parseLong(value));
+               break;
+            }
             case FLUSH_LOCK_TIMEOUT: {
                storeBuilder.flushLockTimeout(Long.parseLong(value));
                break;
@@ -220,4 +220,39 @@ default void resize(long newSize) {
    default long capacity() {
       throw new UnsupportedOperationException();
    }
+
+   /**
+    * Returns the entries which may have expired at the given time, for the expiration reaper. The iterator can also
+    * return entries which have not expired yet, so callers still need to check each entry. Containers that keep an
+    * index of the expirable entries only return those due to expire, while the default implementation returns all
+    * the entries.
+    * <p>
+    * The iterator must be fully consumed, as containers may reschedule the returned entries that are still present
+    * when the next entry is requested.
+    *
+    * @param currentTimeMillis the current wall clock time
+    * @return iterator over the expiration candidates
+    */
+   default Iterator<InternalCacheEntry<K, V>> expirationCandidates(long currentTimeMillis) {
+      return iteratorIncludingExpired();
+   }
+
+   /**
+    * Returns the approximate number of entries due to expire at the given time which have not been removed yet.
+    *
+    * @param currentTimeMillis the current wall clock time
+    * @return the number of entries waiting for expiration, or -1 if the container does not track them
+    */
+   default long expirationBacklog(long currentTimeMillis) {
+      return -1;
+   }
+
+   /**
+    * Returns the estimated amount of memory used by the entries of this container, in bytes.
+    *
+    * @return the memory used by the entries, or -1 if the container does not measure it
+    */
+   default long memoryFootprint() {
+      return -1;
+   }
 }
@@ -15,7 +15,7 @@
 import org.infinispan.commons.util.concurrent.jdk8backported.EntrySizeCalculator;
 import org.infinispan.container.entries.CacheEntrySizeCalculator;
 import org.infinispan.container.entries.InternalCacheEntry;
-import org.infinispan.container.entries.MarshalledValueEntrySizeCalculator;
+import org.infinispan.container.entries.ObjectGraphEntrySizeCalculator;
 import org.infinispan.eviction.ActivationManager;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.eviction.EvictionStrategy;
@@ -58,6 +58,7 @@
    private static final boolean trace = log.isTraceEnabled();
 
    private final ConcurrentMap<K, InternalCacheEntry<K, V>> entries;
+   private final ExpirationIndex<K> expirationIndex;
    protected InternalEntryFactory entryFactory;
    private EvictionManager evictionManager;
    private PassivationManager passivator;
@@ -70,12 +71,14 @@
    public DefaultDataContainer(int concurrencyLevel) {
       // If no comparing implementations passed, could fallback on JDK CHM
       entries = CollectionFactory.makeConcurrentParallelMap(128, concurrencyLevel);
+      expirationIndex = new ExpirationIndex<>(AnyEquivalence.getInstance());
    }
 
    public DefaultDataContainer(int concurrencyLevel,
          Equivalence<? super K> keyEq) {
       // If at least one comparing implementation give, use ComparingCHMv8
       entries = CollectionFactory.makeConcurrentParallelMap(128, concurrencyLevel, keyEq, AnyEquivalence.getInstance());
+      expirationIndex = new ExpirationIndex<>(keyEq);
    }
 
    protected DefaultDataContainer(int concurrencyLevel, long thresholdSize,
@@ -101,19 +104,17 @@ protected DefaultDataContainer(int concurrencyLevel, long thresholdSize,
             break;
          case LIRS:
             eviction = Eviction.LIRS;
-            if (thresholdPolicy == EvictionType.MEMORY) {
-               throw new IllegalArgumentException("Memory based approximation eviction cannot be used with LIRS!");
-            }
             break;
          default:
             throw new IllegalArgumentException("No such eviction strategy " + strategy);
       }
       EntrySizeCalculator<K, InternalCacheEntry<K, V>> sizeCalculator =
             thresholdPolicy == EvictionType.MEMORY ? new CacheEntrySizeCalculator<>(
-                    new MarshalledValueEntrySizeCalculator()) : null;
+                    new ObjectGraphEntrySizeCalculator()) : null;
 
       entries = new BoundedEquivalentConcurrentHashMapV8<>(thresholdSize, eviction, evictionListener, keyEquivalence,
               AnyEquivalence.getInstance(), sizeCalculator);
+      expirationIndex = new ExpirationIndex<>(keyEquivalence);
    }
 
    protected DefaultDataContainer(int concurrencyLevel, long thresholdSize,
@@ -132,9 +133,11 @@ protected DefaultDataContainer(int concurrencyLevel, long thresholdSize,
       }
 
       EntrySizeCalculator<K, InternalCacheEntry<K, V>> calc = new CacheEntrySizeCalculator<>(sizeCalculator);
+      Eviction eviction = strategy == EvictionStrategy.LIRS ? Eviction.LIRS : Eviction.LRU;
 
-      entries = new BoundedEquivalentConcurrentHashMapV8<>(thresholdSize, Eviction.LRU, evictionListener, keyEquivalence,
+      entries = new BoundedEquivalentConcurrentHashMapV8<>(thresholdSize, eviction, evictionListener, keyEquivalence,
               AnyEquivalence.getInstance(), calc);
+      expirationIndex = new ExpirationIndex<>(keyEquivalence);
    }
 
    @Inject
@@ -225,6 +228,7 @@ public void put(K k, V v, Metadata metadata) {
 
       entries.compute(copy.getKey(), (key, entry) -> {
          activator.onUpdate(key, entry == null);
+         updateExpirationIndex(key, entry, copy);
          return copy;
       });
    }
@@ -244,6 +248,7 @@ public InternalCacheEntry<K, V> remove(Object k) {
       final InternalCacheEntry<K,V>[] reference = new InternalCacheEntry[1];
       entries.compute((K) k, (key, entry) -> {
          activator.onRemove(key, entry == null);
+         updateExpirationIndex(key, entry, null);
          reference[0] = entry;
          return null;
       });
@@ -259,6 +264,14 @@ public long capacity() {
       } else throw new UnsupportedOperationException();
    }
 
+   @Override
+   public long memoryFootprint() {
+      if (entries instanceof BoundedEquivalentConcurrentHashMapV8) {
+         return ((BoundedEquivalentConcurrentHashMapV8<K, V>) entries).estimatedMemoryFootprint();
+      }
+      return -1;
+   }
+
    @Override
    public void resize(long newSize) {
       if (entries instanceof BoundedEquivalentConcurrentHashMapV8) {
@@ -286,6 +299,8 @@ public int sizeIncludingExpired() {
    @Override
    public void clear() {
       log.tracef("Clearing data container");
+      // Clear the index first, so that an entry that survives a concurrent clear is still indexed
+      expirationIndex.clear();
       entries.clear();
    }
 
@@ -314,6 +329,7 @@ public void purgeExpired() {
    public void evict(K key) {
       entries.computeIfPresent(key, (o, entry) -> {
          passivator.passivate(entry);
+         updateExpirationIndex(o, entry, null);
          return null;
       });
    }
@@ -326,9 +342,11 @@ public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
             return oldEntry;
          } else if (newEntry == null) {
             activator.onRemove(k, false);
+            updateExpirationIndex(k, oldEntry, null);
             return null;
          }
          activator.onUpdate(k, oldEntry == null);
+         updateExpirationIndex(k, oldEntry, newEntry);
          if (trace)
             log.tracef("Store %s in container", newEntry);
          return newEntry;
@@ -345,10 +363,44 @@ public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired() {
       return new EntryIterator(entries.values().iterator(), true);
    }
 
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> expirationCandidates(long currentTimeMillis) {
+      return new ExpirationCandidateIterator(expirationIndex.pollDue(currentTimeMillis), currentTimeMillis);
+   }
+
+   @Override
+   public long expirationBacklog(long currentTimeMillis) {
+      return expirationIndex.dueCount(currentTimeMillis);
+   }
+
+   /**
+    * Must be invoked while holding the lock of the key in the entries map, so that the index is updated in the same
+    * order as the map.
+    */
+   private void updateExpirationIndex(K key, InternalCacheEntry<K, V> oldEntry, InternalCacheEntry<K, V> newEntry) {
+      if (newEntry != null && newEntry.canExpire()) {
+         expirationIndex.add(key, newEntry.getExpiryTime());
+      } else if (oldEntry != null && oldEntry.canExpire()) {
+         expirationIndex.remove(key);
+      }
+   }
+
    private final class DefaultEvictionListener implements EvictionListener<K, InternalCacheEntry<K, V>> {
 
       @Override
       public void onEntryEviction(Map<K, InternalCacheEntry<K, V>> evicted) {
+         for (Entry<K, InternalCacheEntry<K, V>> entry : evicted.entrySet()) {
+            InternalCacheEntry<K, V> evictedEntry = entry.getValue();
+            // The key may have been written again since it was evicted, in which case it must stay indexed: only
+            // remove it if it is still recorded with the expiration time of the evicted entry, and index the current
+            // entry again in case it was written with an expiration time falling in the same bucket
+            if (evictedEntry.canExpire() && expirationIndex.remove(entry.getKey(), evictedEntry.getExpiryTime())) {
+               InternalCacheEntry<K, V> current = entries.get(entry.getKey());
+               if (current != null && current.canExpire()) {
+                  expirationIndex.reschedule(entry.getKey(), current.getExpiryTime());
+               }
+            }
+         }
          evictionManager.onEntryEviction(evicted);
       }
 
@@ -372,6 +424,68 @@ public void onEntryRemoved(Entry<K, InternalCacheEntry<K, V>> entry) {
       }
    }
 
+   /**
+    * Iterates over the entries of the keys due in the expiration index. Entries which have not expired, typically
+    * transient entries accessed since they were indexed, are rescheduled with their current expiration time. So are
+    * the returned entries which are still in the container when the next one is requested, as the caller may not
+    * have removed them.
+    */
+   private class ExpirationCandidateIterator implements Iterator<InternalCacheEntry<K, V>> {
+      private final Iterator<K> dueKeys;
+      private final long currentTimeMillis;
+      private InternalCacheEntry<K, V> next;
+      private InternalCacheEntry<K, V> lastReturned;
+
+      ExpirationCandidateIterator(Iterator<K> dueKeys, long currentTimeMillis) {
+         this.dueKeys = dueKeys;
+         this.currentTimeMillis = currentTimeMillis;
+      }
+
+      private InternalCacheEntry<K, V> getNext() {
+         if (lastReturned != null) {
+            reschedule(lastReturned.getKey());
+            lastReturned = null;
+         }
+         while (dueKeys.hasNext()) {
+            K key = dueKeys.next();
+            InternalCacheEntry<K, V> entry = peek(key);
+            if (entry == null || !entry.canExpire()) {
+               continue;
+            }
+            if (entry.isExpired(currentTimeMillis)) {
+               return entry;
+            }
+            expirationIndex.reschedule(key, entry.getExpiryTime());
+         }
+         return null;
+      }
+
+      private void reschedule(K key) {
+         InternalCacheEntry<K, V> entry = peek(key);
+         if (entry != null && entry.canExpire()) {
+            expirationIndex.reschedule(key, entry.getExpiryTime());
+         }
+      }
+
+      @Override
+      public boolean hasNext() {
+         if (next == null) {
+            next = getNext();
+         }
+         return next != null;
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         lastReturned = next;
+         next = null;
+         return lastReturned;
+      }
+   }
+
    private class ImmutableEntryIterator extends EntryIterator {
       ImmutableEntryIterator(Iterator<InternalCacheEntry<K, V>> it){
          super(it, false);
@@ -0,0 +1,222 @@
+package org.infinispan.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import net.jcip.annotations.ThreadSafe;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.util.CollectionFactory;
+
+/**
+ * Index of the keys of the entries which can expire, grouped in buckets by expiration time, so that a reaper run only
+ * visits the entries due to expire rather than the whole data container.
+ * <p>
+ * Each key is recorded in at most one bucket. The map from key to bucket is the source of truth: the bucket sets may
+ * briefly hold stale keys, which are skipped when the bucket is drained. The index is not updated when a transient
+ * entry is accessed, as that would slow down every read; such an entry is found when the bucket of its previous
+ * expiration time is drained, and is then {@link #reschedule(Object, long) rescheduled} by the container.
+ *
+ * @since 8.2
+ */
+@ThreadSafe
+public class ExpirationIndex<K> {
+
+   /**
+    * Default width of a bucket, in milliseconds.
+    */
+   public static final long DEFAULT_RESOLUTION = 1000;
+
+   private final long resolution;
+   private final Equivalence<? super K> keyEquivalence;
+   private final ConcurrentMap<K, Long> buckets;
+   private final ConcurrentSkipListMap<Long, Set<K>> queue = new ConcurrentSkipListMap<>();
+
+   public ExpirationIndex(Equivalence<? super K> keyEquivalence) {
+      this(DEFAULT_RESOLUTION, keyEquivalence);
+   }
+
+   public ExpirationIndex(long resolution, Equivalence<? super K> keyEquivalence) {
+      if (resolution <= 0) {
+         throw new IllegalArgumentException("Resolution must be positive: " + resolution);
+      }
+      this.resolution = resolution;
+      this.keyEquivalence = keyEquivalence;
+      this.buckets = CollectionFactory.makeConcurrentMap(keyEquivalence, AnyEquivalence.getInstance());
+   }
+
+   /**
+    * Records that the entry for the given key expires at the given time, replacing any previous expiration time.
+    */
+   public void add(K key, long expiryTime) {
+      Long bucket = bucketOf(expiryTime);
+      Long previous = buckets.put(key, bucket);
+      if (previous != null) {
+         if (previous.equals(bucket)) {
+            return;
+         }
+         removeFromBucket(previous, key);
+      }
+      addToBucket(bucket, key);
+   }
+
+   /**
+    * Records that the entry for the given key expires at the given time, unless the key is already recorded with an
+    * earlier expiration time. Used when the expiration time is read without holding the lock of the entry, so that a
+    * concurrent update cannot be overwritten with a later expiration time.
+    */
+   public void reschedule(K key, long expiryTime) {
+      Long bucket = bucketOf(expiryTime);
+      for (;;) {
+         Long previous = buckets.putIfAbsent(key, bucket);
+         if (previous == null) {
+            break;
+         }
+         if (previous <= bucket) {
+            return;
+         }
+         if (buckets.replace(key, previous, bucket)) {
+            removeFromBucket(previous, key);
+            break;
+         }
+      }
+      addToBucket(bucket, key);
+   }
+
+   public void remove(Object key) {
+      Long bucket = buckets.remove(key);
+      if (bucket != null) {
+         removeFromBucket(bucket, key);
+      }
+   }
+
+   /**
+    * Removes the key only if it is still recorded with the given expiration time, so that an entry written again
+    * concurrently with a different expiration time stays indexed.
+    *
+    * @return whether the key was removed
+    */
+   public boolean remove(Object key, long expiryTime) {
+      Long bucket = bucketOf(expiryTime);
+      if (buckets.remove(key, bucket)) {
+         removeFromBucket(bucket, key);
+         return true;
+      }
+      return false;
+   }
+
+   public void clear() {
+      buckets.clear();
+      queue.clear();
+   }
+
+   /**
+    * @return the number of keys in the index
+    */
+   public int size() {
+      return buckets.size();
+   }
+
+   /**
+    * Returns an approximation of the number of keys whose bucket is due at the given time. As buckets are not split,
+    * this may include keys of entries expiring up to one resolution after the given time.
+    */
+   public long dueCount(long currentTimeMillis) {
+      long count = 0;
+      for (Set<K> keys : queue.headMap(bucketOf(currentTimeMillis), true).values()) {
+         count += keys.size();
+      }
+      return count;
+   }
+
+   /**
+    * Removes from the index, lazily, all the keys whose bucket is due at the given time. Only the buckets due when
+    * this method is invoked are drained, so keys added back by the caller while iterating are returned by a later
+    * invocation. The caller must add back the keys whose entries have not expired.
+    */
+   public Iterator<K> pollDue(long currentTimeMillis) {
+      List<Long> due = new ArrayList<>(queue.headMap(bucketOf(currentTimeMillis), true).keySet());
+      return due.isEmpty() ? Collections.emptyIterator() : new DueKeyIterator(due);
+   }
+
+   private Long bucketOf(long expiryTime) {
+      return expiryTime / resolution;
+   }
+
+   private void addToBucket(Long bucket, K key) {
+      for (;;) {
+         Set<K> keys = queue.computeIfAbsent(bucket, b -> newKeySet());
+         keys.add(key);
+         // Retry if the set was drained concurrently, as its keys may have been iterated already
+         if (queue.get(bucket) == keys) {
+            return;
+         }
+      }
+   }
+
+   private void removeFromBucket(Long bucket, Object key) {
+      Set<K> keys = queue.get(bucket);
+      if (keys != null) {
+         keys.remove(key);
+      }
+   }
+
+   private Set<K> newKeySet() {
+      return Collections.newSetFromMap(CollectionFactory.makeConcurrentMap(keyEquivalence,
+            AnyEquivalence.<Boolean>getInstance()));
+   }
+
+   private class DueKeyIterator implements Iterator<K> {
+      private final Iterator<Long> dueBuckets;
+      private Long currentBucket;
+      private Iterator<K> currentKeys = Collections.emptyIterator();
+      private K next;
+
+      DueKeyIterator(List<Long> dueBuckets) {
+         this.dueBuckets = dueBuckets.iterator();
+      }
+
+      private K getNext() {
+         for (;;) {
+            while (currentKeys.hasNext()) {
+               K key = currentKeys.next();
+               // Skip the keys which moved to another bucket or were removed
+               if (buckets.remove(key, currentBucket)) {
+                  return key;
+               }
+            }
+            if (!dueBuckets.hasNext()) {
+               return null;
+            }
+            currentBucket = dueBuckets.next();
+            Set<K> keys = queue.remove(currentBucket);
+            currentKeys = keys == null ? Collections.emptyIterator() : keys.iterator();
+         }
+      }
+
+      @Override
+      public boolean hasNext() {
+         if (next == null) {
+            next = getNext();
+         }
+         return next != null;
+      }
+
+      @Override
+      public K next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         K toReturn = next;
+         next = null;
+         return toReturn;
+      }
+   }
+}
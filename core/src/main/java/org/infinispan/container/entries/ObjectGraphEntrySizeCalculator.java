@@ -0,0 +1,217 @@
+package org.infinispan.container.entries;
+
+import org.infinispan.Cache;
+import org.infinispan.manager.CacheContainer;
+import org.infinispan.marshall.core.MarshalledValue;
+import org.jboss.logging.BasicLogger;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.AccessControlContext;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Entry Size calculator that returns an approximation of how much memory any key and value take up.  Primitive
+ * wrappers, Strings, arrays of primitives and marshalled values are computed directly as done by
+ * {@link MarshalledValueEntrySizeCalculator}, other objects are estimated by walking the graph of objects reachable
+ * from their fields.
+ * <p>
+ * Each object reachable from both the key and the value is only counted once.  Classes, enums, class loaders, threads,
+ * loggers, caches and JDK internal objects are ignored as they are shared between all the entries.  The layout of each
+ * class is computed once and cached.
+ * <p>
+ * As the size is computed on every write, the walk stops at a maximum depth and after a maximum number of objects, in
+ * which case the rest of the graph is not counted.
+ *
+ * @since 8.2
+ */
+public class ObjectGraphEntrySizeCalculator extends MarshalledValueEntrySizeCalculator {
+   public static final int DEFAULT_MAX_DEPTH = 32;
+   public static final int DEFAULT_MAX_OBJECTS = 4096;
+
+   private static final long[] NO_OFFSETS = new long[0];
+   private static final ClassLayout SHARED = new ClassLayout(0, NO_OFFSETS);
+
+   private final ConcurrentMap<Class<?>, ClassLayout> layouts = new ConcurrentHashMap<>();
+   private final int maxDepth;
+   private final int maxObjects;
+
+   public ObjectGraphEntrySizeCalculator() {
+      this(DEFAULT_MAX_DEPTH, DEFAULT_MAX_OBJECTS);
+   }
+
+   /**
+    * @param maxDepth the maximum number of references followed from the key or the value
+    * @param maxObjects the maximum number of objects counted for the key and the value together
+    */
+   public ObjectGraphEntrySizeCalculator(int maxDepth, int maxObjects) {
+      this.maxDepth = maxDepth;
+      this.maxObjects = maxObjects;
+   }
+
+   @Override
+   public long calculateSize(Object key, Object value) {
+      Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+      return walk(key, visited) + walk(value, visited);
+   }
+
+   @Override
+   protected long handleObject(Object object) {
+      return walk(object, Collections.newSetFromMap(new IdentityHashMap<>()));
+   }
+
+   private long walk(Object root, Set<Object> visited) {
+      if (root == null) {
+         return 0;
+      }
+      long size = 0;
+      Unsafe unsafe = getUnsafe();
+      // The graph is walked breadth first, one level of references at a time
+      List<Object> level = new ArrayList<>();
+      List<Object> nextLevel = new ArrayList<>();
+      level.add(root);
+      for (int depth = 0; !level.isEmpty(); depth++) {
+         boolean expand = depth < maxDepth;
+         for (Object object : level) {
+            if (visited.size() >= maxObjects) {
+               return size;
+            }
+            if (!visited.add(object)) {
+               continue;
+            }
+            Class<?> objClass = object.getClass();
+            if (isComputedDirectly(objClass)) {
+               size += super.handleObject(object);
+            } else if (objClass.isArray()) {
+               // The elements are walked as any other object, so they are only counted once
+               Object[] array = (Object[]) object;
+               size += roundUpToNearest8(unsafe.arrayBaseOffset(objClass) + unsafe.arrayIndexScale(objClass) *
+                     array.length);
+               if (expand) {
+                  for (Object element : array) {
+                     if (element != null) {
+                        nextLevel.add(element);
+                     }
+                  }
+               }
+            } else {
+               ClassLayout layout = layout(objClass);
+               size += layout.shallowSize;
+               if (expand) {
+                  for (long offset : layout.referenceOffsets) {
+                     Object referenced = unsafe.getObject(object, offset);
+                     if (referenced != null) {
+                        nextLevel.add(referenced);
+                     }
+                  }
+               }
+            }
+         }
+         List<Object> walked = level;
+         level = nextLevel;
+         nextLevel = walked;
+         nextLevel.clear();
+      }
+      return size;
+   }
+
+   private static boolean isComputedDirectly(Class<?> objClass) {
+      return objClass == String.class || objClass == MarshalledValue.class ||
+            objClass == Long.class || objClass == Integer.class || objClass == Short.class ||
+            objClass == Double.class || objClass == Float.class || objClass == Boolean.class ||
+            objClass == Character.class || objClass == Byte.class ||
+            (objClass.isArray() && objClass.getComponentType().isPrimitive());
+   }
+
+   /**
+    * Whether the instances of a class are shared by all the entries or belong to the JDK internals, and shouldn't be
+    * counted.
+    */
+   private static boolean isShared(Class<?> objClass) {
+      if (objClass == Class.class || Enum.class.isAssignableFrom(objClass) ||
+            ClassLoader.class.isAssignableFrom(objClass) || Thread.class.isAssignableFrom(objClass) ||
+            ThreadGroup.class.isAssignableFrom(objClass) || ProtectionDomain.class.isAssignableFrom(objClass) ||
+            AccessControlContext.class.isAssignableFrom(objClass) ||
+            java.util.logging.Logger.class.isAssignableFrom(objClass) || BasicLogger.class.isAssignableFrom(objClass) ||
+            Cache.class.isAssignableFrom(objClass) || CacheContainer.class.isAssignableFrom(objClass)) {
+         return true;
+      }
+      String name = objClass.getName();
+      return name.startsWith("sun.") || name.startsWith("com.sun.") || name.startsWith("jdk.internal.") ||
+            name.startsWith("java.lang.reflect.") || name.startsWith("java.lang.invoke.");
+   }
+
+   private ClassLayout layout(Class<?> objClass) {
+      ClassLayout layout = layouts.get(objClass);
+      if (layout == null) {
+         layout = isShared(objClass) ? SHARED : createLayout(objClass);
+         ClassLayout existing = layouts.putIfAbsent(objClass, layout);
+         if (existing != null) {
+            layout = existing;
+         }
+      }
+      return layout;
+   }
+
+   private ClassLayout createLayout(Class<?> objClass) {
+      Unsafe unsafe = getUnsafe();
+      // Every object has a header and a reference to its class, fields are laid out after those
+      long end = OBJECT_SIZE + POINTER_SIZE;
+      List<Long> offsets = new ArrayList<>();
+      for (Class<?> c = objClass; c != null; c = c.getSuperclass()) {
+         for (Field field : c.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+               continue;
+            }
+            Class<?> type = field.getType();
+            long offset = unsafe.objectFieldOffset(field);
+            end = Math.max(end, offset + fieldSize(type));
+            if (!type.isPrimitive()) {
+               offsets.add(offset);
+            }
+         }
+      }
+      long[] referenceOffsets = NO_OFFSETS;
+      if (!offsets.isEmpty()) {
+         referenceOffsets = new long[offsets.size()];
+         for (int i = 0; i < referenceOffsets.length; ++i) {
+            referenceOffsets[i] = offsets.get(i);
+         }
+      }
+      return new ClassLayout(roundUpToNearest8(end), referenceOffsets);
+   }
+
+   private static long fieldSize(Class<?> type) {
+      if (type == long.class || type == double.class) {
+         return 8;
+      } else if (type == int.class || type == float.class) {
+         return 4;
+      } else if (type == short.class || type == char.class) {
+         return 2;
+      } else if (type == byte.class || type == boolean.class) {
+         return 1;
+      }
+      return POINTER_SIZE;
+   }
+
+   /**
+    * The shallow size of the instances of a class and the offsets of their reference fields.
+    */
+   private static final class ClassLayout {
+      final long shallowSize;
+      final long[] referenceOffsets;
+
+      ClassLayout(long shallowSize, long[] referenceOffsets) {
+         this.shallowSize = shallowSize;
+         this.referenceOffsets = referenceOffsets;
+      }
+   }
+}
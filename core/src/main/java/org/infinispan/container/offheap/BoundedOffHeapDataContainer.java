@@ -0,0 +1,164 @@
+package org.infinispan.container.offheap;
+
+import java.util.Collections;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.EvictionType;
+
+/**
+ * Off-heap data container that evicts the least recently used entries once the configured bound is reached.
+ * <p>
+ * The bound is either the number of entries ({@link EvictionType#COUNT}) or the amount of native memory used by the
+ * entries ({@link EvictionType#MEMORY}). The LRU chain is threaded through the entries themselves, so it does not
+ * require any heap allocation either. Lock ordering is always bucket lock first, then the LRU lock; eviction, which
+ * starts from the LRU chain, picks its candidate under the LRU lock and checks it again once it holds the bucket lock.
+ *
+ * @since 8.2
+ */
+public class BoundedOffHeapDataContainer<K, V> extends OffHeapDataContainer<K, V> {
+
+   private final EvictionType evictionType;
+   private final Lock lruLock = new ReentrantLock();
+   private volatile long maxSize;
+   // Most recently used entry
+   private long firstAddress;
+   // Least recently used entry, the next one to be evicted
+   private long lastAddress;
+
+   public BoundedOffHeapDataContainer(int concurrencyLevel, int addressCount, long maxSize,
+                                      EvictionType evictionType) {
+      super(concurrencyLevel, addressCount, true);
+      this.maxSize = maxSize;
+      this.evictionType = evictionType;
+   }
+
+   @Override
+   public long capacity() {
+      return maxSize;
+   }
+
+   @Override
+   public void resize(long newSize) {
+      this.maxSize = newSize;
+      ensureSize();
+   }
+
+   @Override
+   protected void entryCreated(long address) {
+      lruLock.lock();
+      try {
+         addFirst(address);
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   @Override
+   protected void entryReplaced(long newAddress, long oldAddress) {
+      lruLock.lock();
+      try {
+         unlink(oldAddress);
+         addFirst(newAddress);
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   @Override
+   protected void entryRemoved(long address) {
+      lruLock.lock();
+      try {
+         unlink(address);
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   @Override
+   protected void entryRetrieved(long address) {
+      lruLock.lock();
+      try {
+         if (firstAddress != address) {
+            unlink(address);
+            addFirst(address);
+         }
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   @Override
+   protected void ensureSize() {
+      while (true) {
+         long addressToEvict;
+         Lock bucketLock;
+         lruLock.lock();
+         try {
+            if (currentSize() <= maxSize || lastAddress == 0) {
+               return;
+            }
+            addressToEvict = lastAddress;
+            bucketLock = getLock(offHeapEntryFactory.getHashCode(addressToEvict)).writeLock();
+         } finally {
+            lruLock.unlock();
+         }
+         // The usual order is bucket lock first and then the LRU lock, so the candidate is checked again once the
+         // bucket lock is held: it may have been used, evicted or removed by another thread in the meantime
+         bucketLock.lock();
+         InternalCacheEntry<K, V> evicted = null;
+         try {
+            boolean stillEldest;
+            lruLock.lock();
+            try {
+               stillEldest = lastAddress == addressToEvict && currentSize() > maxSize &&
+                     getLock(offHeapEntryFactory.getHashCode(addressToEvict)).writeLock() == bucketLock;
+            } finally {
+               lruLock.unlock();
+            }
+            if (stillEldest) {
+               // The entry cannot have been released as that requires the bucket lock we now hold
+               evicted = toInternalCacheEntry(addressToEvict, null);
+               passivator.passivate(evicted);
+               unlinkAndFree(addressToEvict);
+            }
+         } finally {
+            bucketLock.unlock();
+         }
+         if (evicted != null) {
+            evictionManager.onEntryEviction(Collections.singletonMap(evicted.getKey(), evicted));
+         }
+      }
+   }
+
+   private long currentSize() {
+      return evictionType == EvictionType.MEMORY ? getAllocatedAmount() : currentCount();
+   }
+
+   private void addFirst(long address) {
+      offHeapEntryFactory.setLruPrevious(address, 0);
+      offHeapEntryFactory.setLruNext(address, firstAddress);
+      if (firstAddress != 0) {
+         offHeapEntryFactory.setLruPrevious(firstAddress, address);
+      } else {
+         lastAddress = address;
+      }
+      firstAddress = address;
+   }
+
+   private void unlink(long address) {
+      long previous = offHeapEntryFactory.getLruPrevious(address);
+      long next = offHeapEntryFactory.getLruNext(address);
+      if (previous != 0) {
+         offHeapEntryFactory.setLruNext(previous, next);
+      } else {
+         firstAddress = next;
+      }
+      if (next != 0) {
+         offHeapEntryFactory.setLruPrevious(next, previous);
+      } else {
+         lastAddress = previous;
+      }
+   }
+}
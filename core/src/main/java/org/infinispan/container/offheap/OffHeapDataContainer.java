@@ -0,0 +1,731 @@
+package org.infinispan.container.offheap;
+
+import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
+
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+import net.jcip.annotations.ThreadSafe;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.Util;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.metadata.L1MetadataInternalCacheEntry;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.EvictionManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.L1Metadata;
+import org.infinispan.util.CoreImmutables;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Data container that keeps keys, values and metadata in native memory, outside of the Java heap.
+ * <p>
+ * Keys, values and metadata are marshalled with the cache marshaller when written and unmarshalled on every read, so
+ * the entries handed out by this container are always copies. Keys are compared by their marshalled form, which
+ * means the configured key {@link org.infinispan.commons.equivalence.Equivalence} is not used.
+ * <p>
+ * The hash index itself lives in native memory as well: a fixed size table of bucket addresses, each bucket being
+ * a chain of entries. Buckets are guarded by a set of striped read write locks.
+ *
+ * @since 8.2
+ */
+@ThreadSafe
+public class OffHeapDataContainer<K, V> implements DataContainer<K, V> {
+
+   private static final Log log = LogFactory.getLog(OffHeapDataContainer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   protected final OffHeapEntryFactory offHeapEntryFactory;
+   private final ReadWriteLock[] locks;
+   private final int bucketCount;
+   private final AtomicLong size = new AtomicLong();
+   private volatile long memoryLookup;
+
+   protected InternalEntryFactory entryFactory;
+   protected EvictionManager evictionManager;
+   protected PassivationManager passivator;
+   protected ActivationManager activator;
+   protected TimeService timeService;
+   protected ExpirationManager<K, V> expirationManager;
+   protected StreamingMarshaller marshaller;
+
+   public OffHeapDataContainer(int concurrencyLevel, int addressCount) {
+      this(concurrencyLevel, addressCount, false);
+   }
+
+   OffHeapDataContainer(int concurrencyLevel, int addressCount, boolean lruLinks) {
+      this.offHeapEntryFactory = new OffHeapEntryFactory(lruLinks);
+      this.bucketCount = Util.findNextHighestPowerOfTwo(addressCount);
+      int lockCount = Math.min(Util.findNextHighestPowerOfTwo(concurrencyLevel), bucketCount);
+      this.locks = new ReadWriteLock[lockCount];
+      for (int i = 0; i < lockCount; ++i) {
+         locks[i] = new ReentrantReadWriteLock();
+      }
+   }
+
+   @Inject
+   public void initialize(EvictionManager evictionManager, PassivationManager passivator,
+                          InternalEntryFactory entryFactory, ActivationManager activator, TimeService timeService,
+                          ExpirationManager<K, V> expirationManager,
+                          @ComponentName(CACHE_MARSHALLER) StreamingMarshaller marshaller) {
+      this.evictionManager = evictionManager;
+      this.passivator = passivator;
+      this.entryFactory = entryFactory;
+      this.activator = activator;
+      this.timeService = timeService;
+      this.expirationManager = expirationManager;
+      this.marshaller = marshaller;
+   }
+
+   @Start
+   public void allocate() {
+      if (memoryLookup == 0) {
+         long lookupSize = (long) bucketCount * 8;
+         long address = OffHeapMemory.allocate(lookupSize);
+         OffHeapMemory.setMemory(address, lookupSize, (byte) 0);
+         memoryLookup = address;
+      }
+   }
+
+   @Stop(priority = 1000)
+   public void deallocate() {
+      clear();
+      long address = memoryLookup;
+      if (address != 0) {
+         memoryLookup = 0;
+         OffHeapMemory.free(address);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> get(Object k) {
+      ByteBuffer key = toBuffer(k);
+      int hashCode = hashCode(key);
+      InternalCacheEntry<K, V> ice;
+      long now = 0;
+      boolean expired = false;
+      Lock lock = getLock(hashCode).readLock();
+      lock.lock();
+      try {
+         long address = lookup(key, hashCode);
+         if (address == 0) {
+            return null;
+         }
+         ice = toInternalCacheEntry(address, (K) k);
+         if (ice.canExpire()) {
+            now = timeService.wallClockTime();
+            if (ice.isExpired(now)) {
+               expired = true;
+            } else {
+               ice.touch(now);
+               // Only the read lock is held, concurrent readers may touch the entry as well
+               offHeapEntryFactory.touchLastUsed(address, now);
+            }
+         }
+         if (!expired) {
+            entryRetrieved(address);
+         }
+      } finally {
+         lock.unlock();
+      }
+      if (expired) {
+         // Must be done without holding the read lock as expiration removes the entry
+         expirationManager.handleInMemoryExpiration(ice, now);
+         return null;
+      }
+      return ice;
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> peek(Object k) {
+      ByteBuffer key = toBuffer(k);
+      int hashCode = hashCode(key);
+      Lock lock = getLock(hashCode).readLock();
+      lock.lock();
+      try {
+         long address = lookup(key, hashCode);
+         return address == 0 ? null : toInternalCacheEntry(address, (K) k);
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public void put(K k, V v, Metadata metadata) {
+      int flags = 0;
+      if (metadata instanceof L1Metadata) {
+         metadata = ((L1Metadata) metadata).metadata();
+         flags |= OffHeapEntryFactory.FLAG_L1;
+      }
+      ByteBuffer key = toBuffer(k);
+      ByteBuffer value = toBuffer(v);
+      ByteBuffer metadataBuffer = toBuffer(metadata);
+      int hashCode = hashCode(key);
+      long now = timeService.wallClockTime();
+      long lifespan = metadata == null ? -1 : metadata.lifespan();
+      long maxIdle = metadata == null ? -1 : metadata.maxIdle();
+      // L1 entries never become transient
+      if ((flags & OffHeapEntryFactory.FLAG_L1) != 0) {
+         maxIdle = -1;
+      }
+
+      if (trace)
+         log.tracef("Store key=%s, value=%s, metadata=%s in off-heap container", k, v, metadata);
+
+      long newAddress = offHeapEntryFactory.create(key, hashCode, value, metadataBuffer, flags, now, now,
+            lifespan, maxIdle);
+      Lock lock = getLock(hashCode).writeLock();
+      lock.lock();
+      try {
+         long oldAddress = store(key, hashCode, newAddress);
+         activator.onUpdate(k, oldAddress == 0);
+      } finally {
+         lock.unlock();
+      }
+      ensureSize();
+   }
+
+   @Override
+   public boolean containsKey(Object k) {
+      ByteBuffer key = toBuffer(k);
+      int hashCode = hashCode(key);
+      Lock lock = getLock(hashCode).readLock();
+      lock.lock();
+      try {
+         long address = lookup(key, hashCode);
+         return address != 0 && !(offHeapEntryFactory.canExpire(address) &&
+               offHeapEntryFactory.isExpired(address, timeService.wallClockTime()));
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> remove(Object k) {
+      ByteBuffer key = toBuffer(k);
+      int hashCode = hashCode(key);
+      InternalCacheEntry<K, V> ice = null;
+      Lock lock = getLock(hashCode).writeLock();
+      lock.lock();
+      try {
+         long address = lookup(key, hashCode);
+         activator.onRemove(k, address == 0);
+         if (address != 0) {
+            ice = toInternalCacheEntry(address, (K) k);
+            unlinkAndFree(address);
+         }
+      } finally {
+         lock.unlock();
+      }
+      return ice == null || (ice.canExpire() && ice.isExpired(timeService.wallClockTime())) ? null : ice;
+   }
+
+   @Override
+   public int size() {
+      long count = 0;
+      long now = timeService.wallClockTime();
+      for (int i = 0; i < bucketCount; ++i) {
+         if (getBucketHead(i) == 0) {
+            continue;
+         }
+         Lock lock = locks[i & (locks.length - 1)].readLock();
+         lock.lock();
+         try {
+            for (long address = getBucketHead(i); address != 0; address = offHeapEntryFactory.getNext(address)) {
+               if (!offHeapEntryFactory.canExpire(address) || !offHeapEntryFactory.isExpired(address, now)) {
+                  count++;
+               }
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+      return (int) Math.min(count, Integer.MAX_VALUE);
+   }
+
+   @Override
+   public int sizeIncludingExpired() {
+      return (int) Math.min(size.get(), Integer.MAX_VALUE);
+   }
+
+   @Override
+   public void clear() {
+      log.tracef("Clearing off-heap data container");
+      if (memoryLookup == 0) {
+         return;
+      }
+      for (int lockIndex = 0; lockIndex < locks.length; ++lockIndex) {
+         Lock lock = locks[lockIndex].writeLock();
+         lock.lock();
+         try {
+            for (int i = lockIndex; i < bucketCount; i += locks.length) {
+               long address = getBucketHead(i);
+               setBucketHead(i, 0);
+               while (address != 0) {
+                  long next = offHeapEntryFactory.getNext(address);
+                  entryRemoved(address);
+                  offHeapEntryFactory.free(address);
+                  size.decrementAndGet();
+                  address = next;
+               }
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+   }
+
+   @Override
+   public Set<K> keySet() {
+      return new KeySet();
+   }
+
+   @Override
+   public Collection<V> values() {
+      return new Values();
+   }
+
+   @Override
+   public Set<InternalCacheEntry<K, V>> entrySet() {
+      return new EntrySet();
+   }
+
+   @Override
+   public void purgeExpired() {
+      expirationManager.processExpiration();
+   }
+
+   @Override
+   public void evict(K k) {
+      ByteBuffer key = toBuffer(k);
+      int hashCode = hashCode(key);
+      Lock lock = getLock(hashCode).writeLock();
+      lock.lock();
+      try {
+         long address = lookup(key, hashCode);
+         if (address != 0) {
+            passivator.passivate(toInternalCacheEntry(address, k));
+            unlinkAndFree(address);
+         }
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(K k, ComputeAction<K, V> action) {
+      ByteBuffer key = toBuffer(k);
+      int hashCode = hashCode(key);
+      InternalCacheEntry<K, V> result;
+      Lock lock = getLock(hashCode).writeLock();
+      lock.lock();
+      try {
+         long oldAddress = lookup(key, hashCode);
+         InternalCacheEntry<K, V> oldEntry = oldAddress == 0 ? null : toInternalCacheEntry(oldAddress, k);
+         InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
+         if (newEntry == oldEntry) {
+            return oldEntry;
+         } else if (newEntry == null) {
+            activator.onRemove(k, false);
+            if (oldAddress != 0) {
+               unlinkAndFree(oldAddress);
+            }
+            return null;
+         }
+         activator.onUpdate(k, oldEntry == null);
+         if (trace)
+            log.tracef("Store %s in container", newEntry);
+         int flags = newEntry.isL1Entry() ? OffHeapEntryFactory.FLAG_L1 : 0;
+         long newAddress = offHeapEntryFactory.create(key, hashCode, toBuffer(newEntry.getValue()),
+               toBuffer(newEntry.getMetadata()), flags, newEntry.getCreated(), newEntry.getLastUsed(),
+               newEntry.getLifespan(), newEntry.getMaxIdle());
+         store(key, hashCode, newAddress);
+         result = newEntry;
+      } finally {
+         lock.unlock();
+      }
+      ensureSize();
+      return result;
+   }
+
+   @Override
+   public void executeTask(KeyFilter<? super K> filter, BiConsumer<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (Iterator<InternalCacheEntry<K, V>> iter = iteratorIncludingExpired(); iter.hasNext(); ) {
+         InternalCacheEntry<K, V> ice = iter.next();
+         if (filter.accept(ice.getKey())) {
+            action.accept(ice.getKey(), ice);
+         }
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   @Override
+   public void executeTask(KeyValueFilter<? super K, ? super V> filter,
+         BiConsumer<? super K, InternalCacheEntry<K, V>> action) throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (Iterator<InternalCacheEntry<K, V>> iter = iteratorIncludingExpired(); iter.hasNext(); ) {
+         InternalCacheEntry<K, V> ice = iter.next();
+         if (filter.accept(ice.getKey(), ice.getValue(), ice.getMetadata())) {
+            action.accept(ice.getKey(), ice);
+         }
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator() {
+      return new EntryIterator(false);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired() {
+      return new EntryIterator(true);
+   }
+
+   /**
+    * @return how many bytes of native memory are currently used by the entries of this container, not including
+    * the hash index itself
+    */
+   public long getAllocatedAmount() {
+      return offHeapEntryFactory.getAllocatedAmount();
+   }
+
+   @Override
+   public long memoryFootprint() {
+      return getAllocatedAmount();
+   }
+
+   /**
+    * Invoked after a new entry has been linked into its bucket while holding the bucket write lock.
+    */
+   protected void entryCreated(long address) {
+   }
+
+   /**
+    * Invoked after an entry has replaced another one in its bucket while holding the bucket write lock.
+    */
+   protected void entryReplaced(long newAddress, long oldAddress) {
+   }
+
+   /**
+    * Invoked before an entry is released while holding the bucket write lock.
+    */
+   protected void entryRemoved(long address) {
+   }
+
+   /**
+    * Invoked when an entry has been read while holding at least the bucket read lock.
+    */
+   protected void entryRetrieved(long address) {
+   }
+
+   /**
+    * Invoked after every write, without holding any lock, so bounded containers can evict entries.
+    */
+   protected void ensureSize() {
+   }
+
+   protected long currentCount() {
+      return size.get();
+   }
+
+   protected final ReadWriteLock getLock(int hashCode) {
+      return locks[bucketIndex(hashCode) & (locks.length - 1)];
+   }
+
+   /**
+    * Removes the entry from its bucket and releases its memory.  The bucket write lock must be held.
+    */
+   protected final void unlinkAndFree(long address) {
+      int bucket = bucketIndex(offHeapEntryFactory.getHashCode(address));
+      long previous = 0;
+      for (long current = getBucketHead(bucket); current != 0; current = offHeapEntryFactory.getNext(current)) {
+         if (current == address) {
+            long next = offHeapEntryFactory.getNext(current);
+            if (previous == 0) {
+               setBucketHead(bucket, next);
+            } else {
+               offHeapEntryFactory.setNext(previous, next);
+            }
+            entryRemoved(address);
+            offHeapEntryFactory.free(address);
+            size.decrementAndGet();
+            return;
+         }
+         previous = current;
+      }
+      throw new IllegalStateException("Entry at address " + address + " is not present in bucket " + bucket);
+   }
+
+   protected final InternalCacheEntry<K, V> toInternalCacheEntry(long address, K knownKey) {
+      K key = knownKey != null ? knownKey : (K) fromBytes(offHeapEntryFactory.getKey(address));
+      V value = (V) fromBytes(offHeapEntryFactory.getValue(address));
+      Metadata metadata = (Metadata) fromBytes(offHeapEntryFactory.getMetadata(address));
+      long created = offHeapEntryFactory.getCreated(address);
+      if ((offHeapEntryFactory.getFlags(address) & OffHeapEntryFactory.FLAG_L1) != 0) {
+         return new L1MetadataInternalCacheEntry(key, value, metadata, created);
+      }
+      return entryFactory.create(key, value, metadata, created, offHeapEntryFactory.getLifespan(address),
+            offHeapEntryFactory.getLastUsed(address), offHeapEntryFactory.getMaxIdle(address));
+   }
+
+   /**
+    * Links the new entry in place of the existing entry with the same key, if any, releasing the old entry.
+    * The bucket write lock must be held.
+    *
+    * @return the address of the replaced entry, or 0 if there was none
+    */
+   private long store(ByteBuffer key, int hashCode, long newAddress) {
+      int bucket = bucketIndex(hashCode);
+      long previous = 0;
+      for (long current = getBucketHead(bucket); current != 0; current = offHeapEntryFactory.getNext(current)) {
+         if (offHeapEntryFactory.equalsKey(current, key, hashCode)) {
+            offHeapEntryFactory.setNext(newAddress, offHeapEntryFactory.getNext(current));
+            if (previous == 0) {
+               setBucketHead(bucket, newAddress);
+            } else {
+               offHeapEntryFactory.setNext(previous, newAddress);
+            }
+            entryReplaced(newAddress, current);
+            offHeapEntryFactory.free(current);
+            return current;
+         }
+         previous = current;
+      }
+      offHeapEntryFactory.setNext(newAddress, getBucketHead(bucket));
+      setBucketHead(bucket, newAddress);
+      size.incrementAndGet();
+      entryCreated(newAddress);
+      return 0;
+   }
+
+   private long lookup(ByteBuffer key, int hashCode) {
+      for (long address = getBucketHead(bucketIndex(hashCode)); address != 0;
+           address = offHeapEntryFactory.getNext(address)) {
+         if (offHeapEntryFactory.equalsKey(address, key, hashCode)) {
+            return address;
+         }
+      }
+      return 0;
+   }
+
+   private int bucketIndex(int hashCode) {
+      return hashCode & (bucketCount - 1);
+   }
+
+   private long getBucketHead(int bucket) {
+      return OffHeapMemory.getLong(memoryLookup + ((long) bucket << 3));
+   }
+
+   private void setBucketHead(int bucket, long address) {
+      OffHeapMemory.putLong(memoryLookup + ((long) bucket << 3), address);
+   }
+
+   private static int hashCode(ByteBuffer key) {
+      byte[] buf = key.getBuf();
+      int h = 1;
+      for (int i = key.getOffset(), end = key.getOffset() + key.getLength(); i < end; ++i) {
+         h = 31 * h + buf[i];
+      }
+      // Spread the higher bits as the bucket index only uses the lower ones
+      return h ^ (h >>> 16);
+   }
+
+   private ByteBuffer toBuffer(Object obj) {
+      if (obj == null) {
+         return null;
+      }
+      try {
+         return marshaller.objectToBuffer(obj);
+      } catch (IOException e) {
+         throw new CacheException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+   }
+
+   private Object fromBytes(byte[] bytes) {
+      if (bytes == null) {
+         return null;
+      }
+      try {
+         return marshaller.objectFromByteBuffer(bytes);
+      } catch (IOException | ClassNotFoundException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   /**
+    * Iterates one bucket at a time, copying the entries of the bucket to the heap while holding its read lock.
+    */
+   private class EntryIterator implements Iterator<InternalCacheEntry<K, V>> {
+      private final boolean includeExpired;
+      private final Queue<InternalCacheEntry<K, V>> bucketEntries = new ArrayDeque<>();
+      private int bucket;
+
+      EntryIterator(boolean includeExpired) {
+         this.includeExpired = includeExpired;
+      }
+
+      @Override
+      public boolean hasNext() {
+         while (bucketEntries.isEmpty() && bucket < bucketCount) {
+            loadBucket(bucket++);
+         }
+         return !bucketEntries.isEmpty();
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         return bucketEntries.poll();
+      }
+
+      private void loadBucket(int i) {
+         if (memoryLookup == 0 || getBucketHead(i) == 0) {
+            return;
+         }
+         long now = includeExpired ? 0 : timeService.wallClockTime();
+         Lock lock = locks[i & (locks.length - 1)].readLock();
+         lock.lock();
+         try {
+            for (long address = getBucketHead(i); address != 0; address = offHeapEntryFactory.getNext(address)) {
+               if (includeExpired || !offHeapEntryFactory.canExpire(address) ||
+                     !offHeapEntryFactory.isExpired(address, now)) {
+                  bucketEntries.add(toInternalCacheEntry(address, null));
+               }
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+   }
+
+   private class KeySet extends AbstractSet<K> {
+      @Override
+      public Iterator<K> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = OffHeapDataContainer.this.iterator();
+         return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public K next() {
+               return it.next().getKey();
+            }
+         };
+      }
+
+      @Override
+      public boolean contains(Object o) {
+         return containsKey(o);
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+
+   private class Values extends AbstractCollection<V> {
+      @Override
+      public Iterator<V> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = OffHeapDataContainer.this.iterator();
+         return new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public V next() {
+               return it.next().getValue();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+
+   private class EntrySet extends AbstractSet<InternalCacheEntry<K, V>> {
+      @Override
+      public Iterator<InternalCacheEntry<K, V>> iterator() {
+         Iterator<InternalCacheEntry<K, V>> it = OffHeapDataContainer.this.iterator();
+         return new Iterator<InternalCacheEntry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public InternalCacheEntry<K, V> next() {
+               return CoreImmutables.immutableInternalCacheEntry(it.next());
+            }
+         };
+      }
+
+      @Override
+      public boolean contains(Object o) {
+         if (!(o instanceof java.util.Map.Entry)) {
+            return false;
+         }
+         java.util.Map.Entry e = (java.util.Map.Entry) o;
+         InternalCacheEntry ice = peek(e.getKey());
+         return ice != null && ice.getValue().equals(e.getValue());
+      }
+
+      @Override
+      public int size() {
+         return sizeIncludingExpired();
+      }
+   }
+}
@@ -0,0 +1,230 @@
+package org.infinispan.container.offheap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.container.entries.ExpiryHelper;
+
+/**
+ * Lays out and reads cache entries stored in native memory.  Every entry is a single allocation with the
+ * following layout:
+ * <pre>
+ *    long    next entry in the same bucket
+ *    long    previous entry in the LRU chain (only when {@code lruLinks} is set)
+ *    long    next entry in the LRU chain (only when {@code lruLinks} is set)
+ *    int     hash code of the key bytes
+ *    int     flags
+ *    long    created
+ *    long    last used
+ *    long    lifespan
+ *    long    max idle
+ *    int     key length
+ *    int     value length
+ *    int     metadata length
+ *    int     padding
+ *    byte[]  key, value and metadata bytes
+ * </pre>
+ * Expiration related values are kept outside of the marshalled metadata so entries can be checked for
+ * expiration without unmarshalling them.
+ *
+ * @since 8.2
+ */
+class OffHeapEntryFactory {
+   static final int FLAG_L1 = 1;
+
+   private static final int NEXT_OFFSET = 0;
+   private static final int LRU_PREVIOUS_OFFSET = 8;
+   private static final int LRU_NEXT_OFFSET = 16;
+
+   private static final int HASH_CODE_OFFSET = 0;
+   private static final int FLAGS_OFFSET = 4;
+   private static final int CREATED_OFFSET = 8;
+   private static final int LAST_USED_OFFSET = 16;
+   private static final int LIFESPAN_OFFSET = 24;
+   private static final int MAX_IDLE_OFFSET = 32;
+   private static final int KEY_LENGTH_OFFSET = 40;
+   private static final int VALUE_LENGTH_OFFSET = 44;
+   private static final int METADATA_LENGTH_OFFSET = 48;
+   private static final int DATA_OFFSET = 56;
+
+   private final boolean lruLinks;
+   private final int headerOffset;
+   private final AtomicLong allocated = new AtomicLong();
+
+   OffHeapEntryFactory(boolean lruLinks) {
+      this.lruLinks = lruLinks;
+      this.headerOffset = lruLinks ? 24 : 8;
+   }
+
+   /**
+    * Allocates and fills a new entry.  The returned address is not linked into any bucket or LRU chain yet.
+    */
+   long create(ByteBuffer key, int hashCode, ByteBuffer value, ByteBuffer metadata, int flags, long created,
+         long lastUsed, long lifespan, long maxIdle) {
+      int keyLength = key.getLength();
+      int valueLength = value == null ? 0 : value.getLength();
+      int metadataLength = metadata == null ? 0 : metadata.getLength();
+      long size = headerOffset + DATA_OFFSET + keyLength + valueLength + metadataLength;
+      long address = OffHeapMemory.allocate(size);
+      allocated.addAndGet(size);
+
+      OffHeapMemory.putLong(address + NEXT_OFFSET, 0);
+      if (lruLinks) {
+         OffHeapMemory.putLong(address + LRU_PREVIOUS_OFFSET, 0);
+         OffHeapMemory.putLong(address + LRU_NEXT_OFFSET, 0);
+      }
+      long header = address + headerOffset;
+      OffHeapMemory.putInt(header + HASH_CODE_OFFSET, hashCode);
+      OffHeapMemory.putInt(header + FLAGS_OFFSET, flags);
+      OffHeapMemory.putLong(header + CREATED_OFFSET, created);
+      OffHeapMemory.putLong(header + LAST_USED_OFFSET, lastUsed);
+      OffHeapMemory.putLong(header + LIFESPAN_OFFSET, lifespan);
+      OffHeapMemory.putLong(header + MAX_IDLE_OFFSET, maxIdle);
+      OffHeapMemory.putInt(header + KEY_LENGTH_OFFSET, keyLength);
+      OffHeapMemory.putInt(header + VALUE_LENGTH_OFFSET, valueLength);
+      OffHeapMemory.putInt(header + METADATA_LENGTH_OFFSET, metadataLength);
+
+      long data = header + DATA_OFFSET;
+      OffHeapMemory.putBytes(key.getBuf(), key.getOffset(), data, keyLength);
+      data += keyLength;
+      if (valueLength > 0) {
+         OffHeapMemory.putBytes(value.getBuf(), value.getOffset(), data, valueLength);
+         data += valueLength;
+      }
+      if (metadataLength > 0) {
+         OffHeapMemory.putBytes(metadata.getBuf(), metadata.getOffset(), data, metadataLength);
+      }
+      return address;
+   }
+
+   /**
+    * Releases the memory held by the entry.  The caller must have unlinked it from any chain beforehand.
+    */
+   void free(long address) {
+      allocated.addAndGet(-getSize(address));
+      OffHeapMemory.free(address);
+   }
+
+   /**
+    * @return how many bytes are currently allocated for entries created by this factory
+    */
+   long getAllocatedAmount() {
+      return allocated.get();
+   }
+
+   long getSize(long address) {
+      long header = address + headerOffset;
+      return headerOffset + DATA_OFFSET + OffHeapMemory.getInt(header + KEY_LENGTH_OFFSET) +
+            OffHeapMemory.getInt(header + VALUE_LENGTH_OFFSET) + OffHeapMemory.getInt(header + METADATA_LENGTH_OFFSET);
+   }
+
+   boolean equalsKey(long address, ByteBuffer key, int hashCode) {
+      long header = address + headerOffset;
+      return OffHeapMemory.getInt(header + HASH_CODE_OFFSET) == hashCode &&
+            OffHeapMemory.getInt(header + KEY_LENGTH_OFFSET) == key.getLength() &&
+            OffHeapMemory.equals(header + DATA_OFFSET, key.getBuf(), key.getOffset(), key.getLength());
+   }
+
+   long getNext(long address) {
+      return OffHeapMemory.getLong(address + NEXT_OFFSET);
+   }
+
+   void setNext(long address, long next) {
+      OffHeapMemory.putLong(address + NEXT_OFFSET, next);
+   }
+
+   long getLruPrevious(long address) {
+      return OffHeapMemory.getLong(address + LRU_PREVIOUS_OFFSET);
+   }
+
+   void setLruPrevious(long address, long previous) {
+      OffHeapMemory.putLong(address + LRU_PREVIOUS_OFFSET, previous);
+   }
+
+   long getLruNext(long address) {
+      return OffHeapMemory.getLong(address + LRU_NEXT_OFFSET);
+   }
+
+   void setLruNext(long address, long next) {
+      OffHeapMemory.putLong(address + LRU_NEXT_OFFSET, next);
+   }
+
+   int getHashCode(long address) {
+      return OffHeapMemory.getInt(address + headerOffset + HASH_CODE_OFFSET);
+   }
+
+   int getFlags(long address) {
+      return OffHeapMemory.getInt(address + headerOffset + FLAGS_OFFSET);
+   }
+
+   long getCreated(long address) {
+      return OffHeapMemory.getLong(address + headerOffset + CREATED_OFFSET);
+   }
+
+   long getLastUsed(long address) {
+      return OffHeapMemory.getLongVolatile(address + headerOffset + LAST_USED_OFFSET);
+   }
+
+   /**
+    * Moves the last used time of the entry forward to the given time. Readers only hold the bucket read lock,
+    * so the update is atomic and never moves the time backwards when concurrent readers race.
+    */
+   void touchLastUsed(long address, long lastUsed) {
+      long lastUsedAddress = address + headerOffset + LAST_USED_OFFSET;
+      long current;
+      do {
+         current = OffHeapMemory.getLongVolatile(lastUsedAddress);
+         if (current >= lastUsed) {
+            return;
+         }
+      } while (!OffHeapMemory.compareAndSwapLong(lastUsedAddress, current, lastUsed));
+   }
+
+   long getLifespan(long address) {
+      return OffHeapMemory.getLong(address + headerOffset + LIFESPAN_OFFSET);
+   }
+
+   long getMaxIdle(long address) {
+      return OffHeapMemory.getLong(address + headerOffset + MAX_IDLE_OFFSET);
+   }
+
+   boolean canExpire(long address) {
+      return getLifespan(address) > -1 || getMaxIdle(address) > -1;
+   }
+
+   boolean isExpired(long address, long now) {
+      return ExpiryHelper.isExpiredTransientMortal(getMaxIdle(address), getLastUsed(address), getLifespan(address),
+            getCreated(address), now);
+   }
+
+   byte[] getKey(long address) {
+      long header = address + headerOffset;
+      byte[] key = new byte[OffHeapMemory.getInt(header + KEY_LENGTH_OFFSET)];
+      OffHeapMemory.getBytes(header + DATA_OFFSET, key, 0, key.length);
+      return key;
+   }
+
+   byte[] getValue(long address) {
+      long header = address + headerOffset;
+      int valueLength = OffHeapMemory.getInt(header + VALUE_LENGTH_OFFSET);
+      if (valueLength == 0) {
+         return null;
+      }
+      int keyLength = OffHeapMemory.getInt(header + KEY_LENGTH_OFFSET);
+      byte[] value = new byte[valueLength];
+      OffHeapMemory.getBytes(header + DATA_OFFSET + keyLength, value, 0, valueLength);
+      return value;
+   }
+
+   byte[] getMetadata(long address) {
+      long header = address + headerOffset;
+      int metadataLength = OffHeapMemory.getInt(header + METADATA_LENGTH_OFFSET);
+      if (metadataLength == 0) {
+         return null;
+      }
+      int skip = OffHeapMemory.getInt(header + KEY_LENGTH_OFFSET) + OffHeapMemory.getInt(header + VALUE_LENGTH_OFFSET);
+      byte[] metadata = new byte[metadataLength];
+      OffHeapMemory.getBytes(header + DATA_OFFSET + skip, metadata, 0, metadataLength);
+      return metadata;
+   }
+}
@@ -0,0 +1,108 @@
+package org.infinispan.container.offheap;
+
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+
+import sun.misc.Unsafe;
+
+/**
+ * Thin wrapper around {@link Unsafe} exposing only the native memory operations needed by the off-heap
+ * data container.  Addresses handed out by {@link #allocate(long)} must be released with {@link #free(long)}
+ * as they are never reclaimed by the garbage collector.
+ *
+ * @since 8.2
+ */
+final class OffHeapMemory {
+   private static final Unsafe UNSAFE = getUnsafe();
+   private static final long BYTE_ARRAY_BASE_OFFSET = Unsafe.ARRAY_BYTE_BASE_OFFSET;
+
+   private OffHeapMemory() { }
+
+   static long allocate(long size) {
+      return UNSAFE.allocateMemory(size);
+   }
+
+   static void free(long address) {
+      UNSAFE.freeMemory(address);
+   }
+
+   static void setMemory(long address, long bytes, byte value) {
+      UNSAFE.setMemory(address, bytes, value);
+   }
+
+   static byte getByte(long address) {
+      return UNSAFE.getByte(address);
+   }
+
+   static int getInt(long address) {
+      return UNSAFE.getInt(address);
+   }
+
+   static void putInt(long address, int value) {
+      UNSAFE.putInt(address, value);
+   }
+
+   static long getLong(long address) {
+      return UNSAFE.getLong(address);
+   }
+
+   static void putLong(long address, long value) {
+      UNSAFE.putLong(address, value);
+   }
+
+   static long getLongVolatile(long address) {
+      return UNSAFE.getLongVolatile(null, address);
+   }
+
+   /**
+    * Atomically sets the 8 byte aligned long at the address to the new value if it holds the expected one.
+    */
+   static boolean compareAndSwapLong(long address, long expected, long value) {
+      return UNSAFE.compareAndSwapLong(null, address, expected, value);
+   }
+
+   static void putBytes(byte[] src, int srcOffset, long dstAddress, int length) {
+      UNSAFE.copyMemory(src, BYTE_ARRAY_BASE_OFFSET + srcOffset, null, dstAddress, length);
+   }
+
+   static void getBytes(long srcAddress, byte[] dst, int dstOffset, int length) {
+      UNSAFE.copyMemory(null, srcAddress, dst, BYTE_ARRAY_BASE_OFFSET + dstOffset, length);
+   }
+
+   static boolean equals(long address, byte[] bytes, int offset, int length) {
+      int i = 0;
+      for (; i + 8 <= length; i += 8) {
+         if (UNSAFE.getLong(address + i) != UNSAFE.getLong(bytes, BYTE_ARRAY_BASE_OFFSET + offset + i)) {
+            return false;
+         }
+      }
+      for (; i < length; ++i) {
+         if (UNSAFE.getByte(address + i) != bytes[offset + i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static Unsafe getUnsafe() {
+      try {
+         return Unsafe.getUnsafe();
+      } catch (SecurityException tryReflectionInstead) {
+      }
+      try {
+         return AccessController.doPrivileged((PrivilegedExceptionAction<Unsafe>) () -> {
+            Class<Unsafe> k = Unsafe.class;
+            for (java.lang.reflect.Field f : k.getDeclaredFields()) {
+               f.setAccessible(true);
+               Object x = f.get(null);
+               if (k.isInstance(x))
+                  return k.cast(x);
+            }
+            throw new NoSuchFieldError("the Unsafe");
+         });
+      } catch (PrivilegedActionException e) {
+         throw new RuntimeException("Could not initialize intrinsics", e.getCause());
+      }
+   }
+}
@@ -13,6 +13,12 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
@@ -26,8 +32,10 @@
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ThreadSafe
+@MBean(objectName = "Expiration", description = "Component that removes expired entries from memory and from the cache stores.")
 public class ExpirationManagerImpl<K, V> implements ExpirationManager<K, V> {
    protected static final Log log = LogFactory.getLog(ExpirationManagerImpl.class);
    protected static final boolean trace = log.isTraceEnabled();
@@ -51,6 +59,15 @@
     */
    protected ConcurrentMap<K, Object> expiring;
 
+   private final AtomicLong reaperRuns = new AtomicLong(0);
+   private final AtomicLong reaperExpirations = new AtomicLong(0);
+   private final AtomicLong totalReaperTime = new AtomicLong(0);
+   private final AtomicLong maxReaperTime = new AtomicLong(0);
+   private volatile long lastReaperTime;
+
+   @ManagedAttribute(description = "Enables or disables the gathering of statistics by this component", displayName = "Statistics enabled", writable = true)
+   private boolean statisticsEnabled = false;
+
    @Inject
    public void initialize(@ComponentName(KnownComponentNames.EXPIRATION_SCHEDULED_EXECUTOR)
          ScheduledExecutorService executor, Cache<K, V> cache, Configuration cfg, DataContainer<K, V> dataContainer,
@@ -78,6 +95,7 @@ void initialize(ScheduledExecutorService executor, String cacheName, Configurati
    @Start(priority = 55)
    // make sure this starts after the PersistenceManager
    public void start() {
+      statisticsEnabled = configuration.jmxStatistics().enabled();
       // first check if eviction is enabled!
       enabled = configuration.expiration().reaperEnabled();
       if (enabled) {
@@ -95,24 +113,30 @@ public void start() {
 
    @Override
    public void processExpiration() {
-      long start = 0;
       if (!Thread.currentThread().isInterrupted()) {
          try {
             if (trace) {
                log.trace("Purging data container of expired entries");
-               start = timeService.time();
             }
+            long start = timeService.time();
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
+            long expired = 0;
+            // Only the entries due to expire are visited, if the data container keeps an expiration index
+            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.expirationCandidates(currentTimeMillis);
                  purgeCandidates.hasNext();) {
                InternalCacheEntry<K, V> e = purgeCandidates.next();
                if (e.isExpired(currentTimeMillis)) {
-                  handleInMemoryExpiration(e, currentTimeMillis);
+                  expireInMemory(e, currentTimeMillis);
+                  expired++;
                }
             }
+            long duration = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+            if (statisticsEnabled) {
+               recordReaperRun(duration, expired);
+            }
             if (trace) {
-               log.tracef("Purging data container completed in %s",
-                          Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
+               log.tracef("Purging data container completed in %s, %d entries expired",
+                          Util.prettyPrintTime(duration), expired);
             }
          } catch (Exception e) {
             log.exceptionPurgingDataContainer(e);
@@ -124,11 +148,99 @@ public void processExpiration() {
       }
    }
 
+   /**
+    * Expires an entry found expired by the reaper.
+    */
+   protected void expireInMemory(InternalCacheEntry<K, V> entry, long currentTimeMillis) {
+      handleInMemoryExpiration(entry, currentTimeMillis);
+   }
+
+   private void recordReaperRun(long duration, long expired) {
+      reaperRuns.incrementAndGet();
+      reaperExpirations.addAndGet(expired);
+      totalReaperTime.addAndGet(duration);
+      lastReaperTime = duration;
+      long max = maxReaperTime.get();
+      while (duration > max && !maxReaperTime.compareAndSet(max, duration)) {
+         max = maxReaperTime.get();
+      }
+   }
+
    @Override
    public boolean isEnabled() {
       return enabled;
    }
 
+   @ManagedAttribute(
+         description = "Approximate number of entries in memory whose expiration time has passed but which have not been removed yet, or -1 if the data container does not track them",
+         displayName = "Expiration backlog",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getExpirationBacklog() {
+      return dataContainer.expirationBacklog(timeService.wallClockTime());
+   }
+
+   @ManagedAttribute(
+         description = "Number of times the expiration reaper ran",
+         displayName = "Reaper runs",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReaperRuns() {
+      return reaperRuns.get();
+   }
+
+   @ManagedAttribute(
+         description = "Number of expired entries removed from memory by the expiration reaper",
+         displayName = "Reaper expirations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReaperExpirations() {
+      return reaperExpirations.get();
+   }
+
+   @ManagedAttribute(
+         description = "Time taken by the last run of the expiration reaper to purge the data container",
+         displayName = "Last reaper run time",
+         units = Units.MILLISECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getLastReaperTime() {
+      return lastReaperTime;
+   }
+
+   @ManagedAttribute(
+         description = "Average time taken by the expiration reaper to purge the data container",
+         displayName = "Average reaper run time",
+         units = Units.MILLISECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAverageReaperTime() {
+      long runs = reaperRuns.get();
+      return runs == 0 ? 0 : totalReaperTime.get() / runs;
+   }
+
+   @ManagedAttribute(
+         description = "Maximum time taken by the expiration reaper to purge the data container",
+         displayName = "Maximum reaper run time",
+         units = Units.MILLISECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getMaxReaperTime() {
+      return maxReaperTime.get();
+   }
+
+   @ManagedOperation(
+         description = "Resets statistics gathered by this component",
+         displayName = "Reset statistics"
+   )
+   public void resetStatistics() {
+      reaperRuns.set(0);
+      reaperExpirations.set(0);
+      totalReaperTime.set(0);
+      maxReaperTime.set(0);
+      lastReaperTime = 0;
+   }
+
    @Override
    public void handleInMemoryExpiration(InternalCacheEntry<K, V> entry, long currentTime) {
       dataContainer.compute(entry.getKey(), ((k, oldEntry, factory) -> {
@@ -139,6 +251,10 @@ public void handleInMemoryExpiration(InternalCacheEntry<K, V> entry, long curren
                }
             }
             return null;
+         } else if (oldEntry != null && oldEntry.canExpire() && oldEntry.isExpired(currentTime)) {
+            // Containers that do not retain entry instances, such as the off-heap one, return a copy on every read
+            deleteFromStoresAndNotify(k, oldEntry.getValue(), oldEntry.getMetadata());
+            return null;
          }
          return oldEntry;
       }));
@@ -7,7 +7,9 @@
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.DefaultDataContainer;
 import org.infinispan.container.entries.MarshalledValueEntrySizeCalculator;
-import org.infinispan.container.entries.PrimitiveEntrySizeCalculator;
+import org.infinispan.container.entries.ObjectGraphEntrySizeCalculator;
+import org.infinispan.container.offheap.BoundedOffHeapDataContainer;
+import org.infinispan.container.offheap.OffHeapDataContainer;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.factories.annotations.DefaultFactoryFor;
@@ -28,6 +30,8 @@ public class DataContainerFactory extends AbstractNamedCacheComponentFactory imp
    public <T> T construct(Class<T> componentType) {
       if (configuration.dataContainer().dataContainer() != null) {
          return (T) configuration.dataContainer().dataContainer();
+      } else if (configuration.dataContainer().offHeap()) {
+         return (T) constructOffHeapContainer();
       } else {
          EvictionStrategy st = configuration.eviction().strategy();
          int level = configuration.locking().concurrencyLevel();
@@ -49,14 +53,17 @@ public <T> T construct(Class<T> componentType) {
                      level, keyEquivalence);
             case UNORDERED:
             case LRU:
+            case LIRS:
 
                if (configuration.eviction().type() == EvictionType.MEMORY) {
-                  EntrySizeCalculator esc;
-                  if (configuration.storeAsBinary().storeKeysAsBinary() &&
-                          configuration.storeAsBinary().storeValuesAsBinary()) {
-                     esc = new MarshalledValueEntrySizeCalculator();
-                  } else {
-                     esc = new PrimitiveEntrySizeCalculator();
+                  EntrySizeCalculator esc = configuration.eviction().sizeCalculator();
+                  if (esc == null) {
+                     if (configuration.storeAsBinary().storeKeysAsBinary() &&
+                             configuration.storeAsBinary().storeValuesAsBinary()) {
+                        esc = new MarshalledValueEntrySizeCalculator();
+                     } else {
+                        esc = new ObjectGraphEntrySizeCalculator();
+                     }
                   }
                   dataContainer = DefaultDataContainer.boundedDataContainer(
                           level, thresholdSize, st, configuration.eviction().threadPolicy(), keyEquivalence,
@@ -64,7 +71,6 @@ public <T> T construct(Class<T> componentType) {
                   break;
                }
             case FIFO:
-            case LIRS:
                dataContainer = DefaultDataContainer.boundedDataContainer(
                   level, thresholdSize, st, configuration.eviction().threadPolicy(), keyEquivalence,
                   configuration.eviction().type());
@@ -79,4 +85,20 @@ public <T> T construct(Class<T> componentType) {
          return (T) dataContainer;
       }
    }
+
+   private DataContainer constructOffHeapContainer() {
+      int level = configuration.locking().concurrencyLevel();
+      int addressCount = configuration.dataContainer().addressCount();
+      long thresholdSize = configuration.eviction().size();
+      if (thresholdSize < 0 || configuration.eviction().strategy() == EvictionStrategy.NONE) {
+         return new OffHeapDataContainer(level, addressCount);
+      }
+      // Off-heap eviction is always LRU, regardless of the configured strategy
+      BoundedOffHeapDataContainer dataContainer = new BoundedOffHeapDataContainer(level, addressCount, thresholdSize,
+            configuration.eviction().type());
+      configuration.eviction().attributes().attribute(EvictionConfiguration.SIZE).addListener((newSize, old) -> {
+         dataContainer.resize(newSize.get());
+      });
+      return dataContainer;
+   }
 }
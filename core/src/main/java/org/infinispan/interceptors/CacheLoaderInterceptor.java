@@ -5,6 +5,9 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.ExecutorService;
@@ -150,8 +153,14 @@ public Object visitGetCacheEntryCommand(InvocationContext ctx, GetCacheEntryComm
    @Override
    public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
       if (enabled) {
+         Set<K> keysToLoad = new HashSet<>();
          for (Object key : command.getKeys()) {
-            loadIfNeeded(ctx, key, command);
+            if (!skipLoad(command, key, ctx)) {
+               keysToLoad.add((K) key);
+            }
+         }
+         if (!keysToLoad.isEmpty()) {
+            loadAllInContext(ctx, keysToLoad, command);
          }
       }
       return invokeNextInterceptor(ctx, command);
@@ -399,6 +408,42 @@ private Boolean loadInContext(InvocationContext ctx, Object key, FlagAffectedCom
       return isLoadedValue;
    }
 
+   /**
+    * Same as {@link #loadInContext(InvocationContext, Object, FlagAffectedCommand)}, but loads all the keys with a
+    * single bulk load from the stores.
+    */
+   private void loadAllInContext(InvocationContext ctx, Set<K> keys, FlagAffectedCommand cmd) {
+      Map<K, Boolean> isLoaded = new HashMap<>();
+      Map<K, InternalCacheEntry<K, V>> entries = PersistenceUtil.loadAllAndStoreInDataContainer(dataContainer,
+            persistenceManager, keys, ctx, timeService, isLoaded);
+      if (trace) {
+         log.tracef("Entries were loaded? %s", isLoaded);
+      }
+      if (getStatisticsEnabled()) {
+         for (Boolean isLoadedValue : isLoaded.values()) {
+            if (isLoadedValue == null) {
+               // the entry was in data container, we haven't touched cache store
+            } else if (isLoadedValue) {
+               cacheLoads.incrementAndGet();
+            } else {
+               cacheMisses.incrementAndGet();
+            }
+         }
+      }
+
+      for (Map.Entry<K, InternalCacheEntry<K, V>> e : entries.entrySet()) {
+         K key = e.getKey();
+         InternalCacheEntry<K, V> entry = e.getValue();
+         entryFactory.wrapExternalEntry(ctx, key, entry, EntryFactory.Wrap.STORE, !cmd.readsExistingValues());
+
+         if (Boolean.TRUE.equals(isLoaded.get(key))) {
+            Object value = entry.getValue();
+            sendNotification(key, value, true, ctx, cmd);
+            sendNotification(key, value, false, ctx, cmd);
+         }
+      }
+   }
+
    private boolean skipLoad(FlagAffectedCommand cmd, Object key, InvocationContext ctx) {
       if (!shouldAttemptLookup(ctx.lookupEntry(key))) {
          if (trace) {
@@ -376,6 +376,15 @@ public int getNumberOfEntries() {
       return dataContainer.sizeIncludingExpired();
    }
 
+   @ManagedAttribute(
+         description = "Estimated amount of memory used by the entries in memory, or -1 if not tracked",
+         displayName = "Memory footprint of the cache entries",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getMemoryFootprint() {
+      return dataContainer.memoryFootprint();
+   }
+
    @ManagedAttribute(
          description = "Number of seconds since cache started",
          displayName = "Seconds since cache started",
@@ -34,6 +34,7 @@
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryImpl;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.metadata.Metadata;
@@ -46,14 +47,18 @@
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
 import static org.infinispan.persistence.PersistenceUtil.internalMetadata;
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.BOTH;
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
+import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.SHARED;
 
 /**
  * Writes modifications back to the store on the way out: stores modifications back through the CacheLoader, either
@@ -201,11 +206,13 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
       if (!isStoreEnabled(command) || ctx.isInTxScope()) return returnValue;
 
       Map<Object, Object> map = command.getMap();
+      PendingWrites pendingWrites = new PendingWrites();
       for (Object key : map.keySet()) {
          if (isProperWriter(ctx, command, key)) {
-            storeEntry(ctx, key, command);
+            pendingWrites.write(marshalledEntry(ctx, key), skipSharedStores(ctx, key, command) ? PRIVATE : BOTH);
          }
       }
+      pendingWrites.flush();
       if (getStatisticsEnabled()) cacheStores.getAndAdd(map.size());
       return returnValue;
    }
@@ -259,19 +266,20 @@ public Object visitWriteOnlyManyEntriesCommand(InvocationContext ctx, WriteOnlyM
       switch (persistMode.get()) {
          case PERSIST:
             Map<Object, Object> map = command.getEntries();
+            PendingWrites pendingWrites = new PendingWrites();
             int storedCount = 0;
             for (Object key : map.keySet()) {
                CacheEntry entry = ctx.lookupEntry(key);
                if (entry != null) {
                   if (entry.isRemoved()) {
-                     boolean resp = persistenceManager.deleteFromAllStores(key, BOTH);
-                     if (trace) getLog().tracef("Removed entry under key %s and got response %s from CacheStore", key, resp);
+                     pendingWrites.delete(key);
                   } else if (entry.isChanged() && isProperWriter(ctx, command, key)) {
-                     storeEntry(ctx, key, command);
+                     pendingWrites.write(marshalledEntry(ctx, key), skipSharedStores(ctx, key, command) ? PRIVATE : BOTH);
                      storedCount++;
                   }
                }
             }
+            pendingWrites.flush();
 
             if (getStatisticsEnabled()) cacheStores.getAndAdd(storedCount);
             break;
@@ -296,6 +304,7 @@ protected final void store(TxInvocationContext ctx) throws Throwable {
             cacheCommand.acceptVisitor(ctx, modsBuilder);
          }
       }
+      modsBuilder.pendingWrites.flush();
       if (getStatisticsEnabled() && modsBuilder.putCount > 0) {
          cacheStores.getAndAdd(modsBuilder.putCount);
       }
@@ -323,6 +332,8 @@ protected boolean isProperWriter(InvocationContext ctx, FlagAffectedCommand comm
    public class Updater extends AbstractVisitor {
 
       protected final boolean generateStatistics;
+      // The transaction's modifications are written to the stores in batches once all of them are visited
+      protected final PendingWrites pendingWrites = new PendingWrites();
       int putCount;
 
       public Updater(boolean generateStatistics) {
@@ -349,7 +360,7 @@ public Object visitApplyDeltaCommand(InvocationContext ctx, ApplyDeltaCommand co
                ice = entryFactory.create(entry);
             }
             MarshalledEntryImpl marshalledEntry = new MarshalledEntryImpl(ice.getKey(), ice.getValue(), internalMetadata(ice), marshaller);
-            persistenceManager.writeToAllStores(marshalledEntry, command.hasFlag(Flag.SKIP_SHARED_CACHE_STORE) ? PRIVATE : BOTH);
+            pendingWrites.write(marshalledEntry, command.hasFlag(Flag.SKIP_SHARED_CACHE_STORE) ? PRIVATE : BOTH);
          }
          return null;
       }
@@ -371,13 +382,15 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
       public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) throws Throwable {
          Object key = command.getKey();
          if (isProperWriter(ctx, command, key)) {
-            persistenceManager.deleteFromAllStores(key, BOTH);
+            pendingWrites.delete(key);
          }
          return null;
       }
 
       @Override
       public Object visitClearCommand(InvocationContext ctx, ClearCommand command) throws Throwable {
+         // Only some of the stores may be cleared, so the earlier modifications must be written first
+         pendingWrites.flush();
          persistenceManager.clearAllStores(ctx.isOriginLocal() ? PRIVATE : BOTH);
          return null;
       }
@@ -385,9 +398,7 @@ public Object visitClearCommand(InvocationContext ctx, ClearCommand command) thr
       protected Object visitSingleStore(InvocationContext ctx, FlagAffectedCommand command, Object key) throws Throwable {
          if (isProperWriter(ctx, command, key)) {
             if (generateStatistics) putCount++;
-            InternalCacheValue sv = getStoredValue(key, ctx);
-            MarshalledEntryImpl me = new MarshalledEntryImpl(key, sv.getValue(), internalMetadata(sv), marshaller);
-            persistenceManager.writeToAllStores(me, command.hasFlag(Flag.SKIP_SHARED_CACHE_STORE) ? PRIVATE : BOTH);
+            pendingWrites.write(marshalledEntry(ctx, key), command.hasFlag(Flag.SKIP_SHARED_CACHE_STORE) ? PRIVATE : BOTH);
          }
          return null;
       }
@@ -418,6 +429,69 @@ void storeEntry(InvocationContext ctx, Object key, FlagAffectedCommand command)
       if (trace) getLog().tracef("Stored entry %s under key %s", sv, key);
    }
 
+   MarshalledEntry marshalledEntry(InvocationContext ctx, Object key) {
+      InternalCacheValue sv = getStoredValue(key, ctx);
+      return new MarshalledEntryImpl(key, sv.getValue(), internalMetadata(sv), marshaller);
+   }
+
+   /**
+    * Collects the modifications of a multi-key command or of a transaction, so that they are written to each store
+    * in a single batch instead of one key at a time. Only the last modification of each key is kept.
+    */
+   protected class PendingWrites {
+      private final Map<Object, MarshalledEntry> writes = new LinkedHashMap<>();
+      private final Map<Object, MarshalledEntry> privateWrites = new LinkedHashMap<>();
+      private final Set<Object> deletes = new LinkedHashSet<>();
+      // keys deleted and then written to the private stores only, which must still be deleted from the shared ones
+      private final Set<Object> sharedDeletes = new LinkedHashSet<>();
+
+      public void write(MarshalledEntry entry, PersistenceManager.AccessMode mode) {
+         Object key = entry.getKey();
+         if (mode == PRIVATE) {
+            if (deletes.remove(key)) {
+               sharedDeletes.add(key);
+            }
+            // Private stores are written after the shared ones, so an earlier write to all stores is preserved
+            privateWrites.put(key, entry);
+         } else {
+            deletes.remove(key);
+            sharedDeletes.remove(key);
+            privateWrites.remove(key);
+            writes.put(key, entry);
+         }
+      }
+
+      public void delete(Object key) {
+         writes.remove(key);
+         privateWrites.remove(key);
+         sharedDeletes.remove(key);
+         deletes.add(key);
+      }
+
+      public void flush() {
+         if (!writes.isEmpty()) {
+            persistenceManager.writeBatchToAllStores(writes.values(), BOTH);
+            if (trace) getLog().tracef("Stored entries under keys %s", writes.keySet());
+            writes.clear();
+         }
+         if (!privateWrites.isEmpty()) {
+            persistenceManager.writeBatchToAllStores(privateWrites.values(), PRIVATE);
+            if (trace) getLog().tracef("Stored entries under keys %s in private stores", privateWrites.keySet());
+            privateWrites.clear();
+         }
+         if (!deletes.isEmpty()) {
+            persistenceManager.deleteBatchFromAllStores(deletes, BOTH);
+            if (trace) getLog().tracef("Removed entries under keys %s", deletes);
+            deletes.clear();
+         }
+         if (!sharedDeletes.isEmpty()) {
+            persistenceManager.deleteBatchFromAllStores(sharedDeletes, SHARED);
+            if (trace) getLog().tracef("Removed entries under keys %s from shared stores", sharedDeletes);
+            sharedDeletes.clear();
+         }
+      }
+   }
+
    protected boolean skipSharedStores(InvocationContext ctx, Object key, FlagAffectedCommand command) {
       return !ctx.isOriginLocal() || command.hasFlag(Flag.SKIP_SHARED_CACHE_STORE);
    }
@@ -86,6 +86,7 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
       if (!isStoreEnabled(command) || ctx.isInTxScope()) return returnValue;
 
       Map<Object, Object> map = command.getMap();
+      PendingWrites pendingWrites = new PendingWrites();
       int count = 0;
       for (Object key : map.keySet()) {
          // In non-tx mode, a node may receive the same forwarded PutMapCommand many times - but each time
@@ -94,10 +95,11 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
             continue;
 
          if (isProperWriter(ctx, command, key)) {
-            storeEntry(ctx, key, command);
+            pendingWrites.write(marshalledEntry(ctx, key), skipSharedStores(ctx, key, command) ? PRIVATE : BOTH);
             count++;
          }
       }
+      pendingWrites.flush();
       if (getStatisticsEnabled()) cacheStores.getAndAdd(count);
       return returnValue;
    }
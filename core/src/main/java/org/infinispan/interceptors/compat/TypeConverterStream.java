@@ -5,7 +5,9 @@
 import org.infinispan.compat.TypeConverter;
 import org.infinispan.container.InternalEntryFactory;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.stream.StreamSubscriber;
 import org.infinispan.stream.impl.AbstractDelegatingCacheStream;
+import org.infinispan.stream.impl.IteratorSubscription;
 import org.infinispan.stream.impl.spliterators.IteratorAsSpliterator;
 
 import java.util.Iterator;
@@ -41,6 +43,12 @@ public Iterator<Object> iterator() {
       });
    }
 
+   @Override
+   public void subscribe(StreamSubscriber subscriber) {
+      // We rely on our iterator to do unwrapping.
+      subscriber.onSubscribe(new IteratorSubscription<>(iterator(), subscriber, this::close));
+   }
+
    @Override
    public Spliterator<Object> spliterator() {
       // We rely on our iterator to do unwrapping.
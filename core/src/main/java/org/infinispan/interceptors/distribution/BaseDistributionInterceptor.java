@@ -7,6 +7,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commands.FlagAffectedCommand;
 import org.infinispan.commands.ReplicableCommand;
@@ -147,31 +148,11 @@ protected final InternalCacheEntry retrieveFromRemoteSource(Object key, Invocati
             log.tracef("Perform remote get for key %s. topologyId=%s, currentTopologyId=%s",
                        key, lastTopologyId, currentTopologyId);
          }
-         List<Address> targets;
-         if (lastTopologyId < currentTopologyId) {
-            // Cache topology has changed or it is the first time.
-            lastTopologyId = currentTopologyId;
-            targets = new ArrayList<>(cacheTopology.getReadConsistentHash().locateOwners(key));
-         } else if (lastTopologyId == currentTopologyId && cacheTopology.getPendingCH() != null) {
-            // Same topologyId, but the owners could have already installed the next topology
-            // Lets try with pending consistent owners (the read owners in the next topology)
-            lastTopologyId = currentTopologyId + 1;
-            targets = new ArrayList<>(cacheTopology.getPendingCH().locateOwners(key));
-            // Remove already contacted nodes
-            targets.removeAll(cacheTopology.getReadConsistentHash().locateOwners(key));
-            if (targets.isEmpty()) {
-               if (trace) {
-                  log.tracef("No valid values found for key '%s' (topologyId=%s).", key, currentTopologyId);
-               }
-               break;
-            }
-         } else { // lastTopologyId > currentTopologyId || cacheTopology.getPendingCH() == null
-            // We have not received a valid value from the pending CH owners either, and the topology id hasn't changed
-            if (trace) {
-               log.tracef("No valid values found for key '%s' (topologyId=%s).", key, currentTopologyId);
-            }
+         List<Address> targets = getRemoteGetTargets(key, cacheTopology, lastTopologyId);
+         if (targets == null) {
             break;
          }
+         lastTopologyId = lastTopologyId < currentTopologyId ? currentTopologyId : currentTopologyId + 1;
 
          value = invokeClusterGetCommandRemotely(targets, rpcOptionsBuilder, get, key);
          if (trace) {
@@ -181,12 +162,85 @@ protected final InternalCacheEntry retrieveFromRemoteSource(Object key, Invocati
       return value;
    }
 
+   /**
+    * Same as {@link #retrieveFromRemoteSource(Object, InvocationContext, boolean, FlagAffectedCommand, boolean)} for
+    * a non-transactional read, but it doesn't block the caller while waiting for the owners to reply.
+    *
+    * @return a future completed with the entry found on the owners, or with {@code null} if none of them had it
+    */
+   public final CompletableFuture<InternalCacheEntry> retrieveFromRemoteSourceAsync(Object key, Set<Flag> flags) {
+      ClusteredGetCommand get = cf.buildClusteredGetCommand(key, flags, false, null);
+      RpcOptionsBuilder rpcOptionsBuilder = rpcManager.getRpcOptionsBuilder(ResponseMode.WAIT_FOR_VALID_RESPONSE, DeliverOrder.NONE);
+      return retrieveFromRemoteSourceAsync(key, get, rpcOptionsBuilder, -1);
+   }
+
+   private CompletableFuture<InternalCacheEntry> retrieveFromRemoteSourceAsync(Object key, ClusteredGetCommand get,
+                                                                               RpcOptionsBuilder rpcOptionsBuilder,
+                                                                               int lastTopologyId) {
+      final CacheTopology cacheTopology = stateTransferManager.getCacheTopology();
+      final int currentTopologyId = cacheTopology.getTopologyId();
+      if (trace) {
+         log.tracef("Perform asynchronous remote get for key %s. topologyId=%s, currentTopologyId=%s",
+                    key, lastTopologyId, currentTopologyId);
+      }
+      List<Address> targets = getRemoteGetTargets(key, cacheTopology, lastTopologyId);
+      if (targets == null) {
+         return CompletableFuture.completedFuture(null);
+      }
+      int nextTopologyId = lastTopologyId < currentTopologyId ? currentTopologyId : currentTopologyId + 1;
+
+      ResponseFilter filter = new ClusteredGetResponseValidityFilter(targets, rpcManager.getAddress());
+      RpcOptions options = rpcOptionsBuilder.responseFilter(filter).build();
+      return rpcManager.invokeRemotelyAsync(targets, get, options).thenCompose(responses -> {
+         InternalCacheEntry value = getEntryFromResponses(key, responses);
+         if (trace) {
+            log.tracef("Asynchronous remote get of key '%s' (topologyId=%s) returns %s", key, currentTopologyId, value);
+         }
+         return value != null ? CompletableFuture.completedFuture(value) :
+               retrieveFromRemoteSourceAsync(key, get, rpcOptionsBuilder, nextTopologyId);
+      });
+   }
+
+   /**
+    * @return the owners to ask for the value of a key, or {@code null} if all the owners were already asked and
+    * the topology did not change since then.
+    */
+   private List<Address> getRemoteGetTargets(Object key, CacheTopology cacheTopology, int lastTopologyId) {
+      int currentTopologyId = cacheTopology.getTopologyId();
+      if (lastTopologyId < currentTopologyId) {
+         // Cache topology has changed or it is the first time.
+         return new ArrayList<>(cacheTopology.getReadConsistentHash().locateOwners(key));
+      } else if (lastTopologyId == currentTopologyId && cacheTopology.getPendingCH() != null) {
+         // Same topologyId, but the owners could have already installed the next topology
+         // Lets try with pending consistent owners (the read owners in the next topology)
+         List<Address> targets = new ArrayList<>(cacheTopology.getPendingCH().locateOwners(key));
+         // Remove already contacted nodes
+         targets.removeAll(cacheTopology.getReadConsistentHash().locateOwners(key));
+         if (targets.isEmpty()) {
+            if (trace) {
+               log.tracef("No valid values found for key '%s' (topologyId=%s).", key, currentTopologyId);
+            }
+            return null;
+         }
+         return targets;
+      } else { // lastTopologyId > currentTopologyId || cacheTopology.getPendingCH() == null
+         // We have not received a valid value from the pending CH owners either, and the topology id hasn't changed
+         if (trace) {
+            log.tracef("No valid values found for key '%s' (topologyId=%s).", key, currentTopologyId);
+         }
+         return null;
+      }
+   }
+
    private InternalCacheEntry invokeClusterGetCommandRemotely(List<Address> targets, RpcOptionsBuilder rpcOptionsBuilder,
                                                       ClusteredGetCommand get, Object key) {
       ResponseFilter filter = new ClusteredGetResponseValidityFilter(targets, rpcManager.getAddress());
       RpcOptions options = rpcOptionsBuilder.responseFilter(filter).build();
       Map<Address, Response> responses = rpcManager.invokeRemotely(targets, get, options);
+      return getEntryFromResponses(key, responses);
+   }
 
+   private InternalCacheEntry getEntryFromResponses(Object key, Map<Address, Response> responses) {
       if (!responses.isEmpty()) {
          for (Response r : responses.values()) {
             if (r instanceof SuccessfulResponse) {
@@ -78,17 +78,16 @@ private <T extends AbstractDataCommand & RemoteFetchingCommand> Object visitGetC
          Object key = command.getKey();
          CacheEntry entry = ctx.lookupEntry(key);
          if (valueIsMissing(entry)) {
-            // First try to fetch from remote owners
-            InternalCacheEntry remoteEntry = null;
-            if (readNeedsRemoteValue(ctx, command)) {
+            // First try to fetch from remote owners, unless an asynchronous get already did it
+            InternalCacheEntry remoteEntry = command.getRemotelyFetchedValue();
+            if (remoteEntry == null && readNeedsRemoteValue(ctx, command)) {
                if (trace) log.tracef("Doing a remote get for key %s", key);
                remoteEntry = retrieveFromRemoteSource(key, ctx, false, command, false);
                command.setRemotelyFetchedValue(remoteEntry);
-               if (remoteEntry != null) {
-                  entryFactory.wrapExternalEntry(ctx, key, remoteEntry, EntryFactory.Wrap.STORE, false);
-               }
             }
-            if (remoteEntry == null) {
+            if (remoteEntry != null) {
+               entryFactory.wrapExternalEntry(ctx, key, remoteEntry, EntryFactory.Wrap.STORE, false);
+            } else {
                // Then search for the entry in the local data container, in case we became an owner after
                // EntryWrappingInterceptor and the local node is now the only owner.
                // TODO Check fails if the entry was passivated
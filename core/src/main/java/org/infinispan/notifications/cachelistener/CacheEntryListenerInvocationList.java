@@ -0,0 +1,129 @@
+package org.infinispan.notifications.cachelistener;
+
+import org.infinispan.notifications.Listener;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Copy-on-write list of listener invocations which keeps track of the phases (pre or post) its listeners observe.
+ * <p>
+ * This allows the notifier to check whether a notification would reach any listener, before it builds the event,
+ * with just a volatile read.
+ *
+ * @since 8.2
+ */
+class CacheEntryListenerInvocationList<K, V> extends CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>> {
+
+   private volatile boolean observesPre;
+   private volatile boolean observesPost;
+
+   /**
+    * @return whether at least one of the listeners is interested in the given phase
+    */
+   boolean observes(boolean pre) {
+      return pre ? observesPre : observesPost;
+   }
+
+   private synchronized void updateObservation() {
+      boolean pre = false;
+      boolean post = false;
+      for (CacheEntryListenerInvocation<K, V> invocation : this) {
+         Listener.Observation observation = invocation.getObservation();
+         pre |= observation == null || observation.shouldInvoke(true);
+         post |= observation == null || observation.shouldInvoke(false);
+      }
+      observesPre = pre;
+      observesPost = post;
+   }
+
+   @Override
+   public CacheEntryListenerInvocation<K, V> set(int index, CacheEntryListenerInvocation<K, V> element) {
+      CacheEntryListenerInvocation<K, V> previous = super.set(index, element);
+      updateObservation();
+      return previous;
+   }
+
+   @Override
+   public boolean add(CacheEntryListenerInvocation<K, V> invocation) {
+      boolean added = super.add(invocation);
+      updateObservation();
+      return added;
+   }
+
+   @Override
+   public void add(int index, CacheEntryListenerInvocation<K, V> element) {
+      super.add(index, element);
+      updateObservation();
+   }
+
+   @Override
+   public boolean addIfAbsent(CacheEntryListenerInvocation<K, V> invocation) {
+      boolean added = super.addIfAbsent(invocation);
+      updateObservation();
+      return added;
+   }
+
+   @Override
+   public boolean addAll(Collection<? extends CacheEntryListenerInvocation<K, V>> c) {
+      boolean added = super.addAll(c);
+      updateObservation();
+      return added;
+   }
+
+   @Override
+   public boolean addAll(int index, Collection<? extends CacheEntryListenerInvocation<K, V>> c) {
+      boolean added = super.addAll(index, c);
+      updateObservation();
+      return added;
+   }
+
+   @Override
+   public int addAllAbsent(Collection<? extends CacheEntryListenerInvocation<K, V>> c) {
+      int added = super.addAllAbsent(c);
+      updateObservation();
+      return added;
+   }
+
+   @Override
+   public CacheEntryListenerInvocation<K, V> remove(int index) {
+      CacheEntryListenerInvocation<K, V> removed = super.remove(index);
+      updateObservation();
+      return removed;
+   }
+
+   @Override
+   public boolean remove(Object o) {
+      boolean removed = super.remove(o);
+      updateObservation();
+      return removed;
+   }
+
+   @Override
+   public boolean removeAll(Collection<?> c) {
+      boolean removed = super.removeAll(c);
+      updateObservation();
+      return removed;
+   }
+
+   @Override
+   public boolean retainAll(Collection<?> c) {
+      boolean removed = super.retainAll(c);
+      updateObservation();
+      return removed;
+   }
+
+   @Override
+   public boolean removeIf(Predicate<? super CacheEntryListenerInvocation<K, V>> filter) {
+      boolean removed = super.removeIf(filter);
+      updateObservation();
+      return removed;
+   }
+
+   @Override
+   public void clear() {
+      super.clear();
+      updateObservation();
+   }
+}
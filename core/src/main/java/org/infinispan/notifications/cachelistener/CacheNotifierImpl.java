@@ -107,14 +107,14 @@
       clusterAllowedListeners.put(CacheEntryExpired.class, CacheEntryExpiredEvent.class);
    }
 
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryCreatedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryRemovedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryVisitedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryModifiedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryActivatedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryPassivatedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryLoadedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
-   final List<CacheEntryListenerInvocation<K, V>> cacheEntryInvalidatedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryCreatedListeners = new CacheEntryListenerInvocationList<>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryRemovedListeners = new CacheEntryListenerInvocationList<>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryVisitedListeners = new CacheEntryListenerInvocationList<>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryModifiedListeners = new CacheEntryListenerInvocationList<>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryActivatedListeners = new CacheEntryListenerInvocationList<>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryPassivatedListeners = new CacheEntryListenerInvocationList<>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryLoadedListeners = new CacheEntryListenerInvocationList<>();
+   final CacheEntryListenerInvocationList<K, V> cacheEntryInvalidatedListeners = new CacheEntryListenerInvocationList<>();
    final List<CacheEntryListenerInvocation<K, V>> cacheEntryExpiredListeners = new CopyOnWriteArrayList<>();
    final List<CacheEntryListenerInvocation<K, V>> cacheEntriesEvictedListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
    final List<CacheEntryListenerInvocation<K, V>> transactionRegisteredListeners = new CopyOnWriteArrayList<CacheEntryListenerInvocation<K, V>>();
@@ -289,7 +289,7 @@ protected final void resumeIfNeeded(Transaction transaction) {
    @Override
    public void notifyCacheEntryCreated(K key, V value, Metadata metadata, boolean pre,
                                        InvocationContext ctx, FlagAffectedCommand command) {
-      if (!cacheEntryCreatedListeners.isEmpty()) {
+      if (cacheEntryCreatedListeners.observes(pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_CREATED);
          configureEvent(e, key, value, metadata, pre, ctx, command, null, null);
          boolean isLocalNodePrimaryOwner = clusteringDependentLogic.localNodeIsPrimaryOwner(key);
@@ -313,7 +313,7 @@ public void notifyCacheEntryCreated(K key, V value, Metadata metadata, boolean p
    @Override
    public void notifyCacheEntryModified(K key, V value, Metadata metadata, V previousValue, Metadata previousMetadata, boolean pre, InvocationContext ctx,
                                         FlagAffectedCommand command) {
-      if (!cacheEntryModifiedListeners.isEmpty()) {
+      if (cacheEntryModifiedListeners.observes(pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_MODIFIED);
          configureEvent(e, key, value, metadata, pre, ctx, command, previousValue, previousMetadata);
          boolean isLocalNodePrimaryOwner = clusteringDependentLogic.localNodeIsPrimaryOwner(key);
@@ -337,7 +337,7 @@ public void notifyCacheEntryModified(K key, V value, Metadata metadata, V previo
    @Override
    public void notifyCacheEntryRemoved(K key, V previousValue, Metadata previousMetadata, boolean pre,
                                        InvocationContext ctx, FlagAffectedCommand command) {
-      if (isNotificationAllowed(command, cacheEntryRemovedListeners)) {
+      if (isNotificationAllowed(command, cacheEntryRemovedListeners, pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_REMOVED);
          if (pre) {
             configureEvent(e, key, previousValue, previousMetadata, true, ctx, command, previousValue, previousMetadata);
@@ -424,7 +424,7 @@ private void configureEvent(EventImpl<K, V> e, K key, V value, Metadata metadata
 
    @Override
    public void notifyCacheEntryVisited(K key, V value, boolean pre, InvocationContext ctx, FlagAffectedCommand command) {
-      if (isNotificationAllowed(command, cacheEntryVisitedListeners)) {
+      if (isNotificationAllowed(command, cacheEntryVisitedListeners, pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_VISITED);
          configureEvent(e, key, value, pre, ctx);
          boolean isLocalNodePrimaryOwner = clusteringDependentLogic.localNodeIsPrimaryOwner(key);
@@ -494,7 +494,7 @@ public void notifyCacheEntryExpired(K key, V value, Metadata metadata, Invocatio
    @Override
    public void notifyCacheEntryInvalidated(final K key, V value, Metadata metadata,
                                            final boolean pre, InvocationContext ctx, FlagAffectedCommand command) {
-      if (isNotificationAllowed(command, cacheEntryInvalidatedListeners)) {
+      if (isNotificationAllowed(command, cacheEntryInvalidatedListeners, pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_INVALIDATED);
          configureEvent(e, key, value, metadata, pre, ctx, command, value, metadata);
          boolean isLocalNodePrimaryOwner = clusteringDependentLogic.localNodeIsPrimaryOwner(key);
@@ -505,7 +505,7 @@ public void notifyCacheEntryInvalidated(final K key, V value, Metadata metadata,
    @Override
    public void notifyCacheEntryLoaded(K key, V value, boolean pre,
          InvocationContext ctx, FlagAffectedCommand command) {
-      if (isNotificationAllowed(command, cacheEntryLoadedListeners)) {
+      if (isNotificationAllowed(command, cacheEntryLoadedListeners, pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_LOADED);
          configureEvent(e, key, value, pre, ctx);
          boolean isLocalNodePrimaryOwner = clusteringDependentLogic.localNodeIsPrimaryOwner(key);
@@ -515,7 +515,7 @@ public void notifyCacheEntryLoaded(K key, V value, boolean pre,
 
    @Override
    public void notifyCacheEntryActivated(K key, V value, boolean pre, InvocationContext ctx, FlagAffectedCommand command) {
-      if (isNotificationAllowed(command, cacheEntryActivatedListeners)) {
+      if (isNotificationAllowed(command, cacheEntryActivatedListeners, pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_ACTIVATED);
          configureEvent(e, key, value, pre, ctx);
          boolean isLocalNodePrimaryOwner = clusteringDependentLogic.localNodeIsPrimaryOwner(key);
@@ -532,7 +532,7 @@ private void setTx(InvocationContext ctx, EventImpl<K, V> e) {
 
    @Override
    public void notifyCacheEntryPassivated(K key, V value, boolean pre, InvocationContext ctx, FlagAffectedCommand command) {
-      if (isNotificationAllowed(command, cacheEntryPassivatedListeners)) {
+      if (isNotificationAllowed(command, cacheEntryPassivatedListeners, pre)) {
          EventImpl<K, V> e = EventImpl.createEvent(cache, CACHE_ENTRY_PASSIVATED);
          e.setPre(pre);
          e.setKey(key);
@@ -703,6 +703,15 @@ public boolean isNotificationAllowed(FlagAffectedCommand cmd, List<CacheEntryLis
       return (cmd == null || !cmd.hasFlag(Flag.SKIP_LISTENER_NOTIFICATION)) && !listeners.isEmpty();
    }
 
+   /**
+    * Like {@link #isNotificationAllowed(FlagAffectedCommand, List)}, but also checks that at least one of the
+    * listeners observes the given phase, so that no event is created for notifications nobody would receive.
+    */
+   private boolean isNotificationAllowed(FlagAffectedCommand cmd, CacheEntryListenerInvocationList<K, V> listeners,
+                                         boolean pre) {
+      return (cmd == null || !cmd.hasFlag(Flag.SKIP_LISTENER_NOTIFICATION)) && listeners.observes(pre);
+   }
+
    @Override
    public void addListener(Object listener) {
       addListener(listener, null, null, null);
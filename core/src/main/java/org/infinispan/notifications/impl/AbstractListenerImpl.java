@@ -18,8 +18,8 @@
 
 import java.lang.annotation.Annotation;
 import java.lang.ref.WeakReference;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
@@ -253,6 +253,7 @@ protected static void testListenerMethodValidity(Method m, Class<?> allowedParam
       public final boolean sync;
       public final WeakReference<ClassLoader> classLoader;
       public final Subject subject;
+      private final ListenerMethodInvoker invoker;
 
       public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject) {
          this.target = target;
@@ -260,6 +261,7 @@ public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassL
          this.sync = sync;
          this.classLoader = new WeakReference<ClassLoader>(classLoader);
          this.subject = subject;
+         this.invoker = ListenerMethodInvoker.forMethod(method);
       }
 
       @Override
@@ -279,34 +281,28 @@ public void run() {
                         Security.doAs(subject, new PrivilegedExceptionAction<Void>() {
                            @Override
                            public Void run() throws Exception {
-                              method.invoke(target, event);
+                              invokeListenerMethod(event);
                               return null;
                            }
                         });
                      } catch (PrivilegedActionException e) {
-                        Throwable cause = e.getCause();
-                        if (cause instanceof InvocationTargetException) {
-                           throw (InvocationTargetException)cause;
-                        } else if (cause instanceof IllegalAccessException) {
-                           throw (IllegalAccessException)cause;
-                        } else {
-                           throw new InvocationTargetException(cause);
-                        }
+                        throw e.getCause();
                      }
                   } else {
-                     method.invoke(target, event);
+                     invoker.invoke(target, event);
                   }
-               } catch (InvocationTargetException exception) {
-                  Throwable cause = getRealException(exception);
+               } catch (IllegalAccessException exception) {
+                  getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
+                  removeListener(target);
+               } catch (Throwable exception) {
+                  Throwable cause = exception instanceof RuntimeException || exception instanceof Error ?
+                        getRealException(exception) : exception;
                   if (sync) {
                      throw getLog().exceptionInvokingListener(
                            cause.getClass().getName(), method, target, cause);
                   } else {
                      getLog().unableToInvokeListenerMethod(method, target, cause);
                   }
-               } catch (IllegalAccessException exception) {
-                  getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
-                  removeListener(target);
                } finally {
                   if (classLoader.get() != null) {
                      SecurityActions.setContextClassLoader(contextClassLoader);
@@ -322,6 +318,16 @@ public Void run() throws Exception {
             asyncProcessor.execute(r);
       }
 
+      private void invokeListenerMethod(A event) throws Exception {
+         try {
+            invoker.invoke(target, event);
+         } catch (Exception | Error e) {
+            throw e;
+         } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+         }
+      }
+
       @Override
       public Object getTarget() {
          return target;
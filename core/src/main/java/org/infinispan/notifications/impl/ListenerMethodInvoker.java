@@ -0,0 +1,68 @@
+package org.infinispan.notifications.impl;
+
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a listener method on a listener instance.
+ * <p>
+ * Invokers are created when the listener is registered. Whenever possible the invoker is a class generated with
+ * {@link LambdaMetafactory} that calls the listener method directly, so the JIT can inline it like any other call.
+ * Methods that cannot be linked from here, e.g. because the listener class is not public or is not visible from the
+ * Infinispan class loader, are invoked through reflection instead. Exceptions thrown by the listener method are
+ * propagated as they are, without being wrapped.
+ *
+ * @since 8.2
+ */
+@FunctionalInterface
+interface ListenerMethodInvoker {
+
+   void invoke(Object target, Object event) throws Throwable;
+
+   static ListenerMethodInvoker forMethod(Method method) {
+      if (isVisible(method.getDeclaringClass()) && isVisible(method.getParameterTypes()[0])) {
+         try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "invoke",
+                  MethodType.methodType(ListenerMethodInvoker.class),
+                  MethodType.methodType(void.class, Object.class, Object.class),
+                  handle, handle.type().changeReturnType(void.class));
+            return (ListenerMethodInvoker) site.getTarget().invokeExact();
+         } catch (Throwable t) {
+            Log log = LogFactory.getLog(ListenerMethodInvoker.class);
+            if (log.isTraceEnabled())
+               log.tracef(t, "Unable to generate an invoker for listener method %s, falling back to reflection", method);
+         }
+      }
+      return (target, event) -> {
+         try {
+            method.invoke(target, event);
+         } catch (InvocationTargetException e) {
+            throw e.getCause();
+         }
+      };
+   }
+
+   /**
+    * The generated invoker refers to the listener and event classes by name, so they must resolve to the same
+    * classes from the Infinispan class loader.
+    */
+   static boolean isVisible(Class<?> clazz) {
+      if (clazz.isPrimitive())
+         return true;
+      try {
+         return Class.forName(clazz.getName(), false, ListenerMethodInvoker.class.getClassLoader()) == clazz;
+      } catch (ClassNotFoundException | LinkageError e) {
+         return false;
+      }
+   }
+}
@@ -18,7 +18,10 @@
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -108,6 +111,90 @@ public static <K, V> InternalCacheEntry<K,V> loadAndStoreInDataContainer(DataCon
       });
    }
 
+   /**
+    * Bulk version of {@link #loadAndStoreInDataContainer(DataContainer, PersistenceManager, Object, InvocationContext,
+    * TimeService, AtomicReference)}. The keys missing from the data container are loaded from the stores with a single
+    * bulk load, then each loaded entry is stored in the data container unless a concurrent write got there first. If
+    * the stores were modified during the bulk load, the keys are loaded again one by one under the data container
+    * lock, so that an entry removed concurrently is not brought back.
+    *
+    * @param isLoaded filled with the outcome for each key: {@code null} if the entry was already in the data container,
+    *                 {@code true} if it was loaded, {@code false} if the stores didn't have it
+    * @return the entries found, either in the data container or in the stores
+    */
+   public static <K, V> Map<K, InternalCacheEntry<K, V>> loadAllAndStoreInDataContainer(DataContainer<K, V> dataContainer,
+                                                                                      PersistenceManager persistenceManager,
+                                                                                      Set<K> keys, InvocationContext ctx,
+                                                                                      TimeService timeService,
+                                                                                      Map<K, Boolean> isLoaded) {
+      Map<K, InternalCacheEntry<K, V>> entries = new HashMap<>();
+      Set<K> missingKeys = new HashSet<>();
+      for (K key : keys) {
+         InternalCacheEntry<K, V> entry = dataContainer.peek(key);
+         if (isValid(entry, timeService)) {
+            isLoaded.put(key, null);
+            entries.put(key, entry);
+         } else {
+            missingKeys.add(key);
+         }
+      }
+      if (missingKeys.isEmpty()) {
+         return entries;
+      }
+
+      long modificationCount = persistenceManager.getModificationCount();
+      Map<Object, MarshalledEntry> loadedEntries = loadAllAndCheckExpiration(persistenceManager, missingKeys, ctx,
+                                                                             timeService);
+      for (K key : missingKeys) {
+         InternalCacheEntry<K, V> entry = dataContainer.compute(key, (k, oldEntry, factory) -> {
+            //under the lock, check if the entry was written to the DataContainer in the meantime
+            if (isValid(oldEntry, timeService)) {
+               isLoaded.put(key, null); //not loaded
+               return oldEntry; //no changes in container
+            }
+            MarshalledEntry loaded;
+            if (persistenceManager.getModificationCount() == modificationCount) {
+               loaded = loadedEntries.get(k);
+            } else {
+               //the stores were modified after the bulk load, and a write commits to the DataContainer after the
+               //stores: the entry might have been removed since, so load it again under the lock
+               loaded = loadAndCheckExpiration(persistenceManager, k, ctx, timeService);
+            }
+            if (loaded == null) {
+               isLoaded.put(key, Boolean.FALSE); //not loaded
+               return null; //no changed in container
+            }
+            isLoaded.put(key, Boolean.TRUE); //loaded!
+            return convert(loaded, factory);
+         });
+         if (entry != null) {
+            entries.put(key, entry);
+         }
+      }
+      return entries;
+   }
+
+   private static boolean isValid(InternalCacheEntry entry, TimeService timeService) {
+      return entry != null && (!entry.canExpire() || !entry.isExpired(timeService.wallClockTime()));
+   }
+
+   public static Map<Object, MarshalledEntry> loadAllAndCheckExpiration(PersistenceManager persistenceManager,
+                                                                        Set<?> keys, InvocationContext context,
+                                                                        TimeService timeService) {
+      Map<Object, MarshalledEntry> loaded = persistenceManager.loadAllFromStores(keys, context);
+      if (trace) {
+         log.tracef("Loaded %s for keys %s from persistence.", loaded, keys);
+      }
+      long now = timeService.wallClockTime();
+      for (Iterator<MarshalledEntry> it = loaded.values().iterator(); it.hasNext(); ) {
+         InternalMetadata metadata = it.next().getMetadata();
+         if (metadata != null && metadata.isExpired(now)) {
+            it.remove();
+         }
+      }
+      return loaded;
+   }
+
    public static MarshalledEntry loadAndCheckExpiration(PersistenceManager persistenceManager, Object key,
                                                         InvocationContext context, TimeService timeService) {
       final MarshalledEntry loaded = persistenceManager.loadFromAllStores(key, context);
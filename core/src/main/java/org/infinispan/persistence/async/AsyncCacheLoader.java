@@ -7,6 +7,10 @@
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.support.DelegatingCacheLoader;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -44,6 +48,25 @@ public MarshalledEntry load(Object key) {
       return super.load(key);
    }
 
+   @Override
+   public Map loadAll(Set keys) {
+      State s = state.get();
+      Map<Object, MarshalledEntry> entries = new HashMap<>();
+      Set<Object> storeKeys = new HashSet<>();
+      for (Object key : keys) {
+         Modification mod = s.get(key);
+         if (mod == null) {
+            storeKeys.add(key);
+         } else if (mod.getType() == Modification.Type.STORE) {
+            entries.put(key, ((Store) mod).getStoredValue());
+         }
+      }
+      if (!storeKeys.isEmpty()) {
+         entries.putAll(super.loadAll(storeKeys));
+      }
+      return entries;
+   }
+
 
    @Override
    public boolean contains(Object key) {
@@ -49,6 +49,11 @@
  * <p/>
  * Write operations affecting same key are now coalesced so that only the final state is actually stored.
  * <p/>
+ * The modifications are handed to the underlying store in batches, see {@link CacheWriter#writeBatch(Iterable)}
+ * and {@link CacheWriter#deleteBatch(Iterable)}. If a coalesce window is configured, the modifications are collected
+ * for that long (or until the modification queue is full) before being written, which results in fewer and larger
+ * batches under bursty updates.
+ * <p/>
  *
  * @author Manik Surtani
  * @author Galder Zamarreño
@@ -121,6 +126,8 @@ public void stop() {
       stateLock.writeLock(0);
       stopped = true;
       stateLock.writeUnlock();
+      // Don't let the coordinator wait for the coalesce window to elapse
+      stateLock.requestFlush();
       try {
          // It is safe to wait without timeout because the thread pool uses an unbounded work queue (i.e.
          // all work handed to the pool will be accepted and eventually executed) and AsyncStoreProcessors
@@ -151,19 +158,44 @@ public boolean delete(Object key) {
       return true;
    }
 
+   @Override
+   public void writeBatch(Iterable entries) {
+      List<Modification> mods = new ArrayList<>();
+      for (Object entry : entries) {
+         mods.add(new Store(((MarshalledEntry) entry).getKey(), (MarshalledEntry) entry));
+      }
+      putAll(mods);
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      List<Modification> mods = new ArrayList<>();
+      for (Object key : keys) {
+         mods.add(new Remove(key));
+      }
+      putAll(mods);
+   }
+
    protected void applyModificationsSync(List<Modification> mods) throws PersistenceException {
+      List<MarshalledEntry> stores = new ArrayList<>(mods.size());
+      List<Object> removes = new ArrayList<>();
       for (Modification m : mods) {
          switch (m.getType()) {
             case STORE:
-               actual.write(((Store) m).getStoredValue());
+               stores.add(((Store) m).getStoredValue());
                break;
             case REMOVE:
-               actual.delete(((Remove) m).getKey());
+               removes.add(((Remove) m).getKey());
                break;
             default:
                throw new IllegalArgumentException("Unknown modification type " + m.getType());
          }
       }
+      // Modifications are coalesced by key, so the order of the batches does not matter
+      if (!stores.isEmpty())
+         actual.writeBatch(stores);
+      if (!removes.isEmpty())
+         actual.deleteBatch(removes);
    }
 
 
@@ -190,6 +222,25 @@ private void put(Modification mod, int count) {
       }
    }
 
+   private void putAll(List<Modification> mods) {
+      if (mods.isEmpty())
+         return;
+
+      stateLock.writeLock(mods.size());
+      try {
+         if (trace)
+            log.tracef("Queue modifications: %s", mods);
+
+         assertNotStopped();
+         State s = state.get();
+         for (Modification mod : mods) {
+            s.put(mod);
+         }
+      } finally {
+         stateLock.writeUnlock();
+      }
+   }
+
    public AtomicReference<State> getState() {
       return state;
    }
@@ -207,6 +258,15 @@ public void run() {
             for (;;) {
                final State s, head, tail;
                final boolean shouldStop;
+               if (asyncConfiguration.coalesceWindow() > 0) {
+                  // wait for the first modification, and give later ones a chance to be coalesced with it
+                  stateLock.awaitAvailable();
+                  try {
+                     stateLock.awaitFlush(asyncConfiguration.coalesceWindow(), TimeUnit.MILLISECONDS);
+                  } catch (InterruptedException e) {
+                     Thread.currentThread().interrupt();
+                  }
+               }
                stateLock.readLock();
                try {
                   s = state.get();
@@ -1,5 +1,6 @@
 package org.infinispan.persistence.async;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 
 /**
@@ -10,7 +11,8 @@
  * data off to the back-end store.
  * <p/>
  * Additionally, {@link #writeLock(int)} blocks if the buffer is full, and {@link #readLock()}
- * blocks if no data is available.
+ * blocks if no data is available. The reader can also wait for the buffer to fill up with
+ * {@link #awaitFlush(long, TimeUnit)}, so that more data can be handed off at once.
  * <p/>
  * This lock implementation is <em>not</em> reentrant!
  *
@@ -37,6 +39,10 @@ int add(int count) {
          }
       }
 
+      boolean isFull() {
+         return getState() >= size;
+      }
+
       @Override
       protected int tryAcquireShared(int count) {
          for (;;) {
@@ -74,6 +80,25 @@ protected boolean tryReleaseShared(int state) {
       }
    }
 
+   /**
+    * AQS state is 1 if the buffer should be handed off without waiting any longer, 0 otherwise.
+    * AcquireShared blocks until a flush is requested.
+    */
+   private static class Flush extends AbstractQueuedSynchronizer {
+      private static final long serialVersionUID = -3281634418744934516L;
+
+      @Override
+      protected int tryAcquireShared(int unused) {
+         return getState() > 0 ? 1 : -1;
+      }
+
+      @Override
+      protected boolean tryReleaseShared(int state) {
+         setState(state > 0 ? 1 : 0);
+         return state > 0;
+      }
+   }
+
    /**
     * Minimal non-reentrant read-write-lock. AQS state is number of concurrent shared locks, or 0
     * if unlocked, or -1 if locked exclusively.
@@ -120,6 +145,7 @@ protected boolean tryReleaseShared(int unused) {
    private final Sync sync;
    private final Counter counter;
    private final Available available;
+   private final Flush flush;
 
    /**
     * Create a new BufferLock with the specified buffer size.
@@ -131,6 +157,7 @@ protected boolean tryReleaseShared(int unused) {
       sync = new Sync();
       counter = size > 0 ? new Counter(size) : null;
       available = new Available();
+      flush = new Flush();
    }
 
    /**
@@ -141,8 +168,11 @@ protected boolean tryReleaseShared(int unused) {
     *           number of items the caller intends to write
     */
    void writeLock(int count) {
-      if (count > 0 && counter != null)
+      if (count > 0 && counter != null) {
          counter.acquireShared(count);
+         if (counter.isFull())
+            flush.releaseShared(1);
+      }
       sync.acquireShared(1);
    }
 
@@ -163,6 +193,29 @@ void readLock() {
       sync.acquire(1);
    }
 
+   /**
+    * Blocks until data is available, without acquiring the read lock.
+    */
+   void awaitAvailable() {
+      available.acquireShared(1);
+   }
+
+   /**
+    * Blocks until the buffer is full or a flush is requested, or until the specified time elapses.
+    *
+    * @return true if the buffer is full or a flush was requested, false if the time elapsed
+    */
+   boolean awaitFlush(long time, TimeUnit unit) throws InterruptedException {
+      return flush.tryAcquireSharedNanos(1, unit.toNanos(time));
+   }
+
+   /**
+    * Wakes up the reader waiting in {@link #awaitFlush(long, TimeUnit)}, even if the buffer is not full.
+    */
+   void requestFlush() {
+      flush.releaseShared(1);
+   }
+
    /**
     * Releases the read lock.
     */
@@ -180,6 +233,7 @@ void reset(int count) {
       if (counter != null)
          counter.releaseShared(count);
       available.releaseShared(count);
+      flush.releaseShared(0);
    }
 
    /**
@@ -25,10 +25,13 @@
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +39,12 @@
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -62,6 +71,13 @@
  * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
  * of individual cache entries.
+ * <p/>
+ * By default, the space of overwritten and removed entries is reused by later writes. In append-only mode,
+ * every write goes to the end of the file instead, so that writes are sequential, and the wasted space is
+ * reclaimed by compacting the file in the background once it exceeds the configured compaction threshold.
+ * The file format is the same in both modes.
+ * <p/>
+ * If writes are synced, concurrent writers share the same file sync (group commit).
  *
  * @author Karsten Blees
  * @author Mircea Markus
@@ -77,12 +93,14 @@
    private static final int KEYLEN_POS = 4;
    private static final int KEY_POS = 4 + 4 + 4 + 4 + 8;
    private static final int SMALLEST_ENTRY_SIZE = 128;
+   private static final long MIN_COMPACTION_GARBAGE = 1024 * 1024;
 
    private SingleFileStoreConfiguration configuration;
 
    protected InitializationContext ctx;
 
-   private FileChannel channel;
+   // Replaced by compaction while holding the resizeLock exclusively
+   private volatile FileChannel channel;
    private Map<K, FileEntry> entries;
    private SortedSet<FileEntry> freeList;
    private long filePos = MAGIC.length;
@@ -92,6 +110,18 @@
    private ReadWriteLock resizeLock = new ReentrantReadWriteLock();
    private TimeService timeService;
 
+   private boolean appendOnly;
+   // Space taken by overwritten, removed or expired entries, only tracked in append-only mode
+   private final AtomicLong garbage = new AtomicLong();
+   private final AtomicBoolean compacting = new AtomicBoolean();
+   private ExecutorService compactionExecutor;
+
+   private boolean syncWrites;
+   // Number of writes done so far, and number of those known to be on disk
+   private final AtomicLong writeCount = new AtomicLong();
+   private volatile long syncedCount;
+   private final Object syncLock = new Object();
+
    @Override
    public void init(InitializationContext ctx) {
       this.ctx = ctx;
@@ -102,6 +132,9 @@ public void init(InitializationContext ctx) {
    @Override
    public void start() {
       try {
+         appendOnly = configuration.appendOnly();
+         syncWrites = configuration.syncWrites();
+
          // open the data file
          String location = configuration.location();
          if (location == null || location.trim().length() == 0)
@@ -131,6 +164,21 @@ public void start() {
 			
          // Initialize the fragmentation factor
          fragmentationFactor = configuration.fragmentationFactor();
+
+         if (appendOnly) {
+            // Free entries are never reused in append-only mode, they are only reclaimed by compaction
+            synchronized (freeList) {
+               for (FileEntry fe : freeList)
+                  garbage.addAndGet(fe.size);
+               freeList.clear();
+            }
+            final String threadName = "SingleFileStoreCompactor-" + ctx.getCache().getName();
+            compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+               Thread t = new Thread(r, threadName);
+               t.setDaemon(true);
+               return t;
+            });
+         }
       } catch (Exception e) {
          throw new PersistenceException(e);
       }
@@ -153,6 +201,12 @@ private <Key> Map<Key, FileEntry> newEntryMap() {
    @Override
    public void stop() {
       try {
+         if (compactionExecutor != null) {
+            // Let a running compaction finish, so that it does not use the file after it is closed
+            compactionExecutor.shutdown();
+            compactionExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            compactionExecutor = null;
+         }
          if (channel != null) {
             log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), entries.size(), channel.size());
 
@@ -162,6 +216,7 @@ public void stop() {
             entries = null;
             freeList = null;
             filePos = MAGIC.length;
+            garbage.set(0);
          }
       } catch (Exception e) {
          throw new PersistenceException(e);
@@ -236,7 +291,7 @@ public boolean contains(Object key) {
     */
    private FileEntry allocate(int len) {
       synchronized (freeList) {
-         // lookup a free entry of sufficient size
+         // lookup a free entry of sufficient size, the free list is always empty in append-only mode
          SortedSet<FileEntry> candidates = freeList.tailSet(new FileEntry(0, len));
          for (Iterator<FileEntry> it = candidates.iterator(); it.hasNext(); ) {
             FileEntry free = it.next();
@@ -303,7 +358,7 @@ private void addNewFreeEntry(FileEntry fe) throws IOException {
    }
 
    /**
-    * Frees the space of the specified file entry (for reuse by allocate).
+    * Frees the space of the specified file entry (for reuse by allocate, or for compaction in append-only mode).
     * <p/>
     * Note: Caller must hold the {@code resizeLock} in shared mode.
     */
@@ -313,7 +368,10 @@ private void free(FileEntry fe) throws IOException {
          // No need to wait for readers to unlock here, the FileEntry instance is not modified,
          // and allocate() won't return an entry as long as it has a reader.
          channel.write(ByteBuffer.wrap(ZERO_INT), fe.offset + KEYLEN_POS);
-         if (!freeList.add(fe)) {
+         if (appendOnly) {
+            garbage.addAndGet(fe.size);
+            if (trace) log.tracef("Deleted entry at %d:%d, %d bytes are now waiting for compaction", fe.offset, fe.size, garbage.get());
+         } else if (!freeList.add(fe)) {
             throw new IllegalStateException(String.format("Trying to free an entry that was not allocated: %s", fe));
          }
          if (trace) log.tracef("Deleted entry at %d:%d, there are now %d free entries", fe.offset, fe.size, freeList.size());
@@ -363,15 +421,41 @@ public void write(MarshalledEntry<? extends K, ? extends V> marshalledEntry) {
             // in case we replaced or evicted an entry, add to freeList
             try {
                free(oldEntry);
+               if (syncWrites)
+                  sync(writeCount.incrementAndGet());
             } finally {
                resizeLock.readLock().unlock();
             }
          }
+         compactIfNeeded();
       } catch (Exception e) {
          throw new PersistenceException(e);
       }
    }
 
+   /**
+    * Forces all the writes done so far to disk. Writers that find a sync in progress wait for it to finish, and
+    * then the first of them syncs all the writes done in the meantime on behalf of the others.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
+    *
+    * @param writeId the number of the caller's last write
+    */
+   private void sync(long writeId) throws IOException {
+      if (syncedCount >= writeId)
+         return;
+
+      synchronized (syncLock) {
+         // A sync started after the caller's write completed may have covered it already
+         if (syncedCount >= writeId)
+            return;
+
+         long lastWriteId = writeCount.get();
+         channel.force(false);
+         syncedCount = lastWriteId;
+      }
+   }
+
    /**
     * Try to evict an entry if the capacity of the cache store is reached.
     *
@@ -411,7 +495,10 @@ public void clear() {
                if (trace) log.tracef("Truncating file, current size is %d", filePos);
                channel.truncate(0);
                channel.write(ByteBuffer.wrap(MAGIC), 0);
+               if (syncWrites)
+                  channel.force(false);
                filePos = MAGIC.length;
+               garbage.set(0);
             }
          }
       } catch (Exception e) {
@@ -423,16 +510,20 @@ public void clear() {
 
    @Override
    public boolean delete(Object key) {
+      FileEntry fe;
       resizeLock.readLock().lock();
       try {
-         FileEntry fe = entries.remove(key);
+         fe = entries.remove(key);
          free(fe);
-         return fe != null;
+         if (fe != null && syncWrites)
+            sync(writeCount.incrementAndGet());
       } catch (Exception e) {
          throw new PersistenceException(e);
       } finally {
          resizeLock.readLock().unlock();
       }
+      compactIfNeeded();
+      return fe != null;
    }
 
    @Override
@@ -442,6 +533,12 @@ public MarshalledEntry<K, V> load(Object key) {
 
    private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadMetadata) {
       final FileEntry fe;
+      final byte[] data;
+      org.infinispan.commons.io.ByteBuffer valueBb = null;
+      org.infinispan.commons.io.ByteBuffer metadataBb = null;
+      // The lock is held while reading the entry, as compaction replaces the file and closes the current channel
+      // while holding it exclusively: the entry may even be freed concurrently, but its offset stays valid in the
+      // file it was read from
       resizeLock.readLock().lock();
       try {
          synchronized (entries) {
@@ -458,34 +555,30 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
                fe.lock();
             }
          }
-      } finally {
-         resizeLock.readLock().unlock();
-      }
 
-      org.infinispan.commons.io.ByteBuffer valueBb = null;
-      org.infinispan.commons.io.ByteBuffer metadataBb = null;
+         // If we only require the key, then no need to read disk
+         if (!loadValue && !loadMetadata) {
+            try {
+               return ctx.getMarshalledEntryFactory().newMarshalledEntry(key, valueBb, metadataBb);
+            } finally {
+               fe.unlock();
+            }
+         }
 
-      // If we only require the key, then no need to read disk
-      if (!loadValue && !loadMetadata) {
          try {
-            return ctx.getMarshalledEntryFactory().newMarshalledEntry(key, valueBb, metadataBb);
+            // load serialized data from disk
+            data = new byte[fe.keyLen + fe.dataLen + (loadMetadata ? fe.metadataLen : 0)];
+            // The entry lock will prevent clear() from truncating the file at this point
+            channel.read(ByteBuffer.wrap(data), fe.offset + KEY_POS);
+         } catch (Exception e) {
+            throw new PersistenceException(e);
          } finally {
+            // No need to keep the lock for deserialization.
+            // FileEntry is immutable, so its members can't be changed by another thread.
             fe.unlock();
          }
-      }
-
-      final byte[] data;
-      try {
-         // load serialized data from disk
-         data = new byte[fe.keyLen + fe.dataLen + (loadMetadata ? fe.metadataLen : 0)];
-         // The entry lock will prevent clear() from truncating the file at this point
-         channel.read(ByteBuffer.wrap(data), fe.offset + KEY_POS);
-      } catch (Exception e) {
-         throw new PersistenceException(e);
       } finally {
-         // No need to keep the lock for deserialization.
-         // FileEntry is immutable, so its members can't be changed by another thread.
-         fe.unlock();
+         resizeLock.readLock().unlock();
       }
 
       if (trace) log.tracef("Read entry %s at %d:%d", key, fe.offset, fe.actualSize());
@@ -665,19 +758,21 @@ public void purge(Executor threadPool, final PurgeListener task) {
          public void run() {
             long now = timeService.wallClockTime();
             List<KeyValuePair<Object, FileEntry>> entriesToPurge = new ArrayList<KeyValuePair<Object, FileEntry>>();
-            synchronized (entries) {
-               for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
-                  Map.Entry<K, FileEntry> next = it.next();
-                  FileEntry fe = next.getValue();
-                  if (fe.isExpired(now)) {
-                     it.remove();
-                     entriesToPurge.add(new KeyValuePair<Object, FileEntry>(next.getKey(), fe));
+            // Hold the lock from the removal to the free(), like delete() does, so that a compaction can't move
+            // the expired entries to the compacted file in between
+            resizeLock.readLock().lock();
+            try {
+               synchronized (entries) {
+                  for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+                     Map.Entry<K, FileEntry> next = it.next();
+                     FileEntry fe = next.getValue();
+                     if (fe.isExpired(now)) {
+                        it.remove();
+                        entriesToPurge.add(new KeyValuePair<Object, FileEntry>(next.getKey(), fe));
+                     }
                   }
                }
-            }
 
-            resizeLock.readLock().lock();
-            try {
                for (Iterator<KeyValuePair<Object, FileEntry>> it = entriesToPurge.iterator(); it.hasNext(); ) {
                   KeyValuePair<Object, FileEntry> next = it.next();
                   FileEntry fe = next.getValue();
@@ -699,10 +794,141 @@ public void run() {
             } finally {
                resizeLock.readLock().unlock();
             }
+            compactIfNeeded();
          }
       });
    }
 
+   /**
+    * Schedules the compaction of the file if the store is in append-only mode and the space wasted by overwritten,
+    * removed or expired entries exceeds the compaction threshold.
+    */
+   private void compactIfNeeded() {
+      if (!appendOnly)
+         return;
+
+      long wasted = garbage.get();
+      if (wasted < MIN_COMPACTION_GARBAGE || wasted <= filePos * configuration.compactionThreshold())
+         return;
+
+      if (compacting.compareAndSet(false, true)) {
+         try {
+            compactionExecutor.execute(() -> {
+               try {
+                  compact();
+               } catch (Throwable t) {
+                  log.errorCompactingFileStore(file.getPath(), t);
+               } finally {
+                  compacting.set(false);
+               }
+            });
+         } catch (RejectedExecutionException e) {
+            // The store is stopping
+            compacting.set(false);
+         }
+      }
+   }
+
+   /**
+    * Compacts the file, copying the live entries to a new file which then replaces the current one.
+    * <p/>
+    * Reads and writes carry on while the live entries are copied. The store is only locked to switch to the new
+    * file, when the entries written in the meantime are copied too, and the copies of the entries overwritten or
+    * removed in the meantime are invalidated.
+    */
+   void compact() throws IOException {
+      long startTime = timeService.time();
+      long oldFileSize = filePos;
+      File compactedFile = new File(file.getParentFile(), file.getName() + ".compact");
+      FileChannel compacted = new RandomAccessFile(compactedFile, "rw").getChannel();
+      try {
+         compacted.truncate(0);
+         compacted.write(ByteBuffer.wrap(MAGIC), 0);
+         long pos = MAGIC.length;
+
+         // copy the live entries in file order, so that the current file is read sequentially
+         List<FileEntry> live;
+         synchronized (entries) {
+            live = new ArrayList<>(entries.values());
+         }
+         Collections.sort(live, new FileEntryByOffsetComparator());
+         Collections.reverse(live);
+         Map<FileEntry, FileEntry> copies = new IdentityHashMap<>(live.size());
+         for (FileEntry fe : live) {
+            // Prevent clear() from truncating the file while the entry is copied
+            resizeLock.readLock().lock();
+            try {
+               FileEntry copy = copyEntry(fe, compacted, pos);
+               copies.put(fe, copy);
+               pos += copy.size;
+            } finally {
+               resizeLock.readLock().unlock();
+            }
+         }
+
+         // Readers hold the lock in shared mode until they are done reading from the current file, whether the
+         // entry they read is still live or has been freed in the meantime, so none is left once it is acquired
+         resizeLock.writeLock().lock();
+         try {
+            synchronized (entries) {
+               for (Map.Entry<K, FileEntry> e : entries.entrySet()) {
+                  FileEntry fe = e.getValue();
+                  FileEntry copy = copies.remove(fe);
+                  if (copy == null) {
+                     // written after the copy started
+                     copy = copyEntry(fe, compacted, pos);
+                     pos += copy.size;
+                  }
+                  e.setValue(copy);
+               }
+
+               // the remaining copies were overwritten or removed after the copy started
+               long stale = 0;
+               for (FileEntry copy : copies.values()) {
+                  compacted.write(ByteBuffer.wrap(ZERO_INT), copy.offset + KEYLEN_POS);
+                  stale += copy.size;
+               }
+
+               // switch to the compacted file
+               compacted.force(false);
+               compacted.close();
+               channel.close();
+               Files.move(compactedFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+               channel = new RandomAccessFile(file, "rw").getChannel();
+               synchronized (freeList) {
+                  filePos = pos;
+               }
+               garbage.set(stale);
+            }
+         } finally {
+            resizeLock.writeLock().unlock();
+         }
+         if (trace) log.tracef("Compacted file %s from %d to %d bytes in %d ms", file, oldFileSize, pos,
+               timeService.timeDuration(startTime, TimeUnit.MILLISECONDS));
+      } finally {
+         if (compacted.isOpen())
+            compacted.close();
+      }
+   }
+
+   /**
+    * Copies an entry to the given position of another file, without the unused space at the end of the entry.
+    */
+   private FileEntry copyEntry(FileEntry fe, FileChannel target, long pos) throws IOException {
+      int actualSize = fe.actualSize();
+      ByteBuffer buf = ByteBuffer.allocate(actualSize);
+      fe.lock();
+      try {
+         channel.read(buf, fe.offset);
+      } finally {
+         fe.unlock();
+      }
+      buf.putInt(0, actualSize);
+      buf.clear();
+      target.write(buf, pos);
+      return new FileEntry(pos, actualSize, fe.keyLen, fe.dataLen, fe.metadataLen, fe.expiryTime);
+   }
+
    @Override
    public int size() {
       return entries.size();
@@ -720,6 +946,10 @@ long getFileSize() {
       return filePos;
    }
 
+   long getGarbageSize() {
+      return garbage.get();
+   }
+
    public SingleFileStoreConfiguration getConfiguration() {
       return configuration;
    }
@@ -1,6 +1,7 @@
 package org.infinispan.persistence.manager;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
@@ -56,8 +57,41 @@ public interface PersistenceManager extends Lifecycle {
 
    MarshalledEntry loadFromAllStores(Object key, InvocationContext context);
 
+   /**
+    * Loads the entries for a set of keys, querying each store with a single bulk load for the keys that the previous
+    * stores didn't find.
+    *
+    * @return the entries found, keyed by the requested key instances
+    */
+   Map<Object, MarshalledEntry> loadAllFromStores(Set<?> keys, InvocationContext context);
+
    void writeToAllStores(MarshalledEntry marshalledEntry, AccessMode modes);
 
+   /**
+    * Returns the number of modifications (writes, deletes and clears) applied to the stores so far. It is incremented
+    * once each modification is applied, so comparing the values read before and after loading entries tells whether
+    * the stores could have been modified in the meantime.
+    *
+    * @since 8.2
+    */
+   long getModificationCount();
+
+   /**
+    * Writes the entries to all the stores allowed by the access mode, as a single batch per store.
+    *
+    * @see org.infinispan.persistence.spi.CacheWriter#writeBatch(Iterable)
+    * @since 8.2
+    */
+   void writeBatchToAllStores(Iterable<MarshalledEntry> entries, AccessMode mode);
+
+   /**
+    * Deletes the keys from all the stores allowed by the access mode, as a single batch per store.
+    *
+    * @see org.infinispan.persistence.spi.CacheWriter#deleteBatch(Iterable)
+    * @since 8.2
+    */
+   void deleteBatchFromAllStores(Iterable<Object> keys, AccessMode mode);
+
    /**
     * Returns the store one configured with fetch persistent state, or null if none exist.
     */
@@ -9,10 +9,12 @@
 import org.infinispan.configuration.cache.EvictionConfigurationBuilder;
 import org.infinispan.configuration.cache.Index;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.ImmortalCacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.annotations.ComponentName;
@@ -24,6 +26,11 @@
 import org.infinispan.interceptors.CacheWriterInterceptor;
 import org.infinispan.interceptors.InterceptorChain;
 import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.metadata.Metadata;
@@ -48,7 +55,6 @@
 import org.infinispan.persistence.support.DelegatingCacheWriter;
 import org.infinispan.persistence.support.SingletonCacheWriter;
 import org.infinispan.util.TimeService;
-import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -59,17 +65,17 @@
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.infinispan.context.Flag.*;
 import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
 import static org.infinispan.factories.KnownComponentNames.PERSISTENCE_EXECUTOR;
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.BOTH;
 
+@MBean(objectName = "PersistenceManager", description = "Component that manages the cache loaders and writers of a cache")
 public class PersistenceManagerImpl implements PersistenceManager {
 
    private static final Log log = LogFactory.getLog(PersistenceManagerImpl.class);
@@ -85,6 +91,7 @@ public class PersistenceManagerImpl implements PersistenceManager {
    private final List<CacheWriter> writers = new ArrayList<>();
 
    private final ReadWriteLock storesMutex = new ReentrantReadWriteLock();
+   private final LongAdder modificationCount = new LongAdder();
    private final Map<Object, StoreConfiguration> configMap = new HashMap<>();
 
    private CacheStoreFactoryRegistry cacheStoreFactoryRegistry;
@@ -101,13 +108,16 @@ public class PersistenceManagerImpl implements PersistenceManager {
    private ByteBufferFactory byteBufferFactory;
    private MarshalledEntryFactory marshalledEntryFactory;
    private volatile boolean clearOnStop;
+   private KeyPartitioner keyPartitioner;
+   private volatile Preloader preloader;
 
    @Inject
    public void inject(AdvancedCache<Object, Object> cache, @ComponentName(CACHE_MARSHALLER) StreamingMarshaller marshaller,
                       Configuration configuration, TransactionManager transactionManager,
                       TimeService timeService, @ComponentName(PERSISTENCE_EXECUTOR) ExecutorService persistenceExecutor,
                       ByteBufferFactory byteBufferFactory, MarshalledEntryFactory marshalledEntryFactory,
-                      CacheStoreFactoryRegistry cacheStoreFactoryRegistry, ExpirationManager expirationManager) {
+                      CacheStoreFactoryRegistry cacheStoreFactoryRegistry, ExpirationManager expirationManager,
+                      KeyPartitioner keyPartitioner) {
       this.cache = cache;
       this.m = marshaller;
       this.configuration = configuration;
@@ -118,6 +128,7 @@ public void inject(AdvancedCache<Object, Object> cache, @ComponentName(CACHE_MAR
       this.marshalledEntryFactory = marshalledEntryFactory;
       this.cacheStoreFactoryRegistry = cacheStoreFactoryRegistry;
       this.expirationManager = expirationManager;
+      this.keyPartitioner = keyPartitioner;
 
       this.advanedListener = new AdvancedPurgeListener(expirationManager);
    }
@@ -229,25 +240,60 @@ public void preload() {
       if (preloadCl == null)
          return;
 
-      long start = timeService.time();
-
-
       final long maxEntries = getMaxEntries();
-      final AtomicInteger loadedEntries = new AtomicInteger(0);
       final AdvancedCache<Object, Object> flaggedCache = getCacheForStateInsertion();
-      preloadCl.process(null, new AdvancedCacheLoader.CacheLoaderTask() {
-         @Override
-         public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
-            if (loadedEntries.getAndIncrement() >= maxEntries) {
-               taskContext.stop();
-               return;
-            }
-            Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl)me.getMetadata()).actual() : null; //the downcast will go away with ISPN-3460
+      final DataContainer<Object, Object> dataContainer = canPreloadToDataContainer() ? cache.getDataContainer() : null;
+      int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), configuration.clustering().hash().numSegments());
+      Preloader preloader = new Preloader(cache.getName(), keyPartitioner, parallelism, maxEntries, timeService, me -> {
+         Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl)me.getMetadata()).actual() : null; //the downcast will go away with ISPN-3460
+         if (dataContainer != null) {
+            dataContainer.put(me.getKey(), me.getValue(), metadata);
+         } else {
             preloadKey(flaggedCache, me.getKey(), me.getValue(), metadata);
          }
-      }, new WithinThreadExecutor(), true, true);
+      });
+      this.preloader = preloader;
+      preloader.preload(preloadCl, persistenceExecutor);
 
-      log.debugf("Preloaded %s keys in %s", loadedEntries, Util.prettyPrintTime(timeService.timeDuration(start, MILLISECONDS)));
+      log.debugf("Preloaded %s keys in %s", preloader.getPreloadedEntries(), Util.prettyPrintTime(preloader.getElapsedTime()));
+   }
+
+   /**
+    * Entries can be inserted directly in the data container when no interceptor or listener needs to see them: the
+    * values don't need to be wrapped or converted, and there is nothing to index, version or notify.
+    */
+   private boolean canPreloadToDataContainer() {
+      if (!configuration.customInterceptors().interceptors().isEmpty())
+         return false;
+      if (configuration.storeAsBinary().enabled() || configuration.compatibility().enabled())
+         return false;
+      if (configuration.versioning().enabled())
+         return false;
+      if (configuration.indexing().index().isEnabled() && !skipIndexingOnPreload())
+         return false;
+      CacheNotifier notifier = cache.getComponentRegistry().getComponent(CacheNotifier.class);
+      return notifier == null || notifier.getListeners().isEmpty();
+   }
+
+   @ManagedAttribute(description = "Whether entries are being preloaded from the cache store",
+         displayName = "Preload in progress", dataType = DataType.TRAIT)
+   public boolean isPreloadInProgress() {
+      Preloader preloader = this.preloader;
+      return preloader != null && preloader.isInProgress();
+   }
+
+   @ManagedAttribute(description = "Number of entries preloaded from the cache store",
+         displayName = "Number of preloaded entries", measurementType = MeasurementType.TRENDSUP)
+   public long getPreloadedEntries() {
+      Preloader preloader = this.preloader;
+      return preloader != null ? preloader.getPreloadedEntries() : 0;
+   }
+
+   @ManagedAttribute(description = "Time spent preloading entries from the cache store, in milliseconds",
+         displayName = "Preload time", units = Units.MILLISECONDS)
+   public long getPreloadTime() {
+      Preloader preloader = this.preloader;
+      return preloader != null ? preloader.getElapsedTime() : 0;
    }
 
    @Override
@@ -401,6 +447,7 @@ public void clearAllStores(AccessMode mode) {
             }
          }
       } finally {
+         modificationCount.increment();
          storesMutex.readLock().unlock();
       }
    }
@@ -417,6 +464,7 @@ public boolean deleteFromAllStores(Object key, AccessMode mode) {
          }
          return removed;
       } finally {
+         modificationCount.increment();
          storesMutex.readLock().unlock();
       }
    }
@@ -470,6 +518,28 @@ public MarshalledEntry loadFromAllStores(Object key, InvocationContext context)
       }
    }
 
+   @Override
+   public Map<Object, MarshalledEntry> loadAllFromStores(Set<?> keys, InvocationContext context) {
+      storesMutex.readLock().lock();
+      try {
+         Map<Object, MarshalledEntry> entries = new HashMap<>();
+         Set<Object> remainingKeys = new HashSet<>(keys);
+         for (CacheLoader l : loaders) {
+            if (!context.isOriginLocal() && isLocalOnlyLoader(l))
+               continue;
+
+            Map<Object, MarshalledEntry> loaded = l.loadAll(remainingKeys);
+            entries.putAll(loaded);
+            remainingKeys.removeAll(loaded.keySet());
+            if (remainingKeys.isEmpty())
+               break;
+         }
+         return entries;
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
    private boolean isLocalOnlyLoader(CacheLoader loader) {
       if (loader instanceof LocalOnlyCacheLoader) return true;
       if (loader instanceof DelegatingCacheLoader) {
@@ -480,6 +550,11 @@ private boolean isLocalOnlyLoader(CacheLoader loader) {
       return false;
    }
 
+   @Override
+   public long getModificationCount() {
+      return modificationCount.sum();
+   }
+
    @Override
    public void writeToAllStores(MarshalledEntry marshalledEntry, AccessMode mode) {
       storesMutex.readLock().lock();
@@ -490,6 +565,37 @@ public void writeToAllStores(MarshalledEntry marshalledEntry, AccessMode mode) {
             }
          }
       } finally {
+         modificationCount.increment();
+         storesMutex.readLock().unlock();
+      }
+   }
+
+   @Override
+   public void writeBatchToAllStores(Iterable<MarshalledEntry> entries, AccessMode mode) {
+      storesMutex.readLock().lock();
+      try {
+         for (CacheWriter w : writers) {
+            if (mode.canPerform(configMap.get(w))) {
+               w.writeBatch(entries);
+            }
+         }
+      } finally {
+         modificationCount.increment();
+         storesMutex.readLock().unlock();
+      }
+   }
+
+   @Override
+   public void deleteBatchFromAllStores(Iterable<Object> keys, AccessMode mode) {
+      storesMutex.readLock().lock();
+      try {
+         for (CacheWriter w : writers) {
+            if (mode.canPerform(configMap.get(w))) {
+               w.deleteBatch(keys);
+            }
+         }
+      } finally {
+         modificationCount.increment();
          storesMutex.readLock().unlock();
       }
    }
@@ -643,6 +749,14 @@ private AdvancedCache<Object, Object> getCacheForStateInsertion() {
       List<Flag> flags = new ArrayList<Flag>(Arrays.asList(
             CACHE_MODE_LOCAL, SKIP_OWNERSHIP_CHECK, IGNORE_RETURN_VALUES, SKIP_CACHE_STORE, SKIP_LOCKING));
 
+      if (skipIndexingOnPreload())
+         flags.add(SKIP_INDEXING);
+
+      return cache.getAdvancedCache()
+            .withFlags(flags.toArray(new Flag[flags.size()]));
+   }
+
+   private boolean skipIndexingOnPreload() {
       boolean hasShared = false;
       for (CacheWriter w : writers) {
          if (configMap.get(w).shared()) {
@@ -650,16 +764,7 @@ private AdvancedCache<Object, Object> getCacheForStateInsertion() {
             break;
          }
       }
-
-      if (hasShared) {
-         if (indexShareable())
-            flags.add(SKIP_INDEXING);
-      } else {
-         flags.add(SKIP_INDEXING);
-      }
-
-      return cache.getAdvancedCache()
-            .withFlags(flags.toArray(new Flag[flags.size()]));
+      return !hasShared || indexShareable();
    }
 
    private boolean localIndexingEnabled() {
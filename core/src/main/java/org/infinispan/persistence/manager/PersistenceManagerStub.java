@@ -9,6 +9,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
@@ -77,10 +78,28 @@ public MarshalledEntry loadFromAllStores(Object key, InvocationContext context)
       return null;
    }
 
+   @Override
+   public Map<Object, MarshalledEntry> loadAllFromStores(Set<?> keys, InvocationContext context) {
+      return Collections.emptyMap();
+   }
+
+   @Override
+   public long getModificationCount() {
+      return 0;
+   }
+
    @Override
    public void writeToAllStores(MarshalledEntry marshalledEntry, AccessMode modes) {
    }
 
+   @Override
+   public void writeBatchToAllStores(Iterable<MarshalledEntry> entries, AccessMode mode) {
+   }
+
+   @Override
+   public void deleteBatchFromAllStores(Iterable<Object> keys, AccessMode mode) {
+   }
+
    @Override
    public AdvancedCacheLoader getStateTransferProvider() {
       return null;
@@ -0,0 +1,160 @@
+package org.infinispan.persistence.manager;
+
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Loads the contents of a cache loader into memory using several worker threads.
+ * <p>
+ * The entries produced by the loader are partitioned by segment, and each partition is inserted by its own worker,
+ * so a key is always inserted by the same thread and the workers never compete for the same keys. The partition
+ * queues are bounded, so a slow insertion throttles the loader instead of buffering the whole store in memory.
+ *
+ * @since 8.2
+ */
+class Preloader implements AdvancedCacheLoader.CacheLoaderTask {
+
+   private static final Log log = LogFactory.getLog(Preloader.class);
+   private static final int QUEUE_CAPACITY = 1024;
+   private static final Object END = new Object();
+
+   private final String cacheName;
+   private final KeyPartitioner keyPartitioner;
+   private final Consumer<MarshalledEntry> inserter;
+   private final TimeService timeService;
+   private final long maxEntries;
+   private final List<BlockingQueue<Object>> partitions;
+   private final AtomicLong scannedEntries = new AtomicLong();
+   private final AtomicLong preloadedEntries = new AtomicLong();
+   private volatile Throwable failure;
+   private volatile long startTime;
+   private volatile long endTime = -1;
+
+   Preloader(String cacheName, KeyPartitioner keyPartitioner, int parallelism, long maxEntries,
+             TimeService timeService, Consumer<MarshalledEntry> inserter) {
+      this.cacheName = cacheName;
+      this.keyPartitioner = keyPartitioner;
+      this.inserter = inserter;
+      this.timeService = timeService;
+      this.maxEntries = maxEntries;
+      this.partitions = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+         partitions.add(new ArrayBlockingQueue<>(QUEUE_CAPACITY));
+      }
+   }
+
+   /**
+    * Scans the loader and waits until all the entries it produced have been inserted.
+    *
+    * @param loader the loader to preload from
+    * @param scanExecutor the executor the loader may use to parallelize the scan
+    */
+   void preload(AdvancedCacheLoader<?, ?> loader, Executor scanExecutor) {
+      startTime = timeService.time();
+      AtomicInteger threadId = new AtomicInteger();
+      ExecutorService workers = Executors.newFixedThreadPool(partitions.size(), r -> {
+         Thread t = new Thread(r, "PreloadWorker-" + cacheName + "-" + threadId.getAndIncrement());
+         t.setDaemon(true);
+         return t;
+      });
+      try {
+         List<Future<?>> futures = new ArrayList<>(partitions.size());
+         for (BlockingQueue<Object> partition : partitions) {
+            futures.add(workers.submit(() -> drain(partition)));
+         }
+         loader.process(null, this, scanExecutor, true, true);
+         for (BlockingQueue<Object> partition : partitions) {
+            enqueue(partition, END);
+         }
+         for (Future<?> future : futures) {
+            future.get();
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException("Unable to preload!", e);
+      } catch (ExecutionException e) {
+         Throwable cause = e.getCause();
+         if (cause instanceof PersistenceException)
+            throw (PersistenceException) cause;
+         throw new PersistenceException("Unable to preload!", cause);
+      } finally {
+         workers.shutdownNow();
+         endTime = timeService.time();
+      }
+   }
+
+   @Override
+   public void processEntry(MarshalledEntry marshalledEntry, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
+      if (scannedEntries.getAndIncrement() >= maxEntries) {
+         taskContext.stop();
+         return;
+      }
+      int segment = keyPartitioner.getSegment(marshalledEntry.getKey());
+      enqueue(partitions.get(segment % partitions.size()), marshalledEntry);
+   }
+
+   private void enqueue(BlockingQueue<Object> partition, Object element) throws InterruptedException {
+      // Don't block forever on a partition whose worker has failed
+      while (!partition.offer(element, 100, MILLISECONDS)) {
+         Throwable t = failure;
+         if (t != null)
+            throw new PersistenceException("Unable to preload!", t);
+      }
+   }
+
+   private Void drain(BlockingQueue<Object> partition) throws InterruptedException {
+      try {
+         for (Object element = partition.take(); element != END; element = partition.take()) {
+            inserter.accept((MarshalledEntry) element);
+            preloadedEntries.incrementAndGet();
+         }
+         return null;
+      } catch (Throwable t) {
+         log.debugf(t, "Preload worker for cache %s failed", cacheName);
+         failure = t;
+         throw t;
+      }
+   }
+
+   /**
+    * @return whether the preload is still running
+    */
+   boolean isInProgress() {
+      return endTime < 0;
+   }
+
+   /**
+    * @return the number of entries inserted in memory so far
+    */
+   long getPreloadedEntries() {
+      return preloadedEntries.get();
+   }
+
+   /**
+    * @return the time spent preloading so far, in milliseconds
+    */
+   long getElapsedTime() {
+      long end = endTime;
+      return timeService.timeDuration(startTime, end < 0 ? timeService.time() : end, MILLISECONDS);
+   }
+}
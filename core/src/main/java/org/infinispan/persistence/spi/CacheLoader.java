@@ -1,5 +1,9 @@
 package org.infinispan.persistence.spi;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 import net.jcip.annotations.ThreadSafe;
 
 import org.infinispan.commons.api.Lifecycle;
@@ -33,6 +37,28 @@
     */
    MarshalledEntry<K, V> load(Object key);
 
+   /**
+    * Fetches the entries associated with a set of keys from the storage. The returned map only contains the keys that
+    * exist in the storage, and it must use the key instances passed in as its keys.
+    * <p>
+    * The default implementation invokes {@link #load(Object)} for each key. Implementations that can fetch several
+    * entries in a single round trip to the external storage should override it.
+    *
+    * @return the entries found, never null
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 8.2
+    */
+   default Map<Object, MarshalledEntry<K, V>> loadAll(Set<?> keys) {
+      Map<Object, MarshalledEntry<K, V>> entries = new HashMap<>();
+      for (Object key : keys) {
+         MarshalledEntry<K, V> entry = load(key);
+         if (entry != null) {
+            entries.put(key, entry);
+         }
+      }
+      return entries;
+   }
+
    /**
     * Returns true if the storage contains an entry associated with the given key.
     *
@@ -35,4 +35,35 @@
     * @throws PersistenceException in case of an error, e.g. communicating with the external storage
     */
    boolean delete(Object key);
+
+   /**
+    * Persists all the entries of the batch to the storage. Implementations should override this if they can store
+    * several entries more efficiently than one by one, e.g. in a single round trip to the external storage. The
+    * default implementation invokes {@link #write(MarshalledEntry)} for each entry.
+    * <p/>
+    * The order in which the entries are persisted is not defined, so a batch should not contain several entries for
+    * the same key.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 8.2
+    */
+   default void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> entries) {
+      for (MarshalledEntry<? extends K, ? extends V> entry : entries) {
+         write(entry);
+      }
+   }
+
+   /**
+    * Deletes all the keys of the batch from the storage. Implementations should override this if they can delete
+    * several entries more efficiently than one by one. The default implementation invokes {@link #delete(Object)}
+    * for each key.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 8.2
+    */
+   default void deleteBatch(Iterable<Object> keys) {
+      for (Object key : keys) {
+         delete(key);
+      }
+   }
 }
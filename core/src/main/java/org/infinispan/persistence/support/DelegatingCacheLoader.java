@@ -4,6 +4,10 @@
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.marshall.core.MarshalledEntry;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * @author Mircea Markus
  * @since 6.0
@@ -48,6 +52,11 @@ public MarshalledEntry load(Object key) {
       return actual != null ? actual.load(key) : null;
    }
 
+   @Override
+   public Map loadAll(Set keys) {
+      return actual != null ? actual.loadAll(keys) : Collections.emptyMap();
+   }
+
    public CacheLoader undelegate() {
       CacheLoader cl = this;
       do {
@@ -17,14 +17,17 @@
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
 import org.infinispan.util.ReadOnlyDataContainerBackedKeySet;
+import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -81,10 +84,33 @@ public class OutboundTransferTask implements Runnable {
 
    private InternalEntryFactory entryFactory;
 
+   private final int maxInFlightChunks;
+
+   /**
+    * Credits for the chunks that were sent but not yet applied by the destination.
+    */
+   private final Semaphore inFlightChunks;
+
+   /**
+    * The first failure to send a chunk. Once set, no more chunks are sent and in particular the last chunks are
+    * not, so that the destination doesn't consider the segments complete. Instead the destination is told that the
+    * transfer failed, so it requests the segments again.
+    */
+   private volatile Throwable sendFailure;
+
    public OutboundTransferTask(Address destination, Set<Integer> segments, int stateTransferChunkSize,
                                int topologyId, ConsistentHash readCh, StateProviderImpl stateProvider, DataContainer dataContainer,
                                PersistenceManager persistenceManager, RpcManager rpcManager,
                                CommandsFactory commandsFactory, InternalEntryFactory ef, long timeout, String cacheName) {
+      this(destination, segments, stateTransferChunkSize, 1, topologyId, readCh, stateProvider, dataContainer,
+           persistenceManager, rpcManager, commandsFactory, ef, timeout, cacheName);
+   }
+
+   public OutboundTransferTask(Address destination, Set<Integer> segments, int stateTransferChunkSize,
+                               int maxInFlightChunks, int topologyId, ConsistentHash readCh,
+                               StateProviderImpl stateProvider, DataContainer dataContainer,
+                               PersistenceManager persistenceManager, RpcManager rpcManager,
+                               CommandsFactory commandsFactory, InternalEntryFactory ef, long timeout, String cacheName) {
       if (segments == null || segments.isEmpty()) {
          throw new IllegalArgumentException("Segments must not be null or empty");
       }
@@ -94,10 +120,15 @@ public OutboundTransferTask(Address destination, Set<Integer> segments, int stat
       if (stateTransferChunkSize <= 0) {
          throw new IllegalArgumentException("stateTransferChunkSize must be greater than 0");
       }
+      if (maxInFlightChunks <= 0) {
+         throw new IllegalArgumentException("maxInFlightChunks must be greater than 0");
+      }
       this.stateProvider = stateProvider;
       this.destination = destination;
       this.segments.addAll(segments);
       this.stateTransferChunkSize = stateTransferChunkSize;
+      this.maxInFlightChunks = maxInFlightChunks;
+      this.inFlightChunks = new Semaphore(maxInFlightChunks);
       this.topologyId = topologyId;
       this.readCh = readCh;
       this.dataContainer = dataContainer;
@@ -158,29 +189,38 @@ public void run() {
                   public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
                         int segmentId = readCh.getSegment(me.getKey());
                         if (segments.contains(segmentId)) {
+                           InternalCacheEntry icv;
                            try {
-                              InternalCacheEntry icv = entryFactory.create(me.getKey(), me.getValue(), me.getMetadata());
-                              sendEntry(icv, segmentId);
+                              icv = entryFactory.create(me.getKey(), me.getValue(), me.getMetadata());
                            } catch (CacheException e) {
                               log.failedLoadingValueFromCacheStore(me.getKey(), e);
+                              return;
                            }
+                           sendEntry(icv, segmentId);
                         }
                      }
                   };
                stProvider.process(filter, task, new WithinThreadExecutor(), true, true);
             } catch (CacheException e) {
+               if (sendFailure != null || isCancelled()) {
+                  // the transfer failed or was cancelled, not the store
+                  throw e;
+               }
                log.failedLoadingKeysFromCacheStore(e);
             }
          }
 
          // send the last chunk of all segments
          sendEntries(true);
+         checkSendFailure();
       } catch (Throwable t) {
          // ignore eventual exceptions caused by cancellation (have InterruptedException as the root cause)
          if (isCancelled()) {
             log.debugf("Transfer of segments %s of cache %s to node %s cancelled", segments, cacheName, destination);
          } else {
             log.failedOutBoundTransferExecution(t);
+            // the destination waits for the last chunks of all the segments, which won't come
+            sendTransferFailed();
          }
       }
       if (trace) {
@@ -205,6 +245,18 @@ private void sendEntry(InternalCacheEntry ice, int segmentId) {
    }
 
    private void sendEntries(boolean isLast) {
+      checkSendFailure();
+      // wait for a credit before removing the entries from entriesBySegment, so they are never dropped on timeout
+      boolean async = !isLast && maxInFlightChunks > 1;
+      if (async) {
+         acquireCredit();
+      } else {
+         // it is important that the last chunk is received last in order to correctly detect completion of the
+         // stream of chunks, so wait for the chunks in flight to be applied and send the last one synchronously
+         awaitInFlightChunks();
+         checkSendFailure();
+      }
+
       List<StateChunk> chunks = new ArrayList<StateChunk>();
       for (Map.Entry<Integer, List<InternalCacheEntry>> e : entriesBySegment.entrySet()) {
          List<InternalCacheEntry> entries = e.getValue();
@@ -223,7 +275,11 @@ private void sendEntries(boolean isLast) {
          }
       }
 
-      if (!chunks.isEmpty()) {
+      if (chunks.isEmpty()) {
+         if (async) {
+            inFlightChunks.release();
+         }
+      } else {
          if (trace) {
             if (isLast) {
                log.tracef("Sending last chunk containing %d cache entries from segments %s of cache %s to node %s", accumulatedEntries, segments, cacheName, destination);
@@ -233,18 +289,97 @@ private void sendEntries(boolean isLast) {
          }
 
          StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(rpcManager.getAddress(), topologyId, chunks);
-         // send synchronously, in order. it is important that the last chunk is received last in order to correctly detect completion of the stream of chunks
-         try {
-            rpcManager.invokeRemotely(Collections.singleton(destination), cmd, rpcOptions);
-         } catch (SuspectException e) {
-            log.debugf("Node %s left cache %s while we were sending state to it, cancelling transfer.", destination, cacheName);
-            cancel();
-         } catch (Exception e) {
-            if (isCancelled()) {
-               log.debugf("Stopping cancelled transfer of segments %s of cache %s to node %s", segments, cacheName, destination);
-            } else {
-               log.errorf(e, "Failed to send entries to node %s : %s", destination, e.getMessage());
+         if (!async) {
+            try {
+               rpcManager.invokeRemotely(Collections.singleton(destination), cmd, rpcOptions);
+            } catch (Exception e) {
+               onSendFailure(e);
             }
+         } else {
+            rpcManager.invokeRemotelyAsync(Collections.singleton(destination), cmd, rpcOptions)
+                  .whenComplete((responses, throwable) -> {
+                     inFlightChunks.release();
+                     if (throwable != null) {
+                        onSendFailure(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                     }
+                  });
+         }
+      }
+   }
+
+   private void sendTransferFailed() {
+      try {
+         // let the chunks in flight reach the destination before it requests the segments again
+         if (inFlightChunks.tryAcquire(maxInFlightChunks, timeout, TimeUnit.MILLISECONDS)) {
+            inFlightChunks.release(maxInFlightChunks);
+         }
+         Set<Integer> failedSegments = new HashSet<Integer>(segments);
+         log.debugf("Telling node %s that the transfer of segments %s of cache %s failed", destination, failedSegments, cacheName);
+         StateResponseCommand cmd = commandsFactory.buildStateTransferFailedCommand(rpcManager.getAddress(), topologyId, failedSegments);
+         rpcManager.invokeRemotely(Collections.singleton(destination), cmd, rpcOptions);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (Exception e) {
+         // the destination cancels this task after receiving the failure, so this may be the interruption
+         if (isCancelled()) {
+            log.debugf("Stopping cancelled transfer of segments %s of cache %s to node %s", segments, cacheName, destination);
+         } else {
+            log.errorf(e, "Failed to tell node %s that the transfer of segments %s of cache %s failed", destination, segments, cacheName);
+         }
+      }
+   }
+
+   private void checkSendFailure() {
+      Throwable t = sendFailure;
+      if (t != null) {
+         throw new CacheException("Failed to send entries to node " + destination + ", aborting the transfer of segments " + segments + " of cache " + cacheName, t);
+      }
+   }
+
+   private void acquireCredit() {
+      try {
+         if (!inFlightChunks.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+            throw failTransfer("Timed out waiting for node " + destination + " to apply state of cache " + cacheName);
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+   }
+
+   private void awaitInFlightChunks() {
+      if (maxInFlightChunks == 1)
+         return;
+
+      try {
+         if (!inFlightChunks.tryAcquire(maxInFlightChunks, timeout, TimeUnit.MILLISECONDS)) {
+            throw failTransfer("Timed out waiting for node " + destination + " to apply state of cache " + cacheName);
+         }
+         inFlightChunks.release(maxInFlightChunks);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+   }
+
+   private TimeoutException failTransfer(String message) {
+      TimeoutException e = new TimeoutException(message);
+      if (sendFailure == null) {
+         sendFailure = e;
+      }
+      return e;
+   }
+
+   private void onSendFailure(Throwable t) {
+      if (t instanceof SuspectException) {
+         log.debugf("Node %s left cache %s while we were sending state to it, cancelling transfer.", destination, cacheName);
+         cancel();
+      } else if (isCancelled()) {
+         log.debugf("Stopping cancelled transfer of segments %s of cache %s to node %s", segments, cacheName, destination);
+      } else {
+         log.errorf(t, "Failed to send entries to node %s : %s", destination, t.getMessage());
+         if (sendFailure == null) {
+            sendFailure = t;
          }
       }
    }
@@ -288,6 +423,7 @@ public String toString() {
             ", destination=" + destination +
             ", segments=" + segments +
             ", stateTransferChunkSize=" + stateTransferChunkSize +
+            ", maxInFlightChunks=" + maxInFlightChunks +
             ", timeout=" + timeout +
             ", cacheName='" + cacheName + '\'' +
             '}';
@@ -0,0 +1,82 @@
+package org.infinispan.statetransfer;
+
+import org.infinispan.remoting.transport.Address;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of the inbound transfer of a single segment during a rebalance.
+ *
+ * @since 8.2
+ */
+public class SegmentTransferProgress {
+
+   private final int segmentId;
+   private final Address source;
+   private final long startNanos = System.nanoTime();
+   private final LongAdder receivedEntries = new LongAdder();
+   private final LongAdder receivedChunks = new LongAdder();
+   private volatile long endNanos = -1;
+
+   SegmentTransferProgress(int segmentId, Address source) {
+      this.segmentId = segmentId;
+      this.source = source;
+   }
+
+   void onChunkApplied(int entries, boolean isLastChunk) {
+      receivedEntries.add(entries);
+      receivedChunks.increment();
+      if (isLastChunk) {
+         endNanos = System.nanoTime();
+      }
+   }
+
+   public int getSegmentId() {
+      return segmentId;
+   }
+
+   public Address getSource() {
+      return source;
+   }
+
+   public long getReceivedEntries() {
+      return receivedEntries.sum();
+   }
+
+   public long getReceivedChunks() {
+      return receivedChunks.sum();
+   }
+
+   public boolean isComplete() {
+      return endNanos >= 0;
+   }
+
+   /**
+    * @return the time elapsed since the segment was requested, or until its last chunk was applied, in milliseconds
+    */
+   public long getElapsedTime() {
+      long end = endNanos;
+      return TimeUnit.NANOSECONDS.toMillis((end < 0 ? System.nanoTime() : end) - startNanos);
+   }
+
+   /**
+    * @return the number of entries applied per second
+    */
+   public double getThroughput() {
+      long elapsed = getElapsedTime();
+      return elapsed == 0 ? 0 : getReceivedEntries() * 1000.0 / elapsed;
+   }
+
+   @Override
+   public String toString() {
+      return "SegmentTransferProgress{" +
+            "segmentId=" + segmentId +
+            ", source=" + source +
+            ", receivedEntries=" + getReceivedEntries() +
+            ", receivedChunks=" + getReceivedChunks() +
+            ", elapsedTime=" + getElapsedTime() +
+            ", complete=" + isComplete() +
+            '}';
+   }
+}
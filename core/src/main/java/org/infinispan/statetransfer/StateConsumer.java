@@ -6,6 +6,8 @@
 import org.infinispan.topology.CacheTopology;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Handles inbound state transfers.
@@ -33,6 +35,12 @@ public interface StateConsumer {
 
    void applyState(Address sender, int topologyId, Collection<StateChunk> stateChunks);
 
+   /**
+    * Requests again the given segments, because the sender failed to send some of their state and won't send the
+    * last chunks.
+    */
+   void onStateTransferFailed(Address sender, int topologyId, Set<Integer> segments);
+
    /**
     * Cancels all incoming state transfers. The already received data is not discarded.
     * This is executed when the cache is shutting down.
@@ -49,4 +57,9 @@ public interface StateConsumer {
     * @return  true if this node has already received the first rebalance command
     */
    boolean ownsData();
+
+   /**
+    * @return the progress of the inbound transfer of each segment requested during the current or last rebalance
+    */
+   Map<Integer, SegmentTransferProgress> getSegmentTransferProgress();
 }
@@ -62,6 +62,8 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -152,6 +154,11 @@ public class StateConsumerImpl implements StateConsumer {
    @GuardedBy("transferMapsLock")
    private final Map<Integer, InboundTransferTask> transfersBySegment = new HashMap<Integer, InboundTransferTask>();
 
+   /**
+    * The progress of the inbound transfer of each segment requested since the current or last rebalance started.
+    */
+   private final ConcurrentMap<Integer, SegmentTransferProgress> segmentProgress = new ConcurrentHashMap<>();
+
    /**
     * Push RPCs on a background thread
     */
@@ -256,6 +263,11 @@ public boolean ownsData() {
       return ownsData;
    }
 
+   @Override
+   public Map<Integer, SegmentTransferProgress> getSegmentTransferProgress() {
+      return Collections.unmodifiableMap(segmentProgress);
+   }
+
    @Override
    public void onTopologyUpdate(final CacheTopology cacheTopology, final boolean isRebalance) {
       final boolean isMember = cacheTopology.getMembers().contains(rpcManager.getAddress());
@@ -280,7 +292,9 @@ public void onTopologyUpdate(final CacheTopology cacheTopology, final boolean is
       if (startRebalance) {
          // Only update the rebalance topology id when starting the rebalance, as we're going to ignore any state
          // response with a smaller topology id
-         stateTransferTopologyId.compareAndSet(NO_REBALANCE_IN_PROGRESS, cacheTopology.getTopologyId());
+         if (stateTransferTopologyId.compareAndSet(NO_REBALANCE_IN_PROGRESS, cacheTopology.getTopologyId())) {
+            segmentProgress.clear();
+         }
          cacheNotifier.notifyDataRehashed(cacheTopology.getCurrentCH(), cacheTopology.getPendingCH(),
                                           cacheTopology.getUnionCH(), cacheTopology.getTopologyId(), true);
       }
@@ -557,6 +571,34 @@ public void run() {
       }
    }
 
+   @Override
+   public void onStateTransferFailed(Address sender, int topologyId, Set<Integer> segments) {
+      int rebalanceTopologyId = stateTransferTopologyId.get();
+      if (rebalanceTopologyId == NO_REBALANCE_IN_PROGRESS || topologyId < rebalanceTopologyId) {
+         log.debugf("Ignoring failure of the state transfer of segments %s of cache %s from node %s with old topology id %d",
+               segments, cacheName, sender, topologyId);
+         return;
+      }
+
+      List<InboundTransferTask> failedTransfers = new ArrayList<InboundTransferTask>();
+      synchronized (transferMapsLock) {
+         List<InboundTransferTask> transfers = transfersBySource.get(sender);
+         if (transfers != null) {
+            for (InboundTransferTask inboundTransfer : transfers) {
+               if (!Collections.disjoint(inboundTransfer.getSegments(), segments)) {
+                  failedTransfers.add(inboundTransfer);
+               }
+            }
+         }
+      }
+      for (InboundTransferTask inboundTransfer : failedTransfers) {
+         log.debugf("Node %s failed to send the state of segments %s of cache %s, requesting them again",
+               sender, inboundTransfer.getSegments(), cacheName);
+         // the sender is still a member, so it can be asked again
+         retryTransferTask(inboundTransfer, false);
+      }
+   }
+
    private void applyChunk(Address sender, Set<Integer> mySegments, StateChunk stateChunk) {
       if (!mySegments.contains(stateChunk.getSegmentId())) {
          log.warnf("Discarding received cache entries for segment %d of cache %s because they do not belong to this node.", stateChunk.getSegmentId(), cacheName);
@@ -569,8 +611,14 @@ private void applyChunk(Address sender, Set<Integer> mySegments, StateChunk stat
          inboundTransfer = transfersBySegment.get(stateChunk.getSegmentId());
       }
       if (inboundTransfer != null) {
+         int appliedEntries = 0;
          if (stateChunk.getCacheEntries() != null) {
             doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries());
+            appliedEntries = stateChunk.getCacheEntries().size();
+         }
+         SegmentTransferProgress progress = segmentProgress.get(stateChunk.getSegmentId());
+         if (progress != null) {
+            progress.onChunkApplied(appliedEntries, stateChunk.isLastChunk());
          }
 
          inboundTransfer.onStateReceived(stateChunk.getSegmentId(), stateChunk.isLastChunk());
@@ -867,6 +915,10 @@ private void requestSegments(Set<Integer> segments, Map<Address, Set<Integer>> s
 
 
    private void retryTransferTask(InboundTransferTask task) {
+      retryTransferTask(task, true);
+   }
+
+   private void retryTransferTask(InboundTransferTask task, boolean excludeSource) {
       if (trace) log.tracef("Retrying failed task: %s", task);
       task.cancel();
 
@@ -876,7 +928,9 @@ private void retryTransferTask(InboundTransferTask task) {
          Set<Integer> failedSegments = new HashSet<Integer>();
          Set<Address> excludedSources = new HashSet<>();
          if (removeTransfer(task)) {
-            excludedSources.add(task.getSource());
+            if (excludeSource) {
+               excludedSources.add(task.getSource());
+            }
             failedSegments.addAll(task.getSegments());
          }
 
@@ -1033,6 +1087,7 @@ private InboundTransferTask addTransfer(Address source, Set<Integer> segmentsFro
                cacheTopology.getTopologyId(), this, rpcManager, commandsFactory, timeout, cacheName);
          for (int segmentId : segmentsFromSource) {
             transfersBySegment.put(segmentId, inboundTransfer);
+            segmentProgress.put(segmentId, new SegmentTransferProgress(segmentId, source));
          }
          List<InboundTransferTask> inboundTransfers = transfersBySource.get(inboundTransfer.getSource());
          if (inboundTransfers == null) {
@@ -12,6 +12,9 @@
 import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * This command is used by a StateProvider to push cache entries to a StateConsumer.
@@ -35,6 +38,11 @@ public class StateResponseCommand extends BaseRpcCommand {
     */
    private Collection<StateChunk> stateChunks;
 
+   /**
+    * The segments the sender failed to send, {@code null} if the sender is pushing state chunks.
+    */
+   private Set<Integer> failedSegments;
+
    /**
     * This is injected on target node via init() method before the command is performed.
     */
@@ -55,6 +63,14 @@ public StateResponseCommand(String cacheName, Address origin, int topologyId, Co
       this.stateChunks = stateChunks;
    }
 
+   public StateResponseCommand(String cacheName, Address origin, int topologyId, Set<Integer> failedSegments) {
+      super(cacheName);
+      setOrigin(origin);
+      this.topologyId = topologyId;
+      this.stateChunks = Collections.emptyList();
+      this.failedSegments = failedSegments;
+   }
+
    public void init(StateConsumer stateConsumer) {
       this.stateConsumer = stateConsumer;
    }
@@ -64,7 +80,11 @@ public Object perform(InvocationContext ctx) throws Throwable {
       final boolean trace = log.isTraceEnabled();
       LogFactory.pushNDC(cacheName, trace);
       try {
-         stateConsumer.applyState(getOrigin(), topologyId, stateChunks);
+         if (failedSegments != null) {
+            stateConsumer.onStateTransferFailed(getOrigin(), topologyId, failedSegments);
+         } else {
+            stateConsumer.applyState(getOrigin(), topologyId, stateChunks);
+         }
          return null;
       } finally {
          LogFactory.popNDC(trace);
@@ -91,6 +111,7 @@ public void writeTo(ObjectOutput output) throws IOException {
       output.writeObject(getOrigin());
       output.writeInt(topologyId);
       MarshallUtil.marshallCollection(stateChunks, output);
+      MarshallUtil.marshallCollection(failedSegments, output);
    }
 
    @Override
@@ -98,6 +119,7 @@ public void readFrom(ObjectInput input) throws IOException, ClassNotFoundExcepti
       setOrigin((Address) input.readObject());
       topologyId = input.readInt();
       stateChunks = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+      failedSegments = MarshallUtil.unmarshallCollection(input, HashSet::new);
    }
 
    @Override
@@ -105,6 +127,7 @@ public String toString() {
       return "StateResponseCommand{" +
             "cache=" + cacheName +
             ", stateChunks=" + stateChunks +
+            ", failedSegments=" + failedSegments +
             ", origin=" + getOrigin() +
             ", topologyId=" + topologyId +
             '}';
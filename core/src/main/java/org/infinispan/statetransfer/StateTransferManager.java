@@ -6,6 +6,8 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.topology.CacheTopology;
@@ -70,4 +72,16 @@ public interface StateTransferManager {
 
    @ManagedAttribute(description = "Retrieves the rebalancing status for this cache. Possible values are PENDING, SUSPENDED, IN_PROGRESS, BALANCED", displayName = "Rebalancing progress", dataType = DataType.TRAIT)
    String getRebalancingStatus() throws Exception;
+
+   @ManagedAttribute(description = "Number of cache entries received through state transfer since the current or last rebalance started", displayName = "Received state entries", measurementType = MeasurementType.TRENDSUP)
+   long getReceivedStateEntries();
+
+   @ManagedAttribute(description = "Number of segments whose inbound state transfer is still in progress", displayName = "Segments in transfer")
+   int getSegmentsInTransfer();
+
+   @ManagedAttribute(description = "Number of cache entries received through state transfer per second, since the current or last rebalance started", displayName = "State transfer throughput")
+   double getStateTransferThroughput();
+
+   @ManagedOperation(description = "Shows the entries received, the elapsed time and the throughput of the inbound transfer of each segment", displayName = "Show segment transfer progress")
+   String showSegmentTransferProgress();
 }
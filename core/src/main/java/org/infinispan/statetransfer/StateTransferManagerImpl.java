@@ -34,6 +34,7 @@
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -240,6 +241,48 @@ public String getRebalancingStatus() throws Exception {
       return localTopologyManager.getRebalancingStatus(cacheName).toString();
    }
 
+   @Override
+   public long getReceivedStateEntries() {
+      long entries = 0;
+      for (SegmentTransferProgress progress : stateConsumer.getSegmentTransferProgress().values()) {
+         entries += progress.getReceivedEntries();
+      }
+      return entries;
+   }
+
+   @Override
+   public int getSegmentsInTransfer() {
+      int segments = 0;
+      for (SegmentTransferProgress progress : stateConsumer.getSegmentTransferProgress().values()) {
+         if (!progress.isComplete())
+            segments++;
+      }
+      return segments;
+   }
+
+   @Override
+   public double getStateTransferThroughput() {
+      // The segments are transferred concurrently, so the elapsed time is the longest of them
+      long entries = 0;
+      long elapsed = 0;
+      for (SegmentTransferProgress progress : stateConsumer.getSegmentTransferProgress().values()) {
+         entries += progress.getReceivedEntries();
+         elapsed = Math.max(elapsed, progress.getElapsedTime());
+      }
+      return elapsed == 0 ? 0 : entries * 1000.0 / elapsed;
+   }
+
+   @Override
+   public String showSegmentTransferProgress() {
+      StringBuilder sb = new StringBuilder();
+      for (SegmentTransferProgress progress : new TreeMap<>(stateConsumer.getSegmentTransferProgress()).values()) {
+         sb.append(String.format("Segment %d from %s: %d entries in %d chunks, %d ms, %.1f entries/s%s%n",
+               progress.getSegmentId(), progress.getSource(), progress.getReceivedEntries(), progress.getReceivedChunks(),
+               progress.getElapsedTime(), progress.getThroughput(), progress.isComplete() ? ", complete" : ""));
+      }
+      return sb.toString();
+   }
+
    @Override
    public boolean isStateTransferInProgress() {
       return stateConsumer.isStateTransferInProgress();
@@ -0,0 +1,36 @@
+package org.infinispan.stream;
+
+/**
+ * Receives the elements of a {@link org.infinispan.CacheStream} as they are published, only after requesting them
+ * through the {@link StreamSubscription} it is given.
+ * <p>
+ * The methods of a subscriber are never invoked concurrently. {@link #onComplete()} or {@link #onError(Throwable)}
+ * is invoked at most once, and no other method is invoked afterwards.
+ *
+ * @param <T> The type of the elements
+ * @since 8.2
+ */
+public interface StreamSubscriber<T> {
+   /**
+    * Invoked when the subscriber is subscribed to a stream, before any other method.
+    * @param subscription the subscription used to request elements or to cancel
+    */
+   void onSubscribe(StreamSubscription subscription);
+
+   /**
+    * Invoked for each requested element.
+    * @param element the next element of the stream
+    */
+   void onNext(T element);
+
+   /**
+    * Invoked when the stream failed. No more elements are published after this.
+    * @param t the cause of the failure
+    */
+   void onError(Throwable t);
+
+   /**
+    * Invoked after the last element of the stream was published.
+    */
+   void onComplete();
+}
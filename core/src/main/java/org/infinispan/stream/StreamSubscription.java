@@ -0,0 +1,21 @@
+package org.infinispan.stream;
+
+/**
+ * Controls the flow of elements from a {@link org.infinispan.CacheStream} to a {@link StreamSubscriber}.
+ *
+ * @since 8.2
+ */
+public interface StreamSubscription {
+   /**
+    * Requests more elements. The elements are published on the thread invoking this method, and it returns after
+    * publishing all of them or after the stream is exhausted. Elements requested while already publishing are added
+    * to the outstanding demand.
+    * @param n the number of additional elements to publish, must be positive
+    */
+   void request(long n);
+
+   /**
+    * Stops publishing elements and releases the resources held by the stream, including any pending remote requests.
+    */
+   void cancel();
+}
@@ -1,6 +1,7 @@
 package org.infinispan.stream.impl;
 
 import org.infinispan.CacheStream;
+import org.infinispan.stream.StreamSubscriber;
 
 import java.util.Comparator;
 import java.util.Iterator;
@@ -123,6 +124,11 @@ public Iterator<R> iterator() {
       return castStream(underlyingStream).iterator();
    }
 
+   @Override
+   public void subscribe(StreamSubscriber<? super R> subscriber) {
+      castStream(underlyingStream).subscribe(subscriber);
+   }
+
    @Override
    public Spliterator<R> spliterator() {
       return castStream(underlyingStream).spliterator();
@@ -12,6 +12,7 @@
 import org.infinispan.distribution.ch.impl.ReplicatedConsistentHash;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.stream.StreamSubscriber;
 import org.infinispan.stream.impl.intops.object.*;
 import org.infinispan.stream.impl.termop.SingleRunOperation;
 import org.infinispan.stream.impl.termop.object.ForEachOperation;
@@ -416,6 +417,15 @@ public Iterator<R> iterator() {
       }
    }
 
+   @Override
+   public void subscribe(StreamSubscriber<? super R> subscriber) {
+      // Unlike a plain iterator, ask all the nodes at once so that every node already has a batch in flight
+      if (parallelDistribution == null) {
+         parallelDistribution = true;
+      }
+      CacheStream.super.subscribe(subscriber);
+   }
+
    Iterator<R> remoteIterator() {
       BlockingQueue<R> queue = new ArrayBlockingQueue<>(distributedBatchSize);
 
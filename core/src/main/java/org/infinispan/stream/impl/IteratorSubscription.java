@@ -0,0 +1,110 @@
+package org.infinispan.stream.impl;
+
+import org.infinispan.stream.StreamSubscriber;
+import org.infinispan.stream.StreamSubscription;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscription which pulls elements from an iterator only as the subscriber requests them. When the iterator is
+ * backed by remote nodes, its bounded buffer stops them from sending more batches until the subscriber requests more
+ * elements.
+ *
+ * @since 8.2
+ */
+public class IteratorSubscription<T> implements StreamSubscription {
+   private final Iterator<? extends T> iterator;
+   private final StreamSubscriber<? super T> subscriber;
+   private final Runnable onTerminate;
+
+   private final AtomicLong requested = new AtomicLong();
+   private final AtomicInteger workInProgress = new AtomicInteger();
+   private final AtomicBoolean terminated = new AtomicBoolean();
+
+   /**
+    * @param iterator the elements to publish
+    * @param subscriber the subscriber receiving the elements
+    * @param onTerminate invoked once, when the iterator is exhausted or failed or when the subscription is cancelled
+    */
+   public IteratorSubscription(Iterator<? extends T> iterator, StreamSubscriber<? super T> subscriber,
+                               Runnable onTerminate) {
+      this.iterator = iterator;
+      this.subscriber = subscriber;
+      this.onTerminate = onTerminate;
+   }
+
+   @Override
+   public void request(long n) {
+      if (n <= 0) {
+         if (terminate()) {
+            subscriber.onError(new IllegalArgumentException("Number of requested elements must be positive: " + n));
+         }
+         return;
+      }
+      long current;
+      long updated;
+      do {
+         current = requested.get();
+         updated = current + n;
+         if (updated < 0) {
+            // Overflow, treat as unbounded demand
+            updated = Long.MAX_VALUE;
+         }
+      } while (!requested.compareAndSet(current, updated));
+      drain();
+   }
+
+   @Override
+   public void cancel() {
+      terminate();
+   }
+
+   private boolean terminate() {
+      if (terminated.compareAndSet(false, true)) {
+         onTerminate.run();
+         return true;
+      }
+      return false;
+   }
+
+   private void drain() {
+      // Only one thread publishes at a time, a request from another thread or from onNext just adds to the demand
+      if (workInProgress.getAndIncrement() != 0) {
+         return;
+      }
+      int missed = 1;
+      do {
+         long demand = requested.get();
+         long published = 0;
+         while (published != demand) {
+            if (terminated.get()) {
+               return;
+            }
+            T next;
+            try {
+               if (!iterator.hasNext()) {
+                  if (terminate()) {
+                     subscriber.onComplete();
+                  }
+                  return;
+               }
+               next = iterator.next();
+            } catch (Throwable t) {
+               if (terminate()) {
+                  subscriber.onError(t);
+               }
+               return;
+            }
+            subscriber.onNext(next);
+            published++;
+         }
+         if (demand != Long.MAX_VALUE) {
+            requested.addAndGet(-published);
+         }
+         missed = workInProgress.addAndGet(-missed);
+      } while (missed != 0);
+   }
+}
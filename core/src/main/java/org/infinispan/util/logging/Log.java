@@ -1408,4 +1408,8 @@ TimeoutException timeoutWaitingForView(int expectedViewId, int currentViewId,
 
    @Message(value = "The configured entity class %s is not indexable. Please remove it from the indexing configuration.", id = 404)
    CacheConfigurationException classNotIndexable(String className);
+
+   @LogMessage(level = ERROR)
+   @Message(value = "Error compacting the file of the single file store %s", id = 405)
+   void errorCompactingFileStore(String path, @Cause Throwable cause);
 }
@@ -0,0 +1,100 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "container.offheap.OffHeapDataContainerFunctionalTest")
+public class OffHeapDataContainerFunctionalTest extends SingleCacheManagerTest {
+
+   private static final int MAX_ENTRIES = 100;
+   private static final int MAX_MEMORY = 16 * 1024;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.dataContainer().offHeap(true).addressCount(16);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      ConfigurationBuilder bounded = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      bounded.dataContainer().offHeap(true).addressCount(16);
+      bounded.eviction().strategy(EvictionStrategy.LRU).type(EvictionType.COUNT).size(MAX_ENTRIES);
+      cm.defineConfiguration("bounded", bounded.build());
+      ConfigurationBuilder memory = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      memory.dataContainer().offHeap(true).addressCount(16);
+      // No strategy, so the default LIRS is used
+      memory.eviction().type(EvictionType.MEMORY).size(MAX_MEMORY);
+      cm.defineConfiguration("memory", memory.build());
+      cache = cm.getCache();
+      return cm;
+   }
+
+   public void testContainerType() {
+      DataContainer container = cache.getAdvancedCache().getDataContainer();
+      assertEquals(OffHeapDataContainer.class, container.getClass());
+      assertEquals(BoundedOffHeapDataContainer.class,
+            cacheManager.getCache("bounded").getAdvancedCache().getDataContainer().getClass());
+   }
+
+   public void testPutGetRemove() {
+      Map<String, String> expected = new HashMap<>();
+      for (int i = 0; i < 200; i++) {
+         cache.put("k" + i, "v" + i);
+         expected.put("k" + i, "v" + i);
+      }
+      cache.put("k0", "replaced");
+      expected.put("k0", "replaced");
+      assertEquals(expected.size(), cache.size());
+      for (Map.Entry<String, String> entry : expected.entrySet()) {
+         assertEquals(entry.getValue(), cache.get(entry.getKey()));
+      }
+
+      assertEquals("replaced", cache.remove("k0"));
+      assertNull(cache.get("k0"));
+      assertEquals(expected.size() - 1, cache.size());
+
+      int iterated = 0;
+      for (InternalCacheEntry<Object, Object> ice : cache.getAdvancedCache().getDataContainer()) {
+         assertEquals(expected.get(ice.getKey()), ice.getValue());
+         iterated++;
+      }
+      assertEquals(expected.size() - 1, iterated);
+
+      cache.clear();
+      assertEquals(0, cache.size());
+      assertEquals(0, ((OffHeapDataContainer) cache.getAdvancedCache().getDataContainer()).getAllocatedAmount());
+   }
+
+   public void testCountEviction() {
+      for (int i = 0; i < MAX_ENTRIES * 3; i++) {
+         cacheManager.getCache("bounded").put(i, "value" + i);
+      }
+      DataContainer container = cacheManager.getCache("bounded").getAdvancedCache().getDataContainer();
+      assertEquals(MAX_ENTRIES, container.size());
+      // The most recently written entries must have been kept
+      assertTrue(container.containsKey(MAX_ENTRIES * 3 - 1));
+   }
+
+   public void testMemoryEvictionWithDefaultStrategy() {
+      assertEquals(EvictionStrategy.LRU, cacheManager.getCacheConfiguration("memory").eviction().strategy());
+      for (int i = 0; i < MAX_ENTRIES * 3; i++) {
+         cacheManager.getCache("memory").put(i, "value" + i);
+      }
+      BoundedOffHeapDataContainer container = (BoundedOffHeapDataContainer) cacheManager.getCache("memory")
+            .getAdvancedCache().getDataContainer();
+      assertTrue(container.getAllocatedAmount() <= MAX_MEMORY);
+      assertTrue(container.containsKey(MAX_ENTRIES * 3 - 1));
+   }
+}
@@ -0,0 +1,62 @@
+package org.infinispan.distribution;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.notifications.cachelistener.event.CacheEntryVisitedEvent;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+/**
+ * Tests asynchronous gets of keys owned by other nodes, which fetch the value before invoking the get command.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "distribution.AsyncRemoteGetTest")
+public class AsyncRemoteGetTest extends MultipleCacheManagersTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(1).l1().disable();
+      createClusteredCaches(2, builder);
+   }
+
+   public void testGetAsyncRemoteKey() throws Exception {
+      Cache<Object, Object> c0 = cache(0);
+      Object key = getKeyForCache(1);
+      cache(1).put(key, "v");
+
+      VisitedListener listener = new VisitedListener();
+      c0.addListener(listener);
+      assertEquals("v", c0.getAsync(key).get(10, TimeUnit.SECONDS));
+      assertEquals(2, listener.visited.get());
+      assertNull(c0.getAdvancedCache().getDataContainer().get(key));
+   }
+
+   public void testGetAsyncMissingRemoteKey() throws Exception {
+      Cache<Object, Object> c0 = cache(0);
+      Object key = getKeyForCache(1);
+      assertNull(c0.getAsync(key).get(10, TimeUnit.SECONDS));
+      assertNull(c0.getAdvancedCache().withFlags(Flag.SKIP_CACHE_LOAD).getAsync(key).get(10, TimeUnit.SECONDS));
+   }
+
+   @Listener
+   public static class VisitedListener {
+      final AtomicInteger visited = new AtomicInteger();
+
+      @CacheEntryVisited
+      public void entryVisited(CacheEntryVisitedEvent event) {
+         visited.incrementAndGet();
+      }
+   }
+}
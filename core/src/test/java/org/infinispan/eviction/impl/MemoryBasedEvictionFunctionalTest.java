@@ -4,6 +4,7 @@
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.CustomClass;
 import org.infinispan.test.SingleCacheManagerTest;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
 import org.testng.annotations.Test;
@@ -249,6 +250,31 @@ public void testStringArray() throws Exception {
       assertTrue(cache.getAdvancedCache().getDataContainer().size() < numberInserted);
    }
 
+   public void testCustomObject() throws Exception {
+      long numberInserted = CACHE_SIZE / 10;
+      Random random = new Random();
+      // Objects other than primitives, strings and arrays are measured by walking their fields
+      for (long i = 0; i < numberInserted; i++) {
+         cache.put(i, new CustomClass(randomStringFullOfInt(random, 10)));
+      }
+      assertTrue(cache.getAdvancedCache().getDataContainer().size() < numberInserted);
+   }
+
+   public void testMemoryFootprint() throws Exception {
+      int stringLength = 10;
+      long numberInserted = CACHE_SIZE / stringLength;
+      Random random = new Random();
+      // All the entries have the same size, so the estimated size of the cache doesn't depend on which were evicted
+      for (long i = 0; i < numberInserted; i++) {
+         cache.put("k" + i, randomStringFullOfInt(random, stringLength));
+      }
+      long footprint = cache.getAdvancedCache().getDataContainer().memoryFootprint();
+      assertTrue(footprint > 0);
+      assertTrue(footprint <= CACHE_SIZE);
+      cache.clear();
+      assertTrue(cache.getAdvancedCache().getDataContainer().memoryFootprint() < footprint);
+   }
+
    protected String randomStringFullOfInt(Random random, int digits) {
       return random.ints(digits, 0, 10).collect(StringBuilder::new, StringBuilder::append,
               StringBuilder::append).toString();
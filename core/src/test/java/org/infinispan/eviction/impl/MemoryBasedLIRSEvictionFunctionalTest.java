@@ -0,0 +1,20 @@
+package org.infinispan.eviction.impl;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.eviction.EvictionStrategy;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the memory based eviction tests with the LIRS strategy.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "eviction.MemoryBasedLIRSEvictionFunctionalTest")
+public class MemoryBasedLIRSEvictionFunctionalTest extends MemoryBasedEvictionFunctionalTest {
+
+   @Override
+   protected void configure(ConfigurationBuilder cb) {
+      super.configure(cb);
+      cb.eviction().strategy(EvictionStrategy.LIRS);
+   }
+}
@@ -0,0 +1,12 @@
+package org.infinispan.expiration.impl;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "expiration.impl.ExpirationOffHeapFunctionalTest")
+public class ExpirationOffHeapFunctionalTest extends ExpirationFunctionalTest {
+   @Override
+   protected void configure(ConfigurationBuilder config) {
+      config.dataContainer().offHeap(true).addressCount(1024);
+   }
+}
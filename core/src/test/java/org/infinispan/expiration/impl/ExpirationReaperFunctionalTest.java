@@ -0,0 +1,113 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.infinispan.util.TimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the expiration reaper uses the expiration index of the data container, only removing the entries due
+ * to expire and rescheduling the transient entries accessed since they were indexed.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "expiration.impl.ExpirationReaperFunctionalTest")
+public class ExpirationReaperFunctionalTest extends SingleCacheManagerTest {
+
+   private static final int SIZE = 10;
+   private final ControlledTimeService timeService = new ControlledTimeService(0);
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.jmxStatistics().enable();
+      // The reaper is run explicitly by the tests
+      builder.expiration().disableReaper();
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      return cm;
+   }
+
+   public void testReaperOnlyRemovesDueEntries() {
+      for (int i = 0; i < SIZE; i++) {
+         cache.put("short-" + i, "value", 10, TimeUnit.SECONDS);
+         cache.put("long-" + i, "value", 1, TimeUnit.HOURS);
+         cache.put("immortal-" + i, "value");
+      }
+      DataContainer<Object, Object> dataContainer = cache.getAdvancedCache().getDataContainer();
+      ExpirationManagerImpl<Object, Object> expirationManager = expirationManager();
+      assertEquals(0, expirationManager.getExpirationBacklog());
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(11));
+      assertEquals(SIZE, expirationManager.getExpirationBacklog());
+
+      expirationManager.processExpiration();
+      assertEquals(2 * SIZE, dataContainer.sizeIncludingExpired());
+      assertEquals(0, expirationManager.getExpirationBacklog());
+      assertEquals(1, expirationManager.getReaperRuns());
+      assertEquals(SIZE, expirationManager.getReaperExpirations());
+
+      timeService.advance(TimeUnit.HOURS.toMillis(1));
+      expirationManager.processExpiration();
+      assertEquals(SIZE, dataContainer.sizeIncludingExpired());
+      for (int i = 0; i < SIZE; i++) {
+         assertNotNull(dataContainer.peek("immortal-" + i));
+      }
+   }
+
+   public void testAccessedTransientEntryIsRescheduled() {
+      cache.put("k", "v", -1, TimeUnit.SECONDS, 10, TimeUnit.SECONDS);
+      DataContainer<Object, Object> dataContainer = cache.getAdvancedCache().getDataContainer();
+      ExpirationManagerImpl<Object, Object> expirationManager = expirationManager();
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(6));
+      assertEquals("v", cache.get("k"));
+
+      // Past the expiration time the entry was indexed with, but not the one of its last access
+      timeService.advance(TimeUnit.SECONDS.toMillis(6));
+      expirationManager.processExpiration();
+      assertEquals(1, dataContainer.sizeIncludingExpired());
+      assertEquals(0, expirationManager.getReaperExpirations());
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(5));
+      expirationManager.processExpiration();
+      assertEquals(0, dataContainer.sizeIncludingExpired());
+      assertEquals(1, expirationManager.getReaperExpirations());
+   }
+
+   public void testOverwrittenEntryIsNotReaped() {
+      cache.put("k", "v", 10, TimeUnit.SECONDS);
+      cache.put("k", "v2");
+      cache.put("k2", "v", 10, TimeUnit.SECONDS);
+      cache.put("k2", "v2", 1, TimeUnit.HOURS);
+      DataContainer<Object, Object> dataContainer = cache.getAdvancedCache().getDataContainer();
+      ExpirationManagerImpl<Object, Object> expirationManager = expirationManager();
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(11));
+      assertEquals(0, expirationManager.getExpirationBacklog());
+      expirationManager.processExpiration();
+      assertEquals(2, dataContainer.sizeIncludingExpired());
+      assertEquals("v2", cache.get("k"));
+      assertEquals("v2", cache.get("k2"));
+   }
+
+   @SuppressWarnings("unchecked")
+   private ExpirationManagerImpl<Object, Object> expirationManager() {
+      ExpirationManagerImpl<Object, Object> expirationManager =
+            (ExpirationManagerImpl<Object, Object>) TestingUtil.extractComponent(cache, ExpirationManager.class);
+      expirationManager.resetStatistics();
+      return expirationManager;
+   }
+}
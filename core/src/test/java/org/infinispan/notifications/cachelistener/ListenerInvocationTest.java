@@ -0,0 +1,144 @@
+package org.infinispan.notifications.cachelistener;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.CacheListenerException;
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.impl.NonTxInvocationContext;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.interceptors.locking.ClusteringDependentLogic;
+import org.infinispan.lifecycle.ComponentStatus;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEventManager;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.testng.AssertJUnit.*;
+
+/**
+ * Tests the invocation of listener methods, through both generated invokers and reflection, and that no event is
+ * created for notifications that no listener observes.
+ *
+ * @since 8.2
+ */
+@Test(groups = "unit", testName = "notifications.cachelistener.ListenerInvocationTest")
+public class ListenerInvocationTest extends AbstractInfinispanTest {
+   CacheNotifierImpl n;
+   ClusteringDependentLogic clusteringDependentLogic;
+   InvocationContext ctx;
+
+   @BeforeMethod
+   public void setUp() {
+      n = new CacheNotifierImpl();
+      Cache mockCache = mock(Cache.class, RETURNS_DEEP_STUBS);
+      Configuration config = mock(Configuration.class, RETURNS_DEEP_STUBS);
+      when(mockCache.getAdvancedCache().getStatus()).thenReturn(ComponentStatus.INITIALIZING);
+      when(mockCache.getAdvancedCache().getComponentRegistry().getComponent(any(Class.class)))
+            .then(i -> Mockito.mock((Class) i.getArguments()[0]));
+      when(mockCache.getAdvancedCache().getComponentRegistry().getComponent(any(Class.class), anyString()))
+            .then(i -> Mockito.mock((Class) i.getArguments()[0]));
+      clusteringDependentLogic = spy(new ClusteringDependentLogic.LocalLogic());
+      n.injectDependencies(mockCache, clusteringDependentLogic, null, config,
+                           mock(DistributionManager.class), mock(InternalEntryFactory.class),
+                           mock(ClusterEventManager.class));
+      n.start();
+      ctx = new NonTxInvocationContext(null, AnyEquivalence.getInstance());
+   }
+
+   public void testPublicListener() {
+      PublicListener listener = new PublicListener();
+      n.addListener(listener);
+      n.notifyCacheEntryCreated("k", "v", null, true, ctx, null);
+      n.notifyCacheEntryCreated("k", "v", null, false, ctx, null);
+      assertEquals(2, listener.events.size());
+      assertTrue(listener.events.get(0).isPre());
+      assertFalse(listener.events.get(1).isPre());
+   }
+
+   public void testNonPublicListener() {
+      PrivateListener listener = new PrivateListener();
+      n.addListener(listener);
+      n.notifyCacheEntryCreated("k", "v", null, false, ctx, null);
+      assertEquals(1, listener.events.size());
+      assertEquals("k", listener.events.get(0).getKey());
+   }
+
+   public void testListenerException() {
+      n.addListener(new FailingListener());
+      try {
+         n.notifyCacheEntryCreated("k", "v", null, false, ctx, null);
+         fail("Should have failed");
+      } catch (CacheListenerException e) {
+         assertTrue(e.getCause() instanceof IllegalStateException);
+      }
+   }
+
+   public void testUnobservedPhaseDoesNotCreateEvent() {
+      PostListener listener = new PostListener();
+      n.addListener(listener);
+      assertFalse(n.cacheEntryModifiedListeners.observes(true));
+      assertTrue(n.cacheEntryModifiedListeners.observes(false));
+
+      n.notifyCacheEntryModified("k", "v2", null, "v1", null, true, ctx, null);
+      verify(clusteringDependentLogic, never()).localNodeIsPrimaryOwner(any());
+      assertEquals(0, listener.events.size());
+
+      n.notifyCacheEntryModified("k", "v2", null, "v1", null, false, ctx, null);
+      verify(clusteringDependentLogic).localNodeIsPrimaryOwner("k");
+      assertEquals(1, listener.events.size());
+
+      n.removeListener(listener);
+      assertFalse(n.cacheEntryModifiedListeners.observes(false));
+   }
+
+   @Listener
+   public static class PublicListener {
+      final List<CacheEntryEvent> events = new ArrayList<>();
+
+      @CacheEntryCreated
+      public void entryCreated(CacheEntryEvent event) {
+         events.add(event);
+      }
+   }
+
+   @Listener
+   private static class PrivateListener {
+      final List<CacheEntryEvent> events = new ArrayList<>();
+
+      @CacheEntryCreated
+      public void entryCreated(CacheEntryEvent event) {
+         events.add(event);
+      }
+   }
+
+   @Listener
+   public static class FailingListener {
+      @CacheEntryCreated
+      public void entryCreated(CacheEntryEvent event) {
+         throw new IllegalStateException("Simulated failure");
+      }
+   }
+
+   @Listener(observation = Listener.Observation.POST)
+   public static class PostListener {
+      final List<CacheEntryEvent> events = new ArrayList<>();
+
+      @CacheEntryModified
+      public void entryModified(CacheEntryEvent event) {
+         events.add(event);
+      }
+   }
+}
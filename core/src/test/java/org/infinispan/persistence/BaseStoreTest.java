@@ -5,10 +5,13 @@
 import static org.testng.AssertJUnit.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.infinispan.filter.CollectionKeyFilter;
@@ -406,6 +409,48 @@ public void testStoreAndRemove() throws PersistenceException {
       assertEquals("k4", set.iterator().next().getKey());
    }
 
+   public void testWriteAndDeleteBatch() throws PersistenceException {
+      assertIsEmpty();
+
+      cl.write(marshalledEntry("k1", "old", null));
+      List<MarshalledEntry<?, ?>> batch = new ArrayList<>();
+      for (int i = 1; i <= 10; i++) {
+         batch.add(marshalledEntry("k" + i, "v" + i, null));
+      }
+      cl.writeBatch(batch);
+
+      for (int i = 1; i <= 10; i++) {
+         assertEquals("v" + i, unwrap(cl.load("k" + i).getValue()));
+      }
+
+      cl.deleteBatch(Arrays.<Object>asList("k1", "k2", "k3", "k11"));
+
+      Set<MarshalledEntry> set = TestingUtil.allEntries(cl);
+      assertSize(set, 7);
+      for (int i = 1; i <= 10; i++) {
+         assertContains("k" + i, i > 3);
+      }
+   }
+
+   public void testLoadAllKeys() throws PersistenceException {
+      assertIsEmpty();
+
+      Set<Object> keys = new HashSet<>();
+      for (int i = 1; i <= 10; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+         keys.add("k" + i);
+      }
+      keys.add("k11");
+
+      Map<Object, MarshalledEntry<Object, Object>> entries = cl.loadAll(keys);
+      assertEquals(10, entries.size());
+      for (int i = 1; i <= 10; i++) {
+         assertEquals("v" + i, unwrap(entries.get("k" + i).getValue()));
+      }
+      assertFalse(entries.containsKey("k11"));
+      assertTrue(cl.loadAll(Collections.emptySet()).isEmpty());
+   }
+
    public void testPurgeExpired() throws Exception {
       assertIsEmpty();
       // Increased lifespan and idle timeouts to accommodate slower cache stores
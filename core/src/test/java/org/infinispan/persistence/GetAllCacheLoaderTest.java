@@ -0,0 +1,93 @@
+package org.infinispan.persistence;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+
+/**
+ * Tests that {@code getAll} loads the entries missing from memory with a single bulk load from the store.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "persistence.GetAllCacheLoaderTest")
+public class GetAllCacheLoaderTest extends SingleCacheManagerTest {
+
+   private static final int NUM_KEYS = 200;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   public void testGetAllLoadsInBulk() {
+      Set<Object> keys = new HashSet<>();
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache.put("k" + i, "v" + i);
+         keys.add("k" + i);
+      }
+      cache.getAdvancedCache().getDataContainer().clear();
+      keys.add("missing");
+
+      DummyInMemoryStore store = (DummyInMemoryStore) TestingUtil.getFirstLoader(cache);
+      store.clearStats();
+      Map<Object, Object> values = cache.getAdvancedCache().getAll(keys);
+
+      assertEquals(NUM_KEYS, values.size());
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, values.get("k" + i));
+      }
+      assertFalse(values.containsKey("missing"));
+      assertEquals(1, store.stats().get("loadAll").intValue());
+      assertEquals(0, store.stats().get("load").intValue());
+      assertEquals(NUM_KEYS, cache.getAdvancedCache().getDataContainer().size());
+   }
+
+   public void testRemoveDuringBulkLoad() throws Exception {
+      cache.put("k1", "v1");
+      cache.put("k2", "v2");
+      cache.getAdvancedCache().getDataContainer().clear();
+
+      PersistenceManager persistenceManager = TestingUtil.extractComponent(cache, PersistenceManager.class);
+      PersistenceManager spy = spy(persistenceManager);
+      doAnswer(invocation -> {
+         Object loaded = invocation.callRealMethod();
+         // remove an entry after it has been loaded, but before it is stored in the data container
+         fork(() -> cache.remove("k1")).get(10, TimeUnit.SECONDS);
+         return loaded;
+      }).when(spy).loadAllFromStores(anySet(), any(InvocationContext.class));
+      TestingUtil.replaceComponent(cache, PersistenceManager.class, spy, true);
+      try {
+         Map<Object, Object> values = cache.getAdvancedCache().getAll(new HashSet<>(Arrays.asList("k1", "k2")));
+
+         assertEquals(1, values.size());
+         assertEquals("v2", values.get("k2"));
+         assertNull(cache.getAdvancedCache().getDataContainer().peek("k1"));
+         assertNull(cache.get("k1"));
+      } finally {
+         TestingUtil.replaceComponent(cache, PersistenceManager.class, persistenceManager, true);
+      }
+   }
+}
@@ -0,0 +1,71 @@
+package org.infinispan.persistence;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PersistenceManagerImpl;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+/**
+ * Tests that preloading with several worker threads loads every entry, both when the entries are inserted directly
+ * in the data container and when they go through the interceptor chain.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "persistence.ParallelPreloadTest")
+public class ParallelPreloadTest extends SingleCacheManagerTest {
+
+   private static final int NUM_ENTRIES = 5000;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(false);
+      cm.defineConfiguration("direct", preloadConfiguration("direct").build());
+      ConfigurationBuilder binary = preloadConfiguration("binary");
+      // Values stored as binary must be wrapped by the interceptor chain
+      binary.storeAsBinary().enable();
+      cm.defineConfiguration("binary", binary.build());
+      return cm;
+   }
+
+   private ConfigurationBuilder preloadConfiguration(String storeName) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence()
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+            .preload(true)
+            .storeName(getClass().getName() + "-" + storeName);
+      return builder;
+   }
+
+   public void testPreloadToDataContainer() {
+      doTest(cacheManager.getCache("direct"));
+   }
+
+   public void testPreloadThroughInterceptors() {
+      doTest(cacheManager.getCache("binary"));
+   }
+
+   private void doTest(Cache<Object, Object> cache) {
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      cache.stop();
+      cache.start();
+
+      PersistenceManagerImpl pm = (PersistenceManagerImpl) TestingUtil.extractComponent(cache, PersistenceManager.class);
+      assertFalse(pm.isPreloadInProgress());
+      assertEquals(NUM_ENTRIES, pm.getPreloadedEntries());
+      assertEquals(NUM_ENTRIES, cache.getAdvancedCache().getDataContainer().size());
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+   }
+}
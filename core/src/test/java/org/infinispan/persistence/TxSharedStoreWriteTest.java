@@ -0,0 +1,71 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Set;
+
+import javax.transaction.TransactionManager;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the modifications of a transaction, which are written to the stores in batches, reach the shared and
+ * the private stores as if they were applied one at a time.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "persistence.TxSharedStoreWriteTest")
+public class TxSharedStoreWriteTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(true);
+      cfg.persistence()
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .storeName(TxSharedStoreWriteTest.class.getName() + "-shared").shared(true)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .storeName(TxSharedStoreWriteTest.class.getName() + "-private");
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   public void testDeleteThenSkipSharedStorePut() throws Exception {
+      cache.put("k", "v1");
+      Set<DummyInMemoryStore> stores = TestingUtil.extractComponent(cache, PersistenceManager.class)
+            .getStores(DummyInMemoryStore.class);
+      assertEquals(2, stores.size());
+      for (DummyInMemoryStore store : stores) {
+         assertTrue(store.contains("k"));
+      }
+
+      TransactionManager tm = TestingUtil.getTransactionManager(cache);
+      tm.begin();
+      cache.remove("k");
+      cache.getAdvancedCache().withFlags(Flag.SKIP_SHARED_CACHE_STORE).put("k", "v2");
+      tm.commit();
+
+      // the shared store must not keep the value removed by the transaction
+      DummyInMemoryStore storeWithKey = null;
+      for (DummyInMemoryStore store : stores) {
+         if (store.contains("k")) {
+            assertFalse("The key should only be left in the private store", storeWithKey != null);
+            storeWithKey = store;
+         }
+      }
+      assertNotNull(storeWithKey);
+      MarshalledEntry entry = storeWithKey.load("k");
+      assertEquals("v2", entry.getValue());
+   }
+}
@@ -146,6 +146,21 @@ public void purge(Executor executor, ExpirationPurgeListener listener) {
    @Override
    public MarshalledEntry load(Object key) {
       record("load");
+      return loadEntry(key);
+   }
+
+   @Override
+   public Map loadAll(Set keys) {
+      record("loadAll");
+      Map<Object, MarshalledEntry> entries = new HashMap<>();
+      for (Object key : keys) {
+         MarshalledEntry me = loadEntry(key);
+         if (me != null) entries.put(key, me);
+      }
+      return entries;
+   }
+
+   private MarshalledEntry loadEntry(Object key) {
       if (key == null) return null;
       MarshalledEntry me = deserialize(key, store.get(key), true, true);
       if (me == null) return null;
@@ -0,0 +1,120 @@
+package org.infinispan.persistence.file;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Low level single-file cache store tests in append-only mode, with synced writes.
+ *
+ * @since 8.2
+ */
+@Test(groups = "unit", testName = "persistence.file.AppendOnlySingleFileStoreTest")
+public class AppendOnlySingleFileStoreTest extends SingleFileStoreTest {
+
+   private static final int NUM_ENTRIES = 100;
+
+   @Override
+   protected AdvancedLoadWriteStore createStore() throws Exception {
+      clearTempDir();
+      SingleFileStore store = new SingleFileStore();
+      ConfigurationBuilder configurationBuilder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      configurationBuilder
+            .persistence()
+               .addStore(SingleFileStoreConfigurationBuilder.class)
+                  .location(this.tmpDirectory)
+                  .appendOnly(true)
+                  .syncWrites(true);
+      store.init(createContext(configurationBuilder.build()));
+      return store;
+   }
+
+   public void testCompaction() throws Exception {
+      SingleFileStore store = (SingleFileStore) cl;
+      char[] chars = new char[1024];
+      Arrays.fill(chars, 'a');
+      String value = new String(chars);
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cl.write(marshalledEntry("k" + i, "old-" + value, null));
+      }
+      long sizeBeforeOverwrite = store.getFileSize();
+
+      // Overwritten and removed entries are appended, and their space is only reclaimed by compaction
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         if (i % 2 == 0) {
+            cl.delete("k" + i);
+         } else {
+            cl.write(marshalledEntry("k" + i, value, null));
+         }
+      }
+      long sizeBeforeCompaction = store.getFileSize();
+      assertTrue(sizeBeforeCompaction > sizeBeforeOverwrite);
+      assertTrue(store.getGarbageSize() > 0);
+
+      store.compact();
+      assertTrue(store.getFileSize() < sizeBeforeOverwrite);
+      assertEquals(0, store.getGarbageSize());
+      assertCompactedEntries(value);
+
+      // The compacted file is read back like any other
+      cl.stop();
+      cl.start();
+      assertEquals(0, store.getGarbageSize());
+      assertCompactedEntries(value);
+   }
+
+   public void testLoadDuringCompaction() throws Exception {
+      SingleFileStore store = (SingleFileStore) cl;
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+      AtomicBoolean stop = new AtomicBoolean();
+      // Loads of both live and concurrently freed entries must not see the channel being replaced
+      Future<Void> reader = fork(() -> {
+         while (!stop.get()) {
+            for (int i = 0; i < NUM_ENTRIES; i++) {
+               if (i % 2 != 0) {
+                  assertEquals("v" + i, unwrap(cl.load("k" + i).getValue()));
+               } else {
+                  cl.load("k" + i);
+               }
+            }
+         }
+         return null;
+      });
+      try {
+         for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < NUM_ENTRIES; i += 2) {
+               cl.delete("k" + i);
+               cl.write(marshalledEntry("k" + i, "v" + i, null));
+            }
+            store.compact();
+         }
+      } finally {
+         stop.set(true);
+      }
+      reader.get(10, TimeUnit.SECONDS);
+   }
+
+   private void assertCompactedEntries(String value) {
+      assertEquals(NUM_ENTRIES / 2, cl.size());
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         if (i % 2 == 0) {
+            assertNull(cl.load("k" + i));
+         } else {
+            assertEquals(value, unwrap(cl.load("k" + i).getValue()));
+         }
+      }
+   }
+}
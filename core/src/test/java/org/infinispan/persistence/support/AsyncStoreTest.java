@@ -238,6 +238,54 @@ public void testRestrictionOnAddingToAsyncQueue() throws Exception {
       doTestRemove(number, key);
    }
 
+   @Test(timeOut=30000)
+   public void testCoalesceWindow() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      DummyInMemoryStoreConfigurationBuilder dummyCfg = builder
+            .persistence()
+               .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+                  .storeName(AsyncStoreTest.class.getName() + "-coalesce");
+      dummyCfg
+         .async()
+            .enable()
+            .coalesceWindow(5, TimeUnit.SECONDS);
+      BatchCountingStore underlying = new BatchCountingStore();
+      writer = new AdvancedAsyncCacheWriter(underlying);
+      loader = null;
+      InitializationContext ctx = PersistenceMockUtil.createContext(getClass().getSimpleName(), builder.build(), marshaller);
+      writer.init(ctx);
+      writer.start();
+      underlying.init(ctx);
+      underlying.start();
+
+      final int keys = 10;
+      for (int round = 0; round < 10; round++) {
+         for (int i = 0; i < keys; i++) {
+            writer.write(new MarshalledEntryImpl("k" + i, "v" + round, null, marshaller()));
+         }
+      }
+      for (int i = 0; i < keys / 2; i++) {
+         writer.delete("k" + i);
+      }
+
+      // Stopping doesn't wait for the window to elapse, but still writes all the modifications
+      writer.stop();
+      writer = null;
+
+      assertEquals(1, underlying.writeBatches);
+      assertEquals(1, underlying.deleteBatches);
+      assertEquals(keys / 2, underlying.size());
+      for (int i = 0; i < keys; i++) {
+         MarshalledEntry me = underlying.load("k" + i);
+         if (i < keys / 2) {
+            assertNull(me);
+         } else {
+            assertEquals("v9", me.getValue());
+         }
+      }
+   }
+
    private TestObjectStreamMarshaller marshaller() {
       return marshaller;
    }
@@ -444,6 +492,23 @@ private Modification findModificationForKey(Object key, List<Modification> mods)
 
    }
 
+   static class BatchCountingStore extends DummyInMemoryStore {
+      volatile int writeBatches;
+      volatile int deleteBatches;
+
+      @Override
+      public void writeBatch(Iterable entries) {
+         writeBatches++;
+         super.writeBatch(entries);
+      }
+
+      @Override
+      public void deleteBatch(Iterable keys) {
+         deleteBatches++;
+         super.deleteBatch(keys);
+      }
+   }
+
    private final static ThreadLocal<LockableStore> STORE = new ThreadLocal<LockableStore>();
 
    @BuiltBy(LockableStoreConfigurationBuilder.class)
@@ -0,0 +1,133 @@
+package org.infinispan.statetransfer;
+
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.CacheException;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.TestAddress;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.rpc.ResponseMode;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcOptions;
+import org.infinispan.remoting.rpc.RpcOptionsBuilder;
+import org.infinispan.remoting.transport.Address;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+/**
+ * Tests that an OutboundTransferTask which can't send its chunks never sends the last chunks, so that the
+ * destination doesn't consider the segments complete, and tells the destination to request them again.
+ *
+ * @since 8.2
+ */
+@Test(groups = "unit", testName = "statetransfer.OutboundTransferTaskTest")
+public class OutboundTransferTaskTest {
+
+   private static final TestAddress A = new TestAddress(0, "A");
+   private static final TestAddress B = new TestAddress(1, "B");
+
+   public void testCreditTimeoutAbortsTransfer() {
+      List<InternalCacheEntry> entries = new ArrayList<InternalCacheEntry>();
+      for (int i = 0; i < 10; i++) {
+         entries.add(new ImmortalCacheEntry("k" + i, "v" + i));
+      }
+      DataContainer dataContainer = mock(DataContainer.class);
+      when(dataContainer.iterator()).thenReturn(entries.iterator());
+      ConsistentHash readCh = mock(ConsistentHash.class);
+      when(readCh.getSegment(any())).thenReturn(0);
+
+      List<StateChunk> sentChunks = new ArrayList<StateChunk>();
+      CommandsFactory commandsFactory = mock(CommandsFactory.class);
+      when(commandsFactory.buildStateResponseCommand(any(Address.class), anyInt(), anyCollection())).thenAnswer(invocation -> {
+         sentChunks.addAll((Collection<StateChunk>) invocation.getArguments()[2]);
+         return mock(StateResponseCommand.class);
+      });
+      StateResponseCommand failedCommand = mock(StateResponseCommand.class);
+      when(commandsFactory.buildStateTransferFailedCommand(A, 1, Collections.singleton(0))).thenReturn(failedCommand);
+
+      // the destination never applies the chunks, so the credits never come back
+      RpcManager rpcManager = mock(RpcManager.class);
+      when(rpcManager.getAddress()).thenReturn(A);
+      when(rpcManager.getRpcOptionsBuilder(any(ResponseMode.class))).thenAnswer(invocation ->
+            new RpcOptionsBuilder(10000, TimeUnit.MILLISECONDS, (ResponseMode) invocation.getArguments()[0], false));
+      when(rpcManager.invokeRemotelyAsync(anyCollection(), any(ReplicableCommand.class), any(RpcOptions.class)))
+            .thenReturn(new CompletableFuture<Map<Address, Response>>());
+
+      OutboundTransferTask task = new OutboundTransferTask(B, Collections.singleton(0), 1, 2, 1, readCh,
+            mock(StateProviderImpl.class), dataContainer, mock(PersistenceManager.class), rpcManager, commandsFactory,
+            mock(InternalEntryFactory.class), 100, "testCache");
+      task.run();
+
+      // two chunks use up the credits, and the entries of the third one are kept instead of being dropped
+      assertEquals(2, sentChunks.size());
+      for (StateChunk chunk : sentChunks) {
+         assertFalse(chunk.isLastChunk());
+      }
+      // instead the destination is told to request the segment again
+      verify(rpcManager).invokeRemotely(eq(Collections.singleton(B)), same(failedCommand), any(RpcOptions.class));
+      verify(rpcManager, times(1)).invokeRemotely(anyCollection(), any(ReplicableCommand.class), any(RpcOptions.class));
+   }
+
+   public void testSendFailureAbortsTransfer() {
+      List<InternalCacheEntry> entries = new ArrayList<InternalCacheEntry>();
+      for (int i = 0; i < 10; i++) {
+         entries.add(new ImmortalCacheEntry("k" + i, "v" + i));
+      }
+      DataContainer dataContainer = mock(DataContainer.class);
+      when(dataContainer.iterator()).thenReturn(entries.iterator());
+      ConsistentHash readCh = mock(ConsistentHash.class);
+      when(readCh.getSegment(any())).thenReturn(0);
+
+      List<StateChunk> sentChunks = new ArrayList<StateChunk>();
+      StateResponseCommand chunkCommand = mock(StateResponseCommand.class);
+      CommandsFactory commandsFactory = mock(CommandsFactory.class);
+      when(commandsFactory.buildStateResponseCommand(any(Address.class), anyInt(), anyCollection())).thenAnswer(invocation -> {
+         sentChunks.addAll((Collection<StateChunk>) invocation.getArguments()[2]);
+         return chunkCommand;
+      });
+      StateResponseCommand failedCommand = mock(StateResponseCommand.class);
+      when(commandsFactory.buildStateTransferFailedCommand(A, 1, Collections.singleton(0))).thenReturn(failedCommand);
+
+      // the first chunk can't be sent
+      RpcManager rpcManager = mock(RpcManager.class);
+      when(rpcManager.getAddress()).thenReturn(A);
+      when(rpcManager.getRpcOptionsBuilder(any(ResponseMode.class))).thenAnswer(invocation ->
+            new RpcOptionsBuilder(10000, TimeUnit.MILLISECONDS, (ResponseMode) invocation.getArguments()[0], false));
+      when(rpcManager.invokeRemotely(anyCollection(), same(chunkCommand), any(RpcOptions.class)))
+            .thenThrow(new CacheException("Injected failure"));
+
+      OutboundTransferTask task = new OutboundTransferTask(B, Collections.singleton(0), 1, 1, 1, readCh,
+            mock(StateProviderImpl.class), dataContainer, mock(PersistenceManager.class), rpcManager, commandsFactory,
+            mock(InternalEntryFactory.class), 100, "testCache");
+      task.run();
+
+      // no more chunks are sent after the failure, and the destination is told to request the segment again
+      assertEquals(1, sentChunks.size());
+      assertFalse(sentChunks.get(0).isLastChunk());
+      verify(rpcManager).invokeRemotely(eq(Collections.singleton(B)), same(failedCommand), any(RpcOptions.class));
+   }
+}
@@ -0,0 +1,64 @@
+package org.infinispan.statetransfer;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests that state is transferred correctly when several chunks are in flight at the same time, and that the
+ * progress of each segment is tracked.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "statetransfer.PipelinedStateTransferTest")
+public class PipelinedStateTransferTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_KEYS = 2000;
+
+   private ConfigurationBuilder builder;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, false);
+      builder.clustering().hash().numSegments(20)
+            .stateTransfer().chunkSize(10).maxInFlightChunks(4);
+      createCluster(builder, 1);
+      waitForClusterToForm();
+   }
+
+   public void testStateTransfer() {
+      Cache<Object, Object> c0 = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         c0.put("k" + i, "v" + i);
+      }
+
+      addClusterEnabledCacheManager(builder);
+      Cache<Object, Object> c1 = cache(1);
+      waitForClusterToForm();
+
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, c1.getAdvancedCache().getDataContainer().get("k" + i).getValue());
+      }
+
+      StateTransferManager stm = TestingUtil.extractComponent(c1, StateTransferManager.class);
+      assertEquals(NUM_KEYS, stm.getReceivedStateEntries());
+      assertEquals(0, stm.getSegmentsInTransfer());
+      assertFalse(stm.showSegmentTransferProgress().isEmpty());
+
+      Map<Integer, SegmentTransferProgress> progress =
+            TestingUtil.extractComponent(c1, StateConsumer.class).getSegmentTransferProgress();
+      assertEquals(20, progress.size());
+      for (SegmentTransferProgress segmentProgress : progress.values()) {
+         assertTrue(segmentProgress.isComplete());
+      }
+   }
+}
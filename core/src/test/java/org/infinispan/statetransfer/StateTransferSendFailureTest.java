@@ -0,0 +1,113 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.rpc.ResponseFilter;
+import org.infinispan.remoting.rpc.ResponseMode;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.jgroups.JGroupsTransport;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.fwk.TransportFlags;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the destination of a state transfer requests the segments again when the source fails to send one of
+ * their chunks, instead of waiting forever for the last chunks.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "statetransfer.StateTransferSendFailureTest")
+public class StateTransferSendFailureTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_KEYS = 100;
+
+   private final FailingTransport sourceTransport = new FailingTransport();
+   private final FailingTransport destinationTransport = new FailingTransport();
+   private ConfigurationBuilder cfgBuilder;
+
+   private static class FailingTransport extends JGroupsTransport {
+      volatile boolean failNextStateResponse;
+      final List<Set<Integer>> requestedSegments = new CopyOnWriteArrayList<Set<Integer>>();
+
+      @Override
+      public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients,
+                                                                           ReplicableCommand rpcCommand,
+                                                                           ResponseMode mode, long timeout,
+                                                                           ResponseFilter responseFilter,
+                                                                           DeliverOrder deliverOrder,
+                                                                           boolean anycast) throws Exception {
+         if (rpcCommand instanceof StateResponseCommand && failNextStateResponse) {
+            failNextStateResponse = false;
+            CompletableFuture<Map<Address, Response>> failed = new CompletableFuture<Map<Address, Response>>();
+            failed.completeExceptionally(new CacheException("Injected failure"));
+            return failed;
+         }
+         if (rpcCommand instanceof StateRequestCommand
+               && ((StateRequestCommand) rpcCommand).getType() == StateRequestCommand.Type.START_STATE_TRANSFER) {
+            requestedSegments.add(new HashSet<Integer>(((StateRequestCommand) rpcCommand).getSegments()));
+         }
+         return super.invokeRemotelyAsync(recipients, rpcCommand, mode, timeout, responseFilter, deliverOrder, anycast);
+      }
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      cfgBuilder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      cfgBuilder.clustering().hash().numOwners(2);
+      cfgBuilder.clustering().stateTransfer().fetchInMemoryState(true).chunkSize(10);
+
+      GlobalConfigurationBuilder gcfgBuilder = new GlobalConfigurationBuilder();
+      gcfgBuilder.transport().transport(sourceTransport);
+      addClusterEnabledCacheManager(gcfgBuilder, cfgBuilder, new TransportFlags());
+      waitForClusterToForm();
+   }
+
+   public void testFailedChunkIsRequestedAgain() throws Exception {
+      Cache<Object, Object> source = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         source.put("k" + i, "v" + i);
+      }
+
+      sourceTransport.failNextStateResponse = true;
+      GlobalConfigurationBuilder gcfgBuilder = new GlobalConfigurationBuilder();
+      gcfgBuilder.transport().transport(destinationTransport);
+      addClusterEnabledCacheManager(gcfgBuilder, cfgBuilder, new TransportFlags());
+      // the rebalance only ends if the destination requests the failed segments again
+      waitForClusterToForm();
+
+      assertFalse(sourceTransport.failNextStateResponse);
+      Set<Integer> firstRequest = destinationTransport.requestedSegments.get(0);
+      for (Integer segment : firstRequest) {
+         int requests = 0;
+         for (Set<Integer> segments : destinationTransport.requestedSegments) {
+            if (segments.contains(segment)) {
+               requests++;
+            }
+         }
+         assertEquals("Segment " + segment + " was not requested again", 2, requests);
+      }
+
+      Cache<Object, Object> destination = cache(1);
+      assertEquals(NUM_KEYS, destination.getAdvancedCache().getDataContainer().size());
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, destination.get("k" + i));
+      }
+   }
+}
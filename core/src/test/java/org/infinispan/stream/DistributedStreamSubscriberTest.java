@@ -0,0 +1,121 @@
+package org.infinispan.stream;
+
+import org.infinispan.Cache;
+import org.infinispan.CacheStream;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests publishing the entries of a distributed cache to a {@link StreamSubscriber}.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "stream.DistributedStreamSubscriberTest")
+public class DistributedStreamSubscriberTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_ENTRIES = 500;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      createClusteredCaches(3, builder);
+   }
+
+   public void testSubscribeInBatches() {
+      Cache<Integer, String> cache = cache(0);
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache.put(i, "v" + i);
+      }
+
+      CollectingSubscriber subscriber = new CollectingSubscriber(10, Long.MAX_VALUE);
+      CacheStream<CacheEntry<Integer, String>> stream = cache.getAdvancedCache().cacheEntrySet().stream();
+      stream.distributedBatchSize(20).subscribe(subscriber);
+
+      assertTrue(subscriber.completed);
+      assertNull(subscriber.error);
+      Set<Integer> keys = new HashSet<>();
+      for (CacheEntry<Integer, String> entry : subscriber.received) {
+         assertEquals("v" + entry.getKey(), entry.getValue());
+         keys.add(entry.getKey());
+      }
+      assertEquals(NUM_ENTRIES, keys.size());
+   }
+
+   public void testCancel() {
+      Cache<Integer, String> cache = cache(0);
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache.put(i, "v" + i);
+      }
+
+      CollectingSubscriber subscriber = new CollectingSubscriber(10, 25);
+      cache.getAdvancedCache().cacheEntrySet().stream().distributedBatchSize(20).subscribe(subscriber);
+
+      assertEquals(25, subscriber.received.size());
+      assertFalse(subscriber.completed);
+      assertNull(subscriber.error);
+   }
+
+   public void testInvalidRequest() {
+      CollectingSubscriber subscriber = new CollectingSubscriber(0, Long.MAX_VALUE);
+      cache(0).getAdvancedCache().cacheEntrySet().stream().subscribe(subscriber);
+
+      assertTrue(subscriber.error instanceof IllegalArgumentException);
+      assertFalse(subscriber.completed);
+   }
+
+   /**
+    * Requests a fixed number of elements at a time, and cancels after receiving a maximum number of elements.
+    */
+   static class CollectingSubscriber implements StreamSubscriber<CacheEntry<Integer, String>> {
+      final List<CacheEntry<Integer, String>> received = new ArrayList<>();
+      final int batchSize;
+      final long cancelAfter;
+      StreamSubscription subscription;
+      boolean completed;
+      Throwable error;
+
+      CollectingSubscriber(int batchSize, long cancelAfter) {
+         this.batchSize = batchSize;
+         this.cancelAfter = cancelAfter;
+      }
+
+      @Override
+      public void onSubscribe(StreamSubscription subscription) {
+         this.subscription = subscription;
+         subscription.request(batchSize);
+      }
+
+      @Override
+      public void onNext(CacheEntry<Integer, String> element) {
+         received.add(element);
+         if (received.size() == cancelAfter) {
+            subscription.cancel();
+         } else if (received.size() % batchSize == 0) {
+            subscription.request(batchSize);
+         }
+      }
+
+      @Override
+      public void onError(Throwable t) {
+         error = t;
+      }
+
+      @Override
+      public void onComplete() {
+         completed = true;
+      }
+   }
+}
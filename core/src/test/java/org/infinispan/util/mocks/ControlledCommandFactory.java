@@ -288,6 +288,11 @@ public StateResponseCommand buildStateResponseCommand(Address sender, int topolo
       return actual.buildStateResponseCommand(sender, topologyId, stateChunks);
    }
 
+   @Override
+   public StateResponseCommand buildStateTransferFailedCommand(Address sender, int topologyId, Set<Integer> failedSegments) {
+      return actual.buildStateTransferFailedCommand(sender, topologyId, failedSegments);
+   }
+
    @Override
    public String getCacheName() {
       return actual.getCacheName();
@@ -415,6 +415,11 @@ public CloseableIterator<Entry<Object, Object>> retrieveEntries(String filterCon
       return delegate.retrieveEntries(filterConverterFactory, filterConverterParams, segments, batchSize);
    }
 
+   @Override
+   public CloseableIterator<Entry<Object, Object>> retrieveEntriesInParallel(String filterConverterFactory, Object[] filterConverterParams, Set<Integer> segments, int batchSize) {
+      return delegate.retrieveEntriesInParallel(filterConverterFactory, filterConverterParams, segments, batchSize);
+   }
+
    @Override
    public CloseableIterator<Entry<Object, Object>> retrieveEntriesByQuery(Query filterQuery, Set<Integer> segments, int batchSize) {
       return delegate.retrieveEntriesByQuery(filterQuery, segments, batchSize);
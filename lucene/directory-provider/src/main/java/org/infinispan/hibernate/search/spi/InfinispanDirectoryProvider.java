@@ -38,6 +38,8 @@ public class InfinispanDirectoryProvider implements org.hibernate.search.store.D
    private String dataCacheName;
    private String lockingCacheName;
    private Integer chunkSize;
+   private Integer readAheadChunks;
+   private Integer offHeapChunkCacheMb;
 
    private Directory directory;
 
@@ -69,6 +71,8 @@ public void initialize(String directoryProviderName, Properties properties, Buil
       lockingCacheName = InfinispanIntegration.getLockingCacheName(properties);
       //Let it return null if it's not set, so that we can avoid applying any override.
       chunkSize = ConfigurationParseHelper.getIntValue(properties, "chunk_size");
+      readAheadChunks = ConfigurationParseHelper.getIntValue(properties, InfinispanIntegration.READ_AHEAD_CHUNKS);
+      offHeapChunkCacheMb = ConfigurationParseHelper.getIntValue(properties, InfinispanIntegration.OFF_HEAP_CHUNK_CACHE_MB);
       writeFileListAsync = getWriteFileListAsync(properties);
 
       //Only override the default Infinispan LockDirectory if an explicit option is set:
@@ -130,6 +134,12 @@ public void start(DirectoryBasedIndexManager indexManager) {
       if (chunkSize != null) {
          directoryBuildContext.chunkSize(chunkSize.intValue());
       }
+      if (readAheadChunks != null) {
+         directoryBuildContext.readAheadChunks(readAheadChunks.intValue());
+      }
+      if (offHeapChunkCacheMb != null) {
+         directoryBuildContext.offHeapChunkCacheSize(offHeapChunkCacheMb.longValue() * 1024 * 1024);
+      }
       if (indexWriterLockFactory != null) {
          directoryBuildContext.overrideWriteLocker(indexWriterLockFactory);
       }
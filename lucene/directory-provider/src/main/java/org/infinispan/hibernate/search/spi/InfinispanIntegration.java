@@ -53,6 +53,22 @@ private InfinispanIntegration() {
     */
    public static final String WRITE_METADATA_ASYNC = "write_metadata_async";
 
+   /**
+    * Configuration attribute to set the number of chunks loaded ahead in the background when a segment is read
+    * sequentially.
+    * <p/>
+    * Defaults to {@code 0}, disabling it.
+    */
+   public static final String READ_AHEAD_CHUNKS = "read_ahead_chunks";
+
+   /**
+    * Configuration attribute to set the size in megabytes of the local off-heap cache of the most recently read
+    * chunks, shared by all the readers of the index.
+    * <p/>
+    * Defaults to {@code 0}, disabling it.
+    */
+   public static final String OFF_HEAP_CHUNK_CACHE_MB = "off_heap_chunk_cache_mb";
+
    /**
     * @param properties the Hibernate Search configuration
     * @return the name of the Cache to be retrieved from the CacheManager to store Index Metadata
@@ -85,4 +85,34 @@ public interface BuildContext {
     */
    BuildContext affinityLocationIntoSegment(int segmentId);
 
+   /**
+    * When set to a positive integer, the next chunks of a file being read sequentially are loaded in the background
+    * with a single bulk get, so reading large segments doesn't wait for a lookup - often remote - at each chunk boundary.
+    * Each IndexInput holds up to this number of chunks in memory.
+    * Defaults to 0, disabling it.
+    *
+    * @param chunks the number of chunks to load ahead
+    * @return the same building context to eventually create the Directory instance
+    */
+   BuildContext readAheadChunks(int chunks);
+
+   /**
+    * Provides an Executor to load the chunks ahead in a background thread. Defaults to the asynchronous
+    * operations executor of the chunks cache.
+    *
+    * @param executor
+    * @return the same building context to eventually create the Directory instance
+    */
+   BuildContext readAheadExecutor(Executor executor);
+
+   /**
+    * When set to a positive integer, the most recently read chunks are also kept in local off-heap buffers shared by
+    * all the readers of the Directory, up to the given total size.
+    * Defaults to 0, disabling it.
+    *
+    * @param bytes the maximum total size of the cached chunks
+    * @return the same building context to eventually create the Directory instance
+    */
+   BuildContext offHeapChunkCacheSize(long bytes);
+
 }
@@ -0,0 +1,86 @@
+package org.infinispan.lucene.impl;
+
+import net.jcip.annotations.ThreadSafe;
+import org.infinispan.lucene.ChunkCacheKey;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps copies of the most recently read chunks of a Directory in direct (off-heap) buffers, shared by all the
+ * IndexInputs of the Directory, so reading them again needs no lookup in the chunks cache, which might be remote.
+ * <p>
+ * The buffers are evicted in least recently used order when their total size exceeds the configured maximum. Lucene
+ * never writes the same file twice, so a cached chunk can only become stale when its file is deleted: chunks of
+ * files deleted or renamed by this node are dropped immediately, while chunks of files deleted by other nodes are
+ * never read again and are eventually evicted.
+ *
+ * @since 8.2
+ */
+@ThreadSafe
+final class ChunkBufferPool {
+
+   private final long maxBytes;
+
+   private final LinkedHashMap<ChunkCacheKey, ByteBuffer> buffers = new LinkedHashMap<>(16, 0.75f, true);
+
+   private long usedBytes;
+
+   ChunkBufferPool(long maxBytes) {
+      if (maxBytes <= 0)
+         throw new IllegalArgumentException("maxBytes must be a positive integer");
+      this.maxBytes = maxBytes;
+   }
+
+   /**
+    * @return a read only view of the cached chunk, with its own position, or null if the chunk is not cached
+    */
+   synchronized ByteBuffer get(ChunkCacheKey key) {
+      ByteBuffer buffer = buffers.get(key);
+      return buffer == null ? null : buffer.duplicate();
+   }
+
+   synchronized boolean contains(ChunkCacheKey key) {
+      return buffers.containsKey(key);
+   }
+
+   void put(ChunkCacheKey key, byte[] chunk) {
+      if (chunk.length > maxBytes) {
+         return;
+      }
+      // copied outside of the lock, the buffer is only visible to readers once added
+      ByteBuffer buffer = ByteBuffer.allocateDirect(chunk.length);
+      buffer.put(chunk);
+      buffer.flip();
+      buffer = buffer.asReadOnlyBuffer();
+      synchronized (this) {
+         ByteBuffer previous = buffers.put(key, buffer);
+         if (previous != null) {
+            usedBytes -= previous.capacity();
+         }
+         usedBytes += buffer.capacity();
+         Iterator<ByteBuffer> eldest = buffers.values().iterator();
+         while (usedBytes > maxBytes) {
+            usedBytes -= eldest.next().capacity();
+            eldest.remove();
+         }
+      }
+   }
+
+   /**
+    * Drops all the cached chunks of a file.
+    */
+   synchronized void removeFile(String fileName) {
+      Iterator<Map.Entry<ChunkCacheKey, ByteBuffer>> it = buffers.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<ChunkCacheKey, ByteBuffer> entry = it.next();
+         if (entry.getKey().getFileName().equals(fileName)) {
+            usedBytes -= entry.getValue().capacity();
+            it.remove();
+         }
+      }
+   }
+
+}
@@ -0,0 +1,190 @@
+package org.infinispan.lucene.impl;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.lucene.ChunkCacheKey;
+import org.infinispan.lucene.FileCacheKey;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Loads the chunks of a file for a single InfinispanIndexInput.
+ * <p>
+ * When read ahead is enabled and the file is read sequentially, the next chunks are loaded in the background with a
+ * single bulk get, so crossing a chunk boundary doesn't wait for a lookup of the next chunk, which is often remote.
+ * When a ChunkBufferPool is configured, the loaded chunks are also cached in it.
+ * <p>
+ * Not thread safe, as the IndexInput using it.
+ *
+ * @since 8.2
+ */
+final class ChunkLoader {
+
+   private static final Log log = LogFactory.getLog(ChunkLoader.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final AdvancedCache<ChunkCacheKey, Object> chunksCache;
+   private final FileCacheKey fileKey;
+   private final int chunkSize;
+   private final long fileLength;
+   private final int affinitySegmentId;
+   private final int lastChunk;
+   private final ChunkBufferPool bufferPool;
+   private final int readAheadChunks;
+   private final Executor readAheadExecutor;
+
+   // the chunks read ahead and not used yet, by chunk id
+   private final Map<Integer, byte[]> readAheadBuffers = new HashMap<>();
+   private FutureTask<Map<ChunkCacheKey, Object>> pendingReadAhead;
+   // the range of chunks read ahead, or being read ahead
+   private int readAheadFrom = -1;
+   private int readAheadTo = -1;
+
+   ChunkLoader(AdvancedCache<ChunkCacheKey, Object> chunksCache, FileCacheKey fileKey, int chunkSize, long fileLength,
+         int affinitySegmentId, ChunkBufferPool bufferPool, int readAheadChunks, Executor readAheadExecutor) {
+      this.chunksCache = chunksCache;
+      this.fileKey = fileKey;
+      this.chunkSize = chunkSize;
+      this.fileLength = fileLength;
+      this.affinitySegmentId = affinitySegmentId;
+      this.lastChunk = (int) ((fileLength - 1) / chunkSize);
+      this.bufferPool = bufferPool;
+      this.readAheadChunks = readAheadChunks;
+      this.readAheadExecutor = readAheadExecutor;
+   }
+
+   /**
+    * @return a new ChunkLoader for the same file, sharing the same ChunkBufferPool but with its own read ahead state
+    */
+   ChunkLoader copy() {
+      return new ChunkLoader(chunksCache, fileKey, chunkSize, fileLength, affinitySegmentId, bufferPool, readAheadChunks, readAheadExecutor);
+   }
+
+   /**
+    * Loads a chunk of the file.
+    *
+    * @param chunkId the chunk to load
+    * @param sequential whether the chunk directly follows the previously loaded one
+    * @return the chunk, or null if it could not be found
+    */
+   ByteBuffer load(int chunkId, boolean sequential) {
+      ChunkCacheKey key = chunkKey(chunkId);
+      ByteBuffer pooled = bufferPool == null ? null : bufferPool.get(key);
+      byte[] chunk = null;
+      if (pooled == null) {
+         chunk = takeReadAhead(chunkId);
+         if (chunk == null) {
+            chunk = (byte[]) chunksCache.get(key);
+         }
+      }
+      if (readAheadChunks > 0) {
+         if (sequential) {
+            readAhead(chunkId);
+         } else {
+            discardReadAhead();
+         }
+      }
+      if (pooled != null) {
+         return pooled;
+      }
+      if (chunk == null) {
+         return null;
+      }
+      if (bufferPool != null) {
+         bufferPool.put(key, chunk);
+      }
+      return ByteBuffer.wrap(chunk);
+   }
+
+   /**
+    * Cancels the chunks being read ahead and releases the ones not used yet. A read ahead which didn't start yet is
+    * skipped, and one in progress is interrupted.
+    */
+   void discardReadAhead() {
+      if (pendingReadAhead != null) {
+         pendingReadAhead.cancel(true);
+         pendingReadAhead = null;
+      }
+      readAheadBuffers.clear();
+      readAheadFrom = -1;
+      readAheadTo = -1;
+   }
+
+   private ChunkCacheKey chunkKey(int chunkId) {
+      return new ChunkCacheKey(fileKey.getIndexName(), fileKey.getFileName(), chunkId, chunkSize, affinitySegmentId);
+   }
+
+   private byte[] takeReadAhead(int chunkId) {
+      byte[] chunk = readAheadBuffers.remove(chunkId);
+      if (chunk == null && pendingReadAhead != null && chunkId >= readAheadFrom && chunkId <= readAheadTo) {
+         collectReadAhead();
+         chunk = readAheadBuffers.remove(chunkId);
+      }
+      return chunk;
+   }
+
+   private void collectReadAhead() {
+      try {
+         for (Map.Entry<ChunkCacheKey, Object> entry : pendingReadAhead.get().entrySet()) {
+            if (entry.getValue() != null) {
+               readAheadBuffers.put(entry.getKey().getChunkId(), (byte[]) entry.getValue());
+            }
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+         // not fatal: the chunks are loaded one by one instead
+         if (trace) {
+            log.tracef(e, "Could not read ahead chunks of file:%s in index: %s", fileKey.getFileName(), fileKey.getIndexName());
+         }
+      }
+      pendingReadAhead = null;
+   }
+
+   private void readAhead(int chunkId) {
+      if (pendingReadAhead != null) {
+         if (!pendingReadAhead.isDone()) {
+            return;
+         }
+         collectReadAhead();
+      }
+      // read more only once half of the chunks read ahead were used, so the bulk gets are not too small
+      if (readAheadTo - chunkId > readAheadChunks / 2) {
+         return;
+      }
+      int from = Math.max(chunkId, readAheadTo) + 1;
+      int to = Math.min(chunkId + readAheadChunks, lastChunk);
+      if (from > to) {
+         return;
+      }
+      final Set<ChunkCacheKey> keys = new HashSet<>();
+      for (int i = from; i <= to; i++) {
+         ChunkCacheKey key = chunkKey(i);
+         if (bufferPool == null || !bufferPool.contains(key)) {
+            keys.add(key);
+         }
+      }
+      readAheadFrom = from;
+      readAheadTo = to;
+      if (keys.isEmpty()) {
+         return;
+      }
+      FutureTask<Map<ChunkCacheKey, Object>> task = new FutureTask<>(() -> chunksCache.getAll(keys));
+      try {
+         readAheadExecutor.execute(task);
+         pendingReadAhead = task;
+      } catch (RejectedExecutionException e) {
+         readAheadTo = chunkId;
+      }
+   }
+
+}
@@ -5,6 +5,7 @@
 import org.infinispan.Cache;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.Configurations;
+import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.lucene.directory.BuildContext;
 import org.infinispan.lucene.logging.Log;
 import org.infinispan.lucene.readlocks.DistributedSegmentReadLocker;
@@ -13,6 +14,7 @@
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 public class DirectoryBuilderImpl implements BuildContext {
 
@@ -43,6 +45,9 @@ public class DirectoryBuilderImpl implements BuildContext {
    private boolean writeFileListAsync = false;
    private Executor deleteExecutor = null;
    private int affinitySegmentId = -1;
+   private int readAheadChunks = 0;
+   private Executor readAheadExecutor = null;
+   private long offHeapChunkCacheSize = 0;
 
    public DirectoryBuilderImpl(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName) {
       this.metadataCache = checkValidConfiguration(checkNotNull(metadataCache, "metadataCache"), indexName);
@@ -63,7 +68,13 @@ public Directory create() {
       if (deleteExecutor == null) {
          deleteExecutor = new WithinThreadExecutor();
       }
-      return new DirectoryLucene(metadataCache, chunksCache, distLocksCache, indexName, lockFactory, chunkSize, srl, writeFileListAsync, deleteExecutor, affinitySegmentId);
+      if (readAheadChunks > 0 && readAheadExecutor == null) {
+         readAheadExecutor = chunksCache.getAdvancedCache().getComponentRegistry()
+               .getComponent(ExecutorService.class, KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR);
+      }
+      ChunkBufferPool chunkBufferPool = offHeapChunkCacheSize > 0 ? new ChunkBufferPool(offHeapChunkCacheSize) : null;
+      return new DirectoryLucene(metadataCache, chunksCache, distLocksCache, indexName, lockFactory, chunkSize, srl, writeFileListAsync, deleteExecutor, affinitySegmentId,
+            chunkBufferPool, readAheadChunks, readAheadExecutor);
    }
 
    @Override
@@ -103,6 +114,29 @@ public BuildContext deleteOperationsExecutor(Executor executor) {
       return this;
    }
 
+   @Override
+   public BuildContext readAheadChunks(int chunks) {
+      if (chunks < 0)
+         throw new IllegalArgumentException("readAheadChunks must not be negative");
+      this.readAheadChunks = chunks;
+      return this;
+   }
+
+   @Override
+   public BuildContext readAheadExecutor(Executor executor) {
+      checkNotNull(executor, "executor");
+      this.readAheadExecutor = executor;
+      return this;
+   }
+
+   @Override
+   public BuildContext offHeapChunkCacheSize(long bytes) {
+      if (bytes < 0)
+         throw new IllegalArgumentException("offHeapChunkCacheSize must not be negative");
+      this.offHeapChunkCacheSize = bytes;
+      return this;
+   }
+
    @Override
    public BuildContext overrideWriteLocker(LockFactory lockFactory) {
       checkNotNull(lockFactory, "lockFactory");
@@ -15,6 +15,7 @@
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 /**
  * Common code for different Directory implementations.
@@ -41,9 +42,15 @@ class DirectoryImplementor {
     private final SegmentReadLocker readLocks;
     private final FileCacheKey segmentsGenFileKey;
     private final int affinitySegmentId;
+    private final ChunkBufferPool chunkBufferPool;
+    private final int readAheadChunks;
+    private final Executor readAheadExecutor;
 
-    public DirectoryImplementor(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, int affinitySegmentId) {
+    public DirectoryImplementor(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, int affinitySegmentId, ChunkBufferPool chunkBufferPool, int readAheadChunks, Executor readAheadExecutor) {
        this.affinitySegmentId = affinitySegmentId;
+       this.chunkBufferPool = chunkBufferPool;
+       this.readAheadChunks = readAheadChunks;
+       this.readAheadExecutor = readAheadExecutor;
        if (chunkSize <= 0)
            throw new IllegalArgumentException("chunkSize must be a positive integer");
         this.metadataCache = (AdvancedCache<FileCacheKey, FileMetadata>) metadataCache.getAdvancedCache().withFlags(Flag.SKIP_INDEXING);
@@ -67,6 +74,9 @@ boolean fileExists(final String name) {
     void deleteFile(final String name) {
        fileOps.deleteFileName(name);
        readLocks.deleteOrReleaseReadLock(name);
+       if (chunkBufferPool != null) {
+          chunkBufferPool.removeFile(name);
+       }
        if (log.isDebugEnabled()) {
           log.debugf("Removed file: %s from index: %s", name, indexName);
        }
@@ -96,6 +106,9 @@ void renameFile(final String from, final String to) {
 
        // now trigger deletion of old file chunks:
        readLocks.deleteOrReleaseReadLock(from);
+       if (chunkBufferPool != null) {
+          chunkBufferPool.removeFile(from);
+       }
        if (trace) {
           log.tracef("Renamed file from: %s to: %s in index %s", from, to, indexName);
        }
@@ -147,7 +160,8 @@ else if (!fileMetadata.isMultiChunked()) {
              // safest reaction is to tell this file doesn't exist anymore.
              throw new FileNotFoundException("Error loading metadata for index file: " + fileKey);
           }
-          return new IndexInputContext(chunksCache, fileKey, fileMetadata, readLocks, affinitySegmentId);
+          return new IndexInputContext(chunksCache, fileKey, fileMetadata, readLocks, affinitySegmentId,
+                chunkBufferPool, readAheadChunks, readAheadExecutor);
        }
     }
 
@@ -51,11 +51,14 @@ class DirectoryLucene extends Directory implements DirectoryExtensions {
     * @param fileListUpdatedAsync When true, the writes to the list of currently existing files in the Directory will use the putAsync method rather than put.
     * @param deleteExecutor The Executor to run file deletes in the background
     * @param affinitySegmentId A hint interpreted by the consistent hashing function to force locality with a specific segment identifier
+    * @param chunkBufferPool The pool caching recently read chunks off-heap, or null to not cache them
+    * @param readAheadChunks The number of chunks to load ahead when reading a file sequentially, 0 to disable it
+    * @param readAheadExecutor The Executor to load the chunks ahead in the background
     */
-   public DirectoryLucene(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, LockFactory lf, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, Executor deleteExecutor, int affinitySegmentId) {
+   public DirectoryLucene(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, LockFactory lf, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, Executor deleteExecutor, int affinitySegmentId, ChunkBufferPool chunkBufferPool, int readAheadChunks, Executor readAheadExecutor) {
       this.deleteExecutor = deleteExecutor;
       this.affinitySegmentId = affinitySegmentId;
-      this.impl = new DirectoryImplementor(metadataCache, chunksCache, distLocksCache, indexName, chunkSize, readLocker, fileListUpdatedAsync, affinitySegmentId);
+      this.impl = new DirectoryImplementor(metadataCache, chunksCache, distLocksCache, indexName, chunkSize, readLocker, fileListUpdatedAsync, affinitySegmentId, chunkBufferPool, readAheadChunks, readAheadExecutor);
       this.indexName = indexName;
       this.lockFactory = lf;
    }
@@ -6,6 +6,8 @@
 import org.infinispan.lucene.FileMetadata;
 import org.infinispan.lucene.readlocks.SegmentReadLocker;
 
+import java.util.concurrent.Executor;
+
 public final class IndexInputContext {
 
    final AdvancedCache<ChunkCacheKey, Object> chunksCache;
@@ -13,14 +15,26 @@ public final class IndexInputContext {
    final FileMetadata fileMetadata;
    final SegmentReadLocker readLocks;
    final int affinitySegmentId;
+   final ChunkBufferPool chunkBufferPool;
+   final int readAheadChunks;
+   final Executor readAheadExecutor;
 
    public IndexInputContext(AdvancedCache<ChunkCacheKey, Object> chunksCache, FileCacheKey fileKey, FileMetadata fileMetadata,
          SegmentReadLocker readLocks, int affinitySegmentId) {
+      this(chunksCache, fileKey, fileMetadata, readLocks, affinitySegmentId, null, 0, null);
+   }
+
+   IndexInputContext(AdvancedCache<ChunkCacheKey, Object> chunksCache, FileCacheKey fileKey, FileMetadata fileMetadata,
+         SegmentReadLocker readLocks, int affinitySegmentId, ChunkBufferPool chunkBufferPool, int readAheadChunks,
+         Executor readAheadExecutor) {
             this.chunksCache = chunksCache;
             this.fileKey = fileKey;
             this.fileMetadata = fileMetadata;
             this.readLocks = readLocks;
             this.affinitySegmentId = affinitySegmentId;
+            this.chunkBufferPool = chunkBufferPool;
+            this.readAheadChunks = readAheadChunks;
+            this.readAheadExecutor = readAheadExecutor;
    }
 
 }
@@ -1,9 +1,9 @@
 package org.infinispan.lucene.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.apache.lucene.store.IndexInput;
-import org.infinispan.Cache;
 import org.infinispan.lucene.ChunkCacheKey;
 import org.infinispan.lucene.FileCacheKey;
 import org.infinispan.lucene.readlocks.SegmentReadLocker;
@@ -27,7 +27,6 @@ public class InfinispanIndexInput extends IndexInput {
 
    protected boolean isClone;
 
-   private final Cache<ChunkCacheKey, Object> chunksCache;
    private final FileCacheKey fileKey;
    private final int chunkSize;
    private final SegmentReadLocker readLocks;
@@ -35,29 +34,31 @@ public class InfinispanIndexInput extends IndexInput {
    private final long fileLength;
    private final int affinitySegmentId;
 
+   private ChunkLoader chunkLoader;
    private int currentBufferSize;
-   private byte[] buffer;
+   private ByteBuffer buffer;
    private int bufferPosition;
    private int currentLoadedChunk = -1;
 
    public InfinispanIndexInput(final IndexInputContext ctx) {
       super(ctx.fileKey.getFileName());
-      this.chunksCache = ctx.chunksCache;
       this.fileKey = ctx.fileKey;
       this.chunkSize = ctx.fileMetadata.getBufferSize();
       this.fileLength = ctx.fileMetadata.getSize();
       this.readLocks = ctx.readLocks;
       this.affinitySegmentId = ctx.affinitySegmentId;
       this.filename = fileKey.getFileName();
+      this.chunkLoader = new ChunkLoader(ctx.chunksCache, fileKey, chunkSize, fileLength, affinitySegmentId,
+            ctx.chunkBufferPool, ctx.readAheadChunks, ctx.readAheadExecutor);
       if (trace) {
          log.tracef("Opened new IndexInput for file:%s in index: %s", filename, fileKey.getIndexName());
       }
    }
 
-   private InfinispanIndexInput(final String resourceDescription, final Cache<ChunkCacheKey, Object> chunksCache,
+   private InfinispanIndexInput(final String resourceDescription, final ChunkLoader chunkLoader,
          FileCacheKey fileKey, int chunkSize, String filename, long fileLength, int affinitySegmentId) {
       super(resourceDescription);
-      this.chunksCache = chunksCache;
+      this.chunkLoader = chunkLoader;
       this.fileKey = fileKey;
       this.chunkSize = chunkSize;
       this.filename = filename;
@@ -73,7 +74,7 @@ public final byte readByte() throws IOException {
          nextChunk();
          bufferPosition = 0;
       }
-      return buffer[bufferPosition++];
+      return buffer.get(bufferPosition++);
     }
 
    @Override
@@ -83,7 +84,8 @@ public final void readBytes(final byte[] b, int offset, int bytesToRead) throws
       }
       while (bytesToRead > 0) {
          int bytesToCopy = Math.min(currentBufferSize - bufferPosition, bytesToRead);
-         System.arraycopy(buffer, bufferPosition, b, offset, bytesToCopy);
+         buffer.position(bufferPosition);
+         buffer.get(b, offset, bytesToCopy);
          offset += bytesToCopy;
          bytesToRead -= bytesToCopy;
          bufferPosition += bytesToCopy;
@@ -100,6 +102,7 @@ public void close() {
       bufferPosition = 0;
       currentLoadedChunk = -1;
       buffer = null;
+      chunkLoader.discardReadAhead();
       if (isClone) return;
       readLocks.deleteOrReleaseReadLock(filename);
       if (trace) {
@@ -117,8 +120,9 @@ public void seek(final long pos) {
       bufferPosition = (int) (pos % chunkSize);
       final int targetChunk = (int) (pos / chunkSize);
       if (targetChunk != currentLoadedChunk) {
+         final boolean sequential = targetChunk == currentLoadedChunk + 1;
          currentLoadedChunk = targetChunk;
-         setBufferToCurrentChunkIfPossible();
+         setBufferToCurrentChunkIfPossible(sequential);
       }
    }
 
@@ -128,25 +132,24 @@ private void nextChunk() throws IOException {
    }
 
    private void setBufferToCurrentChunk() throws IOException {
-      ChunkCacheKey key = new ChunkCacheKey(fileKey.getIndexName(), filename, currentLoadedChunk, chunkSize, affinitySegmentId);
-      buffer = (byte[]) chunksCache.get(key);
+      buffer = chunkLoader.load(currentLoadedChunk, true);
       if (buffer == null) {
+         ChunkCacheKey key = new ChunkCacheKey(fileKey.getIndexName(), filename, currentLoadedChunk, chunkSize, affinitySegmentId);
          throw new IOException("Read past EOF: Chunk value could not be found for key " + key);
       }
-      currentBufferSize = buffer.length;
+      currentBufferSize = buffer.limit();
    }
 
    // Lucene might try seek(pos) using an illegal pos value
    // RAMDirectory teaches to position the cursor to the end of previous chunk in this case
-   private void setBufferToCurrentChunkIfPossible() {
-      ChunkCacheKey key = new ChunkCacheKey(fileKey.getIndexName(), filename, currentLoadedChunk, chunkSize, affinitySegmentId);
-      buffer = (byte[]) chunksCache.get(key);
+   private void setBufferToCurrentChunkIfPossible(boolean sequential) {
+      buffer = chunkLoader.load(currentLoadedChunk, sequential);
       if (buffer == null) {
          currentLoadedChunk--;
          bufferPosition = chunkSize;
       }
       else {
-         currentBufferSize = buffer.length;
+         currentBufferSize = buffer.limit();
       }
    }
 
@@ -162,6 +165,11 @@ public InfinispanIndexInput clone() {
       // as in other Directory implementations. Apparently not all clones
       // are cleaned up, but the original is (especially .tis files)
       clone.isClone = true;
+      // the clone reads independently, so it needs its own read ahead state and view of the current chunk
+      clone.chunkLoader = chunkLoader.copy();
+      if (buffer != null) {
+         clone.buffer = buffer.duplicate();
+      }
       return clone;
    }
 
@@ -170,7 +178,7 @@ public IndexInput slice(String sliceDescription, long offset, long length) throw
    }
 
    InfinispanIndexInput copyAndReset() {
-      return new InfinispanIndexInput(filename, chunksCache, fileKey, chunkSize, filename, fileLength, affinitySegmentId);
+      return new InfinispanIndexInput(filename, chunkLoader.copy(), fileKey, chunkSize, filename, fileLength, affinitySegmentId);
    }
 
 }
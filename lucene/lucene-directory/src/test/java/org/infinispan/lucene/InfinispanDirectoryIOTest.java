@@ -15,6 +15,10 @@
 import org.apache.lucene.store.IndexOutput;
 import org.apache.lucene.store.RAMDirectory;
 import org.infinispan.Cache;
+import org.infinispan.commands.read.GetAllCommand;
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.base.CommandInterceptor;
 import org.infinispan.lucene.directory.DirectoryBuilder;
 import org.infinispan.lucene.impl.DirectoryBuilderImpl;
 import org.infinispan.lucene.impl.DirectoryExtensions;
@@ -159,6 +163,46 @@ public void testReadWholeFile() throws IOException {
       DirectoryIntegrityCheck.verifyDirectoryStructure(cache, INDEXNAME);
    }
 
+   @Test
+   public void testReadWholeFileWithReadAheadAndOffHeapChunkCache() throws IOException {
+      final int BUFFER_SIZE = 64;
+
+      Cache cache = cacheManager.getCache();
+      ChunkLoadCounter counter = new ChunkLoadCounter();
+      cache.getAdvancedCache().addInterceptor(counter, 0);
+      try {
+         Directory dir = DirectoryBuilder.newDirectoryInstance(cache, cache, cache, INDEXNAME)
+            .chunkSize(BUFFER_SIZE)
+            .readAheadChunks(3)
+            .offHeapChunkCacheSize(BUFFER_SIZE * 10)
+            .overrideSegmentReadLocker(makeTestableReadLocker(cache, INDEXNAME))
+            .create();
+
+         verifyOnBuffer("MultipleChunks.txt", 10000, BUFFER_SIZE, cache, dir, 33);
+         verifyOnBuffer("LonelyByteInLastChunk.txt", 257, BUFFER_SIZE, cache, dir, 12);
+
+         // a sequential read loads most chunks ahead with bulk gets
+         counter.reset();
+         assertReadBytesWorkingCorrectly(dir, "MultipleChunks.txt.bak", 10000, 33);
+         final int chunks = 10000 / BUFFER_SIZE + 1;
+         AssertJUnit.assertTrue(counter.bulkLoadedChunks > 0);
+         AssertJUnit.assertTrue(counter.loadedChunks < chunks / 2);
+
+         // once read, a small file is served by the off-heap chunk cache
+         assertReadBytesWorkingCorrectly(dir, "LonelyByteInLastChunk.txt.bak", 257, 12);
+         counter.reset();
+         assertReadByteWorkingCorrectly(dir, "LonelyByteInLastChunk.txt.bak", 257);
+         assertReadBytesWorkingCorrectly(dir, "LonelyByteInLastChunk.txt.bak", 257, 12);
+         AssertJUnit.assertEquals(0, counter.loadedChunks);
+         AssertJUnit.assertEquals(0, counter.bulkLoadedChunks);
+
+         dir.close();
+         DirectoryIntegrityCheck.verifyDirectoryStructure(cache, INDEXNAME);
+      } finally {
+         cache.getAdvancedCache().removeInterceptor(ChunkLoadCounter.class);
+      }
+   }
+
    private SegmentReadLocker makeTestableReadLocker(Cache cache, String indexName) {
       return new DistributedSegmentReadLocker(cache, cache, cache, indexName, -1 ,true);
    }
@@ -666,4 +710,35 @@ private byte[] fillBytes(int size) {
       return b;
    }
 
+   /**
+    * Counts the chunks loaded from the cache one by one and in bulk.
+    */
+   public static class ChunkLoadCounter extends CommandInterceptor {
+      volatile int loadedChunks;
+      volatile int bulkLoadedChunks;
+
+      void reset() {
+         loadedChunks = 0;
+         bulkLoadedChunks = 0;
+      }
+
+      @Override
+      public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand command) throws Throwable {
+         if (command.getKey() instanceof ChunkCacheKey) {
+            loadedChunks++;
+         }
+         return super.visitGetKeyValueCommand(ctx, command);
+      }
+
+      @Override
+      public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+         for (Object key : command.getKeys()) {
+            if (key instanceof ChunkCacheKey) {
+               bulkLoadedChunks++;
+            }
+         }
+         return super.visitGetAllCommand(ctx, command);
+      }
+   }
+
 }
@@ -145,6 +145,15 @@ public void addRow(Object[] row) {
       }
    }
 
+   /**
+    * Returns the rows of the groups without finishing the aggregations. These rows can be added to another Grouper that
+    * uses two phase accumulation and has its accumulators reading and writing the same output columns, in order to
+    * merge the groups computed separately.
+    */
+   public Iterator<Object[]> getPartialResults() {
+      return groups != null ? groups.values().iterator() : Collections.singleton(globalGroup).iterator();
+   }
+
    public Iterator<Object[]> finish() {
       if (groups != null) {
          return new Iterator<Object[]>() {
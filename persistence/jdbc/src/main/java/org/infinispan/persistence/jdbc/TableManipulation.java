@@ -41,6 +41,8 @@ public class TableManipulation implements Cloneable {
    /* Cache the sql for managing data */
    private String insertRowSql;
    private String updateRowSql;
+   private String upsertRowSql;
+   private boolean upsertRowSqlResolved;
    private String selectRowSql;
    private String selectIdRowSql;
    private String deleteRowSql;
@@ -191,6 +193,34 @@ public String getUpdateRowSql() {
       return updateRowSql;
    }
 
+   /**
+    * Returns a statement that inserts a row or updates it if it already exists, taking the same parameters as
+    * {@link #getInsertRowSql()}, or null if the database does not support such statements.
+    */
+   public String getUpsertRowSql() {
+      if (!upsertRowSqlResolved) {
+         String columns = " (" + config.dataColumnName() + ", " + config.timestampColumnName() + ", " + config.idColumnName() + ")";
+         switch(getDialect()) {
+            case MYSQL:
+               upsertRowSql = "INSERT INTO " + getTableName() + columns + " VALUES(?,?,?) ON DUPLICATE KEY UPDATE "
+                     + config.dataColumnName() + " = VALUES(" + config.dataColumnName() + "), "
+                     + config.timestampColumnName() + " = VALUES(" + config.timestampColumnName() + ")";
+               break;
+            case H2:
+               upsertRowSql = "MERGE INTO " + getTableName() + columns + " KEY(" + config.idColumnName() + ") VALUES(?,?,?)";
+               break;
+            case SQLITE:
+               upsertRowSql = "INSERT OR REPLACE INTO " + getTableName() + columns + " VALUES(?,?,?)";
+               break;
+            default:
+               upsertRowSql = null;
+               break;
+         }
+         upsertRowSqlResolved = true;
+      }
+      return upsertRowSql;
+   }
+
    public String getSelectRowSql() {
       if (selectRowSql == null) {
          switch(getDialect()) {
@@ -208,6 +238,43 @@ public String getSelectRowSql() {
       return selectRowSql;
    }
 
+   /**
+    * Returns a statement selecting the rows of {@code numberOfKeys} ids at once. Unlike the other statements it is not
+    * cached, because it depends on the number of ids.
+    */
+   public String getSelectMultipleRowSql(int numberOfKeys) {
+      return getSelectMultipleSql(config.idColumnName() + ", " + config.dataColumnName(), numberOfKeys);
+   }
+
+   /**
+    * Returns a statement selecting the ids of the rows matching any of the given number of ids.
+    */
+   public String getSelectMultipleIdRowSql(int numberOfKeys) {
+      return getSelectMultipleSql(config.idColumnName(), numberOfKeys);
+   }
+
+   private String getSelectMultipleSql(String columns, int numberOfKeys) {
+      String idParam;
+      switch(getDialect()) {
+         case SYBASE:
+            idParam = "convert(" + config.idColumnType() + "," + "?)";
+            break;
+         case POSTGRES:
+            idParam = "cast(? as " + config.idColumnType() + ")";
+            break;
+         default:
+            idParam = "?";
+            break;
+      }
+      StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM ").append(getTableName()).append(" WHERE ")
+            .append(config.idColumnName()).append(" IN (");
+      for (int i = 0; i < numberOfKeys; i++) {
+         if (i > 0) sql.append(", ");
+         sql.append(idParam);
+      }
+      return sql.append(")").toString();
+   }
+
    public String getSelectIdRowSql() {
       if (selectIdRowSql == null) {
          switch(getDialect()) {
@@ -8,6 +8,7 @@
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
@@ -17,6 +18,7 @@
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiPredicate;
 
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.equivalence.Equivalence;
@@ -175,6 +177,155 @@ public final boolean delete(Object key) {
       }
    }
 
+   @Override
+   public void writeBatch(Iterable entries) {
+      Map<Integer, List<MarshalledEntry>> entriesByBucket = new HashMap<>();
+      List<Object> expiredKeys = new ArrayList<>();
+      long now = ctx.getTimeService().wallClockTime();
+      for (Object e : entries) {
+         MarshalledEntry entry = (MarshalledEntry) e;
+         InternalMetadata m = entry.getMetadata();
+         if (m != null && m.isExpired(now)) {
+            expiredKeys.add(entry.getKey());
+         } else {
+            entriesByBucket.computeIfAbsent(getBuckedId(entry.getKey()), k -> new ArrayList<>()).add(entry);
+         }
+      }
+      if (!expiredKeys.isEmpty()) {
+         deleteBatch(expiredKeys);
+      }
+      updateBuckets(entriesByBucket, (bucket, bucketEntries) -> {
+         for (MarshalledEntry entry : bucketEntries) {
+            bucket.addEntry(entry.getKey(), entry);
+         }
+         return true;
+      });
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      Map<Integer, List<Object>> keysByBucket = new HashMap<>();
+      for (Object key : keys) {
+         keysByBucket.computeIfAbsent(getBuckedId(key), k -> new ArrayList<>()).add(key);
+      }
+      updateBuckets(keysByBucket, (bucket, bucketKeys) -> {
+         boolean removed = false;
+         for (Object key : bucketKeys) {
+            removed |= bucket.removeEntry(key);
+         }
+         return removed;
+      });
+   }
+
+   /**
+    * Applies the changes to their buckets, writing all the modified buckets with JDBC batches. The buckets locked by
+    * other threads are updated one by one afterwards, so that waiting for their locks cannot cause a deadlock.
+    *
+    * @param update applies the changes of a bucket, and returns whether the bucket was modified
+    */
+   private <T> void updateBuckets(Map<Integer, List<T>> changesByBucket, BiPredicate<Bucket, List<T>> update) {
+      List<Integer> lockedBuckets = new ArrayList<>(changesByBucket.size());
+      List<Integer> contendedBuckets = new ArrayList<>();
+      for (Integer bucketId : changesByBucket.keySet()) {
+         if (immediateLockForWriting(bucketId)) {
+            lockedBuckets.add(bucketId);
+         } else {
+            contendedBuckets.add(bucketId);
+         }
+      }
+      try {
+         List<Bucket> inserts = new ArrayList<>();
+         List<Bucket> updates = new ArrayList<>();
+         for (Integer bucketId : lockedBuckets) {
+            applyToBucket(bucketId, changesByBucket.get(bucketId), update, inserts, updates);
+         }
+         writeBuckets(inserts, updates);
+      } finally {
+         for (Integer bucketId : lockedBuckets) {
+            unlock(bucketId);
+         }
+      }
+
+      for (Integer bucketId : contendedBuckets) {
+         lockBucketForWriting(bucketId);
+         try {
+            List<Bucket> inserts = new ArrayList<>(1);
+            List<Bucket> updates = new ArrayList<>(1);
+            applyToBucket(bucketId, changesByBucket.get(bucketId), update, inserts, updates);
+            writeBuckets(inserts, updates);
+         } finally {
+            unlock(bucketId);
+         }
+      }
+   }
+
+   private <T> void applyToBucket(Integer bucketId, List<T> changes, BiPredicate<Bucket, List<T>> update,
+                                  List<Bucket> inserts, List<Bucket> updates) {
+      Bucket bucket = loadBucket(bucketId);
+      if (bucket != null) {
+         if (update.test(bucket, changes)) {
+            updates.add(bucket);
+         }
+      } else {
+         bucket = new Bucket(keyEquivalence);
+         bucket.setBucketId(bucketId);
+         if (update.test(bucket, changes)) {
+            inserts.add(bucket);
+         }
+      }
+   }
+
+   private void writeBuckets(List<Bucket> inserts, List<Bucket> updates) {
+      if (inserts.isEmpty() && updates.isEmpty()) {
+         return;
+      }
+      Connection conn = null;
+      try {
+         conn = connectionFactory.getConnection();
+         executeBucketBatch(conn, tableManipulation.getInsertRowSql(), inserts);
+         executeBucketBatch(conn, tableManipulation.getUpdateRowSql(), updates);
+      } catch (SQLException e) {
+         log.sqlFailureWritingBuckets(inserts.size() + updates.size(), e);
+         throw new PersistenceException("Sql failure while writing buckets", e);
+      } catch (InterruptedException ie) {
+         if (trace) {
+            log.trace("Interrupted while marshalling buckets");
+         }
+         Thread.currentThread().interrupt();
+      } finally {
+         connectionFactory.releaseConnection(conn);
+      }
+   }
+
+   private void executeBucketBatch(Connection conn, String sql, List<Bucket> buckets) throws SQLException, InterruptedException {
+      if (buckets.isEmpty()) {
+         return;
+      }
+      if (trace) {
+         log.tracef("Running sql '%s' on %d buckets", sql, buckets.size());
+      }
+      PreparedStatement ps = conn.prepareStatement(sql);
+      try {
+         int batched = 0;
+         for (Bucket bucket : buckets) {
+            ByteBuffer buffer = JdbcUtil.marshall(ctx.getMarshaller(), bucket.getStoredEntries());
+            ps.setBinaryStream(1, new ByteArrayInputStream(buffer.getBuf(), buffer.getOffset(), buffer.getLength()), buffer.getLength());
+            ps.setLong(2, bucket.timestampOfFirstEntryToExpire());
+            ps.setString(3, bucket.getBucketIdAsString());
+            ps.addBatch();
+            if (++batched == tableManipulation.getBatchSize()) {
+               ps.executeBatch();
+               batched = 0;
+            }
+         }
+         if (batched > 0) {
+            ps.executeBatch();
+         }
+      } finally {
+         JdbcUtil.safeClose(ps);
+      }
+   }
+
    @Override
    public void process(final KeyFilter filter, final CacheLoaderTask task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
       Connection conn = null;
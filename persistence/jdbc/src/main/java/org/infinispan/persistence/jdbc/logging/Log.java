@@ -144,4 +144,16 @@ public interface Log extends org.infinispan.util.logging.Log {
 
    @Message(value = "Cannot specify a ConnectionFactory and manageConnectionFactory at the same time", id = 8030)
    CacheConfigurationException unmanagedConnectionFactory();
+
+   @LogMessage(level = ERROR)
+   @Message(value = "Error while storing a batch of string keys to database", id = 8031)
+   void sqlFailureStoringBatch(@Cause SQLException e);
+
+   @LogMessage(level = ERROR)
+   @Message(value = "Sql failure while writing a batch of %d buckets", id = 8032)
+   void sqlFailureWritingBuckets(int count, @Cause SQLException e);
+
+   @LogMessage(level = ERROR)
+   @Message(value = "SQL error while fetching a batch of %d stored entries", id = 8033)
+   void sqlFailureReadingKeys(int count, @Cause SQLException e);
 }
@@ -19,6 +19,8 @@
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 /**
@@ -129,6 +131,33 @@ public boolean delete(Object key) {
       return getStore(key).delete(key);
    }
 
+   @Override
+   public void writeBatch(Iterable entries) {
+      List<MarshalledEntry> stringEntries = new ArrayList<>();
+      List<MarshalledEntry> binaryEntries = new ArrayList<>();
+      for (Object e : entries) {
+         MarshalledEntry entry = (MarshalledEntry) e;
+         (getStore(entry.getKey()) == stringStore ? stringEntries : binaryEntries).add(entry);
+      }
+      if (!stringEntries.isEmpty())
+         stringStore.writeBatch(stringEntries);
+      if (!binaryEntries.isEmpty())
+         binaryStore.writeBatch(binaryEntries);
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      List<Object> stringKeys = new ArrayList<>();
+      List<Object> binaryKeys = new ArrayList<>();
+      for (Object key : keys) {
+         (getStore(key) == stringStore ? stringKeys : binaryKeys).add(key);
+      }
+      if (!stringKeys.isEmpty())
+         stringStore.deleteBatch(stringKeys);
+      if (!binaryKeys.isEmpty())
+         binaryStore.deleteBatch(binaryKeys);
+   }
+
    @Override
    public int size() {
       return stringStore.size() + binaryStore.size();
@@ -8,6 +8,12 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
@@ -187,6 +193,141 @@ public void write(MarshalledEntry entry) {
       }
    }
 
+   /**
+    * Stores the batch over a single connection, sending the rows as JDBC batches of
+    * {@link TableManipulation#getBatchSize()} rows. If the database supports upserts, a single statement is used
+    * for all the entries, otherwise the existing keys of each chunk of rows are looked up with a single query to
+    * choose between an insert and an update.
+    */
+   @Override
+   public void writeBatch(Iterable entries) {
+      Connection connection = null;
+      try {
+         connection = connectionFactory.getConnection();
+         String upsertSql = tableManipulation.getUpsertRowSql();
+         int count;
+         if (upsertSql != null) {
+            count = upsertBatch(connection, upsertSql, entries);
+         } else {
+            count = insertOrUpdateBatch(connection, entries);
+         }
+         if (trace) {
+            log.tracef("Stored a batch of %d entries", count);
+         }
+      } catch (SQLException ex) {
+         log.sqlFailureStoringBatch(ex);
+         throw new PersistenceException("Error while storing string keys to database", ex);
+      } catch (InterruptedException e) {
+         if (trace) {
+            log.trace("Interrupted while marshalling to store");
+         }
+         Thread.currentThread().interrupt();
+         // part of the batch may not have been stored
+         throw new PersistenceException("Interrupted while storing string keys to database", e);
+      } finally {
+         connectionFactory.releaseConnection(connection);
+      }
+   }
+
+   private int upsertBatch(Connection connection, String sql, Iterable entries) throws SQLException, InterruptedException {
+      if (trace) {
+         log.tracef("Running sql '%s' in batches", sql);
+      }
+      PreparedStatement ps = connection.prepareStatement(sql);
+      try {
+         int count = 0, batched = 0;
+         for (Object e : entries) {
+            MarshalledEntry entry = (MarshalledEntry) e;
+            updateStatement(entry, key2Str(entry.getKey()), ps);
+            ps.addBatch();
+            count++;
+            if (++batched == tableManipulation.getBatchSize()) {
+               ps.executeBatch();
+               batched = 0;
+            }
+         }
+         if (batched > 0)
+            ps.executeBatch();
+         return count;
+      } finally {
+         JdbcUtil.safeClose(ps);
+      }
+   }
+
+   private int insertOrUpdateBatch(Connection connection, Iterable entries) throws SQLException, InterruptedException {
+      PreparedStatement insertPs = null;
+      PreparedStatement updatePs = null;
+      try {
+         insertPs = connection.prepareStatement(tableManipulation.getInsertRowSql());
+         updatePs = connection.prepareStatement(tableManipulation.getUpdateRowSql());
+         int count = 0;
+         Map<String, MarshalledEntry> chunk = new LinkedHashMap<>();
+         for (Iterator<?> it = entries.iterator(); it.hasNext(); ) {
+            MarshalledEntry entry = (MarshalledEntry) it.next();
+            chunk.put(key2Str(entry.getKey()), entry);
+            count++;
+            if (chunk.size() == tableManipulation.getBatchSize() || !it.hasNext()) {
+               insertOrUpdateChunk(connection, chunk, insertPs, updatePs);
+               chunk.clear();
+            }
+         }
+         return count;
+      } finally {
+         JdbcUtil.safeClose(insertPs);
+         JdbcUtil.safeClose(updatePs);
+      }
+   }
+
+   /**
+    * Looks up which keys of the chunk already exist with a single query, then sends the inserts and the updates as
+    * one JDBC batch each.
+    */
+   private void insertOrUpdateChunk(Connection connection, Map<String, MarshalledEntry> chunk,
+                                    PreparedStatement insertPs, PreparedStatement updatePs) throws SQLException, InterruptedException {
+      Set<String> existing = selectExistingIds(connection, chunk.keySet());
+      int inserts = 0, updates = 0;
+      for (Map.Entry<String, MarshalledEntry> e : chunk.entrySet()) {
+         if (existing.contains(e.getKey())) {
+            updateStatement(e.getValue(), e.getKey(), updatePs);
+            updatePs.addBatch();
+            updates++;
+         } else {
+            updateStatement(e.getValue(), e.getKey(), insertPs);
+            insertPs.addBatch();
+            inserts++;
+         }
+      }
+      if (inserts > 0)
+         insertPs.executeBatch();
+      if (updates > 0)
+         updatePs.executeBatch();
+   }
+
+   private Set<String> selectExistingIds(Connection connection, Set<String> keys) throws SQLException {
+      Set<String> existing = new HashSet<>();
+      PreparedStatement ps = null;
+      ResultSet rs = null;
+      try {
+         String sql = tableManipulation.getSelectMultipleIdRowSql(keys.size());
+         if (trace) {
+            log.tracef("Running sql '%s' on %s", sql, keys);
+         }
+         ps = connection.prepareStatement(sql);
+         int param = 1;
+         for (String keyStr : keys) {
+            ps.setString(param++, keyStr);
+         }
+         rs = ps.executeQuery();
+         while (rs.next()) {
+            existing.add(rs.getString(1));
+         }
+      } finally {
+         JdbcUtil.safeClose(rs);
+         JdbcUtil.safeClose(ps);
+      }
+      return existing;
+   }
+
    @Override
    public MarshalledEntry load(Object key) {
       String lockingKey = key2Str(key);
@@ -222,6 +363,71 @@ public MarshalledEntry load(Object key) {
       return storedValue;
    }
 
+   /**
+    * Loads the entries with one {@code SELECT ... WHERE id IN (...)} statement per
+    * {@link TableManipulation#getBatchSize()} keys.
+    */
+   @Override
+   public Map loadAll(Set keys) {
+      Map<Object, MarshalledEntry> entries = new HashMap<>();
+      if (keys.isEmpty()) {
+         return entries;
+      }
+      long now = ctx.getTimeService().wallClockTime();
+      Connection conn = null;
+      try {
+         conn = connectionFactory.getConnection();
+         Map<String, Object> batch = new HashMap<>();
+         for (Iterator<?> it = keys.iterator(); it.hasNext(); ) {
+            Object key = it.next();
+            batch.put(key2Str(key), key);
+            if (batch.size() == tableManipulation.getBatchSize() || !it.hasNext()) {
+               loadBatch(conn, batch, entries, now);
+               batch.clear();
+            }
+         }
+      } catch (SQLException e) {
+         log.sqlFailureReadingKeys(keys.size(), e);
+         throw new PersistenceException("SQL error while fetching a batch of stored entries", e);
+      } finally {
+         connectionFactory.releaseConnection(conn);
+      }
+      return entries;
+   }
+
+   private void loadBatch(Connection conn, Map<String, Object> batch, Map<Object, MarshalledEntry> entries, long now)
+         throws SQLException {
+      PreparedStatement ps = null;
+      ResultSet rs = null;
+      try {
+         String sql = tableManipulation.getSelectMultipleRowSql(batch.size());
+         if (trace) {
+            log.tracef("Running sql '%s' on %s", sql, batch.keySet());
+         }
+         ps = conn.prepareStatement(sql);
+         int param = 1;
+         for (String lockingKey : batch.keySet()) {
+            ps.setString(param++, lockingKey);
+         }
+         rs = ps.executeQuery();
+         while (rs.next()) {
+            Object key = batch.get(rs.getString(1));
+            if (key == null) {
+               continue;
+            }
+            InputStream inputStream = rs.getBinaryStream(2);
+            KeyValuePair<ByteBuffer, ByteBuffer> icv = JdbcUtil.unmarshall(ctx.getMarshaller(), inputStream);
+            MarshalledEntry storedValue = ctx.getMarshalledEntryFactory().newMarshalledEntry(key, icv.getKey(), icv.getValue());
+            if (storedValue.getMetadata() == null || !storedValue.getMetadata().isExpired(now)) {
+               entries.put(key, storedValue);
+            }
+         }
+      } finally {
+         JdbcUtil.safeClose(rs);
+         JdbcUtil.safeClose(ps);
+      }
+   }
+
    @Override
    public boolean delete(Object key) {
       Connection connection = null;
@@ -245,6 +451,37 @@ public boolean delete(Object key) {
       }
    }
 
+   @Override
+   public void deleteBatch(Iterable keys) {
+      Connection connection = null;
+      PreparedStatement ps = null;
+      try {
+         String sql = tableManipulation.getDeleteRowSql();
+         if (trace) {
+            log.tracef("Running sql '%s' in batches", sql);
+         }
+         connection = connectionFactory.getConnection();
+         ps = connection.prepareStatement(sql);
+         int batched = 0;
+         for (Object key : keys) {
+            ps.setString(1, key2Str(key));
+            ps.addBatch();
+            if (++batched == tableManipulation.getBatchSize()) {
+               ps.executeBatch();
+               batched = 0;
+            }
+         }
+         if (batched > 0)
+            ps.executeBatch();
+      } catch (SQLException ex) {
+         log.sqlFailureRemovingKeys(ex);
+         throw new PersistenceException("Error while removing string keys from database", ex);
+      } finally {
+         JdbcUtil.safeClose(ps);
+         connectionFactory.releaseConnection(connection);
+      }
+   }
+
    @Override
    public void clear() throws PersistenceException {
       Connection conn = null;
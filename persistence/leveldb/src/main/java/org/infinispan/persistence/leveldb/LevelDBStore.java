@@ -4,8 +4,10 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
@@ -34,6 +36,8 @@
 import org.iq80.leveldb.DBIterator;
 import org.iq80.leveldb.Options;
 import org.iq80.leveldb.ReadOptions;
+import org.iq80.leveldb.Snapshot;
+import org.iq80.leveldb.WriteBatch;
 
 @ConfiguredBy(LevelDBStoreConfiguration.class)
 public class LevelDBStore implements AdvancedLoadWriteStore {
@@ -403,6 +407,65 @@ public void write(MarshalledEntry me)  {
       }
    }
 
+   @Override
+   public void writeBatch(Iterable entries) {
+      try {
+         List<MarshalledEntry> expirable = new ArrayList<>();
+         WriteBatch batch = db.createWriteBatch();
+         try {
+            for (Object e : entries) {
+               MarshalledEntry me = (MarshalledEntry) e;
+               batch.put(marshall(me.getKey()), marshall(me));
+               InternalMetadata meta = me.getMetadata();
+               if (meta != null && meta.expiryTime() > -1) {
+                  expirable.add(me);
+               }
+            }
+            semaphore.acquire();
+            try {
+               if (stopped) {
+                  throw new PersistenceException("LevelDB is stopped");
+               }
+               db.write(batch);
+            } finally {
+               semaphore.release();
+            }
+         } finally {
+            batch.close();
+         }
+         for (MarshalledEntry me : expirable) {
+            addNewExpiry(me);
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      try {
+         WriteBatch batch = db.createWriteBatch();
+         try {
+            for (Object key : keys) {
+               batch.delete(marshall(key));
+            }
+            semaphore.acquire();
+            try {
+               if (stopped) {
+                  throw new PersistenceException("LevelDB is stopped");
+               }
+               db.write(batch);
+            } finally {
+               semaphore.release();
+            }
+         } finally {
+            batch.close();
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
    @Override
    public MarshalledEntry load(Object key)  {
       try {
@@ -429,6 +492,49 @@ public MarshalledEntry load(Object key)  {
       }
    }
 
+   /**
+    * Reads all the keys from a single snapshot of the database, acquiring the semaphore only once.
+    */
+   @Override
+   public Map loadAll(Set keys) {
+      try {
+         List<byte[]> marshalledEntries = new ArrayList<>(keys.size());
+         semaphore.acquire();
+         try {
+            if (stopped) {
+               throw new PersistenceException("LevelDB is stopped");
+            }
+            Snapshot snapshot = db.getSnapshot();
+            try {
+               ReadOptions readOptions = new ReadOptions().snapshot(snapshot);
+               for (Object key : keys) {
+                  marshalledEntries.add(db.get(marshall(key), readOptions));
+               }
+            } finally {
+               snapshot.close();
+            }
+         } finally {
+            semaphore.release();
+         }
+
+         Map<Object, MarshalledEntry> entries = new HashMap<>();
+         long now = ctx.getTimeService().wallClockTime();
+         int i = 0;
+         for (Object key : keys) {
+            MarshalledEntry me = (MarshalledEntry) unmarshall(marshalledEntries.get(i++));
+            if (me == null) continue;
+
+            InternalMetadata meta = me.getMetadata();
+            if (meta == null || !meta.isExpired(now)) {
+               entries.put(key, me);
+            }
+         }
+         return entries;
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
    @SuppressWarnings("unchecked")
    @Override
    public void purge(Executor executor, PurgeListener purgeListener) {
@@ -33,6 +33,9 @@
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.util.logging.LogFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -124,6 +127,26 @@ public MarshalledEntry load(Object key) throws PersistenceException {
       }
    }
 
+   /**
+    * Without raw values, all the entries are fetched with a single Hot Rod getAll. With raw values the metadata is
+    * needed too, and there is no bulk operation returning it, so the entries are loaded one at a time.
+    */
+   @Override
+   public Map loadAll(Set keys) throws PersistenceException {
+      if (configuration.rawValues()) {
+         return AdvancedLoadWriteStore.super.loadAll(keys);
+      }
+      Map<Object, Object> values = remoteCache.getAll(keys);
+      Map<Object, MarshalledEntry> entries = new HashMap<>();
+      for (Object key : keys) {
+         MarshalledEntry entry = (MarshalledEntry) values.get(key);
+         if (entry != null) {
+            entries.put(key, entry);
+         }
+      }
+      return entries;
+   }
+
    @Override
    public boolean contains(Object key) throws PersistenceException {
       return remoteCache.containsKey(key);
@@ -1,7 +1,13 @@
 package org.infinispan.persistence.sifs;
 
 import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -260,15 +266,7 @@ public void purge(Executor threadPool, PurgeListener listener) {
 
    @Override
    public void write(MarshalledEntry entry) {
-      int keyLength = entry.getKeyBytes().getLength();
-      if (keyLength > maxKeyLength) {
-         throw new PersistenceException("Configuration 'maxNodeSize' is too low - with maxNodeSize="
-               + configuration.maxNodeSize() + " bytes you can use only keys serialized to " + maxKeyLength
-               + " bytes (key " + entry.getKey() + " is serialized to " + keyLength + " bytes)");
-      } else if (keyLength > Short.MAX_VALUE) {
-         // TODO this limitation could be removed by different key length encoding
-         throw new PersistenceException("SoftIndexFileStore is limited to keys with serialized size <= 32767 bytes");
-      }
+      checkKeyLength(entry);
       try {
          storeQueue.pushAndWait(LogRequest.storeRequest(entry));
       } catch (Exception e) {
@@ -287,6 +285,59 @@ public boolean delete(Object key) {
       }
    }
 
+   /**
+    * Pushes all the entries to the log appender before waiting for them, so that they are appended and synced
+    * together instead of one by one.
+    */
+   @Override
+   public void writeBatch(Iterable entries) {
+      for (Object e : entries) {
+         checkKeyLength((MarshalledEntry) e);
+      }
+      List<LogRequest> requests = new ArrayList<>();
+      try {
+         for (Object e : entries) {
+            requests.add(LogRequest.storeRequest((MarshalledEntry) e));
+         }
+         long lastIndex = 0;
+         for (LogRequest request : requests) {
+            lastIndex = storeQueue.push(request);
+         }
+         if (lastIndex > 0) {
+            storeQueue.waitFor(lastIndex);
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      try {
+         long lastIndex = 0;
+         for (Object key : keys) {
+            lastIndex = storeQueue.push(LogRequest.deleteRequest(key, toBuffer(marshaller.objectToByteBuffer(key))));
+         }
+         if (lastIndex > 0) {
+            storeQueue.waitFor(lastIndex);
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   private void checkKeyLength(MarshalledEntry entry) {
+      int keyLength = entry.getKeyBytes().getLength();
+      if (keyLength > maxKeyLength) {
+         throw new PersistenceException("Configuration 'maxNodeSize' is too low - with maxNodeSize="
+               + configuration.maxNodeSize() + " bytes you can use only keys serialized to " + maxKeyLength
+               + " bytes (key " + entry.getKey() + " is serialized to " + keyLength + " bytes)");
+      } else if (keyLength > Short.MAX_VALUE) {
+         // TODO this limitation could be removed by different key length encoding
+         throw new PersistenceException("SoftIndexFileStore is limited to keys with serialized size <= 32767 bytes");
+      }
+   }
+
    @Override
    public boolean contains(Object key) {
       try {
@@ -322,9 +373,6 @@ public boolean contains(Object key) {
    @Override
    public MarshalledEntry load(Object key) {
       try {
-         byte[] serializedValue;
-         byte[] serializedKey;
-         byte[] serializedMetadata;
          for (;;) {
             EntryPosition entry = temporaryTable.get(key);
             if (entry != null) {
@@ -334,40 +382,97 @@ public MarshalledEntry load(Object key) {
                FileProvider.Handle handle = fileProvider.getFile(entry.file);
                if (handle != null) {
                   try {
-                     EntryHeader header = EntryRecord.readEntryHeader(handle, entry.offset);
-                     if (header == null) {
-                        throw new IllegalStateException("Error reading from " + entry.file + ":" + entry.offset + " | " + handle.getFileSize());
-                     }
-                     if (header.expiryTime() > 0 && header.expiryTime() <= timeService.wallClockTime()) {
-                        return null;
-                     }
-                     serializedKey = EntryRecord.readKey(handle, header, entry.offset);
-                     if (header.metadataLength() > 0) {
-                        serializedMetadata = EntryRecord.readMetadata(handle, header, entry.offset);
-                     } else {
-                        serializedMetadata = null;
-                     }
-                     if (header.valueLength() > 0) {
-                        serializedValue = EntryRecord.readValue(handle, header, entry.offset);
-                     } else {
-                        return null;
-                     }
-                     return marshalledEntryFactory.newMarshalledEntry(toBuffer(serializedKey), toBuffer(serializedValue), toBuffer(serializedMetadata));
+                     return readEntry(handle, entry);
                   } finally {
                      handle.close();
                   }
                }
             } else {
-               EntryRecord record = index.getRecord(key, marshaller.objectToByteBuffer(key));
-               if (record == null) return null;
-               return marshalledEntryFactory.newMarshalledEntry(toBuffer(record.getKey()), toBuffer(record.getValue()), toBuffer(record.getMetadata()));
+               return loadFromIndex(key);
+            }
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * Groups the keys found in the temporary table by file, so that each file is opened once and read in offset order.
+    * The keys not found there are looked up in the index.
+    */
+   @Override
+   public Map loadAll(Set keys) {
+      try {
+         Map<Object, MarshalledEntry> entries = new HashMap<>();
+         Map<Integer, List<Map.Entry<Object, EntryPosition>>> positionsByFile = new HashMap<>();
+         for (Object key : keys) {
+            EntryPosition entry = temporaryTable.get(key);
+            if (entry == null) {
+               putIfNotNull(entries, key, loadFromIndex(key));
+            } else if (entry.offset >= 0) {
+               positionsByFile.computeIfAbsent(entry.file, file -> new ArrayList<>())
+                     .add(new AbstractMap.SimpleImmutableEntry<>(key, entry));
+            }
+         }
+         for (Map.Entry<Integer, List<Map.Entry<Object, EntryPosition>>> filePositions : positionsByFile.entrySet()) {
+            List<Map.Entry<Object, EntryPosition>> positions = filePositions.getValue();
+            FileProvider.Handle handle = fileProvider.getFile(filePositions.getKey());
+            if (handle == null) {
+               // The file was removed by the compactor, the entries have moved to other files
+               for (Map.Entry<Object, EntryPosition> position : positions) {
+                  putIfNotNull(entries, position.getKey(), load(position.getKey()));
+               }
+               continue;
+            }
+            try {
+               positions.sort((p1, p2) -> Integer.compare(p1.getValue().offset, p2.getValue().offset));
+               for (Map.Entry<Object, EntryPosition> position : positions) {
+                  putIfNotNull(entries, position.getKey(), readEntry(handle, position.getValue()));
+               }
+            } finally {
+               handle.close();
             }
          }
+         return entries;
       } catch (Exception e) {
          throw new PersistenceException(e);
       }
    }
 
+   private static void putIfNotNull(Map<Object, MarshalledEntry> entries, Object key, MarshalledEntry entry) {
+      if (entry != null) {
+         entries.put(key, entry);
+      }
+   }
+
+   private MarshalledEntry readEntry(FileProvider.Handle handle, EntryPosition entry) throws IOException {
+      EntryHeader header = EntryRecord.readEntryHeader(handle, entry.offset);
+      if (header == null) {
+         throw new IllegalStateException("Error reading from " + entry.file + ":" + entry.offset + " | " + handle.getFileSize());
+      }
+      if (header.expiryTime() > 0 && header.expiryTime() <= timeService.wallClockTime()) {
+         return null;
+      }
+      byte[] serializedKey = EntryRecord.readKey(handle, header, entry.offset);
+      byte[] serializedMetadata;
+      if (header.metadataLength() > 0) {
+         serializedMetadata = EntryRecord.readMetadata(handle, header, entry.offset);
+      } else {
+         serializedMetadata = null;
+      }
+      if (header.valueLength() <= 0) {
+         return null;
+      }
+      byte[] serializedValue = EntryRecord.readValue(handle, header, entry.offset);
+      return marshalledEntryFactory.newMarshalledEntry(toBuffer(serializedKey), toBuffer(serializedValue), toBuffer(serializedMetadata));
+   }
+
+   private MarshalledEntry loadFromIndex(Object key) throws Exception {
+      EntryRecord record = index.getRecord(key, marshaller.objectToByteBuffer(key));
+      if (record == null) return null;
+      return marshalledEntryFactory.newMarshalledEntry(toBuffer(record.getKey()), toBuffer(record.getValue()), toBuffer(record.getMetadata()));
+   }
+
    /**
     * This method should be called by reflection to get more info about the missing/invalid key (from test tools)
     * @param key
@@ -20,6 +20,7 @@
 import org.infinispan.Cache;
 import org.infinispan.commands.FlagAffectedCommand;
 import org.infinispan.commands.LocalFlagAffectedCommand;
+import org.infinispan.commands.tx.CommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.write.ClearCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
@@ -33,6 +34,7 @@
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.distribution.DistributionManager;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
@@ -43,6 +45,7 @@
 import org.infinispan.marshall.core.MarshalledValue;
 import org.infinispan.query.Transformer;
 import org.infinispan.query.affinity.AffinityShardIdentifierProvider;
+import org.infinispan.query.dsl.embedded.impl.QueryResultCache;
 import org.infinispan.query.impl.DefaultSearchWorkCreator;
 import org.infinispan.query.logging.Log;
 import org.infinispan.registry.InternalCacheRegistry;
@@ -76,6 +79,10 @@ public final class QueryInterceptor extends CommandInterceptor {
    private SearchFactoryHandler searchFactoryHandler;
 
    private DataContainer dataContainer;
+   /**
+    * The cache of query results to invalidate on writes, or {@code null} if query results are not cached.
+    */
+   private QueryResultCache queryResultCache;
    protected TransactionManager transactionManager;
    protected TransactionSynchronizationRegistry transactionSynchronizationRegistry;
    private DistributionManager distributionManager;
@@ -110,6 +117,7 @@ protected void injectDependencies(TransactionManager transactionManager,
                                      DistributionManager distributionManager,
                                      RpcManager rpcManager,
                                      DataContainer dataContainer,
+                                     ComponentRegistry componentRegistry,
                                      @ComponentName(KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR) ExecutorService e) {
       this.transactionManager = transactionManager;
       this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
@@ -117,6 +125,7 @@ protected void injectDependencies(TransactionManager transactionManager,
       this.rpcManager = rpcManager;
       this.asyncExecutor = e;
       this.dataContainer = dataContainer;
+      this.queryResultCache = componentRegistry.getComponent(QueryResultCache.class);
       Set<Class<?>> indexedEntities = cache.getCacheConfiguration().indexing().indexedEntities();
       this.indexedEntities = indexedEntities.isEmpty() ? null : indexedEntities.toArray(new Class<?>[indexedEntities.size()]);
       this.queryKnownClasses = indexedEntities.isEmpty() ? new QueryKnownClasses(cache.getName(), cacheManager, internalCacheRegistry) : new QueryKnownClasses(indexedEntities);
@@ -159,6 +168,9 @@ public ExecutorService getAsyncExecutor() {
    public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
       Object toReturn = invokeNextInterceptor(ctx, command);
       processPutKeyValueCommand(command, ctx, toReturn, null);
+      if (command.isSuccessful() && !ctx.isInTxScope()) {
+         invalidateQueryResults(command, toReturn, command.getValue());
+      }
       return toReturn;
    }
 
@@ -167,6 +179,9 @@ public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) t
       // remove the object out of the cache first.
       Object valueRemoved = invokeNextInterceptor(ctx, command);
       processRemoveCommand(command, ctx, valueRemoved, null);
+      if (command.isSuccessful() && !command.isNonExistent() && !ctx.isInTxScope()) {
+         invalidateQueryResults(command, valueRemoved, null);
+      }
       return valueRemoved;
    }
 
@@ -174,6 +189,9 @@ public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) t
    public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command) throws Throwable {
       Object valueReplaced = invokeNextInterceptor(ctx, command);
       processReplaceCommand(command, ctx, valueReplaced, null);
+      if (command.isSuccessful() && !ctx.isInTxScope()) {
+         invalidateQueryResults(command, valueReplaced, command.getNewValue());
+      }
       return valueReplaced;
    }
 
@@ -181,6 +199,12 @@ public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command)
    public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) throws Throwable {
       Map<Object, Object> previousValues = (Map<Object, Object>) invokeNextInterceptor(ctx, command);
       processPutMapCommand(command, ctx, previousValues, null);
+      if (!ctx.isInTxScope()) {
+         for (Map.Entry<Object, Object> entry : command.getMap().entrySet()) {
+            Object previousValue = previousValues != null ? previousValues.get(entry.getKey()) : null;
+            invalidateQueryResults(command, previousValue, entry.getValue());
+         }
+      }
       return previousValues;
    }
 
@@ -189,9 +213,48 @@ public Object visitClearCommand(final InvocationContext ctx, final ClearCommand
       // This method is called when somebody calls a cache.clear() and we will need to wipe everything in the indexes.
       Object returnValue = invokeNextInterceptor(ctx, command);
       processClearCommand(command, ctx, null);
+      if (queryResultCache != null && !ctx.isInTxScope()) {
+         queryResultCache.invalidateAll();
+      }
       return returnValue;
    }
 
+   /**
+    * The changes of a transaction are only visible once it commits, so this is when the cached query results are
+    * invalidated. The previous values are not known at that point, so all the results are invalidated.
+    */
+   @Override
+   public Object visitCommitCommand(TxInvocationContext ctx, CommitCommand command) throws Throwable {
+      Object toReturn = invokeNextInterceptor(ctx, command);
+      invalidateQueryResults(ctx);
+      return toReturn;
+   }
+
+   /**
+    * Invalidates the cached query results on the types of the previous and of the new value. If the previous value is
+    * unknown because return values were ignored, all the cached results are invalidated.
+    */
+   private void invalidateQueryResults(FlagAffectedCommand command, Object previousValue, Object newValue) {
+      if (queryResultCache != null) {
+         if (previousValue == null && command.hasFlag(Flag.IGNORE_RETURN_VALUES)) {
+            queryResultCache.invalidateAll();
+            return;
+         }
+         if (previousValue != null) {
+            queryResultCache.invalidate(extractValue(previousValue).getClass());
+         }
+         if (newValue != null) {
+            queryResultCache.invalidate(extractValue(newValue).getClass());
+         }
+      }
+   }
+
+   private void invalidateQueryResults(TxInvocationContext ctx) {
+      if (queryResultCache != null && ctx.hasModifications()) {
+         queryResultCache.invalidateAll();
+      }
+   }
+
    /**
     * Remove all entries from all known indexes
     */
@@ -330,6 +393,9 @@ public Object visitPrepareCommand(TxInvocationContext ctx, PrepareCommand comman
       }
 
       final Object toReturn = super.visitPrepareCommand(ctx, command);
+      if (command.isOnePhaseCommit() && ctx.isTransactionValid()) {
+         invalidateQueryResults(ctx);
+      }
 
       if (ctx.isTransactionValid()) {
          final TransactionContext transactionContext = makeTransactionalEventContext();
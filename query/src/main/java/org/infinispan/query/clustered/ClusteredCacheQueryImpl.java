@@ -2,7 +2,6 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -98,61 +97,57 @@ public ResultIterator iterator(FetchOptions fetchOptions) throws SearchException
       hSearchQuery.maxResults(getNodeMaxResults());
       switch (fetchOptions.getFetchMode()) {
          case EAGER: {
-            ClusteredQueryCommand command = ClusteredQueryCommand.createEagerIterator(hSearchQuery, cache);
-            HashMap<UUID, ClusteredTopDocs> topDocsResponses = broadcastQuery(command);
-
-            return new DistributedIterator(sort,
-                  fetchOptions.getFetchSize(), this.resultSize, maxResults,
-                  firstResult, topDocsResponses, cache);
+            // every node returns all its top documents at once, and the values are loaded at once
+            return windowedIterator(getNodeMaxResults(), maxResults);
          }
          case LAZY: {
-            UUID lazyItId = UUID.randomUUID();
-            ClusteredQueryCommand command = ClusteredQueryCommand.createLazyIterator(hSearchQuery, cache, lazyItId);
-            HashMap<UUID, ClusteredTopDocs> topDocsResponses = broadcastQuery(command);
-
-            // Make a sort copy to avoid reversed results
-            return new DistributedLazyIterator(sort,
-                  fetchOptions.getFetchSize(), this.resultSize, maxResults,
-                  firstResult, lazyItId, topDocsResponses, asyncExecutor, cache);
+            // every node returns its top documents in windows of fetchSize results, and the values are
+            // loaded fetchSize at a time
+            return windowedIterator(fetchOptions.getFetchSize(), fetchOptions.getFetchSize());
          }
          default:
             throw new IllegalArgumentException("Unknown FetchMode " + fetchOptions.getFetchMode());
       }
    }
 
-   // number of results of each node of cluster
-   private int getNodeMaxResults() {
-      return maxResults + firstResult;
-   }
-
-   private HashMap<UUID, ClusteredTopDocs> broadcastQuery(ClusteredQueryCommand command) {
+   private ResultIterator windowedIterator(int windowSize, int pageSize) {
+      windowSize = Math.max(1, Math.min(windowSize, getNodeMaxResults()));
+      // the first window also covers the skipped results, so no other remote call is needed to skip them
+      int firstWindowSize = Math.min(firstResult + windowSize, getNodeMaxResults());
+      UUID queryId = UUID.randomUUID();
+      ClusteredQueryCommand command = ClusteredQueryCommand.createWindowedIterator(hSearchQuery, cache, queryId, firstWindowSize);
       ClusteredQueryInvoker invoker = new ClusteredQueryInvoker(cache, asyncExecutor);
-
-      HashMap<UUID, ClusteredTopDocs> topDocsResponses = new HashMap<UUID, ClusteredTopDocs>();
-      int resultSize = 0;
       List<QueryResponse> responses = invoker.broadcast(command);
 
+      int resultSize = 0;
       for (QueryResponse queryResponse : responses) {
-         ClusteredTopDocs topDocs = new ClusteredTopDocs(queryResponse.getTopDocs(), queryResponse.getNodeUUID());
-
          resultSize += queryResponse.getResultSize();
-         topDocs.setNodeAddress(queryResponse.getAddress());
-         topDocsResponses.put(queryResponse.getNodeUUID(), topDocs);
       }
-
       this.resultSize = resultSize;
-      return topDocsResponses;
+
+      return new DistributedWindowedIterator(sort, windowSize, Math.max(1, pageSize), maxResults, firstResult, queryId,
+            responses, invoker, cache);
+   }
+
+   // number of results of each node of cluster
+   private int getNodeMaxResults() {
+      return maxResults + firstResult;
    }
 
    @Override
    public List<Object> list() throws SearchException {
+      // the nodes return the top documents of the skipped results and of the page at once, and then only the
+      // keys of the page
       ResultIterator iterator = iterator(new FetchOptions().fetchMode(FetchOptions.FetchMode.EAGER));
-      List<Object> values = new ArrayList<Object>();
-      while (iterator.hasNext()) {
-         values.add(iterator.next());
+      try {
+         List<Object> values = new ArrayList<Object>();
+         while (iterator.hasNext()) {
+            values.add(iterator.next());
+         }
+         return values;
+      } finally {
+         iterator.close();
       }
-
-      return values;
    }
 
    @Override
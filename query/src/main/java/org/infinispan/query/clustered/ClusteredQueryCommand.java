@@ -37,17 +37,20 @@ public class ClusteredQueryCommand extends BaseRpcCommand implements ReplicableC
    // identifies the query
    private UUID lazyQueryId;
 
-   // for retrieve keys on a lazy query
+   // index of the first result to retrieve on a windowed query
    private Integer docIndex = ZERO;
 
+   // maximum number of results, or keys, returned at once by a windowed query
+   private int windowSize;
+
    private ClusteredQueryCommand(ClusteredQueryCommandType type, String cacheName) {
       super(cacheName);
       commandType = type;
    }
 
    /**
-    * For CommandFactory only. To create a ClusteredQueryCommand, use createLazyIterator(),
-    * destroyLazyQuery(), getResultSize() or retrieveKeyFromLazyQuery()
+    * For CommandFactory only. To create a ClusteredQueryCommand, use createWindowedIterator(),
+    * destroyLazyQuery(), getResultSize(), retrieveKeysFromQuery() or retrieveWindowFromQuery()
     */
    public ClusteredQueryCommand(String cacheName) {
       super(cacheName);
@@ -58,35 +61,39 @@ public void fetchExecutionContext(CommandInitializer ci) {
       this.cache = ci.getCacheManager().getCache(cacheName);
    }
 
-   public static ClusteredQueryCommand createLazyIterator(HSQuery query, Cache<?, ?> cache, UUID id) {
-      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.CREATE_LAZY_ITERATOR, cache.getName());
-      clQuery.query = query;
-      clQuery.lazyQueryId = id;
-      return clQuery;
-   }
-
    public static ClusteredQueryCommand getResultSize(HSQuery query, Cache<?, ?> cache) {
       ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.GET_RESULT_SIZE, cache.getName());
       clQuery.query = query;
       return clQuery;
    }
 
-   public static ClusteredQueryCommand createEagerIterator(HSQuery query, Cache<?, ?> cache) {
-      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.CREATE_EAGER_ITERATOR, cache.getName());
+   public static ClusteredQueryCommand createWindowedIterator(HSQuery query, Cache<?, ?> cache, UUID id, int windowSize) {
+      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.CREATE_WINDOWED_ITERATOR, cache.getName());
       clQuery.query = query;
+      clQuery.lazyQueryId = id;
+      clQuery.windowSize = windowSize;
       return clQuery;
    }
 
-   public static ClusteredQueryCommand destroyLazyQuery(Cache<?, ?> cache, UUID id) {
-      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.DESTROY_LAZY_ITERATOR, cache.getName());
+   public static ClusteredQueryCommand retrieveWindowFromQuery(Cache<?, ?> cache, UUID id, int docIndex, int windowSize) {
+      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.GET_RESULTS_WINDOW, cache.getName());
       clQuery.lazyQueryId = id;
+      clQuery.docIndex = docIndex;
+      clQuery.windowSize = windowSize;
       return clQuery;
    }
 
-   public static ClusteredQueryCommand retrieveKeyFromLazyQuery(Cache<?, ?> cache, UUID id, int docIndex) {
-      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.GET_SOME_KEYS, cache.getName());
+   public static ClusteredQueryCommand retrieveKeysFromQuery(Cache<?, ?> cache, UUID id, int docIndex, int count) {
+      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.GET_KEYS, cache.getName());
       clQuery.lazyQueryId = id;
       clQuery.docIndex = docIndex;
+      clQuery.windowSize = count;
+      return clQuery;
+   }
+
+   public static ClusteredQueryCommand destroyLazyQuery(Cache<?, ?> cache, UUID id) {
+      ClusteredQueryCommand clQuery = new ClusteredQueryCommand(ClusteredQueryCommandType.DESTROY_LAZY_ITERATOR, cache.getName());
+      clQuery.lazyQueryId = id;
       return clQuery;
    }
 
@@ -111,7 +118,7 @@ public Object perform(InvocationContext context) throws Throwable {
    }
 
    public QueryResponse perform(Cache<?, ?> cache) {
-      ClusteredQueryCommandWorker worker = commandType.getCommand(cache, query, lazyQueryId, docIndex);
+      ClusteredQueryCommandWorker worker = commandType.getCommand(cache, query, lazyQueryId, docIndex, windowSize);
       return worker.perform();
    }
 
@@ -126,6 +133,7 @@ public void writeTo(ObjectOutput output) throws IOException {
       output.writeObject(query);
       MarshallUtil.marshallUUID(lazyQueryId, output, true);
       output.writeInt(docIndex);
+      output.writeInt(windowSize);
    }
 
    @Override
@@ -134,6 +142,7 @@ public void readFrom(ObjectInput input) throws IOException, ClassNotFoundExcepti
       query = (HSQuery) input.readObject();
       lazyQueryId = MarshallUtil.unmarshallUUID(input, true);
       docIndex = input.readInt();
+      windowSize = input.readInt();
    }
 
    @Override
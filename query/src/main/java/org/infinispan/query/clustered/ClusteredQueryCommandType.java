@@ -4,11 +4,11 @@
 
 import org.hibernate.search.query.engine.spi.HSQuery;
 import org.infinispan.Cache;
-import org.infinispan.query.clustered.commandworkers.CQCreateEagerQuery;
-import org.infinispan.query.clustered.commandworkers.CQCreateLazyQuery;
+import org.infinispan.query.clustered.commandworkers.CQCreateWindowedQuery;
 import org.infinispan.query.clustered.commandworkers.CQGetResultSize;
+import org.infinispan.query.clustered.commandworkers.CQKeysFetcher;
 import org.infinispan.query.clustered.commandworkers.CQKillLazyIterator;
-import org.infinispan.query.clustered.commandworkers.CQLazyFetcher;
+import org.infinispan.query.clustered.commandworkers.CQWindowFetcher;
 import org.infinispan.query.clustered.commandworkers.ClusteredQueryCommandWorker;
 
 /**
@@ -20,34 +20,34 @@
  */
 public enum ClusteredQueryCommandType {
 
-   CREATE_LAZY_ITERATOR() {
+   DESTROY_LAZY_ITERATOR() {
       @Override
       public ClusteredQueryCommandWorker getNewInstance() {
-         return new CQCreateLazyQuery();
+         return new CQKillLazyIterator();
       }
    },
-   CREATE_EAGER_ITERATOR() {
+   GET_RESULT_SIZE() {
       @Override
       public ClusteredQueryCommandWorker getNewInstance() {
-         return new CQCreateEagerQuery();
+         return new CQGetResultSize();
       }
    },
-   DESTROY_LAZY_ITERATOR() {
+   CREATE_WINDOWED_ITERATOR() {
       @Override
       public ClusteredQueryCommandWorker getNewInstance() {
-         return new CQKillLazyIterator();
+         return new CQCreateWindowedQuery();
       }
    },
-   GET_SOME_KEYS() {
+   GET_RESULTS_WINDOW() {
       @Override
       public ClusteredQueryCommandWorker getNewInstance() {
-         return new CQLazyFetcher();
+         return new CQWindowFetcher();
       }
    },
-   GET_RESULT_SIZE() {
+   GET_KEYS() {
       @Override
       public ClusteredQueryCommandWorker getNewInstance() {
-         return new CQGetResultSize();
+         return new CQKeysFetcher();
       }
    };
 
@@ -56,10 +56,10 @@ public ClusteredQueryCommandWorker getNewInstance() {
    protected abstract ClusteredQueryCommandWorker getNewInstance();
 
    public ClusteredQueryCommandWorker getCommand(Cache<?, ?> cache, HSQuery query, UUID lazyQueryId,
-            int docIndex) {
+            int docIndex, int windowSize) {
       ClusteredQueryCommandWorker command = null;
       command = getNewInstance();
-      command.init(cache, query, lazyQueryId, docIndex);
+      command.init(cache, query, lazyQueryId, docIndex, windowSize);
       return command;
    }
 
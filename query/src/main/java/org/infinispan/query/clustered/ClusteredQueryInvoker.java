@@ -45,24 +45,57 @@ public class ClusteredQueryInvoker {
    }
 
    /**
-    * Retrieves the value (using doc index) in a remote query instance
-    * 
+    * Retrieves a window of top documents in a remote query instance
+    *
+    * @param doc
+    *           Doc index of the first result of the window on remote query
+    * @param windowSize
+    *           Maximum number of results of the window
+    * @param address
+    *           Address of the node who has the results
+    * @param queryId
+    *           Id of the query
+    * @return The window of results of the query with queryId on node at address
+    */
+   public NodeTopDocs getWindow(int doc, int windowSize, Address address, UUID queryId) {
+      ClusteredQueryCommand clusteredQuery = ClusteredQueryCommand.retrieveWindowFromQuery(
+               localCacheInstance, queryId, doc, windowSize);
+
+      return unicast(address, clusteredQuery).getTopDocs();
+   }
+
+   /**
+    * Retrieves the keys of a range of results in a remote query instance
+    *
     * @param doc
-    *           Doc index of the value on remote query
+    *           Doc index of the first result on remote query
+    * @param count
+    *           Maximum number of keys
     * @param address
-    *           Address of the node who has the value
+    *           Address of the node who has the results
     * @param queryId
     *           Id of the query
-    * @return The value of index doc of the query with queryId on node at address
+    * @return The keys of the results of the query with queryId on node at address
     */
-   public Object getValue(int doc, Address address, UUID queryId) {
-      ClusteredQueryCommand clusteredQuery = ClusteredQueryCommand.retrieveKeyFromLazyQuery(
-               localCacheInstance, queryId, doc);
+   public Object[] getKeys(int doc, int count, Address address, UUID queryId) {
+      ClusteredQueryCommand clusteredQuery = ClusteredQueryCommand.retrieveKeysFromQuery(
+               localCacheInstance, queryId, doc, count);
+
+      return (Object[]) unicast(address, clusteredQuery).getFetchedValue();
+   }
 
+   /**
+    * Invoke this ClusteredQueryCommand on a single cluster node, which can be the local node.
+    *
+    * @param address
+    * @param clusteredQuery
+    * @return The response of the node
+    */
+   public QueryResponse unicast(Address address, ClusteredQueryCommand clusteredQuery) {
       if (address.equals(myAddress)) {
          Future<QueryResponse> localResponse = localInvoke(clusteredQuery);
          try {
-            return localResponse.get().getFetchedValue();
+            return localResponse.get();
          } catch (InterruptedException e) {
             throw new SearchException("interrupted while searching locally", e);
          } catch (ExecutionException e) {
@@ -74,7 +107,7 @@ public Object getValue(int doc, Address address, UUID queryId) {
 
          Map<Address, Response> responses = rpcManager.invokeRemotely(addresss, clusteredQuery, rpcOptions);
          List<QueryResponse> objects = cast(responses);
-         return objects.get(0).getFetchedValue();
+         return objects.get(0);
       }
    }
 
@@ -0,0 +1,338 @@
+package org.infinispan.query.clustered;
+
+import org.apache.lucene.search.FieldComparator;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.infinispan.AdvancedCache;
+import org.infinispan.query.ResultIterator;
+import org.infinispan.query.logging.Log;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.util.logging.LogFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DistributedWindowedIterator.
+ *
+ * Iterates on a distributed query by merging the windows of top documents returned by each node.
+ * The windows only hold what's needed to sort the results, so skipping the first results doesn't
+ * transfer their keys or values. The windows are merged in a streaming way and the next window of
+ * a node is only fetched when its results are the next ones to be returned, so nodes that cannot
+ * contribute to the requested page are not contacted again.
+ *
+ * The results are returned in pages: the keys of the results of a page are fetched with a single
+ * remote call per node holding some of them, and their values are loaded with a single getAll on
+ * the cache of the caller, so its flags and its transaction apply.
+ *
+ * @since 8.2
+ */
+public class DistributedWindowedIterator implements ResultIterator {
+
+   private static final Log log = LogFactory.getLog(DistributedWindowedIterator.class, Log.class);
+
+   private final AdvancedCache<?, ?> cache;
+
+   private final ClusteredQueryInvoker invoker;
+
+   private final UUID queryId;
+
+   private final int windowSize;
+
+   private final int pageSize;
+
+   private final int maxResults;
+
+   private final List<NodeWindow> nodeWindows;
+
+   // the nodes with results left, the head being the node with the next result
+   private final PriorityQueue<NodeWindow> mergeQueue;
+
+   // the values of the current page
+   private List<Object> page = new ArrayList<Object>();
+
+   private int pagePosition;
+
+   private int returned;
+
+   public DistributedWindowedIterator(Sort sort, int windowSize, int pageSize, int maxResults, int firstResult,
+         UUID queryId, List<QueryResponse> responses, ClusteredQueryInvoker invoker, AdvancedCache<?, ?> cache) {
+      this.cache = cache;
+      this.invoker = invoker;
+      this.queryId = queryId;
+      this.windowSize = windowSize;
+      this.pageSize = pageSize;
+      this.maxResults = maxResults;
+      this.nodeWindows = new ArrayList<NodeWindow>(responses.size());
+      this.mergeQueue = new PriorityQueue<NodeWindow>(Math.max(1, responses.size()), createComparator(sort));
+      // every node returns at most its own first firstResult + maxResults results
+      int nodeMaxResults = firstResult + maxResults;
+      for (QueryResponse response : responses) {
+         NodeWindow nodeWindow = new NodeWindow(nodeWindows.size(), response.getAddress(),
+               Math.min(response.getResultSize(), nodeMaxResults), response.getTopDocs());
+         nodeWindows.add(nodeWindow);
+         if (nodeWindow.hasNext()) {
+            mergeQueue.add(nodeWindow);
+         }
+      }
+      for (int i = 0; i < firstResult && maxResults > 0 && nextNodeWindow() != null; i++) {
+         pollNext();
+      }
+   }
+
+   private Comparator<NodeWindow> createComparator(Sort sort) {
+      if (sort == null) {
+         // by relevance, as TopDocs.merge does
+         return new Comparator<NodeWindow>() {
+            @Override
+            public int compare(NodeWindow w1, NodeWindow w2) {
+               ScoreDoc d1 = w1.current();
+               ScoreDoc d2 = w2.current();
+               int c = Float.compare(d2.score, d1.score);
+               return c != 0 ? c : tieBreak(w1, d1, w2, d2);
+            }
+         };
+      }
+
+      final SortField[] sortFields = sort.getSort();
+      final FieldComparator<?>[] comparators = new FieldComparator<?>[sortFields.length];
+      final int[] reverseMul = new int[sortFields.length];
+      try {
+         for (int i = 0; i < sortFields.length; i++) {
+            comparators[i] = sortFields[i].getComparator(1, i);
+            reverseMul[i] = sortFields[i].getReverse() ? -1 : 1;
+         }
+      } catch (IOException e) {
+         throw log.unexpectedIOException(e);
+      }
+      return new Comparator<NodeWindow>() {
+         @Override
+         @SuppressWarnings({"unchecked", "rawtypes"})
+         public int compare(NodeWindow w1, NodeWindow w2) {
+            FieldDoc d1 = (FieldDoc) w1.current();
+            FieldDoc d2 = (FieldDoc) w2.current();
+            for (int i = 0; i < comparators.length; i++) {
+               int c = reverseMul[i] * ((FieldComparator) comparators[i]).compareValues(d1.fields[i], d2.fields[i]);
+               if (c != 0) {
+                  return c;
+               }
+            }
+            return tieBreak(w1, d1, w2, d2);
+         }
+      };
+   }
+
+   private static int tieBreak(NodeWindow w1, ScoreDoc d1, NodeWindow w2, ScoreDoc d2) {
+      if (w1.nodeIndex != w2.nodeIndex) {
+         return w1.nodeIndex < w2.nodeIndex ? -1 : 1;
+      }
+      return d1.doc < d2.doc ? -1 : d1.doc == d2.doc ? 0 : 1;
+   }
+
+   /**
+    * Returns the node with the next result, fetching its next window if its current window is
+    * exhausted, or null if there are no results left.
+    */
+   private NodeWindow nextNodeWindow() {
+      NodeWindow nodeWindow = mergeQueue.peek();
+      while (nodeWindow != null && nodeWindow.isExhausted()) {
+         // ordered by its last result, which comes before all the ones of its next window
+         mergeQueue.poll();
+         nodeWindow.fetchNextWindow();
+         if (nodeWindow.hasNext()) {
+            mergeQueue.add(nodeWindow);
+         }
+         nodeWindow = mergeQueue.peek();
+      }
+      return nodeWindow;
+   }
+
+   /**
+    * Consumes the next result, which must be available.
+    *
+    * @return the node holding the result
+    */
+   private NodeWindow pollNext() {
+      NodeWindow nodeWindow = mergeQueue.poll();
+      nodeWindow.position++;
+      if (nodeWindow.hasNext() || nodeWindow.isExhausted()) {
+         mergeQueue.add(nodeWindow);
+      }
+      return nodeWindow;
+   }
+
+   /**
+    * Merges the results of the next page, fetches their keys and loads their values.
+    *
+    * @return false if there are no results left
+    */
+   private boolean fetchNextPage() {
+      int size = Math.min(pageSize, maxResults - returned);
+      List<NodeWindow> owners = new ArrayList<NodeWindow>();
+      while (owners.size() < size && nextNodeWindow() != null) {
+         // the results of a node in the page are consecutive results of the node
+         NodeWindow nodeWindow = pollNext();
+         if (nodeWindow.pageCount++ == 0) {
+            nodeWindow.pageOffset = nodeWindow.offset + nodeWindow.position - 1;
+         }
+         owners.add(nodeWindow);
+      }
+      if (owners.isEmpty()) {
+         close();
+         return false;
+      }
+
+      for (NodeWindow nodeWindow : nodeWindows) {
+         if (nodeWindow.pageCount > 0) {
+            nodeWindow.pageKeys = invoker.getKeys(nodeWindow.pageOffset, nodeWindow.pageCount, nodeWindow.address, queryId);
+            nodeWindow.pageCount = 0;
+         }
+      }
+      if (returned + owners.size() >= maxResults || mergeQueue.isEmpty()) {
+         // the nodes won't be asked for anything else
+         close();
+      }
+
+      List<Object> keys = new ArrayList<Object>(owners.size());
+      for (NodeWindow nodeWindow : owners) {
+         Object[] pageKeys = nodeWindow.pageKeys;
+         keys.add(nodeWindow.pagePosition < pageKeys.length ? pageKeys[nodeWindow.pagePosition++] : null);
+      }
+      Set<Object> keySet = new HashSet<Object>(keys);
+      keySet.remove(null);
+      Map<?, ?> values = cache.getAll(keySet);
+
+      page = new ArrayList<Object>(keys.size());
+      for (Object key : keys) {
+         page.add(key == null ? null : values.get(key));
+      }
+      pagePosition = 0;
+      for (NodeWindow nodeWindow : nodeWindows) {
+         nodeWindow.pageKeys = null;
+         nodeWindow.pagePosition = 0;
+      }
+      return true;
+   }
+
+   @Override
+   public void close() {
+      for (NodeWindow nodeWindow : nodeWindows) {
+         if (nodeWindow.registered) {
+            nodeWindow.registered = false;
+            try {
+               invoker.unicast(nodeWindow.address, ClusteredQueryCommand.destroyLazyQuery(cache, queryId));
+            } catch (Exception e) {
+               log.error("Could not close the distributed iterator", e);
+            }
+         }
+      }
+      mergeQueue.clear();
+   }
+
+   @Override
+   public Object next() {
+      if (!hasNext())
+         throw new NoSuchElementException("Out of boundaries");
+      returned++;
+      return page.get(pagePosition++);
+   }
+
+   @Override
+   public final void remove() {
+      throw new UnsupportedOperationException("This Iterator is read only");
+   }
+
+   @Override
+   public final boolean hasNext() {
+      if (pagePosition < page.size()) {
+         return true;
+      }
+      return returned < maxResults && fetchNextPage();
+   }
+
+   /**
+    * The current window of results of a node.
+    */
+   private final class NodeWindow {
+
+      final int nodeIndex;
+
+      final Address address;
+
+      // the number of results of the node that can be returned
+      final int available;
+
+      NodeTopDocs window;
+
+      // the index of the first result of the current window among all the results of the node
+      int offset;
+
+      int position;
+
+      // whether the node holds the query, to fetch more windows and keys
+      boolean registered;
+
+      // the range of the results of the node in the page being fetched
+      int pageOffset;
+
+      int pageCount;
+
+      // the keys of the results of the node in the current page
+      Object[] pageKeys;
+
+      int pagePosition;
+
+      NodeWindow(int nodeIndex, Address address, int available, NodeTopDocs window) {
+         this.nodeIndex = nodeIndex;
+         this.address = address;
+         this.available = available;
+         this.window = window;
+         this.registered = available > 0;
+      }
+
+      int windowLength() {
+         return window.topDocs.scoreDocs.length;
+      }
+
+      boolean hasNext() {
+         return position < windowLength();
+      }
+
+      /**
+       * Whether the current window was fully consumed but the node still has results.
+       */
+      boolean isExhausted() {
+         return !hasNext() && isOpen();
+      }
+
+      /**
+       * Whether the node still has results that were not fetched.
+       */
+      boolean isOpen() {
+         return offset + windowLength() < available;
+      }
+
+      /**
+       * The current result, or the last result of the window if it is exhausted.
+       */
+      ScoreDoc current() {
+         return window.topDocs.scoreDocs[hasNext() ? position : windowLength() - 1];
+      }
+
+      void fetchNextWindow() {
+         offset += windowLength();
+         position = 0;
+         window = invoker.getWindow(offset, Math.min(windowSize, available - offset), address, queryId);
+      }
+   }
+}
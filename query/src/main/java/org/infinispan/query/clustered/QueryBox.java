@@ -11,12 +11,13 @@
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Each node in the cluster has a QueryBox instance. The QueryBox keep the active lazy iterators
- * (actually it keeps the DocumentExtractor of the searches) on the cluster, so it can return values
- * for the queries in a "lazy" way.
+ * Each node in the cluster has a QueryBox instance. The QueryBox keep the active distributed
+ * iterators (actually it keeps the DocumentExtractor of the searches) on the cluster, so it can
+ * return results for the queries in a "lazy" way.
  *
- * When a DistributedLazyIterator is created, every nodes creates a DocumentExtractor and register
- * it in your own QueryBox. So, the LazyIterator can fetch the values in a lazy way.
+ * When a DistributedWindowedIterator is created, every node with results creates a
+ * DocumentExtractor and registers it in its own QueryBox. So, the iterator can fetch the next
+ * windows of top documents, and the keys of the results it returns, in a lazy way.
  *
  * EVICTION: Currently the QueryBox keeps the last BOX_LIMIT DocumentExtractor used... probably
  * there is a better way.
@@ -44,15 +45,36 @@ public class QueryBox {
    private KeyTransformationHandler keyTransformationHandler;
 
    /**
-    * Get the "docIndex" value on the correct DocumentExtractor
+    * Get a window of top documents on the correct DocumentExtractor.
     *
     * @param queryUuid
     *           The queryId, so we can get the correct DocumentExtractor
-    * @param docIndex
-    *           value index in the DocumentExtractor
+    * @param offset
+    *           index of the first result of the window in the DocumentExtractor
+    * @param count
+    *           maximum number of results of the window
     * @return
     */
-   public Object getValue(UUID queryUuid, int docIndex) {
+   public NodeTopDocs getWindow(UUID queryUuid, int offset, int count) {
+      return QueryExtractorUtil.extractWindow(getExtractor(queryUuid), offset, count);
+   }
+
+   /**
+    * Get the keys of a range of results on the correct DocumentExtractor.
+    *
+    * @param queryUuid
+    *           The queryId, so we can get the correct DocumentExtractor
+    * @param offset
+    *           index of the first result in the DocumentExtractor
+    * @param count
+    *           maximum number of keys
+    * @return
+    */
+   public Object[] getKeys(UUID queryUuid, int offset, int count) {
+      return QueryExtractorUtil.extractKeys(getExtractor(queryUuid), cache, keyTransformationHandler, offset, count);
+   }
+
+   private DocumentExtractor getExtractor(UUID queryUuid) {
       touch(queryUuid);
 
       DocumentExtractor extractor = queries.get(queryUuid);
@@ -60,9 +82,7 @@ public Object getValue(UUID queryUuid, int docIndex) {
       if (extractor == null) {
          throw new IllegalStateException("Query not found!");
       }
-
-      Object key = QueryExtractorUtil.extractKey(extractor, cache, keyTransformationHandler, docIndex);
-      return cache.get(key);
+      return extractor;
    }
 
    private void touch(UUID id) {
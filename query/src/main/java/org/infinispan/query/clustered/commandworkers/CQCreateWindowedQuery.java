@@ -0,0 +1,46 @@
+package org.infinispan.query.clustered.commandworkers;
+
+import org.hibernate.search.query.engine.spi.DocumentExtractor;
+import org.infinispan.query.clustered.NodeTopDocs;
+import org.infinispan.query.clustered.QueryBox;
+import org.infinispan.query.clustered.QueryResponse;
+
+/**
+ * CQCreateWindowedQuery.
+ *
+ * Returns the first window of top documents of a node. If the node has any result, its
+ * DocumentExtractor is registered on the node QueryBox so the next windows and the keys of the
+ * returned results can be fetched.
+ *
+ * @since 8.2
+ */
+public class CQCreateWindowedQuery extends ClusteredQueryCommandWorker {
+
+   @Override
+   public QueryResponse perform() {
+      query.afterDeserialise(getSearchFactory());
+      DocumentExtractor extractor = query.queryDocumentExtractor();
+      boolean registered = false;
+      try {
+         int resultSize = query.queryResultSize();
+         QueryBox box = getQueryBox();
+
+         NodeTopDocs window = QueryExtractorUtil.extractWindow(extractor, 0, windowSize);
+
+         if (extractor.getTopDocs().scoreDocs.length > 0) {
+            box.put(lazyQueryId, extractor);
+            registered = true;
+         }
+
+         QueryResponse queryResponse = new QueryResponse(window, box.getMyId(), resultSize);
+         queryResponse.setAddress(cache.getAdvancedCache().getRpcManager().getAddress());
+         return queryResponse;
+      }
+      finally {
+         if (!registered) {
+            extractor.close();
+         }
+      }
+   }
+
+}
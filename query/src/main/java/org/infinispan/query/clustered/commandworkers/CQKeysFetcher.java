@@ -0,0 +1,20 @@
+package org.infinispan.query.clustered.commandworkers;
+
+import org.infinispan.query.clustered.QueryResponse;
+
+/**
+ * CQKeysFetcher.
+ *
+ * Fetch the keys of a range of results for a windowed iterator
+ *
+ * @since 8.2
+ */
+public class CQKeysFetcher extends ClusteredQueryCommandWorker {
+
+   @Override
+   public QueryResponse perform() {
+      Object[] keys = getQueryBox().getKeys(lazyQueryId, docIndex, windowSize);
+      return new QueryResponse(keys);
+   }
+
+}
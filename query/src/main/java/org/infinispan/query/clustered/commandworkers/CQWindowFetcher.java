@@ -0,0 +1,23 @@
+package org.infinispan.query.clustered.commandworkers;
+
+import org.infinispan.query.clustered.NodeTopDocs;
+import org.infinispan.query.clustered.QueryBox;
+import org.infinispan.query.clustered.QueryResponse;
+
+/**
+ * CQWindowFetcher.
+ *
+ * Fetch the next window of top documents for a windowed iterator
+ *
+ * @since 8.2
+ */
+public class CQWindowFetcher extends ClusteredQueryCommandWorker {
+
+   @Override
+   public QueryResponse perform() {
+      QueryBox box = getQueryBox();
+      NodeTopDocs window = box.getWindow(lazyQueryId, docIndex, windowSize);
+      return new QueryResponse(window, box.getMyId(), window.topDocs.totalHits);
+   }
+
+}
@@ -2,16 +2,20 @@
 
 import java.io.IOException;
 
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
 import org.infinispan.Cache;
 import org.infinispan.query.backend.KeyTransformationHandler;
+import org.infinispan.query.clustered.NodeTopDocs;
 import org.infinispan.query.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
 /**
  * QueryExtractorUtil.
  * 
- * Utility to extract the cache key of a DocumentExtractor.
+ * Utility to extract the cache keys and the top documents of a DocumentExtractor.
  * 
  * @author Israel Lacerra <israeldl@gmail.com>
  * @author Marko Luksa
@@ -38,4 +42,43 @@ public static Object extractKey(DocumentExtractor extractor, Cache<?, ?> cache,
       return key;
    }
 
+   /**
+    * Extracts a window of the top documents of a DocumentExtractor, holding only what's needed to merge them with the
+    * results of the other nodes: the keys are extracted separately, for the results which are actually returned.
+    *
+    * @param offset index of the first result of the window
+    * @param count maximum number of results of the window
+    * @return the window, which is empty if the offset is beyond the last result
+    */
+   public static NodeTopDocs extractWindow(DocumentExtractor extractor, int offset, int count) {
+      TopDocs topDocs = extractor.getTopDocs();
+      int size = Math.max(0, Math.min(count, topDocs.scoreDocs.length - offset));
+
+      ScoreDoc[] scoreDocs = new ScoreDoc[size];
+      System.arraycopy(topDocs.scoreDocs, offset, scoreDocs, 0, size);
+
+      TopDocs window;
+      if (topDocs instanceof TopFieldDocs) {
+         window = new TopFieldDocs(topDocs.totalHits, scoreDocs, ((TopFieldDocs) topDocs).fields, topDocs.getMaxScore());
+      } else {
+         window = new TopDocs(topDocs.totalHits, scoreDocs, topDocs.getMaxScore());
+      }
+      return new NodeTopDocs(window);
+   }
+
+   /**
+    * Extracts the keys of a range of results of a DocumentExtractor.
+    *
+    * @param offset index of the first result
+    * @param count maximum number of keys
+    */
+   public static Object[] extractKeys(DocumentExtractor extractor, Cache<?, ?> cache, KeyTransformationHandler keyTransformationHandler, int offset, int count) {
+      int size = Math.max(0, Math.min(count, extractor.getTopDocs().scoreDocs.length - offset));
+      Object[] keys = new Object[size];
+      for (int i = 0; i < size; i++) {
+         keys[i] = extractKey(extractor, cache, keyTransformationHandler, offset + i);
+      }
+      return keys;
+   }
+
 }
@@ -27,11 +27,25 @@ final class AggregatingQuery extends HybridQuery {
 
    private final boolean twoPhaseAcc;
 
+   /**
+    * Groups the rows of the base query on each node, or {@code null} if the rows are grouped here.
+    */
+   private final GroupingCollector groupingCollector;
+
    AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache, String jpaQuery, Map<String, Object> namedParameters,
                     int noOfGroupingColumns, List<FieldAccumulator> accumulators, boolean twoPhaseAcc,
                     ObjectFilter objectFilter,
                     long startOffset, int maxResults,
                     BaseQuery baseQuery) {
+      this(queryFactory, cache, jpaQuery, namedParameters, noOfGroupingColumns, accumulators, twoPhaseAcc, objectFilter,
+           startOffset, maxResults, baseQuery, null);
+   }
+
+   AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache, String jpaQuery, Map<String, Object> namedParameters,
+                    int noOfGroupingColumns, List<FieldAccumulator> accumulators, boolean twoPhaseAcc,
+                    ObjectFilter objectFilter,
+                    long startOffset, int maxResults,
+                    BaseQuery baseQuery, GroupingCollector groupingCollector) {
       super(queryFactory, cache, jpaQuery, namedParameters, objectFilter, startOffset, maxResults, baseQuery);
       if (baseQuery.getProjection() == null) {
          throw new IllegalArgumentException("Base query must use projections");
@@ -42,10 +56,17 @@ final class AggregatingQuery extends HybridQuery {
       this.noOfGroupingColumns = noOfGroupingColumns;
       this.accumulators = accumulators != null ? accumulators.toArray(new FieldAccumulator[accumulators.size()]) : null;
       this.twoPhaseAcc = twoPhaseAcc;
+      if (groupingCollector != null && !(baseQuery instanceof EmbeddedQuery)) {
+         throw new IllegalArgumentException("Only non-indexed base queries can be grouped by each node");
+      }
+      this.groupingCollector = groupingCollector;
    }
 
    @Override
    protected Iterator<?> getBaseIterator() {
+      if (groupingCollector != null) {
+         return ((EmbeddedQuery) baseQuery).group(groupingCollector);
+      }
       Grouper grouper = new Grouper(noOfGroupingColumns, accumulators, twoPhaseAcc);
       List<Object[]> list = baseQuery.list();
       for (Object[] row : list) {
@@ -1,5 +1,6 @@
 package org.infinispan.query.dsl.embedded.impl;
 
+import org.infinispan.objectfilter.impl.hql.FilterParsingResult;
 import org.infinispan.query.dsl.Query;
 import org.infinispan.query.dsl.QueryFactory;
 import org.infinispan.query.dsl.impl.BaseQuery;
@@ -18,6 +19,16 @@ final class DelegatingQuery extends BaseQuery {
 
    private BaseQuery query;
 
+   /**
+    * The name of the queried entity, known once the query is built.
+    */
+   private String targetEntityName;
+
+   /**
+    * The results of this query if the results of queries are cached, lazily obtained.
+    */
+   private QueryResultCache.CachedResult cachedResult;
+
    DelegatingQuery(QueryEngine queryEngine, QueryFactory queryFactory,
                    String jpaQuery, Map<String, Object> namedParameters, String[] projection,
                    long startOffset, int maxResults) {
@@ -27,6 +38,7 @@ final class DelegatingQuery extends BaseQuery {
 
    @Override
    public void resetQuery() {
+      cachedResult = null;
       if (query != null) {
          query.resetQuery();
       }
@@ -35,18 +47,45 @@ public void resetQuery() {
    private Query createQuery() {
       // query is created first time only
       if (query == null) {
-         query = queryEngine.buildQuery(queryFactory, jpaQuery, namedParameters, startOffset, maxResults);
+         FilterParsingResult<?> parsingResult = queryEngine.parseQuery(jpaQuery, namedParameters);
+         targetEntityName = parsingResult.getTargetEntityName();
+         query = queryEngine.buildQuery(queryFactory, jpaQuery, namedParameters, startOffset, maxResults, parsingResult);
       }
       return query;
    }
 
+   private QueryResultCache.CachedResult getCachedResult(QueryResultCache queryResultCache) {
+      if (cachedResult == null) {
+         queryEngine.checkPermission();
+         cachedResult = queryResultCache.get(jpaQuery, namedParameters, startOffset, maxResults);
+         if (cachedResult == null) {
+            Query query = createQuery();
+            // the generation is read before running the query, so the results are not cached if written meanwhile
+            long generation = queryResultCache.generation(targetEntityName);
+            List<?> list = query.list();
+            cachedResult = queryResultCache.put(jpaQuery, namedParameters, startOffset, maxResults,
+                                                targetEntityName, generation, list, query.getResultSize());
+         }
+      }
+      return cachedResult;
+   }
+
    @Override
+   @SuppressWarnings("unchecked")
    public <T> List<T> list() {
+      QueryResultCache queryResultCache = queryEngine.getQueryResultCache();
+      if (queryResultCache != null) {
+         return (List<T>) getCachedResult(queryResultCache).getList();
+      }
       return createQuery().list();
    }
 
    @Override
    public int getResultSize() {
+      QueryResultCache queryResultCache = queryEngine.getQueryResultCache();
+      if (queryResultCache != null) {
+         return getCachedResult(queryResultCache).getResultSize();
+      }
       return createQuery().getResultSize();
    }
 
@@ -2,16 +2,25 @@
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.filter.CacheFilters;
 import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.SortField;
 import org.infinispan.query.dsl.QueryFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 
 /**
- * Non-indexed embedded-mode query.
+ * Non-indexed embedded-mode query. If the query has a limit on the number of results, each node selects its own first
+ * results and only these are merged by the originator.
  *
  * @author anistor@redhat,com
  * @since 7.0
@@ -22,6 +31,16 @@ final class EmbeddedQuery extends BaseEmbeddedQuery {
 
    private JPAFilterAndConverter<?, ?> filter;
 
+   /**
+    * The requested page of results, lazily evaluated, if selected by each node.
+    */
+   private List<Object> topResults;
+
+   /**
+    * The total number of results, if the results are selected by each node.
+    */
+   private int topResultsCount;
+
    EmbeddedQuery(QueryEngine queryEngine, QueryFactory queryFactory, AdvancedCache<?, ?> cache,
                  String jpaQuery, Map<String, Object> namedParameters, String[] projection,
                  long startOffset, int maxResults) {
@@ -33,6 +52,7 @@ final class EmbeddedQuery extends BaseEmbeddedQuery {
    public void resetQuery() {
       super.resetQuery();
       filter = null;
+      topResults = null;
    }
 
    private JPAFilterAndConverter<?, ?> createFilter() {
@@ -51,6 +71,83 @@ private CloseableIterator<Map.Entry<?, ObjectFilter.FilterResult>> createFiltere
       return cache.filterEntries(f).converter(f).iterator();
    }
 
+   @SuppressWarnings("unchecked")
+   private Stream<CacheEntry<Object, ObjectFilter.FilterResult>> createFilteredStream() {
+      JPAFilterAndConverter<Object, Object> f = (JPAFilterAndConverter<Object, Object>) createFilter();
+      return CacheFilters.filterAndConvert(((AdvancedCache<Object, Object>) cache).cacheEntrySet().stream(), f);
+   }
+
+   @Override
+   public <T> List<T> list() {
+      if (maxResults == -1) {
+         // all results are needed, so they are all gathered and sorted here
+         return super.list();
+      }
+      if (topResults == null) {
+         collectTopResults();
+      }
+      return (List<T>) topResults;
+   }
+
+   @Override
+   public int getResultSize() {
+      if (maxResults == -1) {
+         return super.getResultSize();
+      }
+      if (topResults == null) {
+         collectTopResults();
+      }
+      return topResultsCount;
+   }
+
+   private void collectTopResults() {
+      long offset = Math.max(startOffset, 0);
+      boolean[] direction = null;
+      SortField[] sortFields = createFilter().getObjectFilter().getSortFields();
+      if (sortFields != null) {
+         direction = new boolean[sortFields.length];
+         for (int i = 0; i < sortFields.length; i++) {
+            direction[i] = sortFields[i].isAscending();
+         }
+      }
+      TopResultsCollector collector = new TopResultsCollector(direction, (int) Math.min(offset + maxResults, Integer.MAX_VALUE));
+      TopResultsCollector.TopResults collected;
+      try (Stream<CacheEntry<Object, ObjectFilter.FilterResult>> stream = createFilteredStream()) {
+         collected = stream.collect(collector);
+      }
+      if (collected == null) {
+         topResultsCount = 0;
+         topResults = Collections.emptyList();
+         return;
+      }
+      topResultsCount = (int) collected.getCount();
+      List<ObjectFilter.FilterResult> results = collected.getResults();
+      if (results.size() > offset) {
+         List<Object> page = new ArrayList<>(results.size() - (int) offset);
+         for (ObjectFilter.FilterResult r : results.subList((int) offset, results.size())) {
+            page.add(projection != null ? r.getProjection() : r.getInstance());
+         }
+         topResults = page;
+      } else {
+         topResults = Collections.emptyList();
+      }
+   }
+
+   /**
+    * Groups the projected rows of the results and computes the aggregations. The rows are grouped and partially
+    * aggregated by each node and only the partial groups are merged here.
+    */
+   Iterator<Object[]> group(GroupingCollector collector) {
+      GroupingCollector.PartialGroups groups;
+      try (Stream<CacheEntry<Object, ObjectFilter.FilterResult>> stream = createFilteredStream()) {
+         groups = stream.collect(collector);
+      }
+      if (groups == null) {
+         groups = collector.supplier().get();
+      }
+      return groups.finish();
+   }
+
    @Override
    protected Comparator<Comparable[]> getComparator() {
       return createFilter().getObjectFilter().getComparator();
@@ -0,0 +1,199 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.PropertyPath;
+import org.infinispan.objectfilter.impl.aggregation.FieldAccumulator;
+import org.infinispan.objectfilter.impl.aggregation.Grouper;
+import org.infinispan.query.impl.externalizers.ExternalizerIds;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Groups the projected rows of the matches of the first phase of an aggregation query and computes partial
+ * aggregations. Used with a distributed stream, each node only sends its partial groups to the originator, where they
+ * are merged using two phase accumulation, instead of sending all the matching rows.
+ * <p>
+ * The output rows have the grouping columns first, followed by one column for each aggregation.
+ *
+ * @since 8.2
+ */
+public final class GroupingCollector implements Collector<CacheEntry<?, ObjectFilter.FilterResult>, GroupingCollector.PartialGroups, GroupingCollector.PartialGroups> {
+
+   private static final Set<Characteristics> CHARACTERISTICS = Collections.unmodifiableSet(
+         EnumSet.of(Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED));
+
+   private final int noOfGroupingColumns;
+
+   /**
+    * The input column of each output column.
+    */
+   private final int[] inColumns;
+
+   /**
+    * The aggregation of each output column, {@code null} for the grouping columns.
+    */
+   private final PropertyPath.AggregationType[] aggregationTypes;
+
+   /**
+    * The property type of each output column.
+    */
+   private final Class<?>[] propertyTypes;
+
+   GroupingCollector(int noOfGroupingColumns, int[] inColumns, PropertyPath.AggregationType[] aggregationTypes, Class<?>[] propertyTypes) {
+      if (inColumns.length != aggregationTypes.length || inColumns.length != propertyTypes.length) {
+         throw new IllegalArgumentException("Column definitions must have the same length");
+      }
+      this.noOfGroupingColumns = noOfGroupingColumns;
+      this.inColumns = inColumns;
+      this.aggregationTypes = aggregationTypes;
+      this.propertyTypes = propertyTypes;
+   }
+
+   @Override
+   public Supplier<PartialGroups> supplier() {
+      return () -> new PartialGroups(this);
+   }
+
+   @Override
+   public BiConsumer<PartialGroups, CacheEntry<?, ObjectFilter.FilterResult>> accumulator() {
+      return (groups, entry) -> groups.addRow(entry.getValue().getProjection());
+   }
+
+   @Override
+   public BinaryOperator<PartialGroups> combiner() {
+      return PartialGroups::merge;
+   }
+
+   @Override
+   public Function<PartialGroups, PartialGroups> finisher() {
+      return Function.identity();
+   }
+
+   @Override
+   public Set<Characteristics> characteristics() {
+      return CHARACTERISTICS;
+   }
+
+   /**
+    * The groups computed so far, with unfinished aggregations.
+    */
+   public static final class PartialGroups {
+
+      private final GroupingCollector collector;
+
+      private final Grouper grouper;
+
+      private PartialGroups(GroupingCollector collector) {
+         this.collector = collector;
+         // the accumulators read and write the same output column, so partial groups can be merged as well
+         int noOfAccumulators = collector.inColumns.length - collector.noOfGroupingColumns;
+         FieldAccumulator[] accumulators = new FieldAccumulator[noOfAccumulators];
+         for (int i = 0; i < noOfAccumulators; i++) {
+            int column = collector.noOfGroupingColumns + i;
+            accumulators[i] = FieldAccumulator.makeAccumulator(collector.aggregationTypes[column], column, column,
+                                                               collector.propertyTypes[column]);
+         }
+         grouper = new Grouper(collector.noOfGroupingColumns, accumulators, true);
+      }
+
+      void addRow(Object[] inRow) {
+         Object[] row = new Object[collector.inColumns.length];
+         for (int i = 0; i < row.length; i++) {
+            row[i] = inRow[collector.inColumns[i]];
+         }
+         grouper.addRow(row);
+      }
+
+      PartialGroups merge(PartialGroups other) {
+         Iterator<Object[]> it = other.grouper.getPartialResults();
+         while (it.hasNext()) {
+            grouper.addRow(it.next());
+         }
+         return this;
+      }
+
+      /**
+       * Finishes the aggregations, after which no more rows can be added.
+       */
+      Iterator<Object[]> finish() {
+         return grouper.finish();
+      }
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<GroupingCollector> {
+
+      @Override
+      public void writeObject(ObjectOutput output, GroupingCollector collector) throws IOException {
+         output.writeInt(collector.noOfGroupingColumns);
+         output.writeObject(collector.inColumns);
+         output.writeObject(collector.aggregationTypes);
+         output.writeObject(collector.propertyTypes);
+      }
+
+      @Override
+      public GroupingCollector readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         int noOfGroupingColumns = input.readInt();
+         int[] inColumns = (int[]) input.readObject();
+         PropertyPath.AggregationType[] aggregationTypes = (PropertyPath.AggregationType[]) input.readObject();
+         Class<?>[] propertyTypes = (Class<?>[]) input.readObject();
+         return new GroupingCollector(noOfGroupingColumns, inColumns, aggregationTypes, propertyTypes);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.JPA_GROUPING_COLLECTOR;
+      }
+
+      @Override
+      public Set<Class<? extends GroupingCollector>> getTypeClasses() {
+         return Collections.<Class<? extends GroupingCollector>>singleton(GroupingCollector.class);
+      }
+   }
+
+   public static final class PartialGroupsExternalizer extends AbstractExternalizer<PartialGroups> {
+
+      @Override
+      public void writeObject(ObjectOutput output, PartialGroups groups) throws IOException {
+         output.writeObject(groups.collector);
+         Iterator<Object[]> it = groups.grouper.getPartialResults();
+         while (it.hasNext()) {
+            output.writeObject(it.next());
+         }
+         // marks the end of the rows
+         output.writeObject(null);
+      }
+
+      @Override
+      public PartialGroups readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         PartialGroups groups = new PartialGroups((GroupingCollector) input.readObject());
+         Object[] row;
+         while ((row = (Object[]) input.readObject()) != null) {
+            groups.grouper.addRow(row);
+         }
+         return groups;
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.JPA_PARTIAL_GROUPS;
+      }
+
+      @Override
+      public Set<Class<? extends PartialGroups>> getTypeClasses() {
+         return Collections.<Class<? extends PartialGroups>>singleton(PartialGroups.class);
+      }
+   }
+}
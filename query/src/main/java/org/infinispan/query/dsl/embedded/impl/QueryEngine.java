@@ -64,6 +64,11 @@ public class QueryEngine {
     */
    protected final QueryCache queryCache;
 
+   /**
+    * Optional cache for query results, {@code null} if caching of query results is not enabled.
+    */
+   private final QueryResultCache queryResultCache;
+
    /**
     * Optional, lazily acquired. This is {@code null} if the cache is not indexed.
     */
@@ -79,12 +84,21 @@ public class QueryEngine {
    protected final BooleanFilterNormalizer booleanFilterNormalizer = new BooleanFilterNormalizer();
 
    public QueryEngine(AdvancedCache<?, ?> cache, boolean isIndexed) {
+      this(cache, isIndexed, null);
+   }
+
+   public QueryEngine(AdvancedCache<?, ?> cache, boolean isIndexed, QueryResultCache queryResultCache) {
       this.cache = cache;
       this.isIndexed = isIndexed;
+      this.queryResultCache = queryResultCache;
       this.queryCache = ComponentRegistryUtils.getQueryCache(cache);
       authorizationManager = SecurityActions.getCacheAuthorizationManager(cache);
    }
 
+   QueryResultCache getQueryResultCache() {
+      return queryResultCache;
+   }
+
    protected SearchManager getSearchManager() {
       if (!isIndexed) {
          throw new IllegalStateException("Cache is not indexed");
@@ -106,13 +120,29 @@ protected SearchIntegrator getSearchFactory() {
    }
 
    public BaseQuery buildQuery(QueryFactory queryFactory, String jpqlString, Map<String, Object> namedParameters, long startOffset, int maxResults) {
+      return buildQuery(queryFactory, jpqlString, namedParameters, startOffset, maxResults, parseQuery(jpqlString, namedParameters));
+   }
+
+   /**
+    * Checks the permission to run queries.
+    */
+   void checkPermission() {
       if (authorizationManager != null) {
          authorizationManager.checkPermission(AuthorizationPermission.BULK_READ);
       }
+   }
 
+   /**
+    * Checks the permission and the parameters of a query and parses it, to be built by {@link #buildQuery(QueryFactory,
+    * String, Map, long, int, FilterParsingResult)}.
+    */
+   FilterParsingResult<?> parseQuery(String jpqlString, Map<String, Object> namedParameters) {
+      checkPermission();
       checkParameters(namedParameters);
+      return parse(jpqlString, namedParameters);
+   }
 
-      FilterParsingResult<?> parsingResult = parse(jpqlString, namedParameters);
+   BaseQuery buildQuery(QueryFactory queryFactory, String jpqlString, Map<String, Object> namedParameters, long startOffset, int maxResults, FilterParsingResult<?> parsingResult) {
       if (parsingResult.hasGroupingOrAggregations()) {
          return buildQueryWithAggregations(queryFactory, jpqlString, namedParameters, startOffset, maxResults, parsingResult);
       }
@@ -215,6 +245,9 @@ private BaseQuery buildQueryWithAggregations(QueryFactory queryFactory, String j
       LinkedHashMap<String, Integer> inColumns = new LinkedHashMap<String, Integer>();
       List<FieldAccumulator> accumulators = new LinkedList<FieldAccumulator>();
       RowPropertyHelper.ColumnMetadata[] _columns = new RowPropertyHelper.ColumnMetadata[columns.size()];
+      int[] columnSources = new int[columns.size()];
+      PropertyPath.AggregationType[] aggregationTypes = new PropertyPath.AggregationType[columns.size()];
+      Class<?>[] propertyTypes = new Class<?>[columns.size()];
       for (PropertyPath p : columns.keySet()) {
          RowPropertyHelper.ColumnMetadata c = columns.get(p);
          _columns[c.getColumnIndex()] = c;
@@ -224,6 +257,9 @@ private BaseQuery buildQueryWithAggregations(QueryFactory queryFactory, String j
             inIdx = inColumns.size();
             inColumns.put(asStringPath, inIdx);
          }
+         columnSources[c.getColumnIndex()] = inIdx;
+         aggregationTypes[c.getColumnIndex()] = p.getAggregationType();
+         propertyTypes[c.getColumnIndex()] = c.getPropertyType();
          if (p.getAggregationType() != null) {
             FieldAccumulator acc = FieldAccumulator.makeAccumulator(p.getAggregationType(), inIdx, c.getColumnIndex(), c.getPropertyType());
             accumulators.add(acc);
@@ -289,12 +325,16 @@ private BaseQuery buildQueryWithAggregations(QueryFactory queryFactory, String j
       String firstPhaseQueryStr = firstPhaseQuery.toString();
       BaseQuery baseQuery = buildQueryNoAggregations(queryFactory, firstPhaseQueryStr, namedParameters, -1, -1, parse(firstPhaseQueryStr, namedParameters));
 
+      // if the first phase is not indexed its rows are grouped and partially aggregated by the node that owns them
+      GroupingCollector groupingCollector = baseQuery instanceof EmbeddedQuery ?
+            new GroupingCollector(noOfGroupingColumns, columnSources, aggregationTypes, propertyTypes) : null;
+
       // second phase: grouping, aggregation, 'having' clause filtering, sorting and pagination
       String secondPhaseQueryStr = secondPhaseQuery.toString();
       return new AggregatingQuery(queryFactory, cache, secondPhaseQueryStr, namedParameters,
             noOfGroupingColumns, accumulators, false,
             getObjectFilter(new RowMatcher(_columns), secondPhaseQueryStr, namedParameters, null),
-            startOffset, maxResults, baseQuery);
+            startOffset, maxResults, baseQuery, groupingCollector);
    }
 
    /**
@@ -0,0 +1,290 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import net.jcip.annotations.ThreadSafe;
+import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.util.TimeService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A per-cache cache for the results of DSL queries, keyed by query string, named parameters and pagination. Results
+ * are invalidated by the {@link org.infinispan.query.backend.QueryInterceptor} when entities of the queried type (or
+ * of one of its subtypes) are written. Results also expire after a lifespan, as expiration of the cache entries is
+ * not intercepted.
+ * <p>
+ * Invalidation is lazy: each entity type has a generation counter which is incremented on writes, and a cached result
+ * is only used if the generation of its entity type did not change since the query was executed.
+ *
+ * @since 8.2
+ */
+@ThreadSafe
+public class QueryResultCache {
+
+   /**
+    * Indexing property with the maximum number of cached query results. Query results are not cached if this is not
+    * set or not positive.
+    */
+   public static final String MAX_ENTRIES_PROPERTY = "infinispan.query.result_cache.max_entries";
+
+   /**
+    * Indexing property with the lifespan of cached query results, in milliseconds.
+    */
+   public static final String LIFESPAN_PROPERTY = "infinispan.query.result_cache.lifespan";
+
+   private static final long DEFAULT_LIFESPAN = 60000;
+
+   private final TimeService timeService;
+
+   private final long lifespan;
+
+   private final ConcurrentMap<ResultKey, CachedResult> results;
+
+   /**
+    * Hit and miss statistics per query string, bounded like the results.
+    */
+   private final ConcurrentMap<String, QueryStatistics> statistics;
+
+   private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+   /**
+    * Incremented when the written types are not known, this invalidates the results of all the entity types.
+    */
+   private final AtomicLong globalGeneration = new AtomicLong();
+
+   /**
+    * The names of each written type and its supertypes, as queries on a supertype also match the subtypes.
+    */
+   private final ConcurrentMap<Class<?>, String[]> typeHierarchies = new ConcurrentHashMap<>();
+
+   private final LongAdder hits = new LongAdder();
+
+   private final LongAdder misses = new LongAdder();
+
+   public QueryResultCache(int maxEntries, long lifespan, TimeService timeService) {
+      this.timeService = timeService;
+      this.lifespan = lifespan;
+      this.results = CollectionFactory.makeBoundedConcurrentMap(maxEntries);
+      this.statistics = CollectionFactory.makeBoundedConcurrentMap(maxEntries);
+   }
+
+   /**
+    * Creates the result cache configured by the given indexing properties.
+    *
+    * @return the result cache or {@code null} if caching of query results is not enabled
+    */
+   public static QueryResultCache fromProperties(Properties properties, TimeService timeService) {
+      int maxEntries = Integer.parseInt(properties.getProperty(MAX_ENTRIES_PROPERTY, "0"));
+      if (maxEntries <= 0) {
+         return null;
+      }
+      long lifespan = Long.parseLong(properties.getProperty(LIFESPAN_PROPERTY, String.valueOf(DEFAULT_LIFESPAN)));
+      return new QueryResultCache(maxEntries, lifespan, timeService);
+   }
+
+   /**
+    * Gets the cached results of a query, or {@code null} if they are not cached or are no longer valid.
+    */
+   public CachedResult get(String queryString, Map<String, Object> namedParameters, long startOffset, int maxResults) {
+      ResultKey key = new ResultKey(queryString, namedParameters, startOffset, maxResults);
+      CachedResult cachedResult = results.get(key);
+      if (cachedResult != null && (cachedResult.generation != generation(cachedResult.entityName)
+                                         || timeService.wallClockTime() > cachedResult.expiryTime)) {
+         results.remove(key, cachedResult);
+         cachedResult = null;
+      }
+      QueryStatistics queryStatistics = statistics.computeIfAbsent(queryString, s -> new QueryStatistics());
+      if (cachedResult != null) {
+         hits.increment();
+         queryStatistics.hits.increment();
+      } else {
+         misses.increment();
+         queryStatistics.misses.increment();
+      }
+      return cachedResult;
+   }
+
+   /**
+    * Returns the current generation of an entity type. This must be obtained before executing a query and passed to
+    * {@link #put} so that the results are not cached if an entity was written meanwhile.
+    */
+   public long generation(String entityName) {
+      AtomicLong generation = generations.get(entityName);
+      if (generation == null) {
+         generation = generations.computeIfAbsent(entityName, n -> new AtomicLong());
+      }
+      // Both counters only increase, so the sum changes whenever either of them does
+      return globalGeneration.get() + generation.get();
+   }
+
+   /**
+    * Caches the results of a query if the generation of its entity type is still the given one.
+    *
+    * @return the result, which is also returned when it could not be cached
+    */
+   public CachedResult put(String queryString, Map<String, Object> namedParameters, long startOffset, int maxResults,
+                           String entityName, long generation, List<?> list, int resultSize) {
+      CachedResult cachedResult = new CachedResult(entityName, generation, timeService.wallClockTime() + lifespan,
+                                                   Collections.unmodifiableList(new ArrayList<>(list)), resultSize);
+      if (generation == generation(entityName)) {
+         results.put(new ResultKey(queryString, namedParameters, startOffset, maxResults), cachedResult);
+      }
+      return cachedResult;
+   }
+
+   /**
+    * Invalidates the results of the queries on the given type and on its supertypes.
+    */
+   public void invalidate(Class<?> entityType) {
+      for (String entityName : typeHierarchy(entityType)) {
+         AtomicLong generation = generations.get(entityName);
+         if (generation != null) {
+            generation.incrementAndGet();
+         }
+      }
+   }
+
+   /**
+    * Invalidates all the cached results.
+    */
+   public void invalidateAll() {
+      globalGeneration.incrementAndGet();
+      results.clear();
+   }
+
+   private String[] typeHierarchy(Class<?> entityType) {
+      String[] names = typeHierarchies.get(entityType);
+      if (names == null) {
+         Set<String> hierarchy = new HashSet<>();
+         addTypeHierarchy(entityType, hierarchy);
+         names = hierarchy.toArray(new String[hierarchy.size()]);
+         typeHierarchies.putIfAbsent(entityType, names);
+      }
+      return names;
+   }
+
+   private static void addTypeHierarchy(Class<?> type, Set<String> hierarchy) {
+      if (type != null && hierarchy.add(type.getName())) {
+         addTypeHierarchy(type.getSuperclass(), hierarchy);
+         for (Class<?> i : type.getInterfaces()) {
+            addTypeHierarchy(i, hierarchy);
+         }
+      }
+   }
+
+   public long getHitCount() {
+      return hits.sum();
+   }
+
+   public long getMissCount() {
+      return misses.sum();
+   }
+
+   public long getHitCount(String queryString) {
+      QueryStatistics queryStatistics = statistics.get(queryString);
+      return queryStatistics != null ? queryStatistics.hits.sum() : 0;
+   }
+
+   public long getMissCount(String queryString) {
+      QueryStatistics queryStatistics = statistics.get(queryString);
+      return queryStatistics != null ? queryStatistics.misses.sum() : 0;
+   }
+
+   /**
+    * Returns the query strings having statistics.
+    */
+   public Set<String> getQueryStrings() {
+      return new HashSet<>(statistics.keySet());
+   }
+
+   public void clearStatistics() {
+      hits.reset();
+      misses.reset();
+      statistics.clear();
+   }
+
+   /**
+    * The results of a query execution.
+    */
+   public static final class CachedResult {
+
+      private final String entityName;
+
+      private final long generation;
+
+      private final long expiryTime;
+
+      private final List<?> list;
+
+      private final int resultSize;
+
+      private CachedResult(String entityName, long generation, long expiryTime, List<?> list, int resultSize) {
+         this.entityName = entityName;
+         this.generation = generation;
+         this.expiryTime = expiryTime;
+         this.list = list;
+         this.resultSize = resultSize;
+      }
+
+      public List<?> getList() {
+         return list;
+      }
+
+      public int getResultSize() {
+         return resultSize;
+      }
+   }
+
+   private static final class QueryStatistics {
+      final LongAdder hits = new LongAdder();
+      final LongAdder misses = new LongAdder();
+   }
+
+   private static final class ResultKey {
+
+      private final String queryString;
+
+      private final Map<String, Object> namedParameters;
+
+      private final long startOffset;
+
+      private final int maxResults;
+
+      ResultKey(String queryString, Map<String, Object> namedParameters, long startOffset, int maxResults) {
+         this.queryString = queryString;
+         // copied as the parameters of the query can be changed after it's executed
+         this.namedParameters = namedParameters == null || namedParameters.isEmpty() ?
+               Collections.emptyMap() : new HashMap<>(namedParameters);
+         this.startOffset = startOffset;
+         this.maxResults = maxResults;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         ResultKey other = (ResultKey) o;
+         return startOffset == other.startOffset && maxResults == other.maxResults
+               && queryString.equals(other.queryString) && namedParameters.equals(other.namedParameters);
+      }
+
+      @Override
+      public int hashCode() {
+         int result = queryString.hashCode();
+         result = 31 * result + namedParameters.hashCode();
+         result = 31 * result + (int) (startOffset ^ (startOffset >>> 32));
+         result = 31 * result + maxResults;
+         return result;
+      }
+   }
+}
@@ -0,0 +1,228 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.util.ComparableArrayComparator;
+import org.infinispan.query.impl.externalizers.ExternalizerIds;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Collects the first matches of a non-indexed query, in the order of the 'order by' clause if any, and counts all the
+ * matches. Used with a distributed stream, each node only sends its own first matches and count to the originator,
+ * where they are merged.
+ *
+ * @since 8.2
+ */
+public final class TopResultsCollector implements Collector<CacheEntry<?, ObjectFilter.FilterResult>, TopResultsCollector.TopResults, TopResultsCollector.TopResults> {
+
+   private static final Set<Characteristics> CHARACTERISTICS = Collections.unmodifiableSet(
+         EnumSet.of(Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED));
+
+   /**
+    * The direction of each sort field ({@code true} for ascending), or {@code null} if the results are not sorted.
+    */
+   private final boolean[] direction;
+
+   /**
+    * The number of matches to keep.
+    */
+   private final int maxSize;
+
+   TopResultsCollector(boolean[] direction, int maxSize) {
+      if (maxSize < 0) {
+         throw new IllegalArgumentException("maxSize cannot be negative");
+      }
+      this.direction = direction;
+      this.maxSize = maxSize;
+   }
+
+   @Override
+   public Supplier<TopResults> supplier() {
+      return () -> new TopResults(direction, maxSize);
+   }
+
+   @Override
+   public BiConsumer<TopResults, CacheEntry<?, ObjectFilter.FilterResult>> accumulator() {
+      return (topResults, entry) -> topResults.add(entry.getValue());
+   }
+
+   @Override
+   public BinaryOperator<TopResults> combiner() {
+      return TopResults::merge;
+   }
+
+   @Override
+   public Function<TopResults, TopResults> finisher() {
+      return Function.identity();
+   }
+
+   @Override
+   public Set<Characteristics> characteristics() {
+      return CHARACTERISTICS;
+   }
+
+   /**
+    * The first matches found so far and the count of all the matches.
+    */
+   public static final class TopResults {
+
+      private final boolean[] direction;
+
+      private final int maxSize;
+
+      /**
+       * The kept matches. If sorted, this is a heap in reverse order, so its head is the first match to drop.
+       */
+      private final PriorityQueue<ObjectFilter.FilterResult> sortedResults;
+
+      private final List<ObjectFilter.FilterResult> unsortedResults;
+
+      private long count;
+
+      private TopResults(boolean[] direction, int maxSize) {
+         this.direction = direction;
+         this.maxSize = maxSize;
+         if (direction != null) {
+            Comparator<Comparable[]> comparator = new ComparableArrayComparator(direction);
+            sortedResults = new PriorityQueue<>(Math.min(maxSize, 1000) + 1,
+                                                (r1, r2) -> comparator.compare(r2.getSortProjection(), r1.getSortProjection()));
+            unsortedResults = null;
+         } else {
+            sortedResults = null;
+            unsortedResults = new ArrayList<>(Math.min(maxSize, 1000));
+         }
+      }
+
+      void add(ObjectFilter.FilterResult result) {
+         count++;
+         keep(result);
+      }
+
+      private void keep(ObjectFilter.FilterResult result) {
+         if (sortedResults != null) {
+            sortedResults.add(result);
+            if (sortedResults.size() > maxSize) {
+               sortedResults.remove();
+            }
+         } else if (unsortedResults.size() < maxSize) {
+            unsortedResults.add(result);
+         }
+      }
+
+      private Iterable<ObjectFilter.FilterResult> keptResults() {
+         return sortedResults != null ? sortedResults : unsortedResults;
+      }
+
+      TopResults merge(TopResults other) {
+         for (ObjectFilter.FilterResult result : other.keptResults()) {
+            keep(result);
+         }
+         count += other.count;
+         return this;
+      }
+
+      /**
+       * Returns the kept matches, in order if sorted.
+       */
+      List<ObjectFilter.FilterResult> getResults() {
+         if (sortedResults == null) {
+            return unsortedResults;
+         }
+         ObjectFilter.FilterResult[] results = new ObjectFilter.FilterResult[sortedResults.size()];
+         PriorityQueue<ObjectFilter.FilterResult> heap = new PriorityQueue<>(sortedResults);
+         for (int i = results.length - 1; i >= 0; i--) {
+            results[i] = heap.remove();
+         }
+         return Arrays.asList(results);
+      }
+
+      /**
+       * Returns the number of all the matches, including the ones that were not kept.
+       */
+      long getCount() {
+         return count;
+      }
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<TopResultsCollector> {
+
+      @Override
+      public void writeObject(ObjectOutput output, TopResultsCollector collector) throws IOException {
+         output.writeObject(collector.direction);
+         output.writeInt(collector.maxSize);
+      }
+
+      @Override
+      public TopResultsCollector readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         boolean[] direction = (boolean[]) input.readObject();
+         int maxSize = input.readInt();
+         return new TopResultsCollector(direction, maxSize);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.JPA_TOP_RESULTS_COLLECTOR;
+      }
+
+      @Override
+      public Set<Class<? extends TopResultsCollector>> getTypeClasses() {
+         return Collections.<Class<? extends TopResultsCollector>>singleton(TopResultsCollector.class);
+      }
+   }
+
+   public static final class TopResultsExternalizer extends AbstractExternalizer<TopResults> {
+
+      @Override
+      public void writeObject(ObjectOutput output, TopResults topResults) throws IOException {
+         output.writeObject(topResults.direction);
+         output.writeInt(topResults.maxSize);
+         output.writeLong(topResults.count);
+         List<ObjectFilter.FilterResult> results = topResults.sortedResults != null ?
+               new ArrayList<>(topResults.sortedResults) : topResults.unsortedResults;
+         output.writeInt(results.size());
+         for (ObjectFilter.FilterResult result : results) {
+            output.writeObject(result);
+         }
+      }
+
+      @Override
+      public TopResults readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         boolean[] direction = (boolean[]) input.readObject();
+         int maxSize = input.readInt();
+         TopResults topResults = new TopResults(direction, maxSize);
+         topResults.count = input.readLong();
+         int size = input.readInt();
+         for (int i = 0; i < size; i++) {
+            topResults.keep((ObjectFilter.FilterResult) input.readObject());
+         }
+         return topResults;
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.JPA_TOP_RESULTS;
+      }
+
+      @Override
+      public Set<Class<? extends TopResults>> getTypeClasses() {
+         return Collections.<Class<? extends TopResults>>singleton(TopResults.class);
+      }
+   }
+}
@@ -42,6 +42,25 @@ public static boolean hasInfinispanDirectory(Properties properties) {
       return "infinispan".equals(directoryProvider) || InfinispanIndexManager.class.getName().equals(indexManager);
    }
 
+   /**
+    * @return true if the index updates of any index are applied in batches by the InfinispanIndexManager, and so
+    * become visible to the queries only some time after the write
+    */
+   public static boolean hasIndexBatching(Properties properties) {
+      for (String propertyName : properties.stringPropertyNames()) {
+         if (propertyName.endsWith("batch.interval_ms")) {
+            try {
+               if (Integer.parseInt(properties.getProperty(propertyName).trim()) > 0) {
+                  return true;
+               }
+            } catch (NumberFormatException e) {
+               // rejected when the index is started
+            }
+         }
+      }
+      return false;
+   }
+
    private static String getPropertyFor(String suffix, Properties properties, String defaultValue) {
       Set<String> propertyNames = properties.stringPropertyNames();
       String propertyValue = null;
@@ -1,7 +1,9 @@
 package org.infinispan.query.impl;
 
 import org.hibernate.search.spi.SearchIntegrator;
+import org.infinispan.query.dsl.embedded.impl.QueryResultCache;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -15,13 +17,26 @@ public class InfinispanQueryStatisticsInfo implements InfinispanQueryStatisticsI
 
    private final SearchIntegrator sf;
 
+   /**
+    * The cache of query results, or {@code null} if query results are not cached.
+    */
+   private final QueryResultCache queryResultCache;
+
    public InfinispanQueryStatisticsInfo(SearchIntegrator sf) {
+      this(sf, null);
+   }
+
+   public InfinispanQueryStatisticsInfo(SearchIntegrator sf, QueryResultCache queryResultCache) {
       this.sf = sf;
+      this.queryResultCache = queryResultCache;
    }
 
    @Override
    public void clear() {
       sf.getStatistics().clear();
+      if (queryResultCache != null) {
+         queryResultCache.clearStatistics();
+      }
    }
 
    @Override
@@ -98,4 +113,29 @@ public int getNumberOfIndexedEntities(String entity) {
    public Map<String, Integer> indexedEntitiesCount() {
       return sf.getStatistics().indexedEntitiesCount();
    }
+
+   @Override
+   public long getQueryResultCacheHitCount() {
+      return queryResultCache != null ? queryResultCache.getHitCount() : 0;
+   }
+
+   @Override
+   public long getQueryResultCacheMissCount() {
+      return queryResultCache != null ? queryResultCache.getMissCount() : 0;
+   }
+
+   @Override
+   public Set<String> getQueryResultCacheQueryStrings() {
+      return queryResultCache != null ? queryResultCache.getQueryStrings() : Collections.emptySet();
+   }
+
+   @Override
+   public long getQueryResultCacheHitCount(String queryString) {
+      return queryResultCache != null ? queryResultCache.getHitCount(queryString) : 0;
+   }
+
+   @Override
+   public long getQueryResultCacheMissCount(String queryString) {
+      return queryResultCache != null ? queryResultCache.getMissCount(queryString) : 0;
+   }
 }
@@ -1,5 +1,7 @@
 package org.infinispan.query.impl;
 
+import java.util.Set;
+
 /**
  * MBean interface as required by JMX rules. It duplicates org.hibernate.search.jmx.StatisticsInfoMBean
  * just to be in the same package as org.infinispan.query.impl.InfinispanQueryStatisticsInfo.
@@ -8,4 +10,31 @@
  * @since 6.1
  */
 public interface InfinispanQueryStatisticsInfoMBean extends org.hibernate.search.jmx.StatisticsInfoMBean {
+
+   /**
+    * Returns the number of DSL query executions answered from the query result cache, or 0 if query results are not
+    * cached.
+    */
+   long getQueryResultCacheHitCount();
+
+   /**
+    * Returns the number of DSL query executions not found in the query result cache, or 0 if query results are not
+    * cached.
+    */
+   long getQueryResultCacheMissCount();
+
+   /**
+    * Returns the query strings having query result cache statistics.
+    */
+   Set<String> getQueryResultCacheQueryStrings();
+
+   /**
+    * Returns the number of executions of the given query answered from the query result cache.
+    */
+   long getQueryResultCacheHitCount(String queryString);
+
+   /**
+    * Returns the number of executions of the given query not found in the query result cache.
+    */
+   long getQueryResultCacheMissCount(String queryString);
 }
@@ -18,6 +18,7 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.commons.util.ServiceFinder;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.CustomInterceptorsConfigurationBuilder;
@@ -42,10 +43,13 @@
 import org.infinispan.query.backend.QueryInterceptor;
 import org.infinispan.query.backend.SearchableCacheConfiguration;
 import org.infinispan.query.clustered.QueryBox;
+import org.infinispan.query.dsl.embedded.impl.GroupingCollector;
 import org.infinispan.query.dsl.embedded.impl.JPACacheEventFilterConverter;
 import org.infinispan.query.dsl.embedded.impl.QueryCache;
 import org.infinispan.query.dsl.embedded.impl.JPAFilterAndConverter;
 import org.infinispan.query.dsl.embedded.impl.QueryEngine;
+import org.infinispan.query.dsl.embedded.impl.QueryResultCache;
+import org.infinispan.query.dsl.embedded.impl.TopResultsCollector;
 import org.infinispan.query.impl.externalizers.ClusteredTopDocsExternalizer;
 import org.infinispan.query.impl.externalizers.ExternalizerIds;
 import org.infinispan.query.impl.externalizers.LuceneBooleanQueryExternalizer;
@@ -69,6 +73,7 @@
 import org.infinispan.registry.InternalCacheRegistry.Flag;
 import org.infinispan.query.backend.QueryKnownClasses;
 import org.infinispan.transaction.LockingMode;
+import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.LogFactory;
 import org.kohsuke.MetaInfServices;
 
@@ -104,7 +109,11 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
          boolean isIndexed = cfg.indexing().index().isEnabled();
          AdvancedCache<?, ?> cache = cr.getComponent(Cache.class).getAdvancedCache();
 
-         QueryEngine queryEngine = new QueryEngine(cache, isIndexed);
+         QueryResultCache queryResultCache = isIndexed ? createQueryResultCache(cr, cfg, cacheName) : null;
+         if (queryResultCache != null) {
+            cr.registerComponent(queryResultCache, QueryResultCache.class);
+         }
+         QueryEngine queryEngine = new QueryEngine(cache, isIndexed, queryResultCache);
          cr.registerComponent(queryEngine, QueryEngine.class);
 
          if (isIndexed) {
@@ -125,6 +134,26 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
       }
    }
 
+   /**
+    * Query results can only be cached if all the writes to the cache are intercepted locally, so the cached results
+    * can be invalidated, and if the index is updated by the write itself: with batching a query running after the
+    * invalidation could still see the old index, and its result would be cached.
+    */
+   private QueryResultCache createQueryResultCache(ComponentRegistry cr, Configuration cfg, String cacheName) {
+      TimeService timeService = cr.getGlobalComponentRegistry().getComponent(TimeService.class);
+      QueryResultCache queryResultCache = QueryResultCache.fromProperties(cfg.indexing().properties(), timeService);
+      CacheMode cacheMode = cfg.clustering().cacheMode();
+      if (queryResultCache != null && !cacheMode.isReplicated() && cacheMode != CacheMode.LOCAL) {
+         log.queryResultCacheNotSupported(cacheName, cacheMode);
+         return null;
+      }
+      if (queryResultCache != null && hasIndexBatching(cfg.indexing().properties())) {
+         log.queryResultCacheDisabledByIndexBatching(cacheName);
+         return null;
+      }
+      return queryResultCache;
+   }
+
    private void addCacheDependencyIfNeeded(String cacheStarting, EmbeddedCacheManager cacheManager, IndexingConfiguration indexingConfiguration) {
       if (indexingConfiguration.indexedEntities().isEmpty()) {
          // todo [anistor] remove dependency on QueryKnownClasses in infinispan 9.0
@@ -238,7 +267,7 @@ private void registerQueryMBeans(ComponentRegistry cr, Configuration cfg, Search
       jmxDomain = JmxUtil.buildJmxDomain(globalCfg, mbeanServer, queryGroupName);
 
       // Register statistics MBean, but only enable if Infinispan config says so
-      InfinispanQueryStatisticsInfo stats = new InfinispanQueryStatisticsInfo(sf);
+      InfinispanQueryStatisticsInfo stats = new InfinispanQueryStatisticsInfo(sf, cr.getComponent(QueryResultCache.class));
       stats.setStatisticsEnabled(cfg.jmxStatistics().enabled());
       try {
          ObjectName statsObjName = new ObjectName(
@@ -378,6 +407,10 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       externalizerMap.put(ExternalizerIds.JPA_CACHE_EVENT_FILTER_CONVERTER, new JPACacheEventFilterConverter.Externalizer());
       externalizerMap.put(ExternalizerIds.JPA_CONTINUOUS_QUERY_CACHE_EVENT_FILTER_CONVERTER, new JPAContinuousQueryCacheEventFilterConverter.Externalizer());
       externalizerMap.put(ExternalizerIds.JPA_CONTINUOUS_QUERY_RESULT, new ContinuousQueryResult.Externalizer());
+      externalizerMap.put(ExternalizerIds.JPA_TOP_RESULTS_COLLECTOR, new TopResultsCollector.Externalizer());
+      externalizerMap.put(ExternalizerIds.JPA_TOP_RESULTS, new TopResultsCollector.TopResultsExternalizer());
+      externalizerMap.put(ExternalizerIds.JPA_GROUPING_COLLECTOR, new GroupingCollector.Externalizer());
+      externalizerMap.put(ExternalizerIds.JPA_PARTIAL_GROUPS, new GroupingCollector.PartialGroupsExternalizer());
       externalizerMap.put(ExternalizerIds.LUCENE_QUERY_BOOLEAN, new LuceneBooleanQueryExternalizer());
       externalizerMap.put(ExternalizerIds.LUCENE_QUERY_TERM, new LuceneTermQueryExternalizer());
       externalizerMap.put(ExternalizerIds.LUCENE_TERM, new LuceneTermExternalizer());
@@ -46,4 +46,12 @@ public interface ExternalizerIds {
    Integer JPA_CONTINUOUS_QUERY_CACHE_EVENT_FILTER_CONVERTER = 1616;
 
    Integer JPA_CONTINUOUS_QUERY_RESULT = 1617;
+
+   Integer JPA_TOP_RESULTS_COLLECTOR = 1618;
+
+   Integer JPA_TOP_RESULTS = 1619;
+
+   Integer JPA_GROUPING_COLLECTOR = 1620;
+
+   Integer JPA_PARTIAL_GROUPS = 1621;
 }
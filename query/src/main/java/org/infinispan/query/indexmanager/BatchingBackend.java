@@ -0,0 +1,329 @@
+package org.infinispan.query.indexmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import net.jcip.annotations.GuardedBy;
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.infinispan.commons.CacheException;
+import org.infinispan.query.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Accumulates the transactional index update operations received by an index, from local
+ * writes or from other nodes, and hands them over to the current IndexingBackend in batches:
+ * operations on the same document are merged, and each batch is applied as a single change set,
+ * so the index lock is acquired and the index committed once per batch rather than once per
+ * command.
+ * A batch is applied when the configured interval elapses, or earlier when the number of pending
+ * operations reaches the configured batch size. The buffer of pending change sets is bounded:
+ * when it's full, writers block until the next batch is applied.
+ * A batch which fails to be applied is kept and applied again, ahead of the following operations,
+ * the next time the buffer is flushed. After {@value #MAX_BATCH_ATTEMPTS} failed attempts its
+ * operations are applied one at a time, and the ones which still fail are logged and discarded, so
+ * that a single bad operation doesn't block the index updates behind it.
+ * Operations which need an IndexingMonitor and stream operations are not batched: the pending
+ * operations are applied first so that the order of the operations is kept.
+ * As the operations are applied in the background, batching makes the index updates
+ * asynchronous even when the backend is configured as synchronous.
+ *
+ * @see IndexWorkMerger
+ * @since 8.2
+ */
+final class BatchingBackend implements IndexingBackend, IndexingBatchStatistics {
+
+   private static final Log log = LogFactory.getLog(BatchingBackend.class, Log.class);
+
+   /**
+    * The maximum time in milliseconds an operation waits before being applied. Batching is disabled by default (0).
+    */
+   static final String BATCH_INTERVAL = "batch.interval_ms";
+
+   /**
+    * The number of pending operations triggering a batch before the interval elapses, and the maximum size of a batch.
+    */
+   static final String BATCH_MAX_SIZE = "batch.max_size";
+
+   /**
+    * The maximum number of pending change sets before the writers are blocked.
+    */
+   static final String BATCH_QUEUE_SIZE = "batch.queue_size";
+
+   private static final int DEFAULT_BATCH_MAX_SIZE = 1000;
+   private static final int DEFAULT_BATCH_QUEUE_SIZE = 10000;
+
+   /**
+    * The number of times a batch is applied before its operations are applied one at a time.
+    */
+   static final int MAX_BATCH_ATTEMPTS = 3;
+
+   private final SwitchingBackend target;
+   private final IndexManager indexManager;
+   private final long intervalNanos;
+   private final int maxBatchSize;
+   private final int queueCapacity;
+   private final BlockingQueue<List<LuceneWork>> bufferedWork;
+   private final AtomicInteger bufferedWorkCount = new AtomicInteger();
+   // change sets are only drained from the buffer while holding this lock, to apply them in order
+   private final Lock applyLock = new ReentrantLock();
+   // the operations of a batch which failed to be applied, to be applied before the buffered ones
+   @GuardedBy("applyLock")
+   private List<LuceneWork> failedBatch;
+   @GuardedBy("applyLock")
+   private int failedBatchAttempts;
+   private final Thread flusher;
+   private volatile boolean running = true;
+
+   private final AtomicLong receivedWorkCount = new AtomicLong();
+   private final AtomicLong mergedWorkCount = new AtomicLong();
+   private final AtomicLong appliedBatchCount = new AtomicLong();
+   private final AtomicLong blockedEnqueueCount = new AtomicLong();
+   private final AtomicLong blockedEnqueueNanos = new AtomicLong();
+
+   private BatchingBackend(SwitchingBackend target, IndexManager indexManager, long intervalMillis, int maxBatchSize,
+         int queueCapacity, ThreadFactory threadFactory) {
+      this.target = target;
+      this.indexManager = indexManager;
+      this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+      this.maxBatchSize = maxBatchSize;
+      this.queueCapacity = queueCapacity;
+      this.bufferedWork = new ArrayBlockingQueue<List<LuceneWork>>(queueCapacity);
+      this.flusher = threadFactory.newThread(this::flushPeriodically);
+   }
+
+   /**
+    * @param threadFactory creates the thread applying the batches
+    * @return a started BatchingBackend forwarding to the target, or null if batching is not enabled for the index
+    */
+   static BatchingBackend create(Properties props, SwitchingBackend target, IndexManager indexManager, ThreadFactory threadFactory) {
+      int intervalMillis = ConfigurationParseHelper.getIntValue(props, BATCH_INTERVAL, 0);
+      if (intervalMillis <= 0) {
+         return null;
+      }
+      int maxBatchSize = ConfigurationParseHelper.getIntValue(props, BATCH_MAX_SIZE, DEFAULT_BATCH_MAX_SIZE);
+      int queueCapacity = ConfigurationParseHelper.getIntValue(props, BATCH_QUEUE_SIZE, DEFAULT_BATCH_QUEUE_SIZE);
+      BatchingBackend backend = new BatchingBackend(target, indexManager, intervalMillis, maxBatchSize, queueCapacity, threadFactory);
+      backend.flusher.start();
+      log.indexBatchingEnabled(indexManager.getIndexName(), intervalMillis, maxBatchSize);
+      return backend;
+   }
+
+   @Override
+   public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor, IndexManager indexManager) {
+      if (workList.isEmpty()) {
+         return;
+      }
+      receivedWorkCount.addAndGet(workList.size());
+      if (monitor != null || !running) {
+         // merging would make the monitor notifications inaccurate
+         applyLock.lock();
+         try {
+            flushBuffer(target.getCurrentIndexingBackend());
+            target.getCurrentIndexingBackend().applyWork(workList, monitor, indexManager);
+         } finally {
+            applyLock.unlock();
+         }
+      } else {
+         enqueue(workList);
+      }
+   }
+
+   @Override
+   public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor, IndexManager indexManager) {
+      receivedWorkCount.incrementAndGet();
+      applyLock.lock();
+      try {
+         flushBuffer(target.getCurrentIndexingBackend());
+         target.getCurrentIndexingBackend().applyStreamWork(singleOperation, monitor, indexManager);
+      } finally {
+         applyLock.unlock();
+      }
+   }
+
+   private void enqueue(List<LuceneWork> workList) {
+      if (!bufferedWork.offer(workList)) {
+         if (log.isDebugEnabled()) {
+            log.debug("Batching buffer saturated: blocking");
+         }
+         blockedEnqueueCount.incrementAndGet();
+         LockSupport.unpark(flusher);
+         long start = System.nanoTime();
+         try {
+            bufferedWork.put(workList);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting to buffer the index update operations", e);
+         } finally {
+            blockedEnqueueNanos.addAndGet(System.nanoTime() - start);
+         }
+      }
+      if (bufferedWorkCount.addAndGet(workList.size()) >= maxBatchSize) {
+         LockSupport.unpark(flusher);
+      }
+      if (!running) {
+         // closed concurrently: don't leave the work in the buffer
+         applyLock.lock();
+         try {
+            flushBuffer(target.getCurrentIndexingBackend());
+         } finally {
+            applyLock.unlock();
+         }
+      }
+   }
+
+   private void flushPeriodically() {
+      while (running) {
+         // woken up earlier when enough operations are pending
+         LockSupport.parkNanos(this, intervalNanos);
+         if (!running) {
+            break;
+         }
+         applyLock.lock();
+         try {
+            flushBuffer(target.getCurrentIndexingBackend());
+         } catch (RuntimeException e) {
+            log.failedToApplyIndexBatch(indexManager.getIndexName(), e);
+         } finally {
+            applyLock.unlock();
+         }
+      }
+   }
+
+   /**
+    * Applies all the buffered change sets to the backend, in batches of about maxBatchSize operations.
+    * Each batch is drained from the buffer only after the previous one is applied: if a batch fails, it's kept
+    * for the next flush and the following change sets stay in the buffer, until it has failed
+    * {@value #MAX_BATCH_ATTEMPTS} times.
+    */
+   @GuardedBy("applyLock")
+   private void flushBuffer(IndexingBackend backend) {
+      while (true) {
+         List<LuceneWork> batch = failedBatch != null ? failedBatch : new ArrayList<LuceneWork>();
+         failedBatch = null;
+         List<LuceneWork> workList;
+         while (batch.size() < maxBatchSize && (workList = bufferedWork.poll()) != null) {
+            batch.addAll(workList);
+         }
+         if (batch.isEmpty()) {
+            return;
+         }
+         try {
+            applyBatch(backend, batch);
+         } catch (RuntimeException e) {
+            if (++failedBatchAttempts < MAX_BATCH_ATTEMPTS) {
+               failedBatch = batch;
+               throw e;
+            }
+            applyEachOperation(backend, batch);
+         }
+         failedBatchAttempts = 0;
+         bufferedWorkCount.addAndGet(-batch.size());
+      }
+   }
+
+   private void applyBatch(IndexingBackend backend, List<LuceneWork> batch) {
+      List<LuceneWork> merged = IndexWorkMerger.merge(batch);
+      mergedWorkCount.addAndGet(batch.size() - merged.size());
+      appliedBatchCount.incrementAndGet();
+      if (log.isTraceEnabled()) {
+         log.tracef("Applying a batch of %d operations, merged from %d operations, to index %s",
+               merged.size(), batch.size(), indexManager.getIndexName());
+      }
+      backend.applyWork(merged, null, indexManager);
+   }
+
+   /**
+    * Applies the operations of a batch which keeps failing one at a time, discarding the ones which fail.
+    */
+   private void applyEachOperation(IndexingBackend backend, List<LuceneWork> batch) {
+      for (LuceneWork work : IndexWorkMerger.merge(batch)) {
+         try {
+            backend.applyWork(Collections.singletonList(work), null, indexManager);
+         } catch (RuntimeException e) {
+            log.discardedIndexUpdate(work, indexManager.getIndexName(), failedBatchAttempts, e);
+         }
+      }
+   }
+
+   @Override
+   public void flushAndClose(IndexingBackend replacement) {
+      running = false;
+      LockSupport.unpark(flusher);
+      try {
+         flusher.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      if (replacement != null) {
+         applyLock.lock();
+         try {
+            flushBuffer(replacement);
+         } catch (RuntimeException e) {
+            // not retried: the operations left in the buffer are lost
+            log.failedToApplyIndexBatch(indexManager.getIndexName(), e);
+         } finally {
+            applyLock.unlock();
+         }
+      }
+   }
+
+   @Override
+   public boolean isMasterLocal() {
+      return target.getCurrentIndexingBackend().isMasterLocal();
+   }
+
+   @Override
+   public int getQueueSize() {
+      return bufferedWork.size();
+   }
+
+   @Override
+   public int getQueueCapacity() {
+      return queueCapacity;
+   }
+
+   @Override
+   public long getReceivedWorkCount() {
+      return receivedWorkCount.get();
+   }
+
+   @Override
+   public long getMergedWorkCount() {
+      return mergedWorkCount.get();
+   }
+
+   @Override
+   public long getAppliedBatchCount() {
+      return appliedBatchCount.get();
+   }
+
+   @Override
+   public long getBlockedEnqueueCount() {
+      return blockedEnqueueCount.get();
+   }
+
+   @Override
+   public long getBlockedEnqueueTime() {
+      return TimeUnit.NANOSECONDS.toMillis(blockedEnqueueNanos.get());
+   }
+
+   @Override
+   public String toString() {
+      return "BatchingBackend";
+   }
+
+}
@@ -0,0 +1,93 @@
+package org.infinispan.query.indexmanager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.UpdateLuceneWork;
+
+/**
+ * Merges the index update operations of a batch which target the same document, so that each
+ * document is written at most once per batch.
+ * The last operation on a document wins: a delete cancels the previous additions and updates of
+ * the same document, while an addition following a delete or an update is turned into an update,
+ * as the document might exist in the index.
+ * Any other operation (purge, flush, optimize, delete by query) acts as a barrier: operations are
+ * never merged across it, and their order relative to it is kept.
+ *
+ * @since 8.2
+ */
+final class IndexWorkMerger {
+
+   private IndexWorkMerger() {
+      //no instances needed
+   }
+
+   /**
+    * @param works the operations to merge, in the order they have been received
+    * @return the merged operations, in an order equivalent to the original one
+    */
+   static List<LuceneWork> merge(List<LuceneWork> works) {
+      final List<LuceneWork> merged = new ArrayList<LuceneWork>(works.size());
+      // the position in the merged list of the last operation on each document since the last barrier
+      final Map<DocumentKey, Integer> positions = new HashMap<DocumentKey, Integer>();
+      for (LuceneWork work : works) {
+         if (isDocumentWork(work)) {
+            DocumentKey key = new DocumentKey(work);
+            Integer position = positions.get(key);
+            if (position == null) {
+               positions.put(key, merged.size());
+               merged.add(work);
+            } else {
+               merged.set(position, combine(merged.get(position), work));
+            }
+         } else {
+            positions.clear();
+            merged.add(work);
+         }
+      }
+      return merged;
+   }
+
+   private static boolean isDocumentWork(LuceneWork work) {
+      return (work instanceof AddLuceneWork || work instanceof UpdateLuceneWork || work instanceof DeleteLuceneWork)
+            && work.getIdInString() != null && work.getEntityClass() != null;
+   }
+
+   private static LuceneWork combine(LuceneWork previous, LuceneWork next) {
+      if (next instanceof AddLuceneWork && !(previous instanceof AddLuceneWork)) {
+         // the document might have been in the index before the previous delete or update
+         return new UpdateLuceneWork(next.getId(), next.getIdInString(), next.getEntityClass(), next.getDocument(), next.getFieldToAnalyzerMap());
+      }
+      return next;
+   }
+
+   private static final class DocumentKey {
+
+      private final Class<?> entityClass;
+      private final String idInString;
+
+      DocumentKey(LuceneWork work) {
+         this.entityClass = work.getEntityClass();
+         this.idInString = work.getIdInString();
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         DocumentKey other = (DocumentKey) o;
+         return entityClass.equals(other.entityClass) && idInString.equals(other.idInString);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * entityClass.hashCode() + idInString.hashCode();
+      }
+   }
+
+}
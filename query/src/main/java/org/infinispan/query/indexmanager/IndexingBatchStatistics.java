@@ -0,0 +1,48 @@
+package org.infinispan.query.indexmanager;
+
+/**
+ * Statistics of an index applying its update operations in batches.
+ * The blocked enqueue counters measure the backpressure applied to the writers when
+ * the batches can't be applied as fast as the operations are received.
+ *
+ * @see InfinispanIndexManager#getBatchStatistics()
+ * @since 8.2
+ */
+public interface IndexingBatchStatistics {
+
+   /**
+    * @return the number of change sets waiting to be applied
+    */
+   int getQueueSize();
+
+   /**
+    * @return the maximum number of change sets waiting to be applied before the writers are blocked
+    */
+   int getQueueCapacity();
+
+   /**
+    * @return the number of index update operations received
+    */
+   long getReceivedWorkCount();
+
+   /**
+    * @return the number of index update operations saved by merging operations on the same document
+    */
+   long getMergedWorkCount();
+
+   /**
+    * @return the number of batches applied to the index
+    */
+   long getAppliedBatchCount();
+
+   /**
+    * @return the number of times a writer was blocked because the queue was full
+    */
+   long getBlockedEnqueueCount();
+
+   /**
+    * @return the total time the writers were blocked because the queue was full, in milliseconds
+    */
+   long getBlockedEnqueueTime();
+
+}
@@ -2,6 +2,7 @@
 
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.Lock;
 
 import javax.transaction.TransactionManager;
@@ -15,7 +16,9 @@
 
 import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.spi.WorkerBuildContext;
+import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.query.backend.ComponentRegistryService;
 import org.infinispan.query.logging.Log;
@@ -37,6 +40,7 @@ final class InfinispanBackendQueueProcessor implements BackendQueueProcessor {
    private String indexName;
    private IndexManager indexManager;
    private SwitchingBackend fowardingBackend;
+   private BatchingBackend batchingBackend;
 
    @Override
    public void initialize(Properties props, WorkerBuildContext context, IndexManager indexManager) {
@@ -48,9 +52,17 @@ public void initialize(Properties props, WorkerBuildContext context, IndexManage
       ComponentRegistryService componentRegistryService = serviceManager.requestService(ComponentRegistryService.class);
       ComponentRegistry componentRegistry = componentRegistryService.getComponentRegistry();
       this.fowardingBackend = createForwardingBackend(props, componentRegistry, indexName, localBackendFactory, cacheManagerService, indexManager);
+      this.batchingBackend = BatchingBackend.create(props, fowardingBackend, indexManager,
+            createBatchingThreadFactory(componentRegistry, indexName));
       log.commandsBackendInitialized(indexName);
    }
 
+   private static ThreadFactory createBatchingThreadFactory(ComponentRegistry componentRegistry, String indexName) {
+      GlobalConfiguration globalConfiguration = componentRegistry.getGlobalComponentRegistry().getGlobalConfiguration();
+      return new DefaultThreadFactory(null, Thread.NORM_PRIORITY, DefaultThreadFactory.DEFAULT_PATTERN,
+            globalConfiguration.transport().nodeName(), "IndexBatching-" + indexName);
+   }
+
    private static SwitchingBackend createForwardingBackend(Properties props, ComponentRegistry componentRegistry, String indexName, LocalBackendFactory localBackendFactory, CacheManagerService cacheManagerService, IndexManager indexManager) {
       RpcManager rpcManager = componentRegistry.getComponent(RpcManager.class);
       if (rpcManager == null) {
@@ -76,6 +88,9 @@ private static SwitchingBackend createForwardingBackend(Properties props, Compon
 
    @Override
    public void close() {
+      if (batchingBackend != null) {
+         batchingBackend.flushAndClose(fowardingBackend.getCurrentIndexingBackend());
+      }
       fowardingBackend.shutdown();
       serviceManager.releaseService(CacheManagerService.class);
       serviceManager.releaseService(ComponentRegistryService.class);
@@ -84,14 +99,16 @@ public void close() {
 
    @Override
    public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
-      fowardingBackend.getCurrentIndexingBackend()
-            .applyWork(workList, monitor, indexManager);
+      getIndexingBackend().applyWork(workList, monitor, indexManager);
    }
 
    @Override
    public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor) {
-      fowardingBackend.getCurrentIndexingBackend()
-            .applyStreamWork(singleOperation, monitor, indexManager);
+      getIndexingBackend().applyStreamWork(singleOperation, monitor, indexManager);
+   }
+
+   private IndexingBackend getIndexingBackend() {
+      return batchingBackend != null ? batchingBackend : fowardingBackend.getCurrentIndexingBackend();
    }
 
    @Override
@@ -113,4 +130,8 @@ boolean isMasterLocal() {
       return fowardingBackend.getCurrentIndexingBackend().isMasterLocal();
    }
 
+   IndexingBatchStatistics getBatchStatistics() {
+      return batchingBackend;
+   }
+
 }
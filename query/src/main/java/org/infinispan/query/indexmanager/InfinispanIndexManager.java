@@ -12,6 +12,11 @@
 
 /**
  * A custom IndexManager to store indexes in the grid itself.
+ * <p>
+ * Index update operations can be applied in batches by setting the {@code batch.interval_ms}
+ * index property; {@code batch.max_size} and {@code batch.queue_size} bound the size of each batch
+ * and the number of change sets waiting to be applied. Query results are not cached when batching is
+ * enabled, as the index is updated only after the write completes.
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2012 Red Hat Inc.
  */
@@ -45,4 +50,12 @@ public boolean isMasterLocal() {
       return remoteMaster.isMasterLocal();
    }
 
+   /**
+    * @return the statistics of the batches of index update operations, or null if batching is not enabled for this index
+    * @since 8.2
+    */
+   public IndexingBatchStatistics getBatchStatistics() {
+      return remoteMaster.getBatchStatistics();
+   }
+
 }
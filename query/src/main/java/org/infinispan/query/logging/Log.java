@@ -6,6 +6,7 @@
 import org.hibernate.hql.ParsingException;
 import org.hibernate.search.backend.LuceneWork;
 import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.remoting.transport.Address;
 import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
@@ -131,4 +132,24 @@ public interface Log extends org.infinispan.util.logging.Log {
    @LogMessage(level = WARN)
    @Message(value = "Found undeclared indexable types in cache %s : %s. No indexes were created for these types because autodetection is not enabled for this cache.", id = 14029)
    void detectedUnknownIndexedEntities(String cacheName, String classNames);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Query results cannot be cached by cache %s because its cache mode is %s. Only local and replicated caches can cache query results.", id = 14030)
+   void queryResultCacheNotSupported(String cacheName, CacheMode cacheMode);
+
+   @LogMessage(level = INFO)
+   @Message(value = "Index update operations for index %s are applied in batches, every %d ms or every %d operations", id = 14031)
+   void indexBatchingEnabled(String indexName, int intervalMillis, int maxBatchSize);
+
+   @LogMessage(level = ERROR)
+   @Message(value = "Failed to apply a batch of index update operations to index %s", id = 14032)
+   void failedToApplyIndexBatch(String indexName, @Cause Throwable e);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Query results cannot be cached by cache %s because its index updates are applied in batches", id = 14033)
+   void queryResultCacheDisabledByIndexBatching(String cacheName);
+
+   @LogMessage(level = ERROR)
+   @Message(value = "Discarding index update operation %s: it could not be applied to index %s after %d failed attempts to apply its batch", id = 14034)
+   void discardedIndexUpdate(LuceneWork work, String indexName, int attempts, @Cause Throwable e);
 }
@@ -256,6 +256,30 @@ public void testPagination() throws ParseException {
       StaticTestingErrorHandler.assertAllGood(cacheAMachine1, cacheAMachine2);
    }
 
+   public void testLazyPaginationOrdered() throws ParseException {
+      populateCache();
+
+      cacheQuery.firstResult(1);
+      cacheQuery.maxResults(2);
+
+      // applying sort
+      SortField sortField = new SortField("age", SortField.Type.INT);
+      Sort sort = new Sort(sortField);
+      cacheQuery.sort(sort);
+
+      // windows of a single result, so the nodes are asked for more results while merging
+      ResultIterator iterator = cacheQuery.iterator(new FetchOptions().fetchMode(FetchOptions.FetchMode.LAZY).fetchSize(1));
+      try {
+         assertEquals(4, cacheQuery.getResultSize());
+         assertEquals(35, ((Person) iterator.next()).getAge());
+         assertEquals(45, ((Person) iterator.next()).getAge());
+         assert !iterator.hasNext();
+      } finally {
+         iterator.close();
+      }
+      StaticTestingErrorHandler.assertAllGood(cacheAMachine1, cacheAMachine2);
+   }
+
    public void testQueryAll() throws ParseException {
       populateCache();
       CacheQuery clusteredQuery = Search.getSearchManager(cacheAMachine1)
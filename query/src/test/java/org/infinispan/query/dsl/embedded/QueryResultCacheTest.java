@@ -0,0 +1,110 @@
+package org.infinispan.query.dsl.embedded;
+
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.Store;
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.Index;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.Search;
+import org.infinispan.query.dsl.Expression;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.QueryFactory;
+import org.infinispan.query.dsl.embedded.impl.QueryResultCache;
+import org.infinispan.query.dsl.impl.BaseQuery;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+/**
+ * Tests the caching of the results of DSL queries and their invalidation on writes.
+ *
+ * @since 8.2
+ */
+@Test(groups = "functional", testName = "query.dsl.embedded.QueryResultCacheTest")
+public class QueryResultCacheTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.indexing().index(Index.ALL)
+            .addIndexedEntity(Person.class)
+            .addProperty("default.directory_provider", "ram")
+            .addProperty("lucene_version", "LUCENE_CURRENT")
+            .addProperty(QueryResultCache.MAX_ENTRIES_PROPERTY, "100");
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testCachedResultsInvalidatedOnWrite() throws Exception {
+      Cache<String, Person> cache = cacheManager.getCache();
+      QueryResultCache queryResultCache = TestingUtil.extractComponent(cache, QueryResultCache.class);
+      assertNotNull(queryResultCache);
+      queryResultCache.clearStatistics();
+
+      cache.put("person1", new Person("William", "Shakespeare"));
+      QueryFactory<?> queryFactory = Search.getQueryFactory(cache);
+      Query query = queryFactory.from(Person.class).having("name").eq("William").toBuilder().build();
+      String queryString = ((BaseQuery) query).getJPAQuery();
+
+      List<Person> matches = query.list();
+      assertEquals(matches.size(), 1);
+      assertEquals(queryResultCache.getMissCount(queryString), 1);
+
+      matches = queryFactory.from(Person.class).having("name").eq("William").toBuilder().build().list();
+      assertEquals(matches.size(), 1);
+      assertEquals(queryResultCache.getHitCount(queryString), 1);
+
+      cache.put("person2", new Person("William", "Wordsworth"));
+      matches = queryFactory.from(Person.class).having("name").eq("William").toBuilder().build().list();
+      assertEquals(matches.size(), 2);
+      assertEquals(queryResultCache.getMissCount(queryString), 2);
+
+      cache.remove("person1");
+      matches = queryFactory.from(Person.class).having("name").eq("William").toBuilder().build().list();
+      assertEquals(matches.size(), 1);
+      assertEquals(queryResultCache.getMissCount(queryString), 3);
+      assertEquals(queryResultCache.getHitCount(queryString), 1);
+   }
+
+   public void testCachedResultsKeyedByNamedParameters() throws Exception {
+      Cache<String, Person> cache = cacheManager.getCache();
+      QueryResultCache queryResultCache = TestingUtil.extractComponent(cache, QueryResultCache.class);
+      cache.put("person3", new Person("John", "Milton"));
+      cache.put("person4", new Person("John", "Donne"));
+      cache.put("person5", new Person("Geoffrey", "Chaucer"));
+      queryResultCache.clearStatistics();
+
+      QueryFactory<?> queryFactory = Search.getQueryFactory(cache);
+      Query query = queryFactory.from(Person.class).having("name").eq(Expression.param("name")).toBuilder().build();
+      String queryString = ((BaseQuery) query).getJPAQuery();
+
+      assertEquals(query.setParameter("name", "John").getResultSize(), 2);
+      assertEquals(query.setParameter("name", "Geoffrey").getResultSize(), 1);
+      assertEquals(query.setParameter("name", "John").list().size(), 2);
+
+      assertEquals(queryResultCache.getMissCount(queryString), 2);
+      assertEquals(queryResultCache.getHitCount(queryString), 1);
+   }
+
+   @Indexed
+   static class Person {
+      @Field(store = Store.YES, analyze = Analyze.NO)
+      String name;
+
+      @Field(store = Store.YES, analyze = Analyze.NO, indexNullAs = Field.DEFAULT_NULL_TOKEN)
+      String surname;
+
+      public Person(String name, String surname) {
+         this.name = name;
+         this.surname = surname;
+      }
+   }
+}
@@ -0,0 +1,88 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.PropertyPath;
+import org.infinispan.objectfilter.impl.FilterResultImpl;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests that the results collected separately by each node are merged to the same results as if collected by a single
+ * node.
+ *
+ * @since 8.2
+ */
+@Test(groups = "unit", testName = "query.dsl.embedded.impl.QueryCollectorsTest")
+public class QueryCollectorsTest {
+
+   private static CacheEntry<?, ObjectFilter.FilterResult> projectionEntry(Object... row) {
+      return new ImmortalCacheEntry(row[0], new FilterResultImpl(null, row, null));
+   }
+
+   private static CacheEntry<?, ObjectFilter.FilterResult> sortedEntry(int sortValue) {
+      return new ImmortalCacheEntry(sortValue, new FilterResultImpl(sortValue, null, new Comparable[]{sortValue}));
+   }
+
+   public void testMergedPartialGroups() {
+      // SELECT name, COUNT(age), SUM(age), AVG(age), MAX(age) FROM ... GROUP BY name, from rows of (name, age)
+      GroupingCollector collector = new GroupingCollector(1, new int[]{0, 1, 1, 1, 1},
+            new PropertyPath.AggregationType[]{null, PropertyPath.AggregationType.COUNT, PropertyPath.AggregationType.SUM,
+                                               PropertyPath.AggregationType.AVG, PropertyPath.AggregationType.MAX},
+            new Class<?>[]{String.class, Integer.class, Integer.class, Integer.class, Integer.class});
+      BiConsumer<GroupingCollector.PartialGroups, CacheEntry<?, ObjectFilter.FilterResult>> accumulator = collector.accumulator();
+
+      GroupingCollector.PartialGroups node1 = collector.supplier().get();
+      accumulator.accept(node1, projectionEntry("a", 10));
+      accumulator.accept(node1, projectionEntry("b", 20));
+      GroupingCollector.PartialGroups node2 = collector.supplier().get();
+      accumulator.accept(node2, projectionEntry("a", 30));
+      accumulator.accept(node2, projectionEntry("a", null));
+
+      Iterator<Object[]> groups = collector.combiner().apply(node1, node2).finish();
+      Object[] a = groups.next();
+      assertEquals(a[0], "a");
+      assertEquals(a[1], 2L);
+      assertEquals(((Number) a[2]).longValue(), 40L);
+      assertEquals(a[3], 20.0d);
+      assertEquals(a[4], 30);
+      Object[] b = groups.next();
+      assertEquals(b[0], "b");
+      assertEquals(b[1], 1L);
+      assertEquals(((Number) b[2]).longValue(), 20L);
+      assertEquals(b[3], 20.0d);
+      assertEquals(b[4], 20);
+      assertFalse(groups.hasNext());
+   }
+
+   public void testMergedTopResults() {
+      TopResultsCollector collector = new TopResultsCollector(new boolean[]{false}, 3);
+      BiConsumer<TopResultsCollector.TopResults, CacheEntry<?, ObjectFilter.FilterResult>> accumulator = collector.accumulator();
+
+      TopResultsCollector.TopResults node1 = collector.supplier().get();
+      TopResultsCollector.TopResults node2 = collector.supplier().get();
+      for (int i = 0; i < 10; i++) {
+         accumulator.accept(i % 2 == 0 ? node1 : node2, sortedEntry(i));
+      }
+
+      TopResultsCollector.TopResults merged = collector.combiner().apply(node1, node2);
+      assertEquals(merged.getCount(), 10);
+      List<Object> results = new ArrayList<>();
+      for (ObjectFilter.FilterResult r : merged.getResults()) {
+         results.add(r.getInstance());
+      }
+      List<Object> expected = new ArrayList<>();
+      expected.add(9);
+      expected.add(8);
+      expected.add(7);
+      assertEquals(results, expected);
+   }
+}
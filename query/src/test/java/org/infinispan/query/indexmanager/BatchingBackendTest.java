@@ -0,0 +1,302 @@
+package org.infinispan.query.indexmanager;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.lucene.document.Document;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.infinispan.commons.CacheException;
+import org.infinispan.query.test.Person;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests when the index update operations buffered by a BatchingBackend are applied.
+ *
+ * @since 8.2
+ */
+@Test(groups = "unit", testName = "query.indexmanager.BatchingBackendTest")
+public class BatchingBackendTest extends AbstractInfinispanTest {
+
+   private static final int ONE_HOUR = 3600000;
+
+   public void testFlushAfterInterval() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, 100, 1000, 100);
+      try {
+         LuceneWork add = add("1");
+         backend.applyWork(Collections.singletonList(add), null, null);
+
+         assertEquals(target.nextApplied(), Collections.singletonList(add));
+         assertEquals(backend.getAppliedBatchCount(), 1);
+      } finally {
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testFlushWhenBatchIsFull() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 3, 100);
+      try {
+         List<LuceneWork> work = Arrays.asList(add("1"), add("2"), add("3"));
+         for (LuceneWork add : work) {
+            backend.applyWork(Collections.singletonList(add), null, null);
+         }
+
+         assertEquals(target.nextApplied(), work);
+      } finally {
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testBlockWhenQueueIsFull() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      target.blockApply();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 1, 1);
+      try {
+         LuceneWork add1 = add("1");
+         LuceneWork add2 = add("2");
+         LuceneWork add3 = add("3");
+         // the first change set is applied right away, and its batch blocks in the target
+         backend.applyWork(Collections.singletonList(add1), null, null);
+         fork(() -> backend.applyWork(Collections.singletonList(add2), null, null)).get(10, TimeUnit.SECONDS);
+
+         // the second one fills the queue, so the third one has to wait
+         Future<?> blocked = fork(() -> backend.applyWork(Collections.singletonList(add3), null, null));
+         try {
+            blocked.get(500, TimeUnit.MILLISECONDS);
+            fail("The change set should not fit in the full queue");
+         } catch (TimeoutException e) {
+            // expected
+         }
+
+         target.unblockApply();
+         blocked.get(10, TimeUnit.SECONDS);
+         assertEquals(target.nextApplied(), Collections.singletonList(add1));
+         assertEquals(target.nextApplied(), Collections.singletonList(add2));
+         assertEquals(target.nextApplied(), Collections.singletonList(add3));
+         assertTrue(backend.getBlockedEnqueueCount() >= 1);
+      } finally {
+         target.unblockApply();
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testInterruptedWhileQueueIsFull() {
+      RecordingBackend target = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 1000, 1);
+      try {
+         backend.applyWork(Collections.singletonList(add("1")), null, null);
+         Thread.currentThread().interrupt();
+         try {
+            backend.applyWork(Collections.singletonList(add("2")), null, null);
+            fail("The change set should not be dropped silently");
+         } catch (CacheException e) {
+            assertTrue(Thread.interrupted());
+         }
+      } finally {
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testMonitoredWorkAppliedAfterBufferedWork() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 1000, 100);
+      try {
+         LuceneWork add1 = add("1");
+         LuceneWork add2 = add("2");
+         IndexingMonitor monitor = mock(IndexingMonitor.class);
+         backend.applyWork(Collections.singletonList(add1), null, null);
+         backend.applyWork(Collections.singletonList(add2), monitor, null);
+
+         assertEquals(target.nextApplied(), Collections.singletonList(add1));
+         assertEquals(target.nextApplied(), Collections.singletonList(add2));
+         assertSame(target.monitors.poll(), monitor);
+      } finally {
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testStreamWorkAppliedAfterBufferedWork() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 1000, 100);
+      try {
+         LuceneWork add1 = add("1");
+         LuceneWork add2 = add("2");
+         backend.applyWork(Collections.singletonList(add1), null, null);
+         backend.applyStreamWork(add2, null, null);
+
+         assertEquals(target.nextApplied(), Collections.singletonList(add1));
+         assertEquals(target.nextApplied(), Collections.singletonList(add2));
+      } finally {
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testFailedBatchIsAppliedAgain() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 1000, 100);
+      try {
+         LuceneWork add1 = add("1");
+         LuceneWork add2 = add("2");
+         backend.applyWork(Collections.singletonList(add1), null, null);
+         target.failNextApply();
+         try {
+            backend.applyStreamWork(add2, null, null);
+            fail("The failure of the batch should be reported");
+         } catch (CacheException e) {
+            // expected
+         }
+         assertNull(target.applied.poll());
+
+         backend.applyStreamWork(add2, null, null);
+         assertEquals(target.nextApplied(), Collections.singletonList(add1));
+         assertEquals(target.nextApplied(), Collections.singletonList(add2));
+      } finally {
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testFailingOperationIsDiscarded() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 1000, 100);
+      try {
+         LuceneWork add1 = add("1");
+         LuceneWork bad = add("2");
+         LuceneWork add3 = add("3");
+         target.failWork(bad);
+         backend.applyWork(Collections.singletonList(add1), null, null);
+         backend.applyWork(Collections.singletonList(bad), null, null);
+         for (int i = 1; i < BatchingBackend.MAX_BATCH_ATTEMPTS; i++) {
+            try {
+               backend.applyStreamWork(add3, null, null);
+               fail("The failure of the batch should be reported");
+            } catch (CacheException e) {
+               // expected
+            }
+         }
+         assertNull(target.applied.poll());
+
+         // the last attempt applies the operations one at a time, so only the failing one is lost
+         backend.applyStreamWork(add3, null, null);
+         assertEquals(target.nextApplied(), Collections.singletonList(add1));
+         assertEquals(target.nextApplied(), Collections.singletonList(add3));
+         assertNull(target.applied.poll());
+         assertEquals(backend.getQueueSize(), 0);
+      } finally {
+         backend.flushAndClose(null);
+      }
+   }
+
+   public void testFlushOnClose() throws Exception {
+      RecordingBackend target = new RecordingBackend();
+      RecordingBackend replacement = new RecordingBackend();
+      BatchingBackend backend = createBackend(target, ONE_HOUR, 1000, 100);
+      LuceneWork add = add("1");
+      backend.applyWork(Collections.singletonList(add), null, null);
+      backend.flushAndClose(replacement);
+
+      assertEquals(replacement.nextApplied(), Collections.singletonList(add));
+      assertNull(target.applied.poll());
+      assertEquals(backend.getQueueSize(), 0);
+   }
+
+   private BatchingBackend createBackend(IndexingBackend target, int intervalMillis, int maxBatchSize, int queueSize) {
+      Properties props = new Properties();
+      props.setProperty(BatchingBackend.BATCH_INTERVAL, String.valueOf(intervalMillis));
+      props.setProperty(BatchingBackend.BATCH_MAX_SIZE, String.valueOf(maxBatchSize));
+      props.setProperty(BatchingBackend.BATCH_QUEUE_SIZE, String.valueOf(queueSize));
+      SwitchingBackend switchingBackend = mock(SwitchingBackend.class);
+      when(switchingBackend.getCurrentIndexingBackend()).thenReturn(target);
+      IndexManager indexManager = mock(IndexManager.class);
+      when(indexManager.getIndexName()).thenReturn("person");
+      return BatchingBackend.create(props, switchingBackend, indexManager, getTestThreadFactory("IndexBatching"));
+   }
+
+   private static LuceneWork add(String id) {
+      return new AddLuceneWork(id, id, Person.class, new Document());
+   }
+
+   private static final class RecordingBackend implements IndexingBackend {
+      final BlockingQueue<List<LuceneWork>> applied = new LinkedBlockingQueue<List<LuceneWork>>();
+      final BlockingQueue<IndexingMonitor> monitors = new LinkedBlockingQueue<IndexingMonitor>();
+      private volatile CountDownLatch applyLatch = new CountDownLatch(0);
+      private volatile boolean failNextApply;
+      private volatile LuceneWork failingWork;
+
+      List<LuceneWork> nextApplied() throws InterruptedException {
+         List<LuceneWork> workList = applied.poll(10, TimeUnit.SECONDS);
+         assertFalse(workList == null, "No operations applied");
+         return workList;
+      }
+
+      void blockApply() {
+         applyLatch = new CountDownLatch(1);
+      }
+
+      void unblockApply() {
+         applyLatch.countDown();
+      }
+
+      void failNextApply() {
+         failNextApply = true;
+      }
+
+      void failWork(LuceneWork work) {
+         failingWork = work;
+      }
+
+      @Override
+      public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor, IndexManager indexManager) {
+         try {
+            applyLatch.await(10, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         if (failNextApply || workList.contains(failingWork)) {
+            failNextApply = false;
+            throw new CacheException("Injected failure");
+         }
+         applied.add(new ArrayList<LuceneWork>(workList));
+         if (monitor != null) {
+            monitors.add(monitor);
+         }
+      }
+
+      @Override
+      public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor, IndexManager indexManager) {
+         applyWork(Collections.singletonList(singleOperation), monitor, indexManager);
+      }
+
+      @Override
+      public void flushAndClose(IndexingBackend replacement) {
+      }
+
+      @Override
+      public boolean isMasterLocal() {
+         return true;
+      }
+   }
+
+}
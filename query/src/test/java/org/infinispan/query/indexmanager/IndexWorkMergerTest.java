@@ -0,0 +1,70 @@
+package org.infinispan.query.indexmanager;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.document.Document;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.PurgeAllLuceneWork;
+import org.hibernate.search.backend.UpdateLuceneWork;
+import org.infinispan.query.test.Person;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the merging of the index update operations applied in batches.
+ *
+ * @since 8.2
+ */
+@Test(groups = "unit", testName = "query.indexmanager.IndexWorkMergerTest")
+public class IndexWorkMergerTest {
+
+   public void testLastUpdateWins() {
+      LuceneWork update1 = update("1");
+      LuceneWork add2 = add("2");
+      LuceneWork update2 = update("1");
+      List<LuceneWork> merged = IndexWorkMerger.merge(Arrays.asList(update1, add2, update2));
+      assertEquals(merged, Arrays.asList(update2, add2));
+   }
+
+   public void testDeleteCancelsAdd() {
+      LuceneWork delete = delete("1");
+      List<LuceneWork> merged = IndexWorkMerger.merge(Arrays.asList(add("1"), update("1"), delete));
+      assertEquals(merged, Arrays.asList(delete));
+   }
+
+   public void testAddAfterDeleteBecomesUpdate() {
+      LuceneWork add = add("1");
+      List<LuceneWork> merged = IndexWorkMerger.merge(Arrays.asList(delete("1"), add));
+      assertEquals(merged.size(), 1);
+      assertTrue(merged.get(0) instanceof UpdateLuceneWork);
+      assertEquals(merged.get(0).getIdInString(), "1");
+      assertSame(merged.get(0).getDocument(), add.getDocument());
+   }
+
+   public void testNotMergedAcrossPurge() {
+      LuceneWork add1 = add("1");
+      LuceneWork purge = new PurgeAllLuceneWork(Person.class);
+      LuceneWork add2 = add("1");
+      List<LuceneWork> merged = IndexWorkMerger.merge(Arrays.asList(add1, purge, add2));
+      assertEquals(merged, Arrays.asList(add1, purge, add2));
+   }
+
+   private static LuceneWork add(String id) {
+      return new AddLuceneWork(id, id, Person.class, new Document());
+   }
+
+   private static LuceneWork update(String id) {
+      return new UpdateLuceneWork(id, id, Person.class, new Document());
+   }
+
+   private static LuceneWork delete(String id) {
+      return new DeleteLuceneWork(id, id, Person.class);
+   }
+
+}
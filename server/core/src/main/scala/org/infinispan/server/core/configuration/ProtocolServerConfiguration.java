@@ -20,8 +20,15 @@ public abstract class ProtocolServerConfiguration {
    private final boolean tcpNoDelay;
    private final int workerThreads;
    private final Set<String> ignoredCaches;
+   private final boolean nativeTransport;
+   private final int acceptorThreads;
 
    protected ProtocolServerConfiguration(String defaultCacheName, String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, Set<String> ignoredCaches) {
+      this(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads, ignoredCaches, false, 1);
+   }
+
+   protected ProtocolServerConfiguration(String defaultCacheName, String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, Set<String> ignoredCaches,
+                                         boolean nativeTransport, int acceptorThreads) {
       this.defaultCacheName = defaultCacheName;
       this.name = name;
       this.host = host;
@@ -33,6 +40,8 @@ protected ProtocolServerConfiguration(String defaultCacheName, String name, Stri
       this.tcpNoDelay = tcpNoDelay;
       this.workerThreads = workerThreads;
       this.ignoredCaches = ignoredCaches;
+      this.nativeTransport = nativeTransport;
+      this.acceptorThreads = acceptorThreads;
    }
 
    public String defaultCacheName() {
@@ -79,10 +88,19 @@ public Set<String> ignoredCaches() {
       return ignoredCaches;
    }
 
+   public boolean nativeTransport() {
+      return nativeTransport;
+   }
+
+   public int acceptorThreads() {
+      return acceptorThreads;
+   }
+
    @Override
    public String toString() {
       return "ProtocolServerConfiguration [defaultCacheName=" + defaultCacheName +", name=" + name + ", host=" + host + ", port=" + port + ", idleTimeout=" + idleTimeout + ", recvBufSize=" + recvBufSize + ", sendBufSize="
-            + sendBufSize + ", ssl=" + ssl + ", tcpNoDelay=" + tcpNoDelay + ", workerThreads=" + workerThreads + ", ignoredCaches=" + ignoredCaches + "]";
+            + sendBufSize + ", ssl=" + ssl + ", tcpNoDelay=" + tcpNoDelay + ", workerThreads=" + workerThreads + ", ignoredCaches=" + ignoredCaches
+            + ", nativeTransport=" + nativeTransport + ", acceptorThreads=" + acceptorThreads + "]";
    }
 
 }
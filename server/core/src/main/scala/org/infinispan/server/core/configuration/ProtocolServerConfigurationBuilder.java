@@ -22,6 +22,8 @@
    protected boolean tcpNoDelay = true;
    protected int workerThreads = 2 * Runtime.getRuntime().availableProcessors();
    protected Set<String> ignoredCaches = Collections.EMPTY_SET;
+   protected boolean nativeTransport = false;
+   protected int acceptorThreads = 1;
 
    protected ProtocolServerConfigurationBuilder(int port) {
       this.port = port;
@@ -93,6 +95,18 @@ public S workerThreads(int workerThreads) {
       return this.self();
    }
 
+   @Override
+   public S nativeTransport(boolean nativeTransport) {
+      this.nativeTransport = nativeTransport;
+      return this.self();
+   }
+
+   @Override
+   public S acceptorThreads(int acceptorThreads) {
+      this.acceptorThreads = acceptorThreads;
+      return this.self();
+   }
+
    @Override
    public void validate() {
       ssl.validate();
@@ -108,6 +122,9 @@ public void validate() {
       if (workerThreads < 0) {
          throw log.illegalWorkerThreads(workerThreads);
       }
+      if (acceptorThreads < 1) {
+         throw log.illegalAcceptorThreads(acceptorThreads);
+      }
    }
 
    @Override
@@ -123,6 +140,8 @@ public Builder<?> read(T template) {
       this.workerThreads = template.workerThreads();
       this.ssl.read(template.ssl());
       this.ignoredCaches = template.ignoredCaches();
+      this.nativeTransport = template.nativeTransport();
+      this.acceptorThreads = template.acceptorThreads();
       return this;
    }
 }
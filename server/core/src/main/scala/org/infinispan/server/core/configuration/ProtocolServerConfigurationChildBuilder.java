@@ -60,6 +60,18 @@
     */
    S workerThreads(int workerThreads);
 
+   /**
+    * Uses the native epoll transport when running on Linux, which reduces the system call overhead of handling many
+    * connections. Falls back to NIO if the native library is not available. Defaults to disabled
+    */
+   S nativeTransport(boolean nativeTransport);
+
+   /**
+    * Sets the number of threads accepting connections. With the native transport, each of them accepts connections
+    * on its own socket bound to the same address with SO_REUSEPORT. Ignored with NIO. Defaults to 1
+    */
+   S acceptorThreads(int acceptorThreads);
+
    /**
     * Sets the caches to be ignored
     */
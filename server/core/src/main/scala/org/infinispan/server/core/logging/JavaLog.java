@@ -109,4 +109,11 @@ public interface JavaLog extends org.infinispan.util.logging.Log {
    @Message(value = "Request to encode unexpected message %s", id = 5024)
    void errorUnexpectedMessage(Object msg);
 
+   @LogMessage(level = WARN)
+   @Message(value = "The native transport was requested, but it is not available on this platform. Falling back to NIO", id = 5025)
+   void nativeTransportNotAvailable(@Cause Throwable cause);
+
+   @Message(value = "Illegal number of acceptorThreads: %d", id = 5026)
+   IllegalArgumentException illegalAcceptorThreads(int acceptorThreads);
+
 }
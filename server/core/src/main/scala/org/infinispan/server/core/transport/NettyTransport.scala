@@ -18,7 +18,8 @@ import org.infinispan.server.core.configuration.ProtocolServerConfiguration
 import io.netty.util.concurrent.{DefaultThreadFactory, ImmediateEventExecutor}
 import io.netty.util.internal.logging.{Log4JLoggerFactory, InternalLoggerFactory}
 import io.netty.bootstrap.ServerBootstrap
-import io.netty.channel.{Channel, ChannelInitializer, ChannelOption}
+import io.netty.channel.{Channel, ChannelInitializer, ChannelOption, EventLoopGroup, ServerChannel}
+import io.netty.channel.epoll.{Epoll, EpollChannelOption, EpollEventLoopGroup, EpollServerSocketChannel}
 import io.netty.channel.nio.NioEventLoopGroup
 import io.netty.channel.socket.nio.NioServerSocketChannel
 import io.netty.buffer.PooledByteBufAllocator
@@ -36,8 +37,12 @@ class NettyTransport(server: ProtocolServer, handler: ChannelInitializer[Channel
    private val serverChannels = new DefaultChannelGroup(threadNamePrefix + "-Channels", ImmediateEventExecutor.INSTANCE)
    val acceptedChannels = new DefaultChannelGroup(threadNamePrefix + "-Accepted", ImmediateEventExecutor.INSTANCE)
 
-   private val masterGroup = new NioEventLoopGroup(1, new DefaultThreadFactory(threadNamePrefix + "ServerMaster"))
-   private val workerGroup = new NioEventLoopGroup(configuration.workerThreads, new DefaultThreadFactory(threadNamePrefix + "ServerWorker"))
+   private val useNativeTransport = configuration.nativeTransport && isNativeTransportAvailable
+   // Without SO_REUSEPORT only one channel can be bound to the address, so a single acceptor thread is enough
+   private val acceptorThreads = if (useNativeTransport) configuration.acceptorThreads else 1
+
+   private val masterGroup = createEventLoopGroup(acceptorThreads, new DefaultThreadFactory(threadNamePrefix + "ServerMaster"))
+   private val workerGroup = createEventLoopGroup(configuration.workerThreads, new DefaultThreadFactory(threadNamePrefix + "ServerWorker"))
 
    private val totalBytesWritten, totalBytesRead = new AtomicLong
    private val isGlobalStatsEnabled =
@@ -50,7 +55,9 @@ class NettyTransport(server: ProtocolServer, handler: ChannelInitializer[Channel
 
       val bootstrap = new ServerBootstrap()
       bootstrap.group(masterGroup, workerGroup)
-      bootstrap.channel(classOf[NioServerSocketChannel])
+      bootstrap.channel(serverChannelClass)
+      if (acceptorThreads > 1)
+         bootstrap.option[java.lang.Boolean](EpollChannelOption.SO_REUSEPORT, true) // Allows each acceptor to bind its own channel
       bootstrap.childHandler(handler)
       bootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
       bootstrap.childOption[java.lang.Boolean](ChannelOption.TCP_NODELAY, configuration.tcpNoDelay) // Sets server side tcpNoDelay
@@ -59,8 +66,33 @@ class NettyTransport(server: ProtocolServer, handler: ChannelInitializer[Channel
       if (configuration.recvBufSize > 0)
          bootstrap.childOption[java.lang.Integer](ChannelOption.SO_RCVBUF, configuration.recvBufSize) // Sets server side receive buffer
 
-      val ch = bootstrap.bind(address).sync().channel()
-      serverChannels.add(ch)
+      for (i <- 0 until acceptorThreads) {
+         val ch = bootstrap.bind(address).sync().channel()
+         serverChannels.add(ch)
+      }
+   }
+
+   private def isNativeTransportAvailable: Boolean = {
+      if (Epoll.isAvailable) {
+         true
+      } else {
+         logNativeTransportNotAvailable(Epoll.unavailabilityCause())
+         false
+      }
+   }
+
+   private def createEventLoopGroup(threads: Int, threadFactory: ThreadFactory): EventLoopGroup = {
+      if (useNativeTransport)
+         new EpollEventLoopGroup(threads, threadFactory)
+      else
+         new NioEventLoopGroup(threads, threadFactory)
+   }
+
+   private def serverChannelClass: Class[_ <: ServerChannel] = {
+      if (useNativeTransport)
+         classOf[EpollServerSocketChannel]
+      else
+         classOf[NioServerSocketChannel]
    }
 
    private def isLog4jAvailable: Boolean = {
@@ -101,6 +133,10 @@ class NettyTransport(server: ProtocolServer, handler: ChannelInitializer[Channel
       workerGroup.shutdownGracefully()
    }
 
+   private[core] def isNativeTransport: Boolean = useNativeTransport
+
+   private[core] def getNumberOfServerChannels: Int = serverChannels.size()
+
    override def getTotalBytesWritten: String = totalBytesWritten.toString
 
    override def getTotalBytesRead: String = totalBytesRead.toString
@@ -24,6 +24,12 @@ class AbstractProtocolServerTest {
       expectIllegalArgument(b, createServer)
    }
 
+   def testValidateZeroAcceptorThreads() {
+      val b = new MockServerConfigurationBuilder
+      b.acceptorThreads(0);
+      expectIllegalArgument(b, createServer)
+   }
+
    def testValidateNegativeIdleTimeout() {
       val b = new MockServerConfigurationBuilder
       b.idleTimeout(-2);
@@ -0,0 +1,58 @@
+package org.infinispan.server.core.transport
+
+import java.net.InetSocketAddress
+
+import io.netty.channel.epoll.Epoll
+import io.netty.channel.{Channel, ChannelInitializer}
+import org.infinispan.server.core.configuration.MockServerConfigurationBuilder
+import org.infinispan.server.core.test.Stoppable
+import org.infinispan.test.fwk.TestCacheManagerFactory
+import org.testng.Assert._
+import org.testng.annotations.Test
+
+/**
+ * Tests the selection of the Netty transport and the number of acceptor channels.
+ *
+ * @since 8.2
+ */
+@Test(groups = Array("functional"), testName = "server.core.transport.NettyTransportTest")
+class NettyTransportTest {
+
+   def testNioTransport() {
+      val b = new MockServerConfigurationBuilder
+      b.host("127.0.0.1").acceptorThreads(4)
+      withTransport(b) { transport =>
+         assertFalse(transport.isNativeTransport)
+         // Without SO_REUSEPORT a single channel can be bound to the address
+         assertEquals(transport.getNumberOfServerChannels, 1)
+      }
+   }
+
+   def testNativeTransport() {
+      val b = new MockServerConfigurationBuilder
+      b.host("127.0.0.1").nativeTransport(true).acceptorThreads(4)
+      withTransport(b) { transport =>
+         // Falls back to NIO when the native library can't be loaded
+         assertEquals(transport.isNativeTransport, Epoll.isAvailable)
+         assertEquals(transport.getNumberOfServerChannels, if (Epoll.isAvailable) 4 else 1)
+      }
+   }
+
+   private def withTransport(builder: MockServerConfigurationBuilder)(check: NettyTransport => Unit) {
+      val configuration = builder.build()
+      val handler = new ChannelInitializer[Channel] {
+         override def initChannel(ch: Channel) {}
+      }
+      Stoppable.useCacheManager(TestCacheManagerFactory.createCacheManager) { cm =>
+         val transport = new NettyTransport(null, handler,
+            new InetSocketAddress(configuration.host, configuration.port), configuration, "NettyTransportTest", cm)
+         transport.start()
+         try {
+            check(transport)
+         } finally {
+            transport.stop()
+         }
+      }
+   }
+
+}
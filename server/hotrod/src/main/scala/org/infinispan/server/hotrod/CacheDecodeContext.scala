@@ -38,6 +38,7 @@ class CacheDecodeContext(server: HotRodServer) extends ServerConstants with Log
    var cache: AdvancedCache[Bytes, Bytes] = _
    var key: Bytes = _
    var rawValue: Bytes = _
+   var rawValueOffset: Int = 0
    var params: RequestParameters = _
    var putAllMap: Map[Bytes, Bytes] = _
    var getAllSet: Set[Bytes] = _
@@ -45,6 +46,7 @@ class CacheDecodeContext(server: HotRodServer) extends ServerConstants with Log
    def resetParams(): Unit = {
       params = null
       rawValue = null
+      rawValueOffset = 0
       putAllMap = null
       getAllSet = null
    }
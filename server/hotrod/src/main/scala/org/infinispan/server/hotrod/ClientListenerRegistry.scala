@@ -9,7 +9,7 @@ import io.netty.channel.Channel
 import org.infinispan.commons.equivalence.{AnyEquivalence, ByteArrayEquivalence}
 import org.infinispan.commons.marshall.jboss.GenericJBossMarshaller
 import org.infinispan.commons.marshall.{AbstractExternalizer, Marshaller}
-import org.infinispan.commons.util.CollectionFactory
+import org.infinispan.commons.util.{BloomFilter, CollectionFactory}
 import org.infinispan.commons.util.concurrent.jdk8backported.EquivalentConcurrentHashMapV8
 import org.infinispan.container.versioning.NumericVersion
 import org.infinispan.factories.threads.DefaultThreadFactory
@@ -84,6 +84,12 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
 
    def addClientListener(decoder: AbstractVersionedDecoder, ch: Channel, h: HotRodHeader, listenerId: Bytes, cache: Cache,
            includeState: Boolean, namedFactories: NamedFactories, useRawData: Boolean): Unit = {
+      if (namedFactories._2.exists(_._1 == BloomFilterConverterName)) {
+         addBloomFilterClientListener(ch, h.version, listenerId, cache)
+         ch.writeAndFlush(decoder.createSuccessResponse(h, null))
+         return
+      }
+
       val eventType = ClientEventType.apply(namedFactories._2.isDefined, useRawData, h.version)
       val clientEventSender = ClientEventSender(includeState, ch, h.version, cache, listenerId, eventType)
       val binaryFilterParams = namedFactories._1.map(_._2).getOrElse(List.empty)
@@ -125,6 +131,15 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
       }
    }
 
+   private def addBloomFilterClientListener(ch: Channel, version: Byte, listenerId: Bytes, cache: Cache): Unit = {
+      val compatibility = cache.getCacheConfiguration.compatibility()
+      val converter = if (compatibility.enabled()) Some(HotRodTypeConverter(compatibility.marshaller())) else None
+      val sender = new BloomFilterClientEventSender(ch, listenerId, version, converter)
+      eventSenders.put(listenerId, sender)
+      cache.addListener(sender)
+      sender.start(cache)
+   }
+
    def getFilter(name: String, compatEnabled: Boolean, useRawData: Boolean, binaryParams: List[Bytes]): CacheEventFilter[Bytes, Bytes] = {
       val (factory, m) = findFactory(name, compatEnabled, cacheEventFilterFactories, "key/value filter", useRawData)
       val params = unmarshallParams(binaryParams, m, useRawData)
@@ -180,11 +195,15 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
    }
 
    def removeClientListener(listenerId: Array[Byte], cache: Cache): Boolean = {
-      val sender = eventSenders.get(listenerId)
-      if (sender != null) {
-         cache.removeListener(sender)
-         true
-      } else false
+      eventSenders.get(listenerId) match {
+         case null => false
+         case b: BloomFilterClientEventSender =>
+            b.stop(cache)
+            true
+         case sender =>
+            cache.removeListener(sender)
+            true
+      }
    }
 
    def stop(): Unit = {
@@ -321,6 +340,89 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
 
    }
 
+   /**
+    * Event sender for near caches invalidated with bloom filters. Instead of sending an event per modification, it
+    * collects the hashes of the modified keys and periodically sends a single event with a bloom filter of them.
+    * Clients then invalidate the near cached keys the filter might contain. If the channel is not writable, the
+    * modifications are kept for the next period.
+    */
+   @Listener(clustered = true, includeCurrentState = false)
+   private class BloomFilterClientEventSender(ch: Channel, listenerId: Bytes, version: Byte,
+           converter: Option[HotRodTypeConverter]) {
+      private var hashes = new Array[Long](16) // guarded by this
+      private var count = 0 // guarded by this
+      private var overflow = false // guarded by this
+      @volatile private var flushTask: ScheduledFuture[_] = null
+
+      def start(cache: Cache): Unit = {
+         flushTask = ch.eventLoop().scheduleAtFixedRate(new Runnable {
+            override def run(): Unit = flush(cache)
+         }, BloomFilterFlushInterval, BloomFilterFlushInterval, TimeUnit.MILLISECONDS)
+      }
+
+      def stop(cache: Cache): Unit = {
+         val task = flushTask
+         if (task != null) task.cancel(false)
+         cache.removeListener(this)
+      }
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      @CacheEntryRemoved
+      @CacheEntryExpired
+      def onCacheEvent(event: CacheEntryEvent[AnyRef, AnyRef]) {
+         if (!event.isPre) {
+            val key = converter.map(_.unboxKey(event.getKey)).getOrElse(event.getKey).asInstanceOf[Bytes]
+            add(BloomFilter.hash(key))
+         }
+      }
+
+      private def add(hash: Long): Unit = synchronized {
+         if (!overflow) {
+            if (count == BloomFilterMaxKeys) {
+               // Too many modifications for a compact filter, invalidate everything instead
+               overflow = true
+               hashes = new Array[Long](16)
+               count = 0
+            } else {
+               if (count == hashes.length)
+                  hashes = java.util.Arrays.copyOf(hashes, count * 2)
+               hashes(count) = hash
+               count += 1
+            }
+         }
+      }
+
+      private def drain(): Option[BloomFilter] = synchronized {
+         if (overflow) {
+            overflow = false
+            Some(BloomFilter.full())
+         } else if (count == 0) {
+            None
+         } else {
+            val filter = BloomFilter.forExpectedKeys(count)
+            for (i <- 0 until count) filter.add(hashes(i))
+            count = 0
+            if (hashes.length > 1024) hashes = new Array[Long](16)
+            Some(filter)
+         }
+      }
+
+      def flush(cache: Cache): Unit = {
+         if (!ch.isOpen) {
+            log.debug("Channel disconnected, remove bloom filter event sender listener")
+            stop(cache)
+         } else if (ch.isWritable) {
+            drain().foreach { filter =>
+               val event = CustomRawEvent(version, messageId.incrementAndGet(), CacheEntryModifiedEventResponse,
+                  listenerId, false, filter.toBytes)
+               if (isTrace) tracef("Write event: %s to channel %s", event, ch)
+               ch.writeAndFlush(event)
+            }
+         }
+      }
+   }
+
    object ClientEventSender {
       def apply(includeState: Boolean, ch: Channel, version: Byte,
               cache: Cache, listenerId: Bytes, eventType: ClientEventType): AnyRef = {
@@ -398,6 +500,21 @@ object ClientListenerRegistry extends Constants {
 
    lazy val KeyValueVersionConverterFactorySingleton = new KeyValueVersionConverterFactory()
 
+   /**
+    * Converter name used by near caches that are invalidated with bloom filters of the modified keys.
+    */
+   val BloomFilterConverterName = "___near-cache-bloom-filter"
+
+   /**
+    * Interval, in milliseconds, at which bloom filters of the modified keys are sent to the clients.
+    */
+   val BloomFilterFlushInterval = 1000L
+
+   /**
+    * Maximum number of modifications collected in an interval before clients are told to clear their near cache.
+    */
+   val BloomFilterMaxKeys = 1 << 20
+
    sealed trait ClientEventType
    case object Plain extends ClientEventType
    case object CustomPlain extends ClientEventType
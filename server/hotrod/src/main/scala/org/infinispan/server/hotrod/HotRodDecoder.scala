@@ -127,6 +127,7 @@ extends ReplayingDecoder[HotRodDecoderState](DECODE_HEADER) with StatsChannelHan
       if (!endOfOp && decodeCtx.params.valueLength > 0) {
          // Create value holder only if there's more to read
          decodeCtx.rawValue = new Bytes(decodeCtx.params.valueLength)
+         decodeCtx.rawValueOffset = 0
          null
       } else if (decodeCtx.params.valueLength == 0) {
          decodeCtx.rawValue = Array.empty
@@ -140,7 +141,8 @@ extends ReplayingDecoder[HotRodDecoderState](DECODE_HEADER) with StatsChannelHan
       val ch = ctx.channel
       val ret = decodeCtx.header.op match {
          case PutRequest | PutIfAbsentRequest | ReplaceRequest | ReplaceIfUnmodifiedRequest =>
-            buffer.readBytes(decodeCtx.rawValue)
+            if (!readRawValue(buffer))
+               return null
             decodeCtx.header.op match {
                case PutRequest => decodeCtx.put
                case PutIfAbsentRequest => decodeCtx.putIfAbsent
@@ -153,6 +155,28 @@ extends ReplayingDecoder[HotRodDecoderState](DECODE_HEADER) with StatsChannelHan
       writeResponse(ch, ret)
    }
 
+   /**
+    * Reads as much of the value as has been received, straight into the value array. Large values are copied only
+    * once, and they are never accumulated as a whole in the decoder's internal buffer.
+    *
+    * @return true if the whole value has been read
+    */
+   private def readRawValue(buffer: ByteBuf): Boolean = {
+      val value = decodeCtx.rawValue
+      val length = math.min(value.length - decodeCtx.rawValueOffset, actualReadableBytes)
+      if (length > 0) {
+         buffer.readBytes(value, decodeCtx.rawValueOffset, length)
+         decodeCtx.rawValueOffset += length
+      }
+      if (decodeCtx.rawValueOffset < value.length) {
+         // Keep the bytes read so far, and wait for more
+         checkpoint()
+         false
+      } else {
+         true
+      }
+   }
+
    def readHeader(buffer: ByteBuf, header: HotRodHeader): Option[Boolean] = {
       try {
          val magic = buffer.readUnsignedByte
@@ -25,6 +25,9 @@ class HotRodEncoder(cacheManager: EmbeddedCacheManager, server: HotRodServer)
    private lazy val addressCache: AddressCache =
       if (isClustered) cacheManager.getCache(server.getConfiguration.topologyCacheName) else null
    private val isTrace = isTraceEnabled
+   // Enough for the header, status, version and metadata of a response without topology updates
+   private val EstimatedHeaderSize = 64
+   private val MaxUnsignedIntSize = 5
 
    def encode(ctx: ChannelHandlerContext, msg: Any, buf: ByteBuf): Unit = {
       try {
@@ -72,6 +75,22 @@ class HotRodEncoder(cacheManager: EmbeddedCacheManager, server: HotRodServer)
       }
    }
 
+   /**
+    * Sizes the buffer for the values carried by the response, so that large values are copied into it once,
+    * instead of being copied again every time the buffer grows.
+    */
+   override protected def allocateBuffer(ctx: ChannelHandlerContext, msg: Any, preferDirect: Boolean): ByteBuf = {
+      val capacity = msg match {
+         case r: ResponseWithPrevious => EstimatedHeaderSize + rangedSize(r.previous)
+         case g: GetResponse => EstimatedHeaderSize + rangedSize(g.data)
+         case _ => EstimatedHeaderSize
+      }
+      if (preferDirect) ctx.alloc.ioBuffer(capacity) else ctx.alloc.heapBuffer(capacity)
+   }
+
+   private def rangedSize(bytes: Option[Array[Byte]]): Int =
+      bytes.map(b => b.length + MaxUnsignedIntSize).getOrElse(MaxUnsignedIntSize)
+
    private def getEncoder(version: Byte): AbstractVersionedEncoder = {
       version match {
          case ver if Constants.isVersion10(ver) => Encoders.Encoder10
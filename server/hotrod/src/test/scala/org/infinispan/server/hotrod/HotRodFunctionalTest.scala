@@ -459,6 +459,13 @@ class HotRodFunctionalTest extends HotRodSingleNodeTest {
       assertStatus(client.put(k(m), 0, 0, value), Success)
    }
 
+   def testGetBigSizeValue(m: Method) {
+      val value = generateRandomString(1024 * 1024).getBytes
+      assertStatus(client.put(k(m), 0, 0, value), Success)
+      assertSuccess(client.get(k(m), 0), value)
+      assertSuccess(client.getWithVersion(k(m), 0), value, 0)
+   }
+
    def testStoreAsBinaryOverrideOnNamedCache(m: Method) {
       Stoppable.useCacheManager(createTestCacheManager) { cm =>
          Stoppable.useServer(startHotRodServer(cm, server.getPort + 33)) { server =>
@@ -0,0 +1,92 @@
+package org.infinispan.server.memcached
+
+/**
+ * Memcached binary protocol constants, as defined in the
+ * <a href="https://github.com/memcached/memcached/wiki/BinaryProtocolRevamped">binary protocol specification</a>.
+ *
+ * @since 8.2
+ */
+object BinaryProtocolUtil {
+
+   val RequestMagic: Short = 0x80
+   val ResponseMagic: Short = 0x81
+
+   val HeaderLength = 24
+   val MaxKeyLength = 250
+
+   object Opcode {
+      val Get = 0x00
+      val Set = 0x01
+      val Add = 0x02
+      val Replace = 0x03
+      val Delete = 0x04
+      val Increment = 0x05
+      val Decrement = 0x06
+      val Quit = 0x07
+      val Flush = 0x08
+      val GetQ = 0x09
+      val NoOp = 0x0a
+      val Version = 0x0b
+      val GetK = 0x0c
+      val GetKQ = 0x0d
+      val Append = 0x0e
+      val Prepend = 0x0f
+      val Stat = 0x10
+      val SetQ = 0x11
+      val AddQ = 0x12
+      val ReplaceQ = 0x13
+      val DeleteQ = 0x14
+      val IncrementQ = 0x15
+      val DecrementQ = 0x16
+      val QuitQ = 0x17
+      val FlushQ = 0x18
+      val AppendQ = 0x19
+      val PrependQ = 0x1a
+   }
+
+   object Status {
+      val NoError: Short = 0x0000
+      val KeyNotFound: Short = 0x0001
+      val KeyExists: Short = 0x0002
+      val ValueTooLarge: Short = 0x0003
+      val InvalidArguments: Short = 0x0004
+      val ItemNotStored: Short = 0x0005
+      val NonNumericValue: Short = 0x0006
+      val UnknownCommand: Short = 0x0081
+      val InternalError: Short = 0x0084
+   }
+
+   /**
+    * Expiration sent with increment and decrement requests when the counter must not be created if missing.
+    */
+   val NoAutoCreate = 0xFFFFFFFF
+
+   /**
+    * Returns the opcode without the quiet modifier, so that quiet commands can be handled like their loud
+    * counterparts.
+    */
+   def loudOpcode(opcode: Int): Int = {
+      import Opcode._
+      opcode match {
+         case GetQ => Get
+         case GetKQ => GetK
+         case SetQ => Set
+         case AddQ => Add
+         case ReplaceQ => Replace
+         case DeleteQ => Delete
+         case IncrementQ => Increment
+         case DecrementQ => Decrement
+         case QuitQ => Quit
+         case FlushQ => Flush
+         case AppendQ => Append
+         case PrependQ => Prepend
+         case _ => opcode
+      }
+   }
+
+   /**
+    * Quiet commands only send a response back on failure, except for quiet gets which do not report misses either.
+    */
+   def isQuiet(opcode: Int): Boolean = loudOpcode(opcode) != opcode
+
+}
@@ -0,0 +1,370 @@
+package org.infinispan.server.memcached
+
+import java.io.{IOException, StreamCorruptedException}
+import java.nio.ByteBuffer
+import java.util
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit.{MILLISECONDS => MILLIS}
+
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled._
+import io.netty.channel.{Channel, ChannelFutureListener, ChannelHandlerContext}
+import io.netty.handler.codec.ByteToMessageDecoder
+import io.netty.util.CharsetUtil
+import org.infinispan.AdvancedCache
+import org.infinispan.container.entries.CacheEntry
+import org.infinispan.container.versioning.NumericVersion
+import org.infinispan.context.Flag
+import org.infinispan.metadata.Metadata
+import org.infinispan.server.core.transport.{NettyTransport, StatsChannelHandler}
+import org.infinispan.server.memcached.BinaryProtocolUtil._
+import org.infinispan.server.memcached.BinaryProtocolUtil.Opcode._
+import org.infinispan.server.memcached.BinaryProtocolUtil.Status._
+import org.infinispan.server.memcached.TextProtocolUtil.concat
+import org.infinispan.server.memcached.logging.Log
+
+/**
+ * A Memcached binary protocol decoder. Each request is decoded once its header and body have been fully received,
+ * and its response, if any, is written back straight away. Responses are only flushed once all the requests read
+ * from the connection have been handled, so that pipelined requests, typically a sequence of quiet gets terminated
+ * by a no-op, are answered with as few writes as possible.
+ *
+ * @since 8.2
+ */
+class MemcachedBinaryDecoder(memcachedCache: AdvancedCache[String, Array[Byte]], scheduler: ScheduledExecutorService,
+                             val transport: NettyTransport, val cacheIgnoreAware: String => Boolean = Function.const(false))
+      extends ByteToMessageDecoder with StatsChannelHandler with Log {
+
+   private val cache =
+      if (memcachedCache.getCacheConfiguration.compatibility().enabled())
+         memcachedCache.getAdvancedCache.withFlags(Flag.OPERATION_MEMCACHED)
+      else memcachedCache
+   private val ignoreReturnValuesCache = cache.withFlags(Flag.IGNORE_RETURN_VALUES)
+   private lazy val isStatsEnabled = cache.getCacheConfiguration.jmxStatistics().enabled()
+   private final val statistics = new MemcachedStatistics
+   private val isTrace = isTraceEnabled
+   private val EmptyBytes = Array.emptyByteArray
+   private val NotFoundMessage = "Not found".getBytes(CharsetUtil.UTF_8)
+
+   override def decode(ctx: ChannelHandlerContext, in: ByteBuf, out: util.List[AnyRef]): Unit = {
+      if (in.readableBytes < HeaderLength)
+         return
+
+      val start = in.readerIndex
+      val magic = in.getUnsignedByte(start)
+      val bodyLength = in.getInt(start + 8)
+      if (magic != RequestMagic || bodyLength < 0) {
+         // There is no way to find where the next request starts, so give up on the connection
+         in.skipBytes(in.readableBytes)
+         throw new StreamCorruptedException("Invalid binary request header, magic=" + magic + ", body length=" + bodyLength)
+      }
+      if (in.readableBytes < HeaderLength + bodyLength)
+         return
+
+      val opcode = in.getUnsignedByte(start + 1)
+      val keyLength = in.getUnsignedShort(start + 2)
+      val extrasLength = in.getUnsignedByte(start + 4)
+      val opaque = in.getInt(start + 12)
+      val cas = in.getLong(start + 16)
+      in.skipBytes(HeaderLength)
+
+      val ch = ctx.channel
+      val valueLength = bodyLength - keyLength - extrasLength
+      if (valueLength < 0 || keyLength > MaxKeyLength) {
+         in.skipBytes(bodyLength)
+         writeError(ch, opcode, opaque, InvalidArguments, "Invalid key or extras length")
+         return
+      }
+      val extras = in.readSlice(extrasLength)
+      val key = new Array[Byte](keyLength)
+      in.readBytes(key)
+      val value = new Array[Byte](valueLength)
+      in.readBytes(value)
+
+      if (isTrace)
+         tracef("Binary request opcode=0x%x, key length=%d, extras length=%d, value length=%d, cas=%d",
+            opcode, keyLength, extrasLength, valueLength, cas)
+
+      val cacheName = cache.getName
+      if (cacheIgnoreAware(cacheName)) {
+         writeError(ch, opcode, opaque, InternalError, "Cache " + cacheName + " is not available")
+         return
+      }
+
+      try {
+         handle(ch, opcode, opaque, cas, extras, key, value)
+      } catch {
+         case e: Exception =>
+            debug(e, "Unable to handle binary request")
+            writeError(ch, opcode, opaque, InternalError, String.valueOf(e.getMessage))
+      }
+   }
+
+   override def channelReadComplete(ctx: ChannelHandlerContext): Unit = {
+      // Responses to the requests decoded so far are written back together
+      ctx.flush()
+      super.channelReadComplete(ctx)
+   }
+
+   override def exceptionCaught(ctx: ChannelHandlerContext, cause: Throwable): Unit = {
+      debug(cause, "Exception caught")
+      if (!cause.isInstanceOf[IOException])
+         ctx.channel.close()
+   }
+
+   private def handle(ch: Channel, opcode: Int, opaque: Int, cas: Long, extras: ByteBuf,
+                      rawKey: Array[Byte], value: Array[Byte]): Unit = {
+      lazy val key = new String(rawKey, CharsetUtil.UTF_8)
+      loudOpcode(opcode) match {
+         // Get and set are the most typical operations, so they're first
+         case Get | GetK =>
+            val entry = cache.getCacheEntry(key)
+            val responseKey = if (loudOpcode(opcode) == GetK) rawKey else EmptyBytes
+            if (entry != null)
+               writeResponse(ch, opcode, opaque, NoError, versionOf(entry.getMetadata), flagsOf(entry.getMetadata),
+                  responseKey, entry.getValue)
+            else if (!isQuiet(opcode))
+               writeResponse(ch, opcode, opaque, KeyNotFound, 0, responseKey, NotFoundMessage)
+         case Set | Add | Replace =>
+            if (extras.readableBytes != 8) {
+               writeError(ch, opcode, opaque, InvalidArguments, "Storage commands require flags and expiration")
+            } else {
+               val flags = extras.readUnsignedInt
+               val expiration = extras.readInt
+               writeUpdateResponse(ch, opcode, opaque, store(opcode, key, cas, value, buildMetadata(flags, expiration)))
+            }
+         case Delete => writeUpdateResponse(ch, opcode, opaque, remove(key, cas))
+         case Increment | Decrement =>
+            if (extras.readableBytes != 20) {
+               writeError(ch, opcode, opaque, InvalidArguments, "Counter commands require delta, initial value and expiration")
+            } else {
+               incrDecr(ch, opcode, opaque, key, extras.readLong, extras.readLong, extras.readInt)
+            }
+         case Append | Prepend => writeUpdateResponse(ch, opcode, opaque, appendPrepend(opcode, key, value))
+         case NoOp => writeResponse(ch, opcode, opaque, NoError, 0, EmptyBytes, EmptyBytes)
+         case Version =>
+            writeResponse(ch, opcode, opaque, NoError, 0, EmptyBytes,
+               org.infinispan.Version.getVersion.getBytes(CharsetUtil.UTF_8))
+         case Stat =>
+            for ((stat, statValue) <- statistics.collect(cache, transport) if key.isEmpty || key == stat)
+               writeResponse(ch, opcode, opaque, NoError, 0, stat.getBytes(CharsetUtil.UTF_8),
+                  String.valueOf(statValue).getBytes(CharsetUtil.UTF_8))
+            writeResponse(ch, opcode, opaque, NoError, 0, EmptyBytes, EmptyBytes)
+         case Flush =>
+            val flushDelay = if (extras.readableBytes == 4) extras.readInt else 0
+            val flushFunction = (cache: AdvancedCache[String, Array[Byte]]) => cache.clear()
+            if (flushDelay <= 0)
+               flushFunction(cache)
+            else
+               scheduler.schedule(new DelayedFlushAll(cache, flushFunction), MemcachedDecoder.toMillis(flushDelay), MILLIS)
+            writeUpdateResponse(ch, opcode, opaque, (NoError, null))
+         case Quit =>
+            if (!isQuiet(opcode))
+               writeResponse(ch, opcode, opaque, NoError, 0, EmptyBytes, EmptyBytes)
+            ch.writeAndFlush(EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE)
+         case _ =>
+            writeError(ch, opcode, opaque, UnknownCommand, "Unknown command")
+      }
+   }
+
+   private def store(opcode: Int, key: String, cas: Long, value: Array[Byte], metadata: => Metadata): (Short, Metadata) = {
+      loudOpcode(opcode) match {
+         case Set if cas == 0 =>
+            val m = metadata
+            ignoreReturnValuesCache.put(key, value, m)
+            (NoError, m)
+         case Add =>
+            // Generate new version only if key not present
+            if (cache.containsKey(key)) {
+               (KeyExists, null)
+            } else {
+               val m = metadata
+               if (cache.putIfAbsent(key, value, m) == null) (NoError, m) else (KeyExists, null)
+            }
+         case Replace if cas == 0 =>
+            // Generate new version only if key present
+            if (!cache.containsKey(key)) {
+               (KeyNotFound, null)
+            } else {
+               val m = metadata
+               if (cache.replace(key, value, m) != null) (NoError, m) else (KeyNotFound, null)
+            }
+         case _ =>
+            replaceIfUnmodified(key, cas, value, metadata)
+      }
+   }
+
+   private def replaceIfUnmodified(key: String, cas: Long, value: Array[Byte], metadata: => Metadata): (Short, Metadata) = {
+      val entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(key)
+      if (entry == null) {
+         if (isStatsEnabled) statistics.replaceIfUnmodifiedMisses.incrementAndGet
+         (KeyNotFound, null)
+      } else if (versionOf(entry.getMetadata) != cas) {
+         if (isStatsEnabled) statistics.replaceIfUnmodifiedBadval.incrementAndGet
+         (KeyExists, null)
+      } else {
+         val m = metadata
+         if (cache.replace(key, entry.getValue, value, m)) {
+            if (isStatsEnabled) statistics.replaceIfUnmodifiedHits.incrementAndGet
+            (NoError, m)
+         } else {
+            if (isStatsEnabled) statistics.replaceIfUnmodifiedBadval.incrementAndGet
+            (KeyExists, null)
+         }
+      }
+   }
+
+   private def remove(key: String, cas: Long): (Short, Metadata) = {
+      if (cas == 0) {
+         if (cache.remove(key) != null) (NoError, null) else (KeyNotFound, null)
+      } else {
+         val entry = cache.getCacheEntry(key)
+         if (entry == null)
+            (KeyNotFound, null)
+         else if (versionOf(entry.getMetadata) != cas || !cache.remove(key, entry.getValue))
+            (KeyExists, null)
+         else
+            (NoError, null)
+      }
+   }
+
+   private def appendPrepend(opcode: Int, key: String, value: Array[Byte]): (Short, Metadata) = {
+      val entry = cache.getCacheEntry(key)
+      if (entry == null) {
+         (ItemNotStored, null)
+      } else {
+         val prev = entry.getValue
+         val concatenated = if (loudOpcode(opcode) == Append) concat(prev, value) else concat(value, prev)
+         val metadata = newVersion(entry)
+         // If there's a concurrent modification on this key, treat it as we couldn't replace it
+         if (cache.replace(key, prev, concatenated, metadata)) (NoError, metadata) else (ItemNotStored, null)
+      }
+   }
+
+   private def incrDecr(ch: Channel, opcode: Int, opaque: Int, key: String, delta: Long, initial: Long,
+                        expiration: Int): Unit = {
+      val isIncrement = loudOpcode(opcode) == Increment
+      // Retry until the counter is updated without any concurrent modification in between
+      while (true) {
+         val entry = cache.getCacheEntry(key)
+         if (entry == null) {
+            if (expiration == NoAutoCreate) {
+               if (isStatsEnabled) if (isIncrement) statistics.incrMisses.incrementAndGet else statistics.decrMisses.incrementAndGet
+               writeResponse(ch, opcode, opaque, KeyNotFound, 0, EmptyBytes, NotFoundMessage)
+               return
+            }
+            val metadata = buildMetadata(0, expiration)
+            if (cache.putIfAbsent(key, counterToBytes(initial), metadata) == null) {
+               writeCounterResponse(ch, opcode, opaque, initial, metadata)
+               return
+            }
+         } else {
+            val prev = entry.getValue
+            val current =
+               try {
+                  java.lang.Long.parseUnsignedLong(new String(prev, CharsetUtil.US_ASCII))
+               } catch {
+                  case _: NumberFormatException =>
+                     writeError(ch, opcode, opaque, NonNumericValue, "Cannot increment or decrement non-numeric value")
+                     return
+               }
+            // Increments wrap around at 64 bits, while decrements stop at 0
+            val next =
+               if (isIncrement) current + delta
+               else if (java.lang.Long.compareUnsigned(current, delta) < 0) 0
+               else current - delta
+            val metadata = newVersion(entry)
+            if (cache.replace(key, prev, counterToBytes(next), metadata)) {
+               if (isStatsEnabled) if (isIncrement) statistics.incrHits.incrementAndGet else statistics.decrHits.incrementAndGet
+               writeCounterResponse(ch, opcode, opaque, next, metadata)
+               return
+            }
+         }
+      }
+   }
+
+   private def buildMetadata(flags: Long, expiration: Int): Metadata = {
+      val metadata = new MemcachedMetadataBuilder
+      metadata.version(MemcachedDecoder.generateVersion(cache))
+      metadata.flags(flags)
+      if (expiration > 0)
+         metadata.lifespan(MemcachedDecoder.toMillis(expiration))
+
+      metadata.build()
+   }
+
+   private def newVersion(entry: CacheEntry[String, Array[Byte]]): Metadata =
+      entry.getMetadata.builder().version(MemcachedDecoder.generateVersion(cache)).build()
+
+   private def versionOf(metadata: Metadata): Long = {
+      metadata.version() match {
+         case v: NumericVersion => v.getVersion
+         case _ => 0
+      }
+   }
+
+   private def flagsOf(metadata: Metadata): Long = {
+      metadata match {
+         case meta: MemcachedMetadata => meta.flags
+         case _ => 0
+      }
+   }
+
+   // Counters are stored as text so that they can be read and updated by text protocol clients too
+   private def counterToBytes(counter: Long): Array[Byte] =
+      java.lang.Long.toUnsignedString(counter).getBytes(CharsetUtil.US_ASCII)
+
+   private def writeCounterResponse(ch: Channel, opcode: Int, opaque: Int, counter: Long, metadata: Metadata): Unit = {
+      if (!isQuiet(opcode)) {
+         val value = ByteBuffer.allocate(8).putLong(counter).array()
+         writeResponse(ch, opcode, opaque, NoError, versionOf(metadata), EmptyBytes, value)
+      }
+   }
+
+   private def writeUpdateResponse(ch: Channel, opcode: Int, opaque: Int, result: (Short, Metadata)): Unit = {
+      val (status, metadata) = result
+      if (status != NoError)
+         writeError(ch, opcode, opaque, status, statusMessage(status))
+      else if (!isQuiet(opcode))
+         writeResponse(ch, opcode, opaque, status, if (metadata == null) 0 else versionOf(metadata), EmptyBytes, EmptyBytes)
+   }
+
+   private def statusMessage(status: Short): String = status match {
+      case KeyNotFound => "Not found"
+      case KeyExists => "Data exists for key"
+      case ItemNotStored => "Not stored"
+      case _ => "Error"
+   }
+
+   private def writeError(ch: Channel, opcode: Int, opaque: Int, status: Short, message: String): Unit =
+      writeResponse(ch, opcode, opaque, status, 0, EmptyBytes, message.getBytes(CharsetUtil.UTF_8))
+
+   private def writeResponse(ch: Channel, opcode: Int, opaque: Int, status: Short, cas: Long,
+                             key: Array[Byte], value: Array[Byte]): Unit =
+      writeResponse(ch, opcode, opaque, status, cas, 0, -1, key, value)
+
+   private def writeResponse(ch: Channel, opcode: Int, opaque: Int, status: Short, cas: Long, flags: Long,
+                             key: Array[Byte], value: Array[Byte]): Unit =
+      writeResponse(ch, opcode, opaque, status, cas, 4, flags, key, value)
+
+   private def writeResponse(ch: Channel, opcode: Int, opaque: Int, status: Short, cas: Long, extrasLength: Int,
+                             flags: Long, key: Array[Byte], value: Array[Byte]): Unit = {
+      if (isTrace) trace("Write binary response opcode=0x%x, status=0x%x", opcode, status)
+      val header = ch.alloc.buffer(HeaderLength + extrasLength + key.length)
+      header.writeByte(ResponseMagic)
+      header.writeByte(opcode)
+      header.writeShort(key.length)
+      header.writeByte(extrasLength)
+      header.writeByte(0) // Raw bytes data type
+      header.writeShort(status)
+      header.writeInt(extrasLength + key.length + value.length)
+      header.writeInt(opaque)
+      header.writeLong(cas)
+      if (extrasLength > 0)
+         header.writeInt(flags.toInt)
+      header.writeBytes(key)
+      // Avoid copying the value, which is written as it is stored in the cache
+      ch.write(if (value.length == 0) header else wrappedBuffer(header, wrappedBuffer(value)))
+   }
+
+}
@@ -61,13 +61,7 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
 
    protected var params: MemcachedParameters = null
    private lazy val isStatsEnabled = cache.getCacheConfiguration.jmxStatistics().enabled()
-   private final val incrMisses = new AtomicLong(0)
-   private final val incrHits = new AtomicLong(0)
-   private final val decrMisses = new AtomicLong(0)
-   private final val decrHits = new AtomicLong(0)
-   private final val replaceIfUnmodifiedMisses = new AtomicLong(0)
-   private final val replaceIfUnmodifiedHits = new AtomicLong(0)
-   private final val replaceIfUnmodifiedBadval = new AtomicLong(0)
+   private final val statistics = new MemcachedStatistics
    private val isTrace = isTraceEnabled
    private val byteBuffer = new ByteArrayOutputStream()
    protected var header: RequestHeader = _
@@ -385,22 +379,8 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
       new MemcachedParameters(length, lifespan, -1, streamVersion, noReply, flags, "", 0)
    }
 
-   protected def generateVersion(cache: Cache[String, Array[Byte]]): EntryVersion = {
-      val registry = getCacheRegistry
-      val cacheVersionGenerator = registry.getComponent(classOf[VersionGenerator])
-      if (cacheVersionGenerator == null) {
-         // It could be null, for example when not running in compatibility mode.
-         // The reason for that is that if no other component depends on the
-         // version generator, the factory does not get invoked.
-         val newVersionGenerator = new NumericVersionGenerator()
-         .clustered(registry.getComponent(classOf[RpcManager]) != null)
-         registry.registerComponent(newVersionGenerator, classOf[VersionGenerator])
-         newVersionGenerator.generateNew()
-      } else {
-         cacheVersionGenerator.generateNew()
-      }
-   }
-
+   protected def generateVersion(cache: Cache[String, Array[Byte]]): EntryVersion =
+      MemcachedDecoder.generateVersion(cache)
 
    protected def readValue(b: ByteBuf) {
       b.readBytes(rawValue)
@@ -539,7 +519,7 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
             val next = newCounter.toString.getBytes
             val replaced = cache.replace(key, prev, next, buildMetadata())
             if (replaced) {
-               if (isStatsEnabled) if (op == IncrementRequest) incrHits.incrementAndGet() else decrHits.incrementAndGet
+               if (isStatsEnabled) if (op == IncrementRequest) statistics.incrHits.incrementAndGet() else statistics.decrHits.incrementAndGet
                if (!params.noReply) new String(next) + CRLF else null
             } else {
                // If there's a concurrent modification on this key, the spec does not say what to do, so treat it as exceptional
@@ -547,7 +527,7 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
             }
          }
          else {
-            if (isStatsEnabled) if (op == IncrementRequest) incrMisses.incrementAndGet() else decrMisses.incrementAndGet
+            if (isStatsEnabled) if (op == IncrementRequest) statistics.incrMisses.incrementAndGet() else statistics.decrMisses.incrementAndGet
             if (!params.noReply) NOT_FOUND else null
          }
       writeResponse(ch, ret)
@@ -577,7 +557,7 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
    def createSuccessResponse(prev: Array[Byte]): AnyRef = {
       if (isStatsEnabled) {
          header.op match {
-            case ReplaceIfUnmodifiedRequest => replaceIfUnmodifiedHits.incrementAndGet
+            case ReplaceIfUnmodifiedRequest => statistics.replaceIfUnmodifiedHits.incrementAndGet
             case _ => // No-op
          }
       }
@@ -592,7 +572,7 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
    def createNotExecutedResponse(prev: Array[Byte]): AnyRef = {
       if (isStatsEnabled) {
          header.op match {
-            case ReplaceIfUnmodifiedRequest => replaceIfUnmodifiedBadval.incrementAndGet
+            case ReplaceIfUnmodifiedRequest => statistics.replaceIfUnmodifiedBadval.incrementAndGet
             case _ => // No-op
          }
       }
@@ -607,7 +587,7 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
    def createNotExistResponse: AnyRef = {
       if (isStatsEnabled) {
          header.op match {
-            case ReplaceIfUnmodifiedRequest => replaceIfUnmodifiedMisses.incrementAndGet
+            case ReplaceIfUnmodifiedRequest => statistics.replaceIfUnmodifiedMisses.incrementAndGet
             case _ => // No-op
          }
       }
@@ -748,14 +728,7 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
     * Otherwise it's just considered number of seconds from
     * now and it's returned in milliseconds unit.
     */
-   protected def toMillis(lifespan: Int): Long = {
-      if (lifespan > SecondsInAMonth) {
-         val unixTimeExpiry = TimeUnit.SECONDS.toMillis(lifespan) - System.currentTimeMillis
-         if (unixTimeExpiry < 0) 0 else unixTimeExpiry
-      } else {
-         TimeUnit.SECONDS.toMillis(lifespan)
-      }
-   }
+   protected def toMillis(lifespan: Int): Long = MemcachedDecoder.toMillis(lifespan)
 
    protected def writeResponse(ch: Channel, response: AnyRef): AnyRef = {
       try {
@@ -779,48 +752,9 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
    }
 
    def createStatsResponse: AnyRef = {
-      val stats = cache.getAdvancedCache.getStats
       val sb = new StringBuilder
-      Array[ByteBuf](
-         buildStat("pid", 0, sb),
-         buildStat("uptime", stats.getTimeSinceStart, sb),
-         buildStat("uptime", stats.getTimeSinceStart, sb),
-         buildStat("time", MILLIS.toSeconds(System.currentTimeMillis), sb),
-         buildStat("version", cache.getVersion, sb),
-         buildStat("pointer_size", 0, sb), // Unsupported
-         buildStat("rusage_user", 0, sb), // Unsupported
-         buildStat("rusage_system", 0, sb), // Unsupported
-         buildStat("curr_items", stats.getCurrentNumberOfEntries, sb),
-         buildStat("total_items", stats.getTotalNumberOfEntries, sb),
-         buildStat("bytes", 0, sb), // Unsupported
-         buildStat("curr_connections", 0, sb), // TODO: Through netty?
-         buildStat("total_connections", 0, sb), // TODO: Through netty?
-         buildStat("connection_structures", 0, sb), // Unsupported
-         buildStat("cmd_get", stats.getRetrievals, sb),
-         buildStat("cmd_set", stats.getStores, sb),
-         buildStat("get_hits", stats.getHits, sb),
-         buildStat("get_misses", stats.getMisses, sb),
-         buildStat("delete_misses", stats.getRemoveMisses, sb),
-         buildStat("delete_hits", stats.getRemoveHits, sb),
-         buildStat("incr_misses", incrMisses, sb),
-         buildStat("incr_hits", incrHits, sb),
-         buildStat("decr_misses", decrMisses, sb),
-         buildStat("decr_hits", decrHits, sb),
-         buildStat("cas_misses", replaceIfUnmodifiedMisses, sb),
-         buildStat("cas_hits", replaceIfUnmodifiedHits, sb),
-         buildStat("cas_badval", replaceIfUnmodifiedBadval, sb),
-         buildStat("auth_cmds", 0, sb), // Unsupported
-         buildStat("auth_errors", 0, sb), // Unsupported
-         //TODO: Evictions are measure by evict calls, but not by nodes are that are expired after the entry's lifespan has expired.
-         buildStat("evictions", stats.getEvictions, sb),
-         buildStat("bytes_read", transport.getTotalBytesRead, sb),
-         buildStat("bytes_written", transport.getTotalBytesWritten, sb),
-         buildStat("limit_maxbytes", 0, sb), // Unsupported
-         buildStat("threads", 0, sb), // TODO: Through netty?
-         buildStat("conn_yields", 0, sb), // Unsupported
-         buildStat("reclaimed", 0, sb), // Unsupported
-         wrappedBuffer(END)
-      )
+      val stats = statistics.collect(cache, transport).map { case (stat, value) => buildStat(stat, value, sb) }
+      (stats :+ wrappedBuffer(END)).toArray
    }
 
    private def buildStat(stat: String, value: Any, sb: StringBuilder): ByteBuf = {
@@ -906,6 +840,100 @@ extends ReplayingDecoder[MemcachedDecoderState](DECODE_HEADER) with StatsChannel
    }
 }
 
+object MemcachedDecoder {
+
+   private val SecondsInAMonth = 60 * 60 * 24 * 30
+
+   /**
+    * Generates a new version for an entry stored via either the text or the binary protocol.
+    */
+   def generateVersion(cache: Cache[String, Array[Byte]]): EntryVersion = {
+      val registry = cache.getAdvancedCache.getComponentRegistry
+      val cacheVersionGenerator = registry.getComponent(classOf[VersionGenerator])
+      if (cacheVersionGenerator == null) {
+         // It could be null, for example when not running in compatibility mode.
+         // The reason for that is that if no other component depends on the
+         // version generator, the factory does not get invoked.
+         val newVersionGenerator = new NumericVersionGenerator()
+         .clustered(registry.getComponent(classOf[RpcManager]) != null)
+         registry.registerComponent(newVersionGenerator, classOf[VersionGenerator])
+         newVersionGenerator.generateNew()
+      } else {
+         cacheVersionGenerator.generateNew()
+      }
+   }
+
+   /**
+    * Transforms an expiration sent in seconds, or as unix time if bigger than the number of seconds in 30 days,
+    * into a lifespan in milliseconds.
+    */
+   def toMillis(lifespan: Int): Long = {
+      if (lifespan > SecondsInAMonth) {
+         val unixTimeExpiry = TimeUnit.SECONDS.toMillis(lifespan) - System.currentTimeMillis
+         if (unixTimeExpiry < 0) 0 else unixTimeExpiry
+      } else {
+         TimeUnit.SECONDS.toMillis(lifespan)
+      }
+   }
+}
+
+/**
+ * Memcached statistics which the cache does not keep, tracked per connection and reported together with the cache
+ * statistics by the stats command of both the text and the binary protocol.
+ */
+class MemcachedStatistics {
+   final val incrMisses = new AtomicLong(0)
+   final val incrHits = new AtomicLong(0)
+   final val decrMisses = new AtomicLong(0)
+   final val decrHits = new AtomicLong(0)
+   final val replaceIfUnmodifiedMisses = new AtomicLong(0)
+   final val replaceIfUnmodifiedHits = new AtomicLong(0)
+   final val replaceIfUnmodifiedBadval = new AtomicLong(0)
+
+   def collect(cache: AdvancedCache[String, Array[Byte]], transport: NettyTransport): Seq[(String, Any)] = {
+      val stats = cache.getStats
+      Seq(
+         "pid" -> 0,
+         "uptime" -> stats.getTimeSinceStart,
+         "uptime" -> stats.getTimeSinceStart,
+         "time" -> MILLIS.toSeconds(System.currentTimeMillis),
+         "version" -> cache.getVersion,
+         "pointer_size" -> 0, // Unsupported
+         "rusage_user" -> 0, // Unsupported
+         "rusage_system" -> 0, // Unsupported
+         "curr_items" -> stats.getCurrentNumberOfEntries,
+         "total_items" -> stats.getTotalNumberOfEntries,
+         "bytes" -> 0, // Unsupported
+         "curr_connections" -> 0, // TODO: Through netty?
+         "total_connections" -> 0, // TODO: Through netty?
+         "connection_structures" -> 0, // Unsupported
+         "cmd_get" -> stats.getRetrievals,
+         "cmd_set" -> stats.getStores,
+         "get_hits" -> stats.getHits,
+         "get_misses" -> stats.getMisses,
+         "delete_misses" -> stats.getRemoveMisses,
+         "delete_hits" -> stats.getRemoveHits,
+         "incr_misses" -> incrMisses,
+         "incr_hits" -> incrHits,
+         "decr_misses" -> decrMisses,
+         "decr_hits" -> decrHits,
+         "cas_misses" -> replaceIfUnmodifiedMisses,
+         "cas_hits" -> replaceIfUnmodifiedHits,
+         "cas_badval" -> replaceIfUnmodifiedBadval,
+         "auth_cmds" -> 0, // Unsupported
+         "auth_errors" -> 0, // Unsupported
+         //TODO: Evictions are measure by evict calls, but not by nodes are that are expired after the entry's lifespan has expired.
+         "evictions" -> stats.getEvictions,
+         "bytes_read" -> transport.getTotalBytesRead,
+         "bytes_written" -> transport.getTotalBytesWritten,
+         "limit_maxbytes" -> 0, // Unsupported
+         "threads" -> 0, // TODO: Through netty?
+         "conn_yields" -> 0, // Unsupported
+         "reclaimed" -> 0 // Unsupported
+      )
+   }
+}
+
 class MemcachedParameters(val valueLength: Int, val lifespan: Int,
                           val maxIdle: Int, val streamVersion: Long,
                           val noReply: Boolean, val flags: Long, val delta: String,
@@ -0,0 +1,37 @@
+package org.infinispan.server.memcached
+
+import java.util
+
+import io.netty.buffer.ByteBuf
+import io.netty.channel.{ChannelHandler, ChannelHandlerContext}
+import io.netty.handler.codec.ByteToMessageDecoder
+import org.infinispan.server.core.transport.NettyTransport
+import org.infinispan.server.memcached.BinaryProtocolUtil.RequestMagic
+import org.infinispan.server.memcached.logging.Log
+
+/**
+ * Detects whether a connection talks the Memcached text or binary protocol by looking at the first byte received,
+ * which is the request magic byte for the binary protocol and a printable command name character for the text one,
+ * and replaces itself with the corresponding decoder. Any bytes already received are passed on to that decoder.
+ *
+ * @since 8.2
+ */
+class MemcachedProtocolDetector(transport: NettyTransport, textDecoder: => ChannelHandler,
+                                binaryDecoder: => ChannelHandler) extends ByteToMessageDecoder with Log {
+
+   override def channelActive(ctx: ChannelHandlerContext): Unit = {
+      // The protocol decoder is only added once data is received, so track the channel here
+      transport.acceptedChannels.add(ctx.channel)
+      super.channelActive(ctx)
+   }
+
+   override def decode(ctx: ChannelHandlerContext, in: ByteBuf, out: util.List[AnyRef]): Unit = {
+      if (in.isReadable) {
+         val isBinary = in.getUnsignedByte(in.readerIndex) == RequestMagic
+         if (isTraceEnabled) trace("Detected Memcached %s protocol", if (isBinary) "binary" else "text")
+         val decoder = if (isBinary) binaryDecoder else textDecoder
+         ctx.pipeline.replace(this, "decoder", decoder)
+      }
+   }
+
+}
@@ -7,6 +7,7 @@ import org.infinispan.server.memcached.configuration.MemcachedServerConfiguratio
 import org.infinispan.AdvancedCache
 import org.infinispan.configuration.cache.ConfigurationBuilder
 import org.infinispan.server.memcached.logging.Log
+import io.netty.channel.ChannelInboundHandler
 
 /**
  * Memcached server defining its decoder/encoder settings. In fact, Memcached does not use an encoder since there's
@@ -37,9 +38,19 @@ class MemcachedServer extends AbstractProtocolServer("Memcached") with Log {
 
    override def getEncoder = null
 
-   override def getDecoder: MemcachedDecoder =
+   /**
+    * Returns a handler which detects the protocol used by each connection, text or binary, and replaces itself
+    * with the corresponding decoder.
+    */
+   override def getDecoder: ChannelInboundHandler =
+      new MemcachedProtocolDetector(transport, getTextDecoder, getBinaryDecoder)
+
+   def getTextDecoder: MemcachedDecoder =
       new MemcachedDecoder(memcachedCache, scheduler, transport, isCacheIgnored)
 
+   def getBinaryDecoder: MemcachedBinaryDecoder =
+      new MemcachedBinaryDecoder(memcachedCache, scheduler, transport, isCacheIgnored)
+
    override def stop {
       super.stop
       scheduler.shutdown()
@@ -0,0 +1,113 @@
+package org.infinispan.server.memcached
+
+import java.lang.reflect.Method
+import java.net.InetSocketAddress
+import java.util
+import java.util.concurrent.TimeUnit
+
+import net.spy.memcached.{BinaryConnectionFactory, CASResponse, MemcachedClient}
+import org.infinispan.manager.EmbeddedCacheManager
+import org.infinispan.server.memcached.test.MemcachedTestingUtil._
+import org.infinispan.test.TestingUtil._
+import org.testng.Assert._
+import org.testng.annotations.{AfterClass, Test}
+
+/**
+ * Tests the Memcached binary protocol support, using a binary protocol client against the same server used by a
+ * text protocol client.
+ *
+ * @since 8.2
+ */
+@Test(groups = Array("functional"), testName = "server.memcached.MemcachedBinaryFunctionalTest")
+class MemcachedBinaryFunctionalTest extends MemcachedSingleNodeTest {
+
+   private var binaryClient: MemcachedClient = _
+
+   override def createCacheManager: EmbeddedCacheManager = {
+      val cm = super.createCacheManager
+      binaryClient = new MemcachedClient(new BinaryConnectionFactory {
+         override def getOperationTimeout: Long = 60000
+      }, util.Arrays.asList(new InetSocketAddress(host, server.getPort)))
+      cm
+   }
+
+   @AfterClass(alwaysRun = true)
+   override def destroyAfterClass() {
+      killMemcachedClient(binaryClient)
+      super.destroyAfterClass()
+   }
+
+   def testSetAndGet(m: Method) {
+      val f = binaryClient.set(k(m), 0, v(m))
+      assertTrue(f.get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertEquals(binaryClient.get(k(m)), v(m))
+      assertNull(binaryClient.get(k(m, "k1-")))
+   }
+
+   def testGetMultipleKeys(m: Method) {
+      for (i <- 1 to 3)
+         assertTrue(binaryClient.set(k(m, "k" + i + "-"), 0, v(m, "v" + i + "-")).get(timeout, TimeUnit.SECONDS).booleanValue)
+      // Bulk gets are sent as a pipeline of quiet gets terminated by a no-op
+      val ret = binaryClient.getBulk(k(m, "k1-"), k(m, "k2-"), k(m, "k3-"), k(m, "k4-"))
+      assertEquals(ret.size, 3)
+      for (i <- 1 to 3)
+         assertEquals(ret.get(k(m, "k" + i + "-")), v(m, "v" + i + "-"))
+   }
+
+   def testAddAndReplace(m: Method) {
+      assertFalse(binaryClient.replace(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertTrue(binaryClient.add(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertFalse(binaryClient.add(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertTrue(binaryClient.replace(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertEquals(binaryClient.get(k(m)), v(m, "v1-"))
+   }
+
+   def testCas(m: Method) {
+      assertTrue(binaryClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      val value = binaryClient.gets(k(m))
+      assertEquals(value.getValue, v(m))
+      assertTrue(value.getCas != 0)
+      assertEquals(binaryClient.cas(k(m), value.getCas, v(m, "v1-")), CASResponse.OK)
+      assertEquals(binaryClient.cas(k(m), value.getCas, v(m, "v2-")), CASResponse.EXISTS)
+      assertEquals(binaryClient.cas(k(m, "k1-"), value.getCas, v(m, "v2-")), CASResponse.NOT_FOUND)
+      assertEquals(binaryClient.get(k(m)), v(m, "v1-"))
+   }
+
+   def testDelete(m: Method) {
+      assertTrue(binaryClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertTrue(binaryClient.delete(k(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertFalse(binaryClient.delete(k(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertNull(binaryClient.get(k(m)))
+   }
+
+   def testIncrementAndDecrement(m: Method) {
+      assertEquals(binaryClient.incr(k(m), 1), -1)
+      assertEquals(binaryClient.incr(k(m), 1, 10), 10)
+      assertEquals(binaryClient.incr(k(m), 5), 15)
+      assertEquals(binaryClient.decr(k(m), 20), 0)
+      // Counters are stored as text, so text protocol clients can read them too
+      assertEquals(client.get(k(m)), "0")
+   }
+
+   def testAppendAndPrepend(m: Method) {
+      assertFalse(binaryClient.append(0, k(m), v(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertTrue(binaryClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertTrue(binaryClient.append(0, k(m), "-a").get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertTrue(binaryClient.prepend(0, k(m), "p-").get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertEquals(binaryClient.get(k(m)), "p-" + v(m) + "-a")
+   }
+
+   def testTextAndBinaryClientsShareData(m: Method) {
+      assertTrue(binaryClient.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertEquals(client.get(k(m)), v(m))
+      assertTrue(client.set(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS).booleanValue)
+      assertEquals(binaryClient.get(k(m)), v(m, "v1-"))
+   }
+
+   def testVersionAndStats() {
+      assertFalse(binaryClient.getVersions.isEmpty)
+      val stats = binaryClient.getStats.values.iterator.next
+      assertEquals(stats.get("pointer_size"), "0")
+   }
+
+}